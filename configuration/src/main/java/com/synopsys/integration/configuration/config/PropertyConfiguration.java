@@ -22,16 +22,21 @@
  */
 package com.synopsys.integration.configuration.config;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.antlr.v4.runtime.misc.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.util.Assert;
 
 import com.synopsys.integration.configuration.config.resolution.NoPropertyResolution;
@@ -52,12 +57,46 @@ import com.synopsys.integration.configuration.source.PropertySource;
 
 public class PropertyConfiguration {
 
-    private final Map<String, PropertyResolution> resolutionCache = new HashMap<>();
-    private final Map<String, PropertyValue<?>> valueCache = new HashMap<>();
+    private final Map<String, PropertyResolution> resolutionCache = new ConcurrentHashMap<>();
+    private final Map<String, PropertyValue<?>> valueCache = new ConcurrentHashMap<>();
     private final List<PropertySource> orderedPropertySources;
+    @Nullable
+    private final Snapshot snapshot;
 
     public PropertyConfiguration(@NotNull final List<PropertySource> orderedPropertySources) {
         this.orderedPropertySources = orderedPropertySources;
+        this.snapshot = null;
+    }
+
+    private PropertyConfiguration(@NotNull final List<PropertySource> orderedPropertySources, @NotNull final Snapshot snapshot) {
+        this.orderedPropertySources = orderedPropertySources;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Resolves every key the sources provide and parses every known property up front, so lookups never go back to the sources or the parsers.
+     * The snapshot is never modified afterwards and may be read from any number of threads. Properties that were not known are still resolved lazily.
+     */
+    @NotNull
+    public static PropertyConfiguration snapshot(@NotNull final List<PropertySource> orderedPropertySources, @NotNull final Collection<? extends Property> knownProperties) {
+        Assert.notNull(knownProperties, "Must supply the known properties to take a snapshot.");
+        final PropertyConfiguration lazyConfiguration = new PropertyConfiguration(orderedPropertySources);
+
+        final Set<String> keys = lazyConfiguration.getKeys();
+        final Map<String, PropertyResolution> resolutions = new HashMap<>();
+        for (final String key : keys) {
+            resolutions.put(key, lazyConfiguration.resolveFromCache(key));
+        }
+
+        final Map<Property, PropertyValue<?>> values = new IdentityHashMap<>();
+        for (final Property property : knownProperties) {
+            resolutions.computeIfAbsent(property.getKey(), lazyConfiguration::resolveFromCache);
+            if (property instanceof TypedProperty) {
+                values.put(property, lazyConfiguration.valueFromResolution((TypedProperty<?>) property));
+            }
+        }
+
+        return new PropertyConfiguration(orderedPropertySources, new Snapshot(keys, resolutions, values));
     }
 
     //region
@@ -138,6 +177,9 @@ public class PropertyConfiguration {
 
     @NotNull
     public Set<String> getKeys() {
+        if (snapshot != null) {
+            return snapshot.keys;
+        }
         return orderedPropertySources.stream()
                    .map(PropertySource::getKeys)
                    .flatMap(Set::stream)
@@ -218,11 +260,14 @@ public class PropertyConfiguration {
 
     private PropertyResolution resolveFromCache(@NotNull final String key) {
         Assert.notNull(key, "Cannot resolve a null key.");
-        if (!resolutionCache.containsKey(key)) {
-            resolutionCache.put(key, resolveFromPropertySources(key));
+        if (snapshot != null) {
+            final PropertyResolution snapshotResolution = snapshot.resolutions.get(key);
+            if (snapshotResolution != null) {
+                return snapshotResolution;
+            }
         }
 
-        final PropertyResolution value = resolutionCache.get(key);
+        final PropertyResolution value = resolutionCache.computeIfAbsent(key, this::resolveFromPropertySources);
         Assert.notNull(value, "Could not resolve a value, something has gone wrong with properties!");
         return value;
     }
@@ -245,11 +290,14 @@ public class PropertyConfiguration {
 
     @NotNull
     private <T> PropertyValue<T> valueFromCache(@NotNull final TypedProperty<T> property) {
-        if (!valueCache.containsKey(property.getKey())) {
-            valueCache.put(property.getKey(), valueFromResolution(property));
+        if (snapshot != null) {
+            @SuppressWarnings("unchecked") final PropertyValue<T> snapshotValue = (PropertyValue<T>) snapshot.values.get(property);
+            if (snapshotValue != null) {
+                return snapshotValue;
+            }
         }
 
-        @SuppressWarnings("unchecked") final PropertyValue<T> value = (PropertyValue<T>) valueCache.get(property.getKey());
+        @SuppressWarnings("unchecked") final PropertyValue<T> value = (PropertyValue<T>) valueCache.computeIfAbsent(property.getKey(), key -> valueFromResolution(property));
         Assert.notNull(value, "Could not source a value, something has gone wrong with properties!");
         return value;
     }
@@ -274,6 +322,19 @@ public class PropertyConfiguration {
             return new ExceptionPropertyValue<>(e, propertyResolutionInfo);
         }
     }
+
+    private static class Snapshot {
+        private final Set<String> keys;
+        private final Map<String, PropertyResolution> resolutions;
+        // Keyed by identity: properties are shared constants, and two properties may share a key but parse it differently.
+        private final Map<Property, PropertyValue<?>> values;
+
+        private Snapshot(final Set<String> keys, final Map<String, PropertyResolution> resolutions, final Map<Property, PropertyValue<?>> values) {
+            this.keys = Collections.unmodifiableSet(keys);
+            this.resolutions = Collections.unmodifiableMap(resolutions);
+            this.values = Collections.unmodifiableMap(values);
+        }
+    }
     //endregion
 }
 
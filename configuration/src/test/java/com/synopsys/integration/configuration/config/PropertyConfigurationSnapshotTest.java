@@ -0,0 +1,136 @@
+/**
+ * configuration
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.configuration.config;
+
+import static com.synopsys.integration.configuration.util.ConfigTestUtils.propertySourceOf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.configuration.property.Property;
+import com.synopsys.integration.configuration.property.base.PassthroughProperty;
+import com.synopsys.integration.configuration.property.types.bool.BooleanProperty;
+import com.synopsys.integration.configuration.property.types.integer.IntegerProperty;
+import com.synopsys.integration.configuration.property.types.integer.NullableIntegerProperty;
+import com.synopsys.integration.configuration.source.PropertySource;
+import com.synopsys.integration.configuration.util.Bds;
+
+public class PropertyConfigurationSnapshotTest {
+    private final IntegerProperty integerProperty = new IntegerProperty("integer.key", 1);
+    private final BooleanProperty booleanProperty = new BooleanProperty("boolean.key", false);
+    private final NullableIntegerProperty invalidProperty = new NullableIntegerProperty("invalid.key");
+    private final NullableIntegerProperty missingProperty = new NullableIntegerProperty("missing.key");
+    private final List<Property> knownProperties = Arrays.asList(integerProperty, booleanProperty, invalidProperty, missingProperty);
+
+    private final List<PropertySource> propertySources = Arrays.asList(
+        propertySourceOf("primary", Pair.of("integer.key", "5"), Pair.of("pass.one", "one value")),
+        propertySourceOf("secondary", Pair.of("integer.key", "7"), Pair.of("boolean.key", "true"), Pair.of("invalid.key", "not a number"))
+    );
+
+    @Test
+    public void snapshotMatchesLazyConfiguration() throws InvalidPropertyException {
+        final PropertyConfiguration lazy = new PropertyConfiguration(propertySources);
+        final PropertyConfiguration snapshot = PropertyConfiguration.snapshot(propertySources, knownProperties);
+
+        Assertions.assertEquals(lazy.getValue(integerProperty), snapshot.getValue(integerProperty));
+        Assertions.assertEquals(Integer.valueOf(5), snapshot.getValue(integerProperty));
+        Assertions.assertEquals(true, snapshot.getValue(booleanProperty));
+        Assertions.assertEquals(Optional.empty(), snapshot.getValue(missingProperty));
+        Assertions.assertEquals(lazy.getPropertySource(integerProperty), snapshot.getPropertySource(integerProperty));
+        Assertions.assertEquals(lazy.getKeys(), snapshot.getKeys());
+        Assertions.assertEquals(lazy.getRaw(), snapshot.getRaw());
+        Assertions.assertEquals(Bds.mapOf(Pair.of("one", "one value")), snapshot.getRaw(new PassthroughProperty("pass")));
+    }
+
+    @Test
+    public void snapshotKeepsParseFailures() {
+        final PropertyConfiguration snapshot = PropertyConfiguration.snapshot(propertySources, knownProperties);
+
+        Assertions.assertThrows(InvalidPropertyException.class, () -> snapshot.getValue(invalidProperty));
+        Assertions.assertTrue(snapshot.getPropertyException(invalidProperty).isPresent());
+        Assertions.assertEquals(Optional.empty(), snapshot.getValueOrEmpty(invalidProperty));
+    }
+
+    @Test
+    public void unknownPropertiesResolveLazily() throws InvalidPropertyException {
+        final PropertyConfiguration snapshot = PropertyConfiguration.snapshot(propertySources, Collections.emptyList());
+
+        Assertions.assertEquals(Integer.valueOf(5), snapshot.getValue(integerProperty));
+        Assertions.assertEquals(Optional.empty(), snapshot.getValue(new NullableIntegerProperty("not.provided.key")));
+    }
+
+    @Test
+    public void snapshotIsNotAffectedByLaterSourceChanges() throws InvalidPropertyException {
+        final List<PropertySource> sources = new ArrayList<>(propertySources);
+        final PropertyConfiguration snapshot = PropertyConfiguration.snapshot(sources, knownProperties);
+        sources.add(0, propertySourceOf("late", Pair.of("integer.key", "9")));
+
+        Assertions.assertEquals(Integer.valueOf(5), snapshot.getValue(integerProperty));
+    }
+
+    @Test
+    public void concurrentReadsAgree() throws Exception {
+        final PropertyConfiguration snapshot = PropertyConfiguration.snapshot(propertySources, knownProperties);
+        final PropertyConfiguration lazy = new PropertyConfiguration(propertySources);
+
+        final int threads = 8;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    boolean allMatched = true;
+                    for (int j = 0; j < 10000; j++) {
+                        final IntegerProperty freshProperty = new IntegerProperty("integer.key", 1);
+                        allMatched &= snapshot.getValue(integerProperty) == 5;
+                        allMatched &= lazy.getValue(freshProperty) == 5;
+                        allMatched &= snapshot.getValue(booleanProperty);
+                        allMatched &= lazy.wasKeyProvided("boolean.key");
+                        allMatched &= !snapshot.getValue(missingProperty).isPresent();
+                    }
+                    return allMatched;
+                }));
+            }
+            start.countDown();
+            for (final Future<Boolean> future : futures) {
+                Assertions.assertTrue(future.get(1, TimeUnit.MINUTES));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
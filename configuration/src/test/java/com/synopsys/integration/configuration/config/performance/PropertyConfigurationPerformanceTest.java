@@ -0,0 +1,101 @@
+/**
+ * configuration
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.configuration.config.performance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.configuration.config.InvalidPropertyException;
+import com.synopsys.integration.configuration.config.PropertyConfiguration;
+import com.synopsys.integration.configuration.property.types.integer.IntegerProperty;
+import com.synopsys.integration.configuration.source.MapPropertySource;
+import com.synopsys.integration.configuration.source.PropertySource;
+
+@Tag("performance")
+public class PropertyConfigurationPerformanceTest {
+    private static final int PROPERTY_COUNT = 500;
+    private static final int SOURCE_COUNT = 5;
+    private static final int LOOKUPS_PER_PROPERTY = 2000;
+    private static final int ITERATIONS = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Test
+    public void lookupsAgainstLazyAndSnapshot() throws InvalidPropertyException {
+        List<IntegerProperty> properties = new ArrayList<>();
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            properties.add(new IntegerProperty("detect.generated.property." + i, -1));
+        }
+        List<PropertySource> propertySources = createPropertySources();
+
+        long lazyNanos = 0;
+        long snapshotNanos = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            PropertyConfiguration lazy = new PropertyConfiguration(propertySources);
+            long lazySum = lookUpAll(lazy, properties);
+            lazyNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            PropertyConfiguration snapshot = PropertyConfiguration.snapshot(propertySources, properties);
+            long snapshotSum = lookUpAll(snapshot, properties);
+            snapshotNanos += System.nanoTime() - start;
+
+            Assertions.assertEquals(lazySum, snapshotSum);
+        }
+
+        logger.info(String.format("Looked up %d properties %d times each from the lazy configuration in %d ms on average.", PROPERTY_COUNT, LOOKUPS_PER_PROPERTY, lazyNanos / ITERATIONS / 1000000));
+        logger.info(String.format("Looked up %d properties %d times each from a snapshot, including taking it, in %d ms on average.", PROPERTY_COUNT, LOOKUPS_PER_PROPERTY, snapshotNanos / ITERATIONS / 1000000));
+    }
+
+    private long lookUpAll(PropertyConfiguration configuration, List<IntegerProperty> properties) throws InvalidPropertyException {
+        long sum = 0;
+        for (int lookup = 0; lookup < LOOKUPS_PER_PROPERTY; lookup++) {
+            for (IntegerProperty property : properties) {
+                sum += configuration.getValue(property);
+            }
+        }
+        return sum;
+    }
+
+    private List<PropertySource> createPropertySources() {
+        List<PropertySource> propertySources = new ArrayList<>();
+        for (int source = 0; source < SOURCE_COUNT; source++) {
+            Map<String, String> values = new HashMap<>();
+            // Each source provides a different slice, so most lookups walk several sources before resolving.
+            for (int i = source; i < PROPERTY_COUNT; i += SOURCE_COUNT) {
+                values.put("detect.generated.property." + i, Integer.toString(i));
+            }
+            propertySources.add(new MapPropertySource("source" + source, values));
+        }
+        return propertySources;
+    }
+}
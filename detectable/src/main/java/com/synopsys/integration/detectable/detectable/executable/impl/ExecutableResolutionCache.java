@@ -0,0 +1,206 @@
+/**
+ * detectable
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectable.executable.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Remembers where system executables were found. A persistent cache is reused by later runs only while the PATH and the modified time of every
+ * directory on it are unchanged, which covers executables being added or removed. Found executables are also checked against their own modified
+ * time and file key (the inode, where the file system has one) so one replaced in place is looked up again.
+ */
+public class ExecutableResolutionCache {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Map<String, Optional<File>> resolved = new ConcurrentHashMap<>();
+    private final Map<String, CachedExecutable> persisted;
+    private final String systemPath;
+    // Taken before anything is resolved, so a directory that changes during the run invalidates the saved cache.
+    private final Map<String, Long> directoryModifiedTimes;
+    @Nullable
+    private final File cacheFile;
+    @Nullable
+    private final Gson gson;
+
+    private ExecutableResolutionCache(final String systemPath, @Nullable final File cacheFile, @Nullable final Gson gson, final Map<String, CachedExecutable> persisted) {
+        this.systemPath = systemPath;
+        this.directoryModifiedTimes = directoryModifiedTimes(systemPath);
+        this.cacheFile = cacheFile;
+        this.gson = gson;
+        this.persisted = persisted;
+    }
+
+    public static ExecutableResolutionCache inMemory() {
+        return new ExecutableResolutionCache(currentSystemPath(), null, null, new HashMap<>());
+    }
+
+    public static ExecutableResolutionCache persistent(final File cacheFile, final Gson gson) {
+        return persistent(cacheFile, gson, currentSystemPath());
+    }
+
+    public static ExecutableResolutionCache persistent(final File cacheFile, final Gson gson, final String systemPath) {
+        final ExecutableResolutionCache cache = new ExecutableResolutionCache(systemPath, cacheFile, gson, new HashMap<>());
+        cache.load();
+        return cache;
+    }
+
+    @Nullable
+    public File resolve(final String name, final Function<String, File> finder) {
+        return resolved.computeIfAbsent(name, missingName -> {
+            final CachedExecutable cachedExecutable = persisted.get(missingName);
+            if (cachedExecutable != null && cachedExecutable.isStillValid()) {
+                return Optional.ofNullable(cachedExecutable.path).map(File::new);
+            }
+            return Optional.ofNullable(finder.apply(missingName));
+        }).orElse(null);
+    }
+
+    public void save() {
+        if (cacheFile == null || gson == null) {
+            return;
+        }
+
+        final CacheData data = new CacheData();
+        data.systemPath = systemPath;
+        data.directoryModifiedTimes = directoryModifiedTimes;
+        data.executables = new LinkedHashMap<>();
+        for (final Map.Entry<String, Optional<File>> entry : resolved.entrySet()) {
+            data.executables.put(entry.getKey(), CachedExecutable.of(entry.getValue().orElse(null)));
+        }
+
+        try {
+            final File parent = cacheFile.getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            // Write beside the cache and move it into place so concurrent runs never read a partial file.
+            final File temporaryFile = File.createTempFile(cacheFile.getName(), ".tmp", parent);
+            try (final Writer writer = new OutputStreamWriter(new FileOutputStream(temporaryFile), StandardCharsets.UTF_8)) {
+                gson.toJson(data, writer);
+            }
+            Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            logger.debug("Unable to save the executable resolution cache.", e);
+        }
+    }
+
+    private void load() {
+        if (cacheFile == null || gson == null || !cacheFile.isFile()) {
+            return;
+        }
+
+        final CacheData data;
+        try (final Reader reader = new InputStreamReader(new FileInputStream(cacheFile), StandardCharsets.UTF_8)) {
+            data = gson.fromJson(reader, CacheData.class);
+        } catch (final IOException | JsonParseException e) {
+            logger.debug("Unable to read the executable resolution cache, executables will be found again.", e);
+            return;
+        }
+
+        if (data == null || data.executables == null || !systemPath.equals(data.systemPath) || !directoryModifiedTimes.equals(data.directoryModifiedTimes)) {
+            logger.debug("The PATH has changed since executables were cached, executables will be found again.");
+            return;
+        }
+        persisted.putAll(data.executables);
+    }
+
+    private static String currentSystemPath() {
+        return Objects.toString(System.getenv("PATH"), "");
+    }
+
+    private static Map<String, Long> directoryModifiedTimes(final String systemPath) {
+        final Map<String, Long> modifiedTimes = new LinkedHashMap<>();
+        for (final String directory : systemPath.split(File.pathSeparator)) {
+            if (!directory.isEmpty()) {
+                modifiedTimes.put(directory, new File(directory).lastModified());
+            }
+        }
+        return modifiedTimes;
+    }
+
+    private static class CacheData {
+        private String systemPath;
+        private Map<String, Long> directoryModifiedTimes;
+        private Map<String, CachedExecutable> executables;
+    }
+
+    private static class CachedExecutable {
+        // Null when the executable was not found.
+        private String path;
+        private long lastModified;
+        private String fileKey;
+
+        static CachedExecutable of(@Nullable final File file) {
+            final CachedExecutable cachedExecutable = new CachedExecutable();
+            if (file != null) {
+                cachedExecutable.path = file.getPath();
+                cachedExecutable.lastModified = file.lastModified();
+                cachedExecutable.fileKey = fileKeyOf(file);
+            }
+            return cachedExecutable;
+        }
+
+        boolean isStillValid() {
+            if (path == null) {
+                return true;
+            }
+            final File file = new File(path);
+            return file.canExecute() && file.lastModified() == lastModified && Objects.equals(fileKey, fileKeyOf(file));
+        }
+
+        @Nullable
+        private static String fileKeyOf(final File file) {
+            try {
+                final Object fileKey = Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+                return fileKey == null ? null : fileKey.toString();
+            } catch (final IOException e) {
+                return null;
+            }
+        }
+    }
+}
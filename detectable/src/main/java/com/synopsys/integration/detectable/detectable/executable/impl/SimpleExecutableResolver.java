@@ -23,8 +23,11 @@
 package com.synopsys.integration.detectable.detectable.executable.impl;
 
 import java.io.File;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.synopsys.integration.detectable.DetectableEnvironment;
 import com.synopsys.integration.detectable.detectable.executable.resolver.BashResolver;
@@ -53,25 +56,74 @@ public class SimpleExecutableResolver
     implements GradleResolver, BashResolver, CondaResolver, CpanmResolver, CpanResolver, PearResolver, Rebar3Resolver, PythonResolver, PipResolver, PipenvResolver, MavenResolver, NpmResolver, BazelResolver, JavaResolver, DotNetResolver,
                    DockerResolver, GitResolver, SwiftResolver, GoResolver, LernaResolver {
 
+    private static final String GRADLE_WRAPPER = "gradlew";
+    private static final String MAVEN_WRAPPER = "mvnw";
+    private static final String PIP = "pip";
+    private static final String PYTHON = "python";
+    private static final String GRADLE = "gradle";
+    private static final String BASH = "bash";
+    private static final String CONDA = "conda";
+    private static final String CPAN = "cpan";
+    private static final String CPANM = "cpanm";
+    private static final String PEAR = "pear";
+    private static final String REBAR3 = "rebar3";
+    private static final String PIPENV = "pipenv";
+    private static final String MAVEN = "mvn";
+    private static final String NPM = "npm";
+    private static final String BAZEL = "bazel";
+    private static final String DOTNET = "dotnet";
+    private static final String JAVA = "java";
+    private static final String DOCKER = "docker";
+    private static final String GIT = "git";
+    private static final String SWIFT = "swift";
+    private static final String GO = "go";
+    private static final String LERNA = "lerna";
+
+    // Every system executable a resolve method may look up, apart from pip and python whose names depend on the options.
+    private static final List<String> SYSTEM_EXECUTABLES = Arrays.asList(GRADLE, BASH, CONDA, CPAN, CPANM, PEAR, REBAR3, PIPENV, MAVEN, NPM, BAZEL, DOTNET, JAVA, DOCKER, GIT, SWIFT, GO, LERNA);
+
     private final CachedExecutableResolverOptions executableResolverOptions;
     private final SimpleLocalExecutableFinder localExecutableFinder;
     private final SimpleSystemExecutableFinder systemExecutableFinder;
-
-    private final Map<String, File> cached = new HashMap<>();
+    private final ExecutableResolutionCache cache;
 
     public SimpleExecutableResolver(final CachedExecutableResolverOptions executableResolverOptions, final SimpleLocalExecutableFinder localExecutableFinder, final SimpleSystemExecutableFinder systemExecutableFinder) {
+        this(executableResolverOptions, localExecutableFinder, systemExecutableFinder, ExecutableResolutionCache.inMemory());
+    }
+
+    public SimpleExecutableResolver(final CachedExecutableResolverOptions executableResolverOptions, final SimpleLocalExecutableFinder localExecutableFinder, final SimpleSystemExecutableFinder systemExecutableFinder,
+        final ExecutableResolutionCache cache) {
         this.executableResolverOptions = executableResolverOptions;
         this.localExecutableFinder = localExecutableFinder;
         this.systemExecutableFinder = systemExecutableFinder;
+        this.cache = cache;
     }
 
-    private File findCachedSystem(final String name) {
-        if (!cached.containsKey(name)) {
-            final File found = systemExecutableFinder.findExecutable(name);
-            cached.put(name, found);
-        }
+    /**
+     * Submits a lookup of every system executable this resolver knows about to the given executor. Lookups made while these are running wait
+     * for the same search rather than repeating it.
+     */
+    public CompletableFuture<Void> prefetchSystemExecutables(final Executor executor) {
+        final List<String> names = new ArrayList<>(SYSTEM_EXECUTABLES);
+        names.add(pythonVersioned(PIP));
+        names.add(pythonVersioned(PYTHON));
+        final CompletableFuture<?>[] lookups = names.stream()
+                                                   .map(name -> CompletableFuture.runAsync(() -> findCachedSystem(name), executor))
+                                                   .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(lookups);
+    }
+
+    // Persists everything resolved so far, so it should be called once the run has resolved what it needs.
+    public void saveCache() {
+        cache.save();
+    }
 
-        return cached.get(name);
+    private String pythonVersioned(final String name) {
+        return executableResolverOptions.isPython3() ? name + "3" : name;
+    }
+
+    private File findCachedSystem(final String name) {
+        return cache.resolve(name, systemExecutableFinder::findExecutable);
     }
 
     private File findLocalOrSystem(final String localName, final String systemName, final DetectableEnvironment environment) {
@@ -85,103 +137,101 @@ public class SimpleExecutableResolver
 
     @Override
     public File resolveGradle(final DetectableEnvironment environment) {
-        return findLocalOrSystem("gradlew", "gradle", environment);
+        return findLocalOrSystem(GRADLE_WRAPPER, GRADLE, environment);
     }
 
     @Override
     public File resolveBash() {
-        return findCachedSystem("bash");
+        return findCachedSystem(BASH);
     }
 
     @Override
     public File resolveConda() {
-        return findCachedSystem("conda");
+        return findCachedSystem(CONDA);
     }
 
     @Override
     public File resolveCpan() {
-        return findCachedSystem("cpan");
+        return findCachedSystem(CPAN);
     }
 
     @Override
     public File resolveCpanm() {
-        return findCachedSystem("cpanm");
+        return findCachedSystem(CPANM);
     }
 
     @Override
     public File resolvePear() {
-        return findCachedSystem("pear");
+        return findCachedSystem(PEAR);
     }
 
     @Override
     public File resolveRebar3() {
-        return findCachedSystem("rebar3");
+        return findCachedSystem(REBAR3);
     }
 
     @Override
     public File resolvePip() {
-        final String suffix = executableResolverOptions.isPython3() ? "3" : "";
-        return findCachedSystem("pip" + suffix);
+        return findCachedSystem(pythonVersioned(PIP));
     }
 
     @Override
     public File resolvePython() {
-        final String suffix = executableResolverOptions.isPython3() ? "3" : "";
-        return findCachedSystem("python" + suffix);
+        return findCachedSystem(pythonVersioned(PYTHON));
     }
 
     @Override
     public File resolvePipenv() {
-        return findCachedSystem("pipenv");
+        return findCachedSystem(PIPENV);
     }
 
     @Override
     public File resolveMaven(final DetectableEnvironment environment) {
-        return findLocalOrSystem("mvnw", "mvn", environment);
+        return findLocalOrSystem(MAVEN_WRAPPER, MAVEN, environment);
     }
 
     @Override
     public File resolveNpm(final DetectableEnvironment environment) {
-        return findCachedSystem("npm");
+        return findCachedSystem(NPM);
     }
 
     @Override
     public File resolveBazel() {
-        return findCachedSystem("bazel");
+        return findCachedSystem(BAZEL);
     }
 
     @Override
     public File resolveDotNet() {
-        return findCachedSystem("dotnet");
+        return findCachedSystem(DOTNET);
     }
 
     @Override
     public File resolveJava() {
-        return findCachedSystem("java");
+        return findCachedSystem(JAVA);
     }
 
     @Override
     public File resolveDocker() {
-        return findCachedSystem("docker");
+        return findCachedSystem(DOCKER);
     }
 
     @Override
     public File resolveGit() {
-        return findCachedSystem("git");
+        return findCachedSystem(GIT);
     }
 
     @Override
     public File resolveSwift() {
-        return findCachedSystem("swift");
+        return findCachedSystem(SWIFT);
     }
 
     @Override
     public File resolveGo() {
-        return findCachedSystem("go");
+        return findCachedSystem(GO);
     }
 
     @Override
     public File resolveLerna() {
-        return findCachedSystem("lerna");
+        return findCachedSystem(LERNA);
     }
 }
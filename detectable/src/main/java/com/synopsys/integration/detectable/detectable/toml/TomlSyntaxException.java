@@ -20,18 +20,14 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package com.synopsys.integration.detectable.detectables.cargo.model;
+package com.synopsys.integration.detectable.detectable.toml;
 
-import java.util.List;
-import java.util.Optional;
+import java.io.IOException;
 
-import com.google.gson.annotations.SerializedName;
+public class TomlSyntaxException extends IOException {
+    private static final long serialVersionUID = 1L;
 
-public class CargoLock {
-    @SerializedName("package")
-    private List<Package> packages;
-
-    public Optional<List<Package>> getPackages() {
-        return Optional.ofNullable(packages);
+    public TomlSyntaxException(String message, int line) {
+        super(String.format("%s on line %d", message, line));
     }
 }
@@ -0,0 +1,463 @@
+/**
+ * detectable
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectable.toml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams the entries of one top-level TOML array of tables (e.g. [[package]] in Cargo.lock and poetry.lock, [[projects]] in Gopkg.lock) without building a
+ * document tree. Every other part of the document is validated and skipped as it is read. Entries are handed to the consumer one at a time as
+ * {@link TomlTableRecord}s.
+ */
+public class TomlTableReader {
+    private static final int EOF = -1;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private int line = 1;
+
+    public TomlTableReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public void readTables(String tableArrayName, Consumer<TomlTableRecord> consumer) throws IOException {
+        TomlTableRecord current = null;
+        // While inside [name.sub] this is "sub"; keys found there are recorded as sub-table keys of the current record.
+        String currentSubTable = null;
+        // Set while inside [name.sub.deeper] or any unrelated table, where keys are skipped.
+        boolean skippingKeys = false;
+
+        while (true) {
+            skipBlankLines();
+            int c = peek();
+            if (c == EOF) {
+                break;
+            }
+            if (c == '[') {
+                read();
+                boolean arrayHeader = peek() == '[';
+                if (arrayHeader) {
+                    read();
+                }
+                skipSpaces();
+                List<String> path = readKeyPath();
+                skipSpaces();
+                expect(']', "Expected ']' to close table header");
+                if (arrayHeader) {
+                    expect(']', "Expected ']]' to close array of tables header");
+                }
+                expectEndOfLine();
+
+                boolean inTableArray = path.get(0).equals(tableArrayName);
+                if (arrayHeader && inTableArray && path.size() == 1) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = new TomlTableRecord();
+                    currentSubTable = null;
+                    skippingKeys = false;
+                } else if (current != null && inTableArray && path.size() > 1) {
+                    current.addSubTable(path.get(1));
+                    if (path.size() == 2) {
+                        currentSubTable = path.get(1);
+                        skippingKeys = false;
+                    } else {
+                        current.addSubTableKey(path.get(1), path.get(2));
+                        currentSubTable = null;
+                        skippingKeys = true;
+                    }
+                } else {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = null;
+                    currentSubTable = null;
+                    skippingKeys = true;
+                }
+            } else {
+                List<String> key = readKeyPath();
+                skipSpaces();
+                expect('=', "Expected '=' after key '" + String.join(".", key) + "'");
+                skipSpaces();
+                if (current == null || skippingKeys) {
+                    skipValue();
+                } else if (currentSubTable != null) {
+                    current.addSubTableKey(currentSubTable, key.get(0));
+                    skipValue();
+                } else if (key.size() > 1) {
+                    current.addSubTableKey(key.get(0), key.get(1));
+                    skipValue();
+                } else {
+                    readRecordValue(current, key.get(0));
+                }
+                expectEndOfLine();
+            }
+        }
+
+        if (current != null) {
+            consumer.accept(current);
+        }
+    }
+
+    private void readRecordValue(TomlTableRecord record, String key) throws IOException {
+        int c = peek();
+        if (c == '[') {
+            record.putStringArray(key, readStringArray());
+        } else if (c == '{') {
+            record.addSubTable(key);
+            skipInlineTable(record, key);
+        } else if (c == '"' || c == '\'') {
+            record.putString(key, readString());
+        } else {
+            record.putString(key, readBareValue());
+        }
+    }
+
+    private List<String> readStringArray() throws IOException {
+        List<String> values = new ArrayList<>();
+        read();
+        while (true) {
+            skipArrayWhitespace();
+            int c = peek();
+            if (c == ']') {
+                read();
+                return values;
+            }
+            if (c == '"' || c == '\'') {
+                values.add(readString());
+            } else {
+                skipValue();
+            }
+            skipArrayWhitespace();
+            if (peek() == ',') {
+                read();
+            }
+        }
+    }
+
+    private void skipValue() throws IOException {
+        int c = peek();
+        if (c == '[') {
+            read();
+            while (true) {
+                skipArrayWhitespace();
+                if (peek() == ']') {
+                    read();
+                    return;
+                }
+                skipValue();
+                skipArrayWhitespace();
+                if (peek() == ',') {
+                    read();
+                }
+            }
+        } else if (c == '{') {
+            skipInlineTable(null, null);
+        } else if (c == '"' || c == '\'') {
+            readString();
+        } else {
+            readBareValue();
+        }
+    }
+
+    private void skipInlineTable(TomlTableRecord record, String subTable) throws IOException {
+        read();
+        while (true) {
+            skipArrayWhitespace();
+            int c = peek();
+            if (c == '}') {
+                read();
+                return;
+            }
+            List<String> key = readKeyPath();
+            skipSpaces();
+            expect('=', "Expected '=' after key '" + String.join(".", key) + "'");
+            skipSpaces();
+            if (record != null) {
+                record.addSubTableKey(subTable, key.get(0));
+            }
+            skipValue();
+            skipArrayWhitespace();
+            if (peek() == ',') {
+                read();
+            }
+        }
+    }
+
+    private List<String> readKeyPath() throws IOException {
+        List<String> path = new ArrayList<>(3);
+        while (true) {
+            int c = peek();
+            if (c == '"' || c == '\'') {
+                path.add(readString());
+            } else {
+                String bareKey = readBareKey();
+                if (bareKey.isEmpty()) {
+                    throw new TomlSyntaxException("Expected a key", line);
+                }
+                path.add(bareKey);
+            }
+            skipSpaces();
+            if (peek() != '.') {
+                return path;
+            }
+            read();
+            skipSpaces();
+        }
+    }
+
+    private String readBareKey() throws IOException {
+        StringBuilder key = new StringBuilder();
+        int c = peek();
+        while ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-') {
+            key.append((char) read());
+            c = peek();
+        }
+        return key.toString();
+    }
+
+    private String readBareValue() throws IOException {
+        StringBuilder value = new StringBuilder();
+        int c = peek();
+        while (c != EOF && c != ' ' && c != '\t' && c != '\r' && c != '\n' && c != ',' && c != ']' && c != '}' && c != '#') {
+            value.append((char) read());
+            c = peek();
+            // A local date followed by a space may continue as a date-time, e.g. 1979-05-27 07:32:00.
+            if (c == ' ' && value.length() == 10 && value.charAt(4) == '-' && value.charAt(7) == '-') {
+                read();
+                if (Character.isDigit(peek())) {
+                    value.append(' ');
+                } else {
+                    break;
+                }
+                c = peek();
+            }
+        }
+        if (value.length() == 0) {
+            throw new TomlSyntaxException("Expected a value", line);
+        }
+        return value.toString();
+    }
+
+    private String readString() throws IOException {
+        char quote = (char) read();
+        boolean literal = quote == '\'';
+        boolean multiLine = false;
+        if (peek() == quote) {
+            read();
+            if (peek() != quote) {
+                return "";
+            }
+            read();
+            multiLine = true;
+            if (peek() == '\r') {
+                read();
+            }
+            if (peek() == '\n') {
+                read();
+            }
+        }
+
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == EOF || (!multiLine && (c == '\n' || c == '\r'))) {
+                throw new TomlSyntaxException("Unterminated string", line);
+            }
+            if (c == quote) {
+                if (!multiLine) {
+                    return value.toString();
+                }
+                int quotes = 1;
+                while (quotes < 5 && peek() == quote) {
+                    read();
+                    quotes++;
+                }
+                if (quotes >= 3) {
+                    for (int extra = 3; extra < quotes; extra++) {
+                        value.append(quote);
+                    }
+                    return value.toString();
+                }
+                for (int i = 0; i < quotes; i++) {
+                    value.append(quote);
+                }
+            } else if (c == '\\' && !literal) {
+                readEscape(value, multiLine);
+            } else {
+                value.append((char) c);
+            }
+        }
+    }
+
+    private void readEscape(StringBuilder value, boolean multiLine) throws IOException {
+        int c = read();
+        switch (c) {
+            case 'b':
+                value.append('\b');
+                break;
+            case 't':
+                value.append('\t');
+                break;
+            case 'n':
+                value.append('\n');
+                break;
+            case 'f':
+                value.append('\f');
+                break;
+            case 'r':
+                value.append('\r');
+                break;
+            case '"':
+                value.append('"');
+                break;
+            case '\\':
+                value.append('\\');
+                break;
+            case 'u':
+                value.appendCodePoint(readUnicodeEscape(4));
+                break;
+            case 'U':
+                value.appendCodePoint(readUnicodeEscape(8));
+                break;
+            default:
+                if (multiLine && (c == ' ' || c == '\t' || c == '\r' || c == '\n')) {
+                    // A line ending backslash trims all whitespace up to the next non-whitespace character.
+                    while (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                        c = peek();
+                        if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                            read();
+                        }
+                    }
+                    break;
+                }
+                throw new TomlSyntaxException("Invalid escape sequence", line);
+        }
+    }
+
+    private int readUnicodeEscape(int digits) throws IOException {
+        int codePoint = 0;
+        for (int i = 0; i < digits; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) {
+                throw new TomlSyntaxException("Invalid unicode escape", line);
+            }
+            codePoint = codePoint * 16 + digit;
+        }
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw new TomlSyntaxException("Invalid unicode escape", line);
+        }
+        return codePoint;
+    }
+
+    private void skipSpaces() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\t') {
+            read();
+            c = peek();
+        }
+    }
+
+    private void skipComment() throws IOException {
+        int c = peek();
+        while (c != EOF && c != '\n' && c != '\r') {
+            read();
+            c = peek();
+        }
+    }
+
+    private void skipBlankLines() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                read();
+            } else if (c == '#') {
+                skipComment();
+            } else {
+                return;
+            }
+        }
+    }
+
+    // Arrays and inline tables may span lines and hold comments. Commas between elements are not enforced.
+    private void skipArrayWhitespace() throws IOException {
+        skipBlankLines();
+        if (peek() == EOF) {
+            throw new TomlSyntaxException("Unterminated array or inline table", line);
+        }
+    }
+
+    private void expectEndOfLine() throws IOException {
+        skipSpaces();
+        int c = peek();
+        if (c == '#') {
+            skipComment();
+            c = peek();
+        }
+        if (c != EOF && c != '\n' && c != '\r') {
+            throw new TomlSyntaxException("Expected the end of the line but found '" + (char) c + "'", line);
+        }
+    }
+
+    private void expect(char expected, String message) throws IOException {
+        if (peek() != expected) {
+            throw new TomlSyntaxException(message, line);
+        }
+        read();
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
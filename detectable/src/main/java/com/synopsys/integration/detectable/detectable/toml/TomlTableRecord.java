@@ -0,0 +1,69 @@
+/**
+ * detectable
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectable.toml;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The fields of one entry of a TOML array of tables, e.g. a single [[package]] of a lockfile. Only string values, arrays of strings and the key names of
+ * sub-tables (e.g. the entries of [package.dependencies]) are kept.
+ */
+public class TomlTableRecord {
+    private final Map<String, String> strings = new HashMap<>();
+    private final Map<String, List<String>> stringArrays = new HashMap<>();
+    private final Map<String, Set<String>> subTableKeys = new HashMap<>();
+
+    void putString(String key, String value) {
+        strings.put(key, value);
+    }
+
+    void putStringArray(String key, List<String> values) {
+        stringArrays.put(key, values);
+    }
+
+    void addSubTable(String subTable) {
+        subTableKeys.computeIfAbsent(subTable, key -> new LinkedHashSet<>());
+    }
+
+    void addSubTableKey(String subTable, String key) {
+        subTableKeys.computeIfAbsent(subTable, ignored -> new LinkedHashSet<>()).add(key);
+    }
+
+    public Optional<String> getString(String key) {
+        return Optional.ofNullable(strings.get(key));
+    }
+
+    public Optional<List<String>> getStringArray(String key) {
+        return Optional.ofNullable(stringArrays.get(key));
+    }
+
+    public Set<String> getSubTableKeys(String subTable) {
+        return subTableKeys.getOrDefault(subTable, Collections.emptySet());
+    }
+}
@@ -22,6 +22,7 @@
  */
 package com.synopsys.integration.detectable.detectables.cargo;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
@@ -55,8 +56,10 @@ public class CargoExtractor {
 
     public Extraction extract(File cargoLock, Optional<File> cargoToml) {
         try {
-            String cargoLockAsString = getFileAsString(cargoLock, StandardCharsets.UTF_8);
-            DependencyGraph graph = cargoLockParser.parseLockFile(cargoLockAsString);
+            DependencyGraph graph;
+            try (BufferedReader cargoLockReader = Files.newBufferedReader(cargoLock.toPath(), StandardCharsets.UTF_8)) {
+                graph = cargoLockParser.parseLockFile(cargoLockReader);
+            }
             CodeLocation codeLocation = new CodeLocation(graph);
 
             Optional<NameVersion> cargoNameVersion = extractNameVersionFromCargoToml(cargoToml);
@@ -22,6 +22,10 @@
  */
 package com.synopsys.integration.detectable.detectables.cargo.parse;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -29,7 +33,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import com.moandjiezana.toml.Toml;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
@@ -38,10 +41,17 @@ import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 import com.synopsys.integration.detectable.detectable.exception.DetectableException;
-import com.synopsys.integration.detectable.detectables.cargo.model.CargoLock;
+import com.synopsys.integration.detectable.detectable.toml.TomlSyntaxException;
+import com.synopsys.integration.detectable.detectable.toml.TomlTableReader;
 import com.synopsys.integration.detectable.detectables.cargo.model.Package;
 
 public class CargoLockParser {
+    private static final String PACKAGE_KEY = "package";
+    private static final String NAME_KEY = "name";
+    private static final String VERSION_KEY = "version";
+    private static final String SOURCE_KEY = "source";
+    private static final String CHECKSUM_KEY = "checksum";
+    private static final String DEPENDENCIES_KEY = "dependencies";
 
     private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
 
@@ -49,14 +59,31 @@ public class CargoLockParser {
 
     public DependencyGraph parseLockFile(String lockFile) throws DetectableException {
         try {
-            CargoLock cargoLock = new Toml().read(lockFile).to(CargoLock.class);
-            if (cargoLock.getPackages().isPresent()) {
-                return parseDependencies(cargoLock.getPackages().get());
-            }
-        } catch (IllegalStateException e) {
+            return parseLockFile(new StringReader(lockFile));
+        } catch (IOException e) {
+            throw new DetectableException("Unable to read the Cargo.lock contents", e);
+        }
+    }
+
+    public DependencyGraph parseLockFile(Reader lockFileReader) throws IOException, DetectableException {
+        List<Package> lockPackages = new ArrayList<>();
+        try {
+            new TomlTableReader(lockFileReader).readTables(PACKAGE_KEY, table -> {
+                Package lockPackage = new Package();
+                table.getString(NAME_KEY).ifPresent(lockPackage::setName);
+                table.getString(VERSION_KEY).ifPresent(lockPackage::setVersion);
+                table.getString(SOURCE_KEY).ifPresent(lockPackage::setSource);
+                table.getString(CHECKSUM_KEY).ifPresent(lockPackage::setChecksum);
+                table.getStringArray(DEPENDENCIES_KEY).ifPresent(lockPackage::setDependencies);
+                lockPackages.add(lockPackage);
+            });
+        } catch (TomlSyntaxException e) {
             throw new DetectableException("Illegal syntax was detected in Cargo.lock file", e);
         }
-        return new MutableMapDependencyGraph();
+        if (lockPackages.isEmpty()) {
+            return new MutableMapDependencyGraph();
+        }
+        return parseDependencies(lockPackages);
     }
 
     private DependencyGraph parseDependencies(List<Package> lockPackages) {
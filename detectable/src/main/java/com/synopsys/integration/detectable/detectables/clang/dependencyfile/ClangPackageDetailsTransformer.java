@@ -48,7 +48,7 @@ public class ClangPackageDetailsTransformer {
     }
 
     public CodeLocation toCodeLocation(final List<Forge> dependencyForges, final Set<PackageDetails> packages) {
-        final List<Dependency> dependencies = packages.parallelStream()
+        final List<Dependency> dependencies = packages.stream()
                                                   .flatMap(pkg -> toDependency(dependencyForges, pkg).stream())
                                                   .collect(Collectors.toList());
         logger.trace("Generated : " + dependencies.size() + " dependencies.");
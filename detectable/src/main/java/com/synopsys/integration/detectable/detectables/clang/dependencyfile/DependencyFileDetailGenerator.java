@@ -23,8 +23,12 @@
 package com.synopsys.integration.detectable.detectables.clang.dependencyfile;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -37,20 +41,37 @@ public class DependencyFileDetailGenerator {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final FilePathGenerator filePathGenerator;
+    private final ExecutorService executorService;
 
-    public DependencyFileDetailGenerator(FilePathGenerator filePathGenerator) {this.filePathGenerator = filePathGenerator;}
+    public DependencyFileDetailGenerator(FilePathGenerator filePathGenerator, ExecutorService executorService) {
+        this.filePathGenerator = filePathGenerator;
+        this.executorService = executorService;
+    }
 
-    public Set<File> fromCompileCommands(List<CompileCommand> compileCommands, File outputDirectory, boolean cleanup) {
+    // Every compile command runs the compiler once, so the commands are spread over the given executor rather than the common fork join pool.
+    public Set<File> fromCompileCommands(List<CompileCommand> compileCommands, File outputDirectory, boolean cleanup) throws InterruptedException, ExecutionException {
+        List<Future<List<String>>> filePathLists = new ArrayList<>(compileCommands.size());
+        try {
+            for (CompileCommand compileCommand : compileCommands) {
+                filePathLists.add(executorService.submit(() -> filePathGenerator.fromCompileCommand(outputDirectory, compileCommand, cleanup)));
+            }
+            List<String> filePaths = new ArrayList<>();
+            for (Future<List<String>> filePathList : filePathLists) {
+                filePaths.addAll(filePathList.get());
+            }
 
-        Set<File> dependencyFiles = compileCommands.parallelStream()
-                                              .flatMap(command -> filePathGenerator.fromCompileCommand(outputDirectory, command, cleanup).stream())
-                                              .filter(StringUtils::isNotBlank)
-                                              .map(File::new)
-                                              .filter(File::exists)
-                                              .collect(Collectors.toSet());
+            Set<File> dependencyFiles = filePaths.stream()
+                                            .filter(StringUtils::isNotBlank)
+                                            .map(File::new)
+                                            .filter(File::exists)
+                                            .collect(Collectors.toSet());
 
-        logger.trace("Found : " + dependencyFiles.size() + " files to process.");
+            logger.trace("Found : " + dependencyFiles.size() + " files to process.");
 
-        return dependencyFiles;
+            return dependencyFiles;
+        } finally {
+            // Only does anything when a command failed or this thread was interrupted, the rest are not worth running then.
+            filePathLists.forEach(filePathList -> filePathList.cancel(true));
+        }
     }
 }
@@ -25,22 +25,15 @@ package com.synopsys.integration.detectable.detectables.cocoapods.model;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.fasterxml.jackson.annotation.JsonAnySetter;
-
 public class Pod {
-    private String name;
-    private String cleanName;
-    private List<String> dependencies = new ArrayList<>();
-
-    public Pod() {
-    }
+    private final String name;
+    private final List<String> dependencies;
 
     public Pod(final String name) {
-        this.name = name;
+        this(name, new ArrayList<>());
     }
 
-    @JsonAnySetter
-    public void setDynamicProperty(final String name, final List<String> dependencies) {
+    public Pod(final String name, final List<String> dependencies) {
         this.name = name;
         this.dependencies = dependencies;
     }
@@ -49,10 +42,6 @@ public class Pod {
         return name;
     }
 
-    public String getCleanName() {
-        return cleanName;
-    }
-
     public List<String> getDependencies() {
         return dependencies;
     }
@@ -22,29 +22,21 @@
  */
 package com.synopsys.integration.detectable.detectables.cocoapods.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
-
-@JsonIgnoreProperties(ignoreUnknown = true)
 public class PodSource {
-    @JsonIgnore
-    private String name;
-
-    @JsonProperty(":git")
-    private String git;
+    private final String name;
+    private final String git;
+    private final String path;
 
-    @JsonProperty(":path")
-    private String path;
+    public PodSource(final String name, final String git, final String path) {
+        this.name = name;
+        this.git = git;
+        this.path = path;
+    }
 
     public String getName() {
         return name;
     }
 
-    public void setName(final String name) {
-        this.name = name;
-    }
-
     public String getGit() {
         return git;
     }
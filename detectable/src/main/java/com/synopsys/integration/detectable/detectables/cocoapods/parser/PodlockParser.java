@@ -34,7 +34,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.graph.builder.LazyExternalIdDependencyGraphBuilder;
 import com.synopsys.integration.bdio.graph.builder.MissingExternalIdException;
@@ -45,14 +47,20 @@ import com.synopsys.integration.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 import com.synopsys.integration.detectable.detectables.cocoapods.model.Pod;
 import com.synopsys.integration.detectable.detectables.cocoapods.model.PodSource;
-import com.synopsys.integration.detectable.detectables.cocoapods.model.PodfileLock;
 
 public class PodlockParser {
     private static final List<String> fuzzyVersionIdentifiers = new ArrayList<>(Arrays.asList(">", "<", "~>", "="));
 
+    private static final String PODS_SECTION = "PODS";
+    private static final String DEPENDENCIES_SECTION = "DEPENDENCIES";
+    private static final String EXTERNAL_SOURCES_SECTION = "EXTERNAL SOURCES";
+    private static final String GIT_KEY = ":git";
+    private static final String PATH_KEY = ":path";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final ExternalIdFactory externalIdFactory;
+    private final YAMLFactory yamlFactory = new YAMLFactory();
 
     public PodlockParser(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
@@ -60,20 +68,23 @@ public class PodlockParser {
 
     public DependencyGraph extractDependencyGraph(final String podLockText) throws IOException, MissingExternalIdException {
         final LazyExternalIdDependencyGraphBuilder lazyBuilder = new LazyExternalIdDependencyGraphBuilder();
-        final YAMLMapper mapper = new YAMLMapper();
-        final PodfileLock podfileLock = mapper.readValue(podLockText, PodfileLock.class);
+        final List<Pod> pods = new ArrayList<>();
+        final List<Pod> dependencies = new ArrayList<>();
+        final List<PodSource> podSources = new ArrayList<>();
+        readSections(podLockText, pods, dependencies, podSources);
 
-        final Map<DependencyId, Forge> forgeOverrides = createForgeOverrideMap(podfileLock);
+        // Pod names repeat across the PODS section (every subspec and every reference to a pod), so each distinct entry is resolved to its super pod name once.
+        final Map<String, Optional<String>> podNames = new HashMap<>();
+        final Map<DependencyId, Forge> forgeOverrides = createForgeOverrideMap(podSources, podNames);
 
-        for (final Pod pod : podfileLock.getPods()) {
+        for (final Pod pod : pods) {
             logger.trace(String.format("Processing pod %s", pod.getName()));
-            processPod(pod, forgeOverrides, lazyBuilder);
+            processPod(pod, forgeOverrides, podNames, lazyBuilder);
         }
 
-        for (final Pod dependency : podfileLock.getDependencies()) {
+        for (final Pod dependency : dependencies) {
             logger.trace(String.format("Processing pod dependency from pod lock file %s", dependency.getName()));
-            final String podText = dependency.getName();
-            final Optional<DependencyId> dependencyId = parseDependencyId(podText);
+            final Optional<DependencyId> dependencyId = parseDependencyId(dependency.getName(), podNames);
             dependencyId.ifPresent(lazyBuilder::addChildToRoot);
         }
         logger.trace("Attempting to build the dependency graph.");
@@ -82,21 +93,108 @@ public class PodlockParser {
         return dependencyGraph;
     }
 
+    /*
+     * Reads only the PODS, DEPENDENCIES and EXTERNAL SOURCES sections from the YAML token stream, every other section is skipped without being mapped.
+     */
+    private void readSections(final String podLockText, final List<Pod> pods, final List<Pod> dependencies, final List<PodSource> podSources) throws IOException {
+        try (final JsonParser parser = yamlFactory.createParser(podLockText)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("The pod lock file does not contain a YAML mapping.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String section = parser.getCurrentName();
+                parser.nextToken();
+                if (PODS_SECTION.equals(section)) {
+                    readPods(parser, pods);
+                } else if (DEPENDENCIES_SECTION.equals(section)) {
+                    readPods(parser, dependencies);
+                } else if (EXTERNAL_SOURCES_SECTION.equals(section)) {
+                    readPodSources(parser, podSources);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readPods(final JsonParser parser, final List<Pod> pods) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            final JsonToken token = parser.getCurrentToken();
+            if (token == JsonToken.START_OBJECT) {
+                // A pod with dependencies is a single entry mapping its name to the list of dependencies.
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.getCurrentName();
+                    parser.nextToken();
+                    pods.add(new Pod(name, readStrings(parser)));
+                }
+            } else if (token.isScalarValue()) {
+                pods.add(new Pod(parser.getValueAsString()));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readPodSources(final JsonParser parser, final List<PodSource> podSources) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            String git = null;
+            String path = null;
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String key = parser.getCurrentName();
+                    final JsonToken value = parser.nextToken();
+                    if (GIT_KEY.equals(key) && value.isScalarValue()) {
+                        git = parser.getValueAsString();
+                    } else if (PATH_KEY.equals(key) && value.isScalarValue()) {
+                        path = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+            podSources.add(new PodSource(name, git, path));
+        }
+    }
+
+    private List<String> readStrings(final JsonParser parser) throws IOException {
+        final List<String> values = new ArrayList<>();
+        if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return values;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.getCurrentToken().isScalarValue()) {
+                values.add(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
     /*
      * Create an override map because GitHub has better KB support so we should override COCOAPODS forge when we know where it is from.
      */
-    private Map<DependencyId, Forge> createForgeOverrideMap(final PodfileLock podfileLock) {
+    private Map<DependencyId, Forge> createForgeOverrideMap(final List<PodSource> podSources, final Map<String, Optional<String>> podNames) {
         final Map<DependencyId, Forge> forgeOverrideMap = new HashMap<>();
-        if (null != podfileLock.getExternalSources()) {
-            final List<PodSource> podSources = podfileLock.getExternalSources().getSources();
-            for (final PodSource podSource : podSources) {
-                final Optional<DependencyId> dependencyId = parseDependencyId(podSource.getName());
-                if (dependencyId.isPresent()) {
-                    if (null != podSource.getGit() && podSource.getGit().contains("github")) {
-                        forgeOverrideMap.put(dependencyId.get(), Forge.COCOAPODS);
-                    } else if (null != podSource.getPath() && podSource.getPath().contains("node_modules")) {
-                        forgeOverrideMap.put(dependencyId.get(), Forge.NPMJS);
-                    }
+        for (final PodSource podSource : podSources) {
+            final Optional<DependencyId> dependencyId = parseDependencyId(podSource.getName(), podNames);
+            if (dependencyId.isPresent()) {
+                if (null != podSource.getGit() && podSource.getGit().contains("github")) {
+                    forgeOverrideMap.put(dependencyId.get(), Forge.COCOAPODS);
+                } else if (null != podSource.getPath() && podSource.getPath().contains("node_modules")) {
+                    forgeOverrideMap.put(dependencyId.get(), Forge.NPMJS);
                 }
             }
         }
@@ -105,29 +203,24 @@ public class PodlockParser {
     }
 
     private Forge getForge(final DependencyId dependencyId, final Map<DependencyId, Forge> forgeOverrides) {
-        if (forgeOverrides.containsKey(dependencyId)) {
-            return forgeOverrides.get(dependencyId);
-        }
-
-        return Forge.COCOAPODS;
+        return forgeOverrides.getOrDefault(dependencyId, Forge.COCOAPODS);
     }
 
-    private void processPod(final Pod pod, final Map<DependencyId, Forge> forgeOverrides, final LazyExternalIdDependencyGraphBuilder lazyBuilder) {
+    private void processPod(final Pod pod, final Map<DependencyId, Forge> forgeOverrides, final Map<String, Optional<String>> podNames, final LazyExternalIdDependencyGraphBuilder lazyBuilder) {
         final String podText = pod.getName();
-        final Optional<DependencyId> dependencyIdMaybe = parseDependencyId(podText);
-        final String name = parseCorrectPodName(podText).orElse(null);
-        final String version = parseVersion(podText).orElse(null);
-        if (dependencyIdMaybe.isPresent()) {
-            final DependencyId dependencyId = dependencyIdMaybe.get();
+        final Optional<String> name = parseCorrectPodName(podText, podNames);
+        if (name.isPresent()) {
+            final DependencyId dependencyId = new NameDependencyId(name.get());
+            final String version = parseVersion(podText).orElse(null);
 
             final Forge forge = getForge(dependencyId, forgeOverrides);
-            final ExternalId externalId = externalIdFactory.createNameVersionExternalId(forge, name, version);
+            final ExternalId externalId = externalIdFactory.createNameVersionExternalId(forge, name.get(), version);
 
-            lazyBuilder.setDependencyInfo(dependencyId, name, version, externalId);
+            lazyBuilder.setDependencyInfo(dependencyId, name.get(), version, externalId);
 
             for (final String child : pod.getDependencies()) {
                 logger.trace(String.format("Processing pod dependency %s", child));
-                final Optional<DependencyId> childId = parseDependencyId(child);
+                final Optional<DependencyId> childId = parseDependencyId(child, podNames);
                 if (childId.isPresent() && !dependencyId.equals(childId.get())) {
                     lazyBuilder.addParentWithChild(dependencyId, childId.get());
                 }
@@ -135,6 +228,10 @@ public class PodlockParser {
         }
     }
 
+    private Optional<String> parseCorrectPodName(final String podText, final Map<String, Optional<String>> podNames) {
+        return podNames.computeIfAbsent(podText, this::parseCorrectPodName);
+    }
+
     private Optional<String> parseCorrectPodName(final String podText) {
         // due to the way the KB deals with subspecs we should use the super name if it exists as this pod's name.
         final Optional<String> podName = parseRawPodName(podText);
@@ -151,15 +248,16 @@ public class PodlockParser {
     }
 
     private Optional<String> parseSuperPodName(final String podName) {
-        if (podName.contains("/")) {
-            return Optional.of(podName.split("/")[0].trim());
+        final int separator = podName.indexOf('/');
+        if (separator >= 0) {
+            return Optional.of(podName.substring(0, separator).trim());
         }
 
         return Optional.empty();
     }
 
-    private Optional<DependencyId> parseDependencyId(final String podText) {
-        final Optional<String> name = parseCorrectPodName(podText);
+    private Optional<DependencyId> parseDependencyId(final String podText, final Map<String, Optional<String>> podNames) {
+        final Optional<String> name = parseCorrectPodName(podText, podNames);
 
         return name.map(NameDependencyId::new);
     }
@@ -189,7 +287,8 @@ public class PodlockParser {
 
     private Optional<String> parseRawPodName(final String podText) {
         if (StringUtils.isNotBlank(podText)) {
-            return Optional.of(podText.split(" ")[0].trim());
+            final int separator = podText.indexOf(' ');
+            return Optional.of((separator >= 0 ? podText.substring(0, separator) : podText).trim());
         }
 
         return Optional.empty();
@@ -26,12 +26,28 @@ import java.util.Optional;
 
 public class CondaCliDetectableOptions {
     private final String condaEnvironmentName;
+    private final boolean concurrentCommands;
+    private final boolean reuseEnvironmentResults;
 
     public CondaCliDetectableOptions(final String condaEnvironmentName) {
+        this(condaEnvironmentName, true, false);
+    }
+
+    public CondaCliDetectableOptions(final String condaEnvironmentName, final boolean concurrentCommands, final boolean reuseEnvironmentResults) {
         this.condaEnvironmentName = condaEnvironmentName;
+        this.concurrentCommands = concurrentCommands;
+        this.reuseEnvironmentResults = reuseEnvironmentResults;
     }
 
     public Optional<String> getCondaEnvironmentName() {
         return Optional.ofNullable(condaEnvironmentName);
     }
+
+    public boolean isConcurrentCommands() {
+        return concurrentCommands;
+    }
+
+    public boolean isReuseEnvironmentResults() {
+        return reuseEnvironmentResults;
+    }
 }
@@ -25,6 +25,9 @@ package com.synopsys.integration.detectable.detectables.conda;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -38,29 +41,26 @@ import com.synopsys.integration.detectable.detectables.conda.parser.CondaListPar
 public class CondaCliExtractor {
     private final CondaListParser condaListParser;
     private final ExecutableRunner executableRunner;
+    private final CondaEnvironmentCache condaEnvironmentCache;
+    private final ExecutorService executorService;
 
-    public CondaCliExtractor(CondaListParser condaListParser, ExecutableRunner executableRunner) {
+    public CondaCliExtractor(CondaListParser condaListParser, ExecutableRunner executableRunner, CondaEnvironmentCache condaEnvironmentCache, ExecutorService executorService) {
         this.condaListParser = condaListParser;
         this.executableRunner = executableRunner;
+        this.condaEnvironmentCache = condaEnvironmentCache;
+        this.executorService = executorService;
     }
 
-    public Extraction extract(File directory, File condaExe, File workingDirectory, String condaEnvironmentName) {
+    public Extraction extract(File directory, File condaExe, File workingDirectory, String condaEnvironmentName, boolean concurrentCommands, boolean reuseEnvironmentResults) {
         try {
-            List<String> condaListOptions = new ArrayList<>();
-            condaListOptions.add("list");
-            if (StringUtils.isNotBlank(condaEnvironmentName)) {
-                condaListOptions.add("-n");
-                condaListOptions.add(condaEnvironmentName);
+            DependencyGraph dependencyGraph;
+            if (reuseEnvironmentResults) {
+                // The same executable and environment name always resolve to the same environment prefix within a run.
+                String environmentKey = condaExe.getAbsolutePath() + File.pathSeparator + condaEnvironmentName;
+                dependencyGraph = condaEnvironmentCache.getOrLoad(environmentKey, () -> listEnvironment(directory, condaExe, workingDirectory, condaEnvironmentName, concurrentCommands));
+            } else {
+                dependencyGraph = listEnvironment(directory, condaExe, workingDirectory, condaEnvironmentName, concurrentCommands);
             }
-            condaListOptions.add("--json");
-            ExecutableOutput condaListOutput = executableRunner.execute(directory, condaExe, condaListOptions);
-
-            String listJsonText = condaListOutput.getStandardOutput();
-
-            ExecutableOutput condaInfoOutput = executableRunner.execute(workingDirectory, condaExe, "info", "--json");
-            String infoJsonText = condaInfoOutput.getStandardOutput();
-
-            DependencyGraph dependencyGraph = condaListParser.parse(listJsonText, infoJsonText);
             CodeLocation detectCodeLocation = new CodeLocation(dependencyGraph);
 
             return new Extraction.Builder().success(detectCodeLocation).build();
@@ -69,4 +69,40 @@ public class CondaCliExtractor {
         }
     }
 
+    private DependencyGraph listEnvironment(File directory, File condaExe, File workingDirectory, String condaEnvironmentName, boolean concurrentCommands) throws Exception {
+        List<String> condaListOptions = new ArrayList<>();
+        condaListOptions.add("list");
+        if (StringUtils.isNotBlank(condaEnvironmentName)) {
+            condaListOptions.add("-n");
+            condaListOptions.add(condaEnvironmentName);
+        }
+        condaListOptions.add("--json");
+
+        if (!concurrentCommands) {
+            ExecutableOutput condaListOutput = executableRunner.execute(directory, condaExe, condaListOptions);
+            ExecutableOutput condaInfoOutput = executableRunner.execute(workingDirectory, condaExe, "info", "--json");
+            return condaListParser.parse(condaListOutput.getStandardOutput(), condaInfoOutput.getStandardOutput());
+        }
+
+        // Each conda command spends seconds starting Python, so conda info runs while conda list does.
+        Future<ExecutableOutput> condaInfoOutput = executorService.submit(() -> executableRunner.execute(workingDirectory, condaExe, "info", "--json"));
+        try {
+            ExecutableOutput condaListOutput = executableRunner.execute(directory, condaExe, condaListOptions);
+            return condaListParser.parse(condaListOutput.getStandardOutput(), awaitOutput(condaInfoOutput).getStandardOutput());
+        } finally {
+            condaInfoOutput.cancel(true);
+        }
+    }
+
+    private ExecutableOutput awaitOutput(Future<ExecutableOutput> output) throws Exception {
+        try {
+            return output.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
 }
@@ -0,0 +1,56 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.conda;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+
+// Holds the parsed package list of each conda environment for a run, so detectables that list the same environment only run conda once.
+public class CondaEnvironmentCache {
+    private final Map<String, FutureTask<DependencyGraph>> environments = new ConcurrentHashMap<>();
+
+    // Concurrent callers for the same environment wait for the first one. A failed load is forgotten so that a later caller can try again.
+    public DependencyGraph getOrLoad(final String environmentKey, final Callable<DependencyGraph> loader) throws Exception {
+        final FutureTask<DependencyGraph> task = new FutureTask<>(loader);
+        FutureTask<DependencyGraph> environment = environments.putIfAbsent(environmentKey, task);
+        if (environment == null) {
+            environment = task;
+            task.run();
+        }
+
+        try {
+            return environment.get();
+        } catch (final ExecutionException e) {
+            environments.remove(environmentKey, environment);
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -22,12 +22,13 @@
  */
 package com.synopsys.integration.detectable.detectables.conda.parser;
 
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
@@ -38,28 +39,51 @@ import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 import com.synopsys.integration.detectable.detectables.conda.model.CondaInfo;
 import com.synopsys.integration.detectable.detectables.conda.model.CondaListElement;
 
+// Reads conda list --json and conda info --json with streaming readers, adding each package to the graph as it is read.
 public class CondaListParser {
-    private final Gson gson;
+    private static final String JSON_NAME = "name";
+    private static final String JSON_VERSION = "version";
+    private static final String JSON_BUILD_STRING = "build_string";
+    private static final String JSON_PLATFORM = "platform";
+
     private final ExternalIdFactory externalIdFactory;
 
-    public CondaListParser(final Gson gson, final ExternalIdFactory externalIdFactory) {
-        this.gson = gson;
+    public CondaListParser(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
     }
 
     public DependencyGraph parse(final String listJsonText, final String infoJsonText) {
-        final Type listType = new TypeToken<ArrayList<CondaListElement>>() {
-        }.getType();
-        final List<CondaListElement> condaList = gson.fromJson(listJsonText, listType);
-        final CondaInfo condaInfo = gson.fromJson(infoJsonText, CondaInfo.class);
-        final String platform = condaInfo.platform;
-
-        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        try {
+            final CondaInfo condaInfo = parseInfo(new StringReader(infoJsonText));
+            return parse(new StringReader(listJsonText), condaInfo.platform);
+        } catch (final IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
 
-        for (final CondaListElement condaListElement : condaList) {
-            graph.addChildToRoot(condaListElementToDependency(platform, condaListElement));
+    public CondaInfo parseInfo(final Reader infoJson) throws IOException {
+        final JsonReader jsonReader = createJsonReader(infoJson);
+        final CondaInfo condaInfo = new CondaInfo();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (JSON_PLATFORM.equals(jsonReader.nextName())) {
+                condaInfo.platform = nextString(jsonReader);
+            } else {
+                jsonReader.skipValue();
+            }
         }
+        jsonReader.endObject();
+        return condaInfo;
+    }
 
+    public DependencyGraph parse(final Reader listJson, final String platform) throws IOException {
+        final JsonReader jsonReader = createJsonReader(listJson);
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            graph.addChildToRoot(condaListElementToDependency(platform, nextElement(jsonReader)));
+        }
+        jsonReader.endArray();
         return graph;
     }
 
@@ -71,4 +95,39 @@ public class CondaListParser {
         return new Dependency(name, version, externalId);
     }
 
+    private CondaListElement nextElement(final JsonReader jsonReader) throws IOException {
+        final CondaListElement element = new CondaListElement();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            final String key = jsonReader.nextName();
+            if (JSON_NAME.equals(key)) {
+                element.name = nextString(jsonReader);
+            } else if (JSON_VERSION.equals(key)) {
+                element.version = nextString(jsonReader);
+            } else if (JSON_BUILD_STRING.equals(key)) {
+                element.buildString = nextString(jsonReader);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        return element;
+    }
+
+    private JsonReader createJsonReader(final Reader reader) {
+        final JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setLenient(true);
+        return jsonReader;
+    }
+
+    private String nextString(final JsonReader jsonReader) throws IOException {
+        final JsonToken token = jsonReader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return jsonReader.nextString();
+        } else if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(jsonReader.nextBoolean());
+        }
+        jsonReader.skipValue();
+        return null;
+    }
 }
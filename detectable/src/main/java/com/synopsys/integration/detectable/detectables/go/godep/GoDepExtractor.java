@@ -22,6 +22,7 @@
  */
 package com.synopsys.integration.detectable.detectables.go.godep;
 
+import java.io.IOException;
 import java.io.InputStream;
 
 import com.synopsys.integration.bdio.graph.DependencyGraph;
@@ -37,9 +38,13 @@ public class GoDepExtractor {
     }
 
     public Extraction extract(final InputStream goLockInputStream) {
-        final DependencyGraph graph = goLockParser.parseDepLock(goLockInputStream);
-        final CodeLocation codeLocation = new CodeLocation(graph);
-        return new Extraction.Builder().success(codeLocation).build();
+        try {
+            final DependencyGraph graph = goLockParser.parseDepLock(goLockInputStream);
+            final CodeLocation codeLocation = new CodeLocation(graph);
+            return new Extraction.Builder().success(codeLocation).build();
+        } catch (final IOException e) {
+            return new Extraction.Builder().exception(e).build();
+        }
     }
 
 }
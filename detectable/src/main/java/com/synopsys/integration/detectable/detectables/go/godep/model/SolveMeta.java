@@ -1,42 +0,0 @@
-/**
- * detectable
- *
- * Copyright (c) 2020 Synopsys, Inc.
- *
- * Licensed to the Apache Software Foundation (ASF) under one
- * or more contributor license agreements. See the NOTICE file
- * distributed with this work for additional information
- * regarding copyright ownership. The ASF licenses this file
- * to you under the Apache License, Version 2.0 (the
- * "License"); you may not use this file except in compliance
- * with the License. You may obtain a copy of the License at
- *
- * http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing,
- * software distributed under the License is distributed on an
- * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
- * KIND, either express or implied. See the License for the
- * specific language governing permissions and limitations
- * under the License.
- */
-package com.synopsys.integration.detectable.detectables.go.godep.model;
-
-import com.google.gson.annotations.SerializedName;
-
-public class SolveMeta {
-    @SerializedName("inputs-digest")
-    public String inputsDigest;
-
-    @SerializedName("analyzer-name")
-    public String analyzerName;
-
-    @SerializedName("analyzer-version")
-    public Integer analyzerVersion;
-
-    @SerializedName("solver-name")
-    public String solverName;
-
-    @SerializedName("solver-version")
-    public Integer solverVersion;
-}
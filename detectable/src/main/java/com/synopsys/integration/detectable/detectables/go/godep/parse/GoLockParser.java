@@ -22,12 +22,14 @@
  */
 package com.synopsys.integration.detectable.detectables.go.godep.parse;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.Optional;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 
 import org.apache.commons.lang3.StringUtils;
 
-import com.moandjiezana.toml.Toml;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
@@ -35,31 +37,34 @@ import com.synopsys.integration.bdio.model.Forge;
 import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
-import com.synopsys.integration.detectable.detectables.go.godep.model.GoLock;
-import com.synopsys.integration.detectable.detectables.go.godep.model.Project;
+import com.synopsys.integration.detectable.detectable.toml.TomlTableReader;
 
 public class GoLockParser {
+    private static final String PROJECTS_KEY = "projects";
+    private static final String NAME_KEY = "name";
+    private static final String VERSION_KEY = "version";
+    private static final String REVISION_KEY = "revision";
+    private static final String PACKAGES_KEY = "packages";
+
     private final ExternalIdFactory externalIdFactory;
 
     public GoLockParser(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
     }
 
-    public DependencyGraph parseDepLock(final InputStream depLockInputStream) {
+    public DependencyGraph parseDepLock(final InputStream depLockInputStream) throws IOException {
         final MutableDependencyGraph graph = new MutableMapDependencyGraph();
-        final GoLock goLock = new Toml().read(depLockInputStream).to(GoLock.class);
-        if (goLock.projects != null) {
-            for (final Project project : goLock.projects) {
-                if (project != null) {
-                    final String projectName = project.getName();
-                    final String projectVersion = Optional.ofNullable(StringUtils.stripToNull(project.getVersion())).orElse(project.getRevision());
-                    project.getPackages().stream()
-                        .map(packageName -> createDependencyName(projectName, packageName))
-                        .map(dependencyName -> createGoDependency(dependencyName, projectVersion))
-                        .forEach(graph::addChildToRoot);
-                }
-            }
-        }
+        final TomlTableReader tomlTableReader = new TomlTableReader(new InputStreamReader(depLockInputStream, StandardCharsets.UTF_8));
+        tomlTableReader.readTables(PROJECTS_KEY, project -> {
+            final String projectName = project.getString(NAME_KEY).orElse(null);
+            final String projectVersion = project.getString(VERSION_KEY)
+                                              .map(StringUtils::stripToNull)
+                                              .orElse(project.getString(REVISION_KEY).orElse(null));
+            project.getStringArray(PACKAGES_KEY).orElse(Collections.emptyList()).stream()
+                .map(packageName -> createDependencyName(projectName, packageName))
+                .map(dependencyName -> createGoDependency(dependencyName, projectVersion))
+                .forEach(graph::addChildToRoot);
+        });
         return graph;
     }
 
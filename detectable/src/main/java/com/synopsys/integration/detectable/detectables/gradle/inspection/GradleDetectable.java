@@ -48,18 +48,20 @@ public class GradleDetectable extends Detectable {
     private final GradleResolver gradleResolver;
     private final GradleInspectorResolver gradleInspectorResolver;
     private final GradleInspectorExtractor gradleInspectorExtractor;
+    private final GradleModelExtractor gradleModelExtractor;
     private final GradleInspectorOptions gradleInspectorOptions;
 
     private File gradleExe;
     private File gradleInspector;
 
     public GradleDetectable(DetectableEnvironment environment, FileFinder fileFinder, GradleResolver gradleResolver, GradleInspectorResolver gradleInspectorResolver,
-        GradleInspectorExtractor gradleInspectorExtractor, GradleInspectorOptions gradleInspectorOptions) {
+        GradleInspectorExtractor gradleInspectorExtractor, GradleModelExtractor gradleModelExtractor, GradleInspectorOptions gradleInspectorOptions) {
         super(environment);
         this.fileFinder = fileFinder;
         this.gradleResolver = gradleResolver;
         this.gradleInspectorResolver = gradleInspectorResolver;
         this.gradleInspectorExtractor = gradleInspectorExtractor;
+        this.gradleModelExtractor = gradleModelExtractor;
         this.gradleInspectorOptions = gradleInspectorOptions;
     }
 
@@ -96,6 +98,9 @@ public class GradleDetectable extends Detectable {
     @Override
     public Extraction extract(ExtractionEnvironment extractionEnvironment) {
         String gradleCommand = gradleInspectorOptions.getGradleBuildCommand().orElse(null);
+        if (gradleInspectorOptions.getGradleInspectorScriptOptions().isModelExtractionEnabled()) {
+            return gradleModelExtractor.extract(environment.getDirectory(), gradleExe, gradleCommand, gradleInspectorOptions.getproxyInfo(), gradleInspector, extractionEnvironment.getOutputDirectory());
+        }
         return gradleInspectorExtractor.extract(environment.getDirectory(), gradleExe, gradleCommand, gradleInspectorOptions.getproxyInfo(), gradleInspector, extractionEnvironment.getOutputDirectory());
     }
 }
@@ -0,0 +1,96 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.gradle.inspection;
+
+import java.io.File;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.detectable.Extraction;
+import com.synopsys.integration.detectable.detectable.codelocation.CodeLocation;
+import com.synopsys.integration.detectable.detectable.executable.ExecutableOutput;
+import com.synopsys.integration.detectable.detectable.file.FileFinder;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.parse.GradleDependencyModelParser;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.util.NameVersion;
+
+public class GradleModelExtractor {
+    public static final String ROOT_PROJECT_MODEL_FILENAME = "rootProjectModel.txt";
+    public static final String DEPENDENCY_MODEL_FILENAME_PATTERN = "*_dependencyModel.txt";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final FileFinder fileFinder;
+    private final GradleRunner gradleRunner;
+    private final GradleDependencyModelParser gradleDependencyModelParser;
+
+    public GradleModelExtractor(FileFinder fileFinder, GradleRunner gradleRunner, GradleDependencyModelParser gradleDependencyModelParser) {
+        this.fileFinder = fileFinder;
+        this.gradleRunner = gradleRunner;
+        this.gradleDependencyModelParser = gradleDependencyModelParser;
+    }
+
+    public Extraction extract(File directory, File gradleExe, @Nullable String gradleCommand, ProxyInfo proxyInfo, File gradleModelScript, File outputDirectory) {
+        try {
+            ExecutableOutput gradleExecutableOutput = gradleRunner.runGradleDependencyModel(directory, gradleExe, gradleModelScript, gradleCommand, proxyInfo, outputDirectory);
+
+            if (gradleExecutableOutput.getReturnCode() != 0) {
+                throw new IntegrationException("The gradle model task returned a non-zero exit code: " + gradleExecutableOutput.getReturnCode());
+            }
+
+            List<File> modelFiles = fileFinder.findFiles(outputDirectory, DEPENDENCY_MODEL_FILENAME_PATTERN);
+            List<CodeLocation> codeLocations = modelFiles.stream()
+                                                   .map(gradleDependencyModelParser::parseDependencyModel)
+                                                   .filter(Optional::isPresent)
+                                                   .map(Optional::get)
+                                                   .collect(Collectors.toList());
+
+            String projectName = null;
+            String projectVersion = null;
+            File rootProjectModelFile = fileFinder.findFile(outputDirectory, ROOT_PROJECT_MODEL_FILENAME);
+            if (rootProjectModelFile != null) {
+                Optional<NameVersion> projectNameVersion = gradleDependencyModelParser.parseRootProject(rootProjectModelFile);
+                if (projectNameVersion.isPresent()) {
+                    projectName = projectNameVersion.get().getName();
+                    projectVersion = projectNameVersion.get().getVersion();
+                }
+            } else {
+                logger.warn("The gradle model task did not create a root project file so no project version information was found.");
+            }
+
+            return new Extraction.Builder()
+                       .success(codeLocations)
+                       .projectName(projectName)
+                       .projectVersion(projectVersion)
+                       .build();
+        } catch (Exception e) {
+            return new Extraction.Builder().exception(e).build();
+        }
+    }
+}
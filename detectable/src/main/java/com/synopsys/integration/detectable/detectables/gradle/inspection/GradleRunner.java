@@ -37,6 +37,8 @@ import com.synopsys.integration.detectable.detectable.executable.ExecutableRunne
 import com.synopsys.integration.rest.proxy.ProxyInfo;
 
 public class GradleRunner {
+    public static final String DEPENDENCY_MODEL_TASK = "detectDependencyModel";
+
     private final ExecutableRunner executableRunner;
 
     public GradleRunner(ExecutableRunner executableRunner) {
@@ -45,24 +47,47 @@ public class GradleRunner {
 
     public ExecutableOutput runGradleDependencies(File directory, File gradleExe, File gradleInspector, @Nullable String gradleCommand, ProxyInfo proxyInfo, File outputDirectory) throws IOException, ExecutableRunnerException {
         List<String> arguments = new ArrayList<>();
+        addGradleCommandArguments(arguments, gradleCommand);
+        arguments.add("dependencies");
+        arguments.add(String.format("--init-script=%s", gradleInspector));
+        arguments.add(String.format("-DGRADLEEXTRACTIONDIR=%s", outputDirectory.getCanonicalPath()));
+        arguments.add("--info");
+        addProxyArguments(arguments, proxyInfo);
+
+        return executableRunner.execute(directory, gradleExe, arguments);
+    }
+
+    // The model task writes its graph straight to the output directory, so nothing needs to be printed and each project can resolve in parallel.
+    // The user's command comes after our flags so that options such as --no-parallel still win.
+    public ExecutableOutput runGradleDependencyModel(File directory, File gradleExe, File gradleModelScript, @Nullable String gradleCommand, ProxyInfo proxyInfo, File outputDirectory)
+        throws IOException, ExecutableRunnerException {
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--quiet");
+        arguments.add("--parallel");
+        addGradleCommandArguments(arguments, gradleCommand);
+        arguments.add(DEPENDENCY_MODEL_TASK);
+        arguments.add(String.format("--init-script=%s", gradleModelScript));
+        arguments.add(String.format("-DGRADLEEXTRACTIONDIR=%s", outputDirectory.getCanonicalPath()));
+        addProxyArguments(arguments, proxyInfo);
+
+        return executableRunner.execute(directory, gradleExe, arguments);
+    }
+
+    private void addGradleCommandArguments(List<String> arguments, @Nullable String gradleCommand) {
         if (StringUtils.isNotBlank(gradleCommand)) {
             gradleCommand = gradleCommand.replace("dependencies", "").trim();
             Arrays.stream(gradleCommand.split(" "))
                 .filter(StringUtils::isNotBlank)
                 .forEach(arguments::add);
         }
-        arguments.add("dependencies");
-        arguments.add(String.format("--init-script=%s", gradleInspector));
-        arguments.add(String.format("-DGRADLEEXTRACTIONDIR=%s", outputDirectory.getCanonicalPath()));
-        arguments.add("--info");
+    }
 
+    private void addProxyArguments(List<String> arguments, ProxyInfo proxyInfo) {
         if (proxyInfo.getHost().isPresent()) {
             arguments.add("-Dhttps.proxyHost=" + proxyInfo.getHost().get());
         }
         if (proxyInfo.getPort() != 0) {
             arguments.add("-Dhttps.proxyPort=" + proxyInfo.getPort());
         }
-
-        return executableRunner.execute(directory, gradleExe, arguments);
     }
 }
@@ -35,6 +35,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.synopsys.integration.detectable.detectable.exception.DetectableException;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleRunner;
 
 import freemarker.template.Configuration;
 import freemarker.template.Template;
@@ -44,6 +45,7 @@ public class GradleInspectorScriptCreator {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private static final String GRADLE_SCRIPT_TEMPLATE_FILENAME = "init-script-gradle.ftl";
+    private static final String GRADLE_MODEL_SCRIPT_TEMPLATE_FILENAME = "init-script-gradle-model.ftl";
 
     private final Configuration configuration;
 
@@ -59,6 +61,25 @@ public class GradleInspectorScriptCreator {
         return createGradleInspector(templateFile, scriptOptions, resolvedOnlineInspectorVersion, null);
     }
 
+    // The model script needs no inspector library, so there is nothing to download or point at in air gap mode.
+    public File createModelGradleInspector(final File templateFile, final GradleInspectorScriptOptions scriptOptions) throws DetectableException {
+        logger.debug("Generating the gradle model script file.");
+        final Map<String, String> gradleScriptData = new HashMap<>();
+        gradleScriptData.put("excludedProjectNames", scriptOptions.getExcludedProjectNames().orElse(""));
+        gradleScriptData.put("includedProjectNames", scriptOptions.getIncludedProjectNames().orElse(""));
+        gradleScriptData.put("excludedConfigurationNames", scriptOptions.getExcludedConfigurationNames().orElse(""));
+        gradleScriptData.put("includedConfigurationNames", scriptOptions.getIncludedConfigurationNames().orElse(""));
+        gradleScriptData.put("modelTaskName", GradleRunner.DEPENDENCY_MODEL_TASK);
+
+        try {
+            populateGradleScriptWithData(templateFile, GRADLE_MODEL_SCRIPT_TEMPLATE_FILENAME, gradleScriptData);
+        } catch (final IOException | TemplateException e) {
+            throw new DetectableException("Failed to generate the Gradle model script from the given template file: " + templateFile.toString(), e);
+        }
+        logger.trace(String.format("Successfully created Gradle model script: %s", templateFile.toString()));
+        return templateFile;
+    }
+
     private File createGradleInspector(final File templateFile, final GradleInspectorScriptOptions scriptOptions, final String resolvedOnlineInspectorVersion, final String airGapLibraryPaths) throws DetectableException {
         logger.debug("Generating the gradle script file.");
         final Map<String, String> gradleScriptData = new HashMap<>();
@@ -72,7 +93,7 @@ public class GradleInspectorScriptCreator {
         gradleScriptData.put("customRepositoryUrl", scriptOptions.getGradleInspectorRepositoryUrl());
 
         try {
-            populateGradleScriptWithData(templateFile, gradleScriptData);
+            populateGradleScriptWithData(templateFile, GRADLE_SCRIPT_TEMPLATE_FILENAME, gradleScriptData);
         } catch (final IOException | TemplateException e) {
             throw new DetectableException("Failed to generate the Gradle Inspector script from the given template file: " + templateFile.toString(), e);
         }
@@ -80,8 +101,8 @@ public class GradleInspectorScriptCreator {
         return templateFile;
     }
 
-    private void populateGradleScriptWithData(final File targetFile, final Map<String, String> gradleScriptData) throws IOException, TemplateException {
-        final Template gradleScriptTemplate = configuration.getTemplate(GRADLE_SCRIPT_TEMPLATE_FILENAME);
+    private void populateGradleScriptWithData(final File targetFile, final String templateFilename, final Map<String, String> gradleScriptData) throws IOException, TemplateException {
+        final Template gradleScriptTemplate = configuration.getTemplate(templateFilename);
         try (final Writer fileWriter = new FileWriter(targetFile)) {
             gradleScriptTemplate.process(gradleScriptData, fileWriter);
         }
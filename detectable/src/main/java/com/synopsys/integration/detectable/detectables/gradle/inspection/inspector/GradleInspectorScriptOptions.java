@@ -31,15 +31,22 @@ public class GradleInspectorScriptOptions {
     private final String includedConfigurationNames;
     private final String gradleInspectorRepositoryUrl;
     private final String providedOnlineInspectorVersion;
+    private final boolean modelExtractionEnabled;
 
     public GradleInspectorScriptOptions(final String excludedProjectNames, final String includedProjectNames, final String excludedConfigurationNames, final String includedConfigurationNames, final String gradleInspectorRepositoryUrl,
         final String providedOnlineInspectorVersion) {
+        this(excludedProjectNames, includedProjectNames, excludedConfigurationNames, includedConfigurationNames, gradleInspectorRepositoryUrl, providedOnlineInspectorVersion, false);
+    }
+
+    public GradleInspectorScriptOptions(final String excludedProjectNames, final String includedProjectNames, final String excludedConfigurationNames, final String includedConfigurationNames, final String gradleInspectorRepositoryUrl,
+        final String providedOnlineInspectorVersion, final boolean modelExtractionEnabled) {
         this.excludedProjectNames = excludedProjectNames;
         this.includedProjectNames = includedProjectNames;
         this.excludedConfigurationNames = excludedConfigurationNames;
         this.includedConfigurationNames = includedConfigurationNames;
         this.gradleInspectorRepositoryUrl = gradleInspectorRepositoryUrl;
         this.providedOnlineInspectorVersion = providedOnlineInspectorVersion;
+        this.modelExtractionEnabled = modelExtractionEnabled;
     }
 
     public String getGradleInspectorRepositoryUrl() {
@@ -65,4 +72,8 @@ public class GradleInspectorScriptOptions {
     public Optional<String> getProvidedOnlineInspectorVersion() {
         return Optional.ofNullable(providedOnlineInspectorVersion);
     }
+
+    public boolean isModelExtractionEnabled() {
+        return modelExtractionEnabled;
+    }
 }
@@ -0,0 +1,127 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.gradle.inspection.parse;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.detectable.codelocation.CodeLocation;
+import com.synopsys.integration.util.NameVersion;
+
+/**
+ * Reads the files written by the gradle model script. Each file is tab separated and holds one project:
+ * <pre>
+ * project     path   group   name     version   projectDirectory
+ * component   index  group   module   version
+ * dependency  parentIndex    childIndex
+ * </pre>
+ * Components are numbered from 1 in the order they are written, 0 is the project itself, and every component is written before the first dependency
+ * that uses it. Each edge appears once no matter how many configurations share it, so the graph is built in a single pass without a tree to walk.
+ */
+public class GradleDependencyModelParser {
+    public static final String PROJECT_RECORD = "project";
+    public static final String COMPONENT_RECORD = "component";
+    public static final String DEPENDENCY_RECORD = "dependency";
+    public static final String ROOT_PROJECT_RECORD = "rootProject";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final ExternalIdFactory externalIdFactory;
+
+    public GradleDependencyModelParser(final ExternalIdFactory externalIdFactory) {
+        this.externalIdFactory = externalIdFactory;
+    }
+
+    public Optional<CodeLocation> parseDependencyModel(final File modelFile) {
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        final List<Dependency> components = new ArrayList<>();
+        components.add(null); // index 0 is the project
+        ExternalId projectId = null;
+        String projectDirectory = null;
+
+        try (final BufferedReader reader = Files.newBufferedReader(modelFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] fields = line.split("\t", -1);
+                if (COMPONENT_RECORD.equals(fields[0]) && fields.length == 5) {
+                    final ExternalId externalId = externalIdFactory.createMavenExternalId(fields[2], fields[3], fields[4]);
+                    components.add(new Dependency(fields[3], fields[4], externalId));
+                } else if (DEPENDENCY_RECORD.equals(fields[0]) && fields.length == 3) {
+                    final int parentIndex = Integer.parseInt(fields[1]);
+                    final Dependency child = components.get(Integer.parseInt(fields[2]));
+                    if (parentIndex == 0) {
+                        graph.addChildToRoot(child);
+                    } else {
+                        graph.addChildWithParent(child, components.get(parentIndex));
+                    }
+                } else if (PROJECT_RECORD.equals(fields[0]) && fields.length == 6) {
+                    projectId = externalIdFactory.createMavenExternalId(fields[2], fields[3], fields[4]);
+                    projectDirectory = fields[5];
+                } else if (StringUtils.isNotBlank(line)) {
+                    logger.debug(String.format("Skipping unrecognized line in gradle model file %s: %s", modelFile.getName(), line));
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            logger.debug(String.format("Failed to read gradle model file: %s", modelFile.getAbsolutePath()), e);
+            return Optional.empty();
+        }
+
+        if (projectId == null) {
+            logger.debug(String.format("The gradle model file did not describe a project: %s", modelFile.getAbsolutePath()));
+            return Optional.empty();
+        } else if (StringUtils.isNotBlank(projectDirectory)) {
+            return Optional.of(new CodeLocation(graph, projectId, new File(projectDirectory)));
+        } else {
+            return Optional.of(new CodeLocation(graph, projectId));
+        }
+    }
+
+    public Optional<NameVersion> parseRootProject(final File rootProjectModelFile) {
+        try (final BufferedReader reader = Files.newBufferedReader(rootProjectModelFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] fields = line.split("\t", -1);
+                if (ROOT_PROJECT_RECORD.equals(fields[0]) && fields.length == 3) {
+                    return Optional.of(new NameVersion(fields[1], fields[2]));
+                }
+            }
+        } catch (final IOException e) {
+            logger.debug(String.format("Failed to read gradle root project file: %s", rootProjectModelFile.getAbsolutePath()), e);
+        }
+        return Optional.empty();
+    }
+}
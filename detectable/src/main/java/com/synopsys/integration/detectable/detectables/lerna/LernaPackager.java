@@ -23,8 +23,11 @@
 package com.synopsys.integration.detectable.detectables.lerna;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -148,9 +151,10 @@ public class LernaPackager {
     private LernaResult extractFromNpmLockfile(File packageJsonFile, File npmLockfile) {
         try {
             String packageJsonText = FileUtils.readFileToString(packageJsonFile, StandardCharsets.UTF_8);
-            String lockfileText = FileUtils.readFileToString(npmLockfile, StandardCharsets.UTF_8);
-
-            NpmParseResult npmParseResult = npmLockfileParser.parse(packageJsonText, lockfileText, npmLockfileOptions.shouldIncludeDeveloperDependencies());
+            NpmParseResult npmParseResult;
+            try (Reader lockfileReader = new InputStreamReader(new FileInputStream(npmLockfile), StandardCharsets.UTF_8)) {
+                npmParseResult = npmLockfileParser.parse(packageJsonText, lockfileReader, npmLockfileOptions.shouldIncludeDeveloperDependencies());
+            }
 
             return LernaResult.success(npmParseResult.getProjectName(), npmParseResult.getProjectVersion(), Collections.singletonList(npmParseResult.getCodeLocation()));
         } catch (IOException exception) {
@@ -161,9 +165,10 @@ public class LernaPackager {
     private LernaResult extractFromYarnLock(File packageJsonFile, File yarnLockFile) {
         try {
             String packageJsonText = FileUtils.readFileToString(packageJsonFile, StandardCharsets.UTF_8);
-            List<String> yarnLockLines = FileUtils.readLines(yarnLockFile, StandardCharsets.UTF_8);
-
-            YarnResult yarnResult = yarnPackager.generateYarnResult(packageJsonText, yarnLockLines, yarnLockFile.getAbsolutePath());
+            YarnResult yarnResult;
+            try (Reader yarnLockReader = new InputStreamReader(new FileInputStream(yarnLockFile), StandardCharsets.UTF_8)) {
+                yarnResult = yarnPackager.generateYarnResult(packageJsonText, yarnLockReader, yarnLockFile.getAbsolutePath());
+            }
 
             if (yarnResult.getException().isPresent()) {
                 throw yarnResult.getException().get();
@@ -40,6 +40,7 @@ import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmPar
 public class NpmCliExtractor {
     public static final String OUTPUT_FILE = "detect_npm_proj_dependencies.json";
     public static final String ERROR_FILE = "detect_npm_error.json";
+    private static final int MAXIMUM_LOGGED_OUTPUT_LENGTH = 4096;
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final ExecutableRunner executableRunner;
@@ -78,7 +79,7 @@ public class NpmCliExtractor {
             return new Extraction.Builder().failure("Npm wrote to stderr while running npm ls.").build();
         } else if (StringUtils.isNotBlank(standardOutput)) {
             logger.debug("Parsing npm ls file.");
-            logger.debug(standardOutput);
+            logOutputPrefix(standardOutput);
             final NpmParseResult result = npmCliParser.generateCodeLocation(standardOutput);
             return new Extraction.Builder().success(result.getCodeLocation()).projectName(result.getProjectName()).projectVersion(result.getProjectVersion()).build();
         } else {
@@ -86,4 +87,17 @@ public class NpmCliExtractor {
             return new Extraction.Builder().failure("Npm returned error after running npm ls.").build();
         }
     }
+
+    // npm ls output can run to hundreds of megabytes for large workspaces, so only its beginning is logged.
+    private void logOutputPrefix(final String standardOutput) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        if (standardOutput.length() <= MAXIMUM_LOGGED_OUTPUT_LENGTH) {
+            logger.debug(standardOutput);
+        } else {
+            logger.debug(standardOutput.substring(0, MAXIMUM_LOGGED_OUTPUT_LENGTH));
+            logger.debug(String.format("Omitted the remaining %d characters of npm ls output.", standardOutput.length() - MAXIMUM_LOGGED_OUTPUT_LENGTH));
+        }
+    }
 }
@@ -22,19 +22,20 @@
  */
 package com.synopsys.integration.detectable.detectables.npm.cli.parse;
 
-import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
@@ -44,6 +45,7 @@ import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 import com.synopsys.integration.detectable.detectable.codelocation.CodeLocation;
 import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmParseResult;
 
+// Reads npm ls -json output with a streaming reader, building the graph as each top level dependency is completed.
 public class NpmCliParser {
     private final Logger logger = LoggerFactory.getLogger(NpmCliParser.class);
 
@@ -69,64 +71,140 @@ public class NpmCliParser {
     }
 
     public NpmParseResult convertNpmJsonFileToCodeLocation(String npmLsOutput) {
-        JsonObject npmJson = JsonParser.parseString(npmLsOutput).getAsJsonObject();
+        try {
+            return convertNpmJsonFileToCodeLocation(new StringReader(npmLsOutput));
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    public NpmParseResult convertNpmJsonFileToCodeLocation(Reader npmLsOutput) throws IOException {
+        JsonReader jsonReader = new JsonReader(npmLsOutput);
+        jsonReader.setLenient(true);
         MutableDependencyGraph graph = new MutableMapDependencyGraph();
 
-        JsonElement projectNameElement = npmJson.getAsJsonPrimitive(JSON_NAME);
-        JsonElement projectVersionElement = npmJson.getAsJsonPrimitive(JSON_VERSION);
         String projectName = null;
         String projectVersion = null;
-        if (projectNameElement != null) {
-            projectName = projectNameElement.getAsString();
-        }
-        if (projectVersionElement != null) {
-            projectVersion = projectVersionElement.getAsString();
-        }
 
-        populateChildren(graph, null, npmJson.getAsJsonObject(JSON_DEPENDENCIES), true);
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String key = jsonReader.nextName();
+            if (JSON_NAME.equals(key)) {
+                projectName = nextString(jsonReader);
+            } else if (JSON_VERSION.equals(key)) {
+                projectVersion = nextString(jsonReader);
+            } else if (JSON_DEPENDENCIES.equals(key)) {
+                populateRootDependencies(jsonReader, graph);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
 
         ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NPMJS, projectName, projectVersion);
 
         CodeLocation codeLocation = new CodeLocation(graph, externalId);
 
         return new NpmParseResult(projectName, projectVersion, codeLocation);
-
     }
 
-    private void populateChildren(MutableDependencyGraph graph, Dependency parentDependency, JsonObject parentNodeChildren, boolean isRootDependency) {
-        if (parentNodeChildren == null) {
+    // Each top level dependency's relationships are added once it is complete, so only one top level subtree is held at a time.
+    private void populateRootDependencies(JsonReader jsonReader, MutableDependencyGraph graph) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
             return;
         }
-        Set<Entry<String, JsonElement>> elements = parentNodeChildren.entrySet();
-        elements.stream()
-            .filter(Objects::nonNull)
-            .filter(elementEntry -> elementEntry.getValue().isJsonObject())
-            .forEach(elementEntry -> processChild(elementEntry, graph, parentDependency, isRootDependency));
+        List<Relationship> relationships = new ArrayList<>();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            Dependency rootDependency = readDependency(jsonReader, name, relationships);
+            if (rootDependency != null) {
+                graph.addChildToRoot(rootDependency);
+                relationships.forEach(relationship -> graph.addParentWithChild(relationship.parent, relationship.child));
+            }
+            relationships.clear();
+        }
+        jsonReader.endObject();
     }
 
-    private void processChild(Entry<String, JsonElement> elementEntry, MutableDependencyGraph graph, Dependency parentDependency, boolean isRootDependency) {
-        JsonObject element = elementEntry.getValue().getAsJsonObject();
-        String name = elementEntry.getKey();
-        String version = Optional.ofNullable(element.getAsJsonPrimitive(JSON_VERSION))
-                             .filter(Objects::nonNull)
-                             .filter(JsonPrimitive::isString)
-                             .map(JsonPrimitive::getAsString)
-                             .orElse(null);
-
-        JsonObject children = element.getAsJsonObject(JSON_DEPENDENCIES);
+    private List<Dependency> readChildren(JsonReader jsonReader, List<Relationship> relationships) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
+            return Collections.emptyList();
+        }
+        List<Dependency> children = new ArrayList<>();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            Dependency child = readDependency(jsonReader, name, relationships);
+            if (child != null) {
+                children.add(child);
+            }
+        }
+        jsonReader.endObject();
+        return children;
+    }
 
-        if (name != null && version != null) {
-            ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NPMJS, name, version);
-            Dependency child = new Dependency(name, version, externalId);
+    // The version may follow the nested dependencies, so a subtree's relationships are dropped again if its parent turns out to be invalid.
+    private Dependency readDependency(JsonReader jsonReader, String name, List<Relationship> relationships) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
+            return null;
+        }
 
-            populateChildren(graph, child, children, false);
-            if (isRootDependency) {
-                graph.addChildToRoot(child);
+        String version = null;
+        List<Dependency> children = Collections.emptyList();
+        int firstChildRelationship = relationships.size();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String key = jsonReader.nextName();
+            if (JSON_VERSION.equals(key)) {
+                version = jsonReader.peek() == JsonToken.STRING ? jsonReader.nextString() : skipToNull(jsonReader);
+            } else if (JSON_DEPENDENCIES.equals(key)) {
+                children = readChildren(jsonReader, relationships);
             } else {
-                graph.addParentWithChild(parentDependency, child);
+                jsonReader.skipValue();
             }
-        } else {
+        }
+        jsonReader.endObject();
+
+        if (name == null || version == null) {
             logger.trace(String.format("Excluding Json Element missing name or version: { name: %s, version: %s }", name, version));
+            relationships.subList(firstChildRelationship, relationships.size()).clear();
+            return null;
+        }
+
+        ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NPMJS, name, version);
+        Dependency dependency = new Dependency(name, version, externalId);
+        for (Dependency child : children) {
+            relationships.add(new Relationship(dependency, child));
+        }
+        return dependency;
+    }
+
+    private String nextString(JsonReader jsonReader) throws IOException {
+        JsonToken token = jsonReader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return jsonReader.nextString();
+        } else if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(jsonReader.nextBoolean());
+        }
+        return skipToNull(jsonReader);
+    }
+
+    private String skipToNull(JsonReader jsonReader) throws IOException {
+        jsonReader.skipValue();
+        return null;
+    }
+
+    private static class Relationship {
+        private final Dependency parent;
+        private final Dependency child;
+
+        private Relationship(Dependency parent, Dependency child) {
+            this.parent = parent;
+            this.child = child;
         }
     }
 }
@@ -22,7 +22,6 @@
  */
 package com.synopsys.integration.detectable.detectables.npm.lockfile;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -37,8 +36,6 @@ import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmDependency;
 import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmProject;
 import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmRequires;
-import com.synopsys.integration.detectable.detectables.npm.lockfile.model.PackageLock;
-import com.synopsys.integration.detectable.detectables.npm.lockfile.model.PackageLockDependency;
 import com.synopsys.integration.detectable.detectables.npm.packagejson.model.PackageJson;
 
 public class NpmDependencyConverter {
@@ -46,54 +43,23 @@ public class NpmDependencyConverter {
 
     public NpmDependencyConverter(ExternalIdFactory externalIdFactory) {this.externalIdFactory = externalIdFactory;}
 
-    public NpmProject convertLockFile(PackageLock packageLock, @Nullable PackageJson packageJson) {
-        NpmProject project = new NpmProject(packageLock.name, packageLock.version);
-
-        if (packageLock.dependencies != null) {
-            List<NpmDependency> children = convertPackageMapToDependencies(null, packageLock.dependencies);
-            project.addAllResolvedDependencies(children);
+    public void addPackageJsonDependencies(NpmProject project, @Nullable PackageJson packageJson) {
+        if (packageJson == null) {
+            return;
         }
 
-        if (packageJson != null) {
-            if (packageJson.dependencies != null) {
-                List<NpmRequires> rootRequires = convertNameVersionMapToRequires(packageJson.dependencies);
-                project.addAllDependencies(rootRequires);
-            }
-
-            if (packageJson.devDependencies != null) {
-                List<NpmRequires> rootDevRequires = convertNameVersionMapToRequires(packageJson.devDependencies);
-                project.addAllDevDependencies(rootDevRequires);
-            }
-        }
-
-        return project;
-    }
-
-    public List<NpmDependency> convertPackageMapToDependencies(NpmDependency parent, Map<String, PackageLockDependency> packageLockDependencyMap) {
-        List<NpmDependency> children = new ArrayList<>();
-
-        if (packageLockDependencyMap == null || packageLockDependencyMap.size() == 0) {
-            return children;
+        if (packageJson.dependencies != null) {
+            List<NpmRequires> rootRequires = convertNameVersionMapToRequires(packageJson.dependencies);
+            project.addAllDependencies(rootRequires);
         }
 
-        for (Map.Entry<String, PackageLockDependency> packageEntry : packageLockDependencyMap.entrySet()) {
-            String packageName = packageEntry.getKey();
-            PackageLockDependency packageLockDependency = packageEntry.getValue();
-
-            NpmDependency dependency = createNpmDependency(packageName, packageLockDependency.version, packageLockDependency.dev);
-            dependency.setParent(parent);
-            children.add(dependency);
-
-            List<NpmRequires> requires = convertNameVersionMapToRequires(packageLockDependency.requires);
-            dependency.addAllRequires(requires);
-
-            List<NpmDependency> grandChildren = convertPackageMapToDependencies(dependency, packageLockDependency.dependencies);
-            dependency.addAllDependencies(grandChildren);
+        if (packageJson.devDependencies != null) {
+            List<NpmRequires> rootDevRequires = convertNameVersionMapToRequires(packageJson.devDependencies);
+            project.addAllDevDependencies(rootDevRequires);
         }
-        return children;
     }
 
-    private NpmDependency createNpmDependency(String name, String version, Boolean isDev) {
+    public NpmDependency createNpmDependency(String name, String version, Boolean isDev) {
         ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NPMJS, name, version);
         Dependency graphDependency = new Dependency(name, version, externalId);
         boolean dev = false;
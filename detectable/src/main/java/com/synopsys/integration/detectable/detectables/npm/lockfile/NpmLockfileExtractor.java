@@ -23,7 +23,10 @@
 package com.synopsys.integration.detectable.detectables.npm.lockfile;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.io.FileUtils;
@@ -44,13 +47,15 @@ public class NpmLockfileExtractor {
      */
     public Extraction extract(File lockfile, File packageJson, boolean includeDevDependencies) {
         try {
-            String lockText = FileUtils.readFileToString(lockfile, StandardCharsets.UTF_8);
             String packageText = null;
             if (packageJson != null) {
                 packageText = FileUtils.readFileToString(packageJson, StandardCharsets.UTF_8);
             }
 
-            NpmParseResult result = npmLockfileParser.parse(packageText, lockText, includeDevDependencies);
+            NpmParseResult result;
+            try (Reader lockReader = new InputStreamReader(new FileInputStream(lockfile), StandardCharsets.UTF_8)) {
+                result = npmLockfileParser.parse(packageText, lockReader, includeDevDependencies);
+            }
 
             return new Extraction.Builder()
                        .success(result.getCodeLocation())
@@ -24,7 +24,9 @@ package com.synopsys.integration.detectable.detectables.npm.lockfile.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.synopsys.integration.bdio.model.dependency.Dependency;
@@ -45,6 +47,7 @@ public class NpmDependency {
     private NpmDependency parent;
     private final List<NpmRequires> requires = new ArrayList<>();
     private final List<NpmDependency> dependencies = new ArrayList<>();
+    private Map<String, NpmDependency> dependenciesByName = null; // Most dependencies have no nested dependencies, so the index is only created when needed.
 
     public Optional<NpmDependency> getParent() {
         return Optional.ofNullable(parent);
@@ -59,7 +62,23 @@ public class NpmDependency {
     }
 
     public void addAllDependencies(final Collection<NpmDependency> dependencies) {
-        this.dependencies.addAll(dependencies);
+        if (dependencies.isEmpty()) {
+            return;
+        }
+        if (dependenciesByName == null) {
+            dependenciesByName = new HashMap<>();
+        }
+        for (final NpmDependency dependency : dependencies) {
+            this.dependencies.add(dependency);
+            dependenciesByName.putIfAbsent(dependency.getName(), dependency);
+        }
+    }
+
+    public Optional<NpmDependency> getDependency(final String name) {
+        if (dependenciesByName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(dependenciesByName.get(name));
     }
 
     public List<NpmRequires> getRequires() {
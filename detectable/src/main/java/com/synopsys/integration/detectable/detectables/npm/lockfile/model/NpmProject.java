@@ -24,7 +24,10 @@ package com.synopsys.integration.detectable.detectables.npm.lockfile.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class NpmProject {
     private final String name;
@@ -34,6 +37,7 @@ public class NpmProject {
     private final List<NpmRequires> declaredDependencies = new ArrayList<>();
 
     private final List<NpmDependency> resolvedDependencies = new ArrayList<>();
+    private final Map<String, NpmDependency> resolvedDependenciesByName = new HashMap<>();
 
     public NpmProject(String name, String version) {
         this.name = name;
@@ -49,7 +53,14 @@ public class NpmProject {
     }
 
     public void addAllResolvedDependencies(Collection<NpmDependency> resolvedDependencies) {
-        this.resolvedDependencies.addAll(resolvedDependencies);
+        for (NpmDependency resolvedDependency : resolvedDependencies) {
+            this.resolvedDependencies.add(resolvedDependency);
+            resolvedDependenciesByName.putIfAbsent(resolvedDependency.getName(), resolvedDependency);
+        }
+    }
+
+    public Optional<NpmDependency> getResolvedDependency(String name) {
+        return Optional.ofNullable(resolvedDependenciesByName.get(name));
     }
 
     public String getName() {
@@ -22,6 +22,9 @@
  */
 package com.synopsys.integration.detectable.detectables.npm.lockfile.parse;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +33,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
 import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
@@ -41,7 +45,6 @@ import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmDep
 import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmParseResult;
 import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmProject;
 import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmRequires;
-import com.synopsys.integration.detectable.detectables.npm.lockfile.model.PackageLock;
 import com.synopsys.integration.detectable.detectables.npm.packagejson.model.PackageJson;
 
 public class NpmLockfilePackager {
@@ -55,19 +58,27 @@ public class NpmLockfilePackager {
     }
 
     public NpmParseResult parse(@Nullable String packageJsonText, String lockFileText, boolean includeDevDependencies) {
+        try {
+            return parse(packageJsonText, new StringReader(lockFileText), includeDevDependencies);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    public NpmParseResult parse(@Nullable String packageJsonText, Reader lockFileReader, boolean includeDevDependencies) throws IOException {
         MutableDependencyGraph dependencyGraph = new MutableMapDependencyGraph();
 
         Optional<PackageJson> packageJson = Optional.ofNullable(packageJsonText)
                                                 .map(content -> gson.fromJson(content, PackageJson.class));
 
-        PackageLock packageLock = gson.fromJson(lockFileText, PackageLock.class);
+        NpmDependencyConverter dependencyConverter = new NpmDependencyConverter(externalIdFactory);
+        PackageLockReader packageLockReader = new PackageLockReader(dependencyConverter);
+        NpmProject project = packageLockReader.readProject(lockFileReader);
 
         logger.debug("Processing project.");
-        if (packageLock.dependencies != null) {
-            logger.debug(String.format("Found %d dependencies in the lockfile.", packageLock.dependencies.size()));
-            //Convert to our custom format
-            NpmDependencyConverter dependencyConverter = new NpmDependencyConverter(externalIdFactory);
-            NpmProject project = dependencyConverter.convertLockFile(packageLock, packageJson.orElse(null));
+        if (!project.getResolvedDependencies().isEmpty()) {
+            logger.debug(String.format("Found %d dependencies in the lockfile.", project.getResolvedDependencies().size()));
+            dependencyConverter.addPackageJsonDependencies(project, packageJson.orElse(null));
 
             //First we will recreate the graph from the resolved npm dependencies
             for (NpmDependency resolved : project.getResolvedDependencies()) {
@@ -77,9 +88,9 @@ public class NpmLockfilePackager {
             //Then we will add relationships between the project (root) and the graph
             boolean atLeastOneRequired = !project.getDeclaredDependencies().isEmpty() || !project.getDeclaredDevDependencies().isEmpty();
             if (atLeastOneRequired) {
-                addRootDependencies(project.getResolvedDependencies(), project.getDeclaredDependencies(), dependencyGraph);
+                addRootDependencies(project, project.getDeclaredDependencies(), dependencyGraph);
                 if (includeDevDependencies) {
-                    addRootDependencies(project.getResolvedDependencies(), project.getDeclaredDevDependencies(), dependencyGraph);
+                    addRootDependencies(project, project.getDeclaredDevDependencies(), dependencyGraph);
                 }
             } else {
                 project.getResolvedDependencies()
@@ -90,19 +101,19 @@ public class NpmLockfilePackager {
 
             logger.debug(String.format("Found %d root dependencies.", dependencyGraph.getRootDependencies().size()));
         } else {
-            logger.debug("Lock file did not have a 'dependencies' section.");
+            logger.debug("Lock file did not have any dependencies.");
         }
         logger.debug("Finished processing.");
-        ExternalId projectId = externalIdFactory.createNameVersionExternalId(Forge.NPMJS, packageLock.name, packageLock.version);
+        ExternalId projectId = externalIdFactory.createNameVersionExternalId(Forge.NPMJS, project.getName(), project.getVersion());
         CodeLocation codeLocation = new CodeLocation(dependencyGraph, projectId);
-        return new NpmParseResult(packageLock.name, packageLock.version, codeLocation);
+        return new NpmParseResult(project.getName(), project.getVersion(), codeLocation);
     }
 
-    private void addRootDependencies(List<NpmDependency> resolvedDependencies, List<NpmRequires> requires, MutableDependencyGraph dependencyGraph) {
+    private void addRootDependencies(NpmProject project, List<NpmRequires> requires, MutableDependencyGraph dependencyGraph) {
         for (NpmRequires dependency : requires) {
-            NpmDependency resolved = firstDependencyWithName(resolvedDependencies, dependency.getName());
-            if (resolved != null) {
-                dependencyGraph.addChildToRoot(resolved.getGraphDependency());
+            Optional<NpmDependency> resolved = project.getResolvedDependency(dependency.getName());
+            if (resolved.isPresent()) {
+                dependencyGraph.addChildToRoot(resolved.get().getGraphDependency());
             } else {
                 logger.error(String.format("No dependency found for package: %s", dependency.getName()));
             }
@@ -115,10 +126,10 @@ public class NpmLockfilePackager {
 
         npmDependency.getRequires().forEach(required -> {
             logger.trace(String.format("Required package: %s of version: %s", required.getName(), required.getFuzzyVersion()));
-            NpmDependency resolved = lookupDependency(npmDependency, npmProject, required.getName());
-            if (resolved != null) {
-                logger.trace(String.format("Found package: %s with version: %s", resolved.getName(), resolved.getVersion()));
-                dependencyGraph.addChildWithParent(resolved.getGraphDependency(), npmDependency.getGraphDependency());
+            Optional<NpmDependency> resolved = lookupDependency(npmDependency, npmProject, required.getName());
+            if (resolved.isPresent()) {
+                logger.trace(String.format("Found package: %s with version: %s", resolved.get().getName(), resolved.get().getVersion()));
+                dependencyGraph.addChildWithParent(resolved.get().getGraphDependency(), npmDependency.getGraphDependency());
             } else {
                 logger.error(String.format("No dependency found for package: %s", required.getName()));
             }
@@ -128,27 +139,16 @@ public class NpmLockfilePackager {
     }
 
     //returns the first dependency in the following order: directly under this dependency, under a parent, under the project
-    private NpmDependency lookupDependency(NpmDependency npmDependency, NpmProject project, String name) {
-        NpmDependency resolved = firstDependencyWithName(npmDependency.getDependencies(), name);
-
-        if (resolved != null) {
-            return resolved;
-        } else {
-            if (npmDependency.getParent().isPresent()) {
-                return lookupDependency(npmDependency.getParent().get(), project, name);
-            } else {
-                return firstDependencyWithName(project.getResolvedDependencies(), name);
-            }
-        }
-    }
-
-    private NpmDependency firstDependencyWithName(List<NpmDependency> dependencies, String name) {
-        for (NpmDependency current : dependencies) {
-            if (current.getName().equals(name)) {
-                return current;
+    private Optional<NpmDependency> lookupDependency(NpmDependency npmDependency, NpmProject project, String name) {
+        Optional<NpmDependency> current = Optional.of(npmDependency);
+        while (current.isPresent()) {
+            Optional<NpmDependency> resolved = current.get().getDependency(name);
+            if (resolved.isPresent()) {
+                return resolved;
             }
+            current = current.get().getParent();
         }
-        return null;
+        return project.getResolvedDependency(name);
     }
 
     private boolean shouldIncludeDependency(NpmDependency packageLockDependency, boolean includeDevDependencies) {
@@ -0,0 +1,176 @@
+/**
+ * detectable
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.npm.lockfile.parse;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.synopsys.integration.detectable.detectables.npm.lockfile.NpmDependencyConverter;
+import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmDependency;
+import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmProject;
+import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmRequires;
+
+// Streams a package-lock.json (or npm-shrinkwrap.json) straight into the npm model, only keeping the fields needed to build the graph.
+public class PackageLockReader {
+    private static final String NAME_KEY = "name";
+    private static final String VERSION_KEY = "version";
+    private static final String DEV_KEY = "dev";
+    private static final String REQUIRES_KEY = "requires";
+    private static final String DEPENDENCIES_KEY = "dependencies";
+
+    private final NpmDependencyConverter npmDependencyConverter;
+    private final Map<String, String> stringPool = new HashMap<>();
+
+    public PackageLockReader(NpmDependencyConverter npmDependencyConverter) {
+        this.npmDependencyConverter = npmDependencyConverter;
+    }
+
+    public NpmProject readProject(Reader lockfileReader) throws IOException {
+        JsonReader jsonReader = new JsonReader(lockfileReader);
+        jsonReader.setLenient(true);
+
+        String name = null;
+        String version = null;
+        List<NpmDependency> resolvedDependencies = Collections.emptyList();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String key = jsonReader.nextName();
+            if (NAME_KEY.equals(key)) {
+                name = nextString(jsonReader);
+            } else if (VERSION_KEY.equals(key)) {
+                version = nextString(jsonReader);
+            } else if (DEPENDENCIES_KEY.equals(key)) {
+                resolvedDependencies = readDependencies(jsonReader);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        NpmProject project = new NpmProject(name, version);
+        project.addAllResolvedDependencies(resolvedDependencies);
+        return project;
+    }
+
+    private List<NpmDependency> readDependencies(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
+            return Collections.emptyList();
+        }
+
+        List<NpmDependency> dependencies = new ArrayList<>();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String packageName = intern(jsonReader.nextName());
+            dependencies.add(readDependency(jsonReader, packageName));
+        }
+        jsonReader.endObject();
+        return dependencies;
+    }
+
+    private NpmDependency readDependency(JsonReader jsonReader, String packageName) throws IOException {
+        String version = null;
+        Boolean dev = null;
+        List<NpmRequires> requires = Collections.emptyList();
+        List<NpmDependency> children = Collections.emptyList();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String key = jsonReader.nextName();
+            if (VERSION_KEY.equals(key)) {
+                version = intern(nextString(jsonReader));
+            } else if (DEV_KEY.equals(key)) {
+                dev = nextBoolean(jsonReader);
+            } else if (REQUIRES_KEY.equals(key)) {
+                requires = readRequires(jsonReader);
+            } else if (DEPENDENCIES_KEY.equals(key)) {
+                children = readDependencies(jsonReader);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        // The version may appear after the nested dependencies, so parents are assigned once the entry is complete.
+        NpmDependency dependency = npmDependencyConverter.createNpmDependency(packageName, version, dev);
+        dependency.addAllRequires(requires);
+        children.forEach(child -> child.setParent(dependency));
+        dependency.addAllDependencies(children);
+        return dependency;
+    }
+
+    private List<NpmRequires> readRequires(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
+            return Collections.emptyList();
+        }
+
+        List<NpmRequires> requires = new ArrayList<>();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = intern(jsonReader.nextName());
+            String fuzzyVersion = intern(nextString(jsonReader));
+            requires.add(new NpmRequires(name, fuzzyVersion));
+        }
+        jsonReader.endObject();
+        return requires;
+    }
+
+    private String nextString(JsonReader jsonReader) throws IOException {
+        JsonToken token = jsonReader.peek();
+        if (token == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        } else if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(jsonReader.nextBoolean());
+        }
+        return jsonReader.nextString();
+    }
+
+    private Boolean nextBoolean(JsonReader jsonReader) throws IOException {
+        JsonToken token = jsonReader.peek();
+        if (token == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        } else if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(jsonReader.nextString());
+        }
+        return jsonReader.nextBoolean();
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = stringPool.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+}
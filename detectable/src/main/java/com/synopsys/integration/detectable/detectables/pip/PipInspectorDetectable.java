@@ -101,6 +101,7 @@ public class PipInspectorDetectable extends Detectable {
     @Override
     public Extraction extract(final ExtractionEnvironment extractionEnvironment) {
         //TODO: Handle null better.
-        return pipInspectorExtractor.extract(environment.getDirectory(), pythonExe, pipInspector, setupFile, pipInspectorDetectableOptions.getRequirementsFilePaths(), pipInspectorDetectableOptions.getPipProjectName().orElse(""));
+        return pipInspectorExtractor.extract(environment.getDirectory(), pythonExe, pipInspector, setupFile, pipInspectorDetectableOptions.getRequirementsFilePaths(), pipInspectorDetectableOptions.getPipProjectName().orElse(""),
+            pipInspectorDetectableOptions.isTreeOutput());
     }
 }
@@ -29,10 +29,16 @@ import java.util.Optional;
 public class PipInspectorDetectableOptions {
     private final String pipProjectName;
     private final List<Path> requirementsFilePaths;
+    private final boolean treeOutput;
 
     public PipInspectorDetectableOptions(final String pipProjectName, final List<Path> requirementsFilePaths) {
+        this(pipProjectName, requirementsFilePaths, true);
+    }
+
+    public PipInspectorDetectableOptions(final String pipProjectName, final List<Path> requirementsFilePaths, final boolean treeOutput) {
         this.pipProjectName = pipProjectName;
         this.requirementsFilePaths = requirementsFilePaths;
+        this.treeOutput = treeOutput;
     }
 
     public Optional<String> getPipProjectName() {
@@ -42,4 +48,8 @@ public class PipInspectorDetectableOptions {
     public List<Path> getRequirementsFilePaths() {
         return requirementsFilePaths;
     }
+
+    public boolean isTreeOutput() {
+        return treeOutput;
+    }
 }
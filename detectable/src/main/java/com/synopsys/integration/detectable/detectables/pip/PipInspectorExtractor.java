@@ -36,18 +36,23 @@ import com.synopsys.integration.detectable.detectable.codelocation.CodeLocation;
 import com.synopsys.integration.detectable.detectable.executable.ExecutableRunner;
 import com.synopsys.integration.detectable.detectable.executable.ExecutableRunnerException;
 import com.synopsys.integration.detectable.detectables.pip.model.PipenvResult;
+import com.synopsys.integration.detectable.detectables.pip.parser.PipInspectorGraphParser;
 import com.synopsys.integration.detectable.detectables.pip.parser.PipInspectorTreeParser;
 
 public class PipInspectorExtractor {
+    public static final String GRAPH_FORMAT_ARGUMENT = "--format=graph";
+
     private final ExecutableRunner executableRunner;
     private final PipInspectorTreeParser pipInspectorTreeParser;
+    private final PipInspectorGraphParser pipInspectorGraphParser;
 
-    public PipInspectorExtractor(final ExecutableRunner executableRunner, final PipInspectorTreeParser pipInspectorTreeParser) {
+    public PipInspectorExtractor(final ExecutableRunner executableRunner, final PipInspectorTreeParser pipInspectorTreeParser, final PipInspectorGraphParser pipInspectorGraphParser) {
         this.executableRunner = executableRunner;
         this.pipInspectorTreeParser = pipInspectorTreeParser;
+        this.pipInspectorGraphParser = pipInspectorGraphParser;
     }
 
-    public Extraction extract(final File directory, final File pythonExe, final File pipInspector, final File setupFile, final List<Path> requirementFilePaths, final String providedProjectName) {
+    public Extraction extract(final File directory, final File pythonExe, final File pipInspector, final File setupFile, final List<Path> requirementFilePaths, final String providedProjectName, final boolean treeOutput) {
         Extraction extractionResult;
         try {
             final String projectName = getProjectName(directory, pythonExe, setupFile, providedProjectName);
@@ -63,8 +68,13 @@ public class PipInspectorExtractor {
             }
 
             for (final Path requirementFilePath : requirementsPaths) {
-                final List<String> inspectorOutput = runInspector(directory, pythonExe, pipInspector, projectName, requirementFilePath);
-                final Optional<PipenvResult> result = pipInspectorTreeParser.parse(inspectorOutput, directory.toString());
+                final List<String> inspectorOutput = runInspector(directory, pythonExe, pipInspector, projectName, requirementFilePath, treeOutput);
+                final Optional<PipenvResult> result;
+                if (treeOutput) {
+                    result = pipInspectorTreeParser.parse(inspectorOutput, directory.toString());
+                } else {
+                    result = pipInspectorGraphParser.parse(inspectorOutput, directory.toString());
+                }
                 if (result.isPresent()) {
                     codeLocations.add(result.get().getCodeLocation());
                     final String potentialProjectVersion = result.get().getProjectVersion();
@@ -75,7 +85,7 @@ public class PipInspectorExtractor {
             }
 
             if (codeLocations.isEmpty()) {
-                extractionResult = new Extraction.Builder().failure("The Pip Inspector tree parse failed to produce output.").build();
+                extractionResult = new Extraction.Builder().failure("The Pip Inspector parse failed to produce output.").build();
             } else {
                 extractionResult = new Extraction.Builder()
                                        .success(codeLocations)
@@ -90,7 +100,8 @@ public class PipInspectorExtractor {
         return extractionResult;
     }
 
-    private List<String> runInspector(final File sourceDirectory, final File pythonExe, final File inspectorScript, final String projectName, final Path requirementsFilePath) throws ExecutableRunnerException {
+    private List<String> runInspector(final File sourceDirectory, final File pythonExe, final File inspectorScript, final String projectName, final Path requirementsFilePath, final boolean treeOutput)
+        throws ExecutableRunnerException {
         final List<String> inspectorArguments = new ArrayList<>();
         inspectorArguments.add(inspectorScript.getAbsolutePath());
 
@@ -102,6 +113,10 @@ public class PipInspectorExtractor {
             inspectorArguments.add(String.format("--projectname=%s", projectName));
         }
 
+        if (!treeOutput) {
+            inspectorArguments.add(GRAPH_FORMAT_ARGUMENT);
+        }
+
         return executableRunner.execute(sourceDirectory, pythonExe, inspectorArguments).getStandardOutputAsList();
     }
 
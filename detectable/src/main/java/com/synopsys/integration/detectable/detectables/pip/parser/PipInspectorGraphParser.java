@@ -0,0 +1,145 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.pip.parser;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.detectable.codelocation.CodeLocation;
+import com.synopsys.integration.detectable.detectables.pip.model.PipenvResult;
+
+// Parses the pip inspector's graph format, where each distribution is printed once as a node and every requirement as an edge between node ids.
+public class PipInspectorGraphParser {
+    private final Logger logger = LoggerFactory.getLogger(PipInspectorGraphParser.class);
+
+    public static final String NODE_RECORD = "node";
+    public static final String EDGE_RECORD = "edge";
+    public static final String FIELD_SEPARATOR = "\t";
+    public static final int PROJECT_NODE_ID = 0;
+
+    private final ExternalIdFactory externalIdFactory;
+
+    public PipInspectorGraphParser(final ExternalIdFactory externalIdFactory) {
+        this.externalIdFactory = externalIdFactory;
+    }
+
+    public Optional<PipenvResult> parse(final List<String> pipInspectorOutputAsList, final String sourcePath) {
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        final Map<Integer, Dependency> nodes = new HashMap<>();
+
+        for (final String line : pipInspectorOutputAsList) {
+            final String trimmedLine = StringUtils.trimToEmpty(line);
+            if (StringUtils.isEmpty(trimmedLine)) {
+                continue;
+            }
+
+            final String[] fields = trimmedLine.split(FIELD_SEPARATOR);
+            if (NODE_RECORD.equals(fields[0]) && fields.length == 4) {
+                parseNode(fields, sourcePath, nodes, line);
+            } else if (EDGE_RECORD.equals(fields[0]) && fields.length == 3) {
+                parseEdge(fields, nodes, graph, line);
+            } else {
+                parseErrorsFromLine(trimmedLine);
+            }
+        }
+
+        final Dependency project = nodes.get(PROJECT_NODE_ID);
+        if (project == null) {
+            return Optional.empty();
+        }
+
+        final CodeLocation codeLocation = new CodeLocation(graph, project.getExternalId());
+        return Optional.of(new PipenvResult(project.getName(), project.getVersion(), codeLocation));
+    }
+
+    private void parseNode(final String[] fields, final String sourcePath, final Map<Integer, Dependency> nodes, final String line) {
+        final Integer id = parseNodeId(fields[1], line);
+        if (id != null) {
+            nodes.put(id, createDependency(fields[2].trim(), fields[3].trim(), sourcePath));
+        }
+    }
+
+    private void parseEdge(final String[] fields, final Map<Integer, Dependency> nodes, final MutableDependencyGraph graph, final String line) {
+        final Integer parentId = parseNodeId(fields[1], line);
+        final Integer childId = parseNodeId(fields[2], line);
+        if (parentId == null || childId == null) {
+            return;
+        }
+
+        final Dependency parent = nodes.get(parentId);
+        final Dependency child = nodes.get(childId);
+        if (parent == null || child == null) {
+            logger.warn(String.format("Problem parsing line '%s': the edge references a node that was not declared.", line));
+        } else if (parentId == PROJECT_NODE_ID) {
+            graph.addChildToRoot(child);
+        } else {
+            graph.addChildWithParent(child, parent);
+        }
+    }
+
+    private Integer parseNodeId(final String field, final String line) {
+        try {
+            return Integer.valueOf(field.trim());
+        } catch (final NumberFormatException e) {
+            logger.warn(String.format("Problem parsing line '%s': %s is not a node id.", line, field));
+            return null;
+        }
+    }
+
+    private void parseErrorsFromLine(final String trimmedLine) {
+        if (trimmedLine.startsWith(PipInspectorTreeParser.UNKNOWN_REQUIREMENTS_PREFIX)) {
+            logger.error(String.format("Pip inspector could not find requirements file @ %s", trimmedLine.substring(PipInspectorTreeParser.UNKNOWN_REQUIREMENTS_PREFIX.length())));
+        }
+
+        if (trimmedLine.startsWith(PipInspectorTreeParser.UNPARSEABLE_REQUIREMENTS_PREFIX)) {
+            logger.error(String.format("Pip inspector could not parse requirements file @ %s", trimmedLine.substring(PipInspectorTreeParser.UNPARSEABLE_REQUIREMENTS_PREFIX.length())));
+        }
+
+        if (trimmedLine.startsWith(PipInspectorTreeParser.UNKNOWN_PACKAGE_PREFIX)) {
+            logger.error(String.format("Pip inspector could not resolve the package: %s", trimmedLine.substring(PipInspectorTreeParser.UNKNOWN_PACKAGE_PREFIX.length())));
+        }
+    }
+
+    private Dependency createDependency(final String name, final String version, final String sourcePath) {
+        ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.PYPI, name, version);
+        if (name.equals(PipInspectorTreeParser.UNKNOWN_PROJECT_NAME) || version.equals(PipInspectorTreeParser.UNKNOWN_PROJECT_VERSION)) {
+            externalId = externalIdFactory.createPathExternalId(Forge.PYPI, sourcePath);
+        }
+
+        final String dependencyName = name.equals(PipInspectorTreeParser.UNKNOWN_PROJECT_NAME) ? "" : name;
+        final String dependencyVersion = version.equals(PipInspectorTreeParser.UNKNOWN_PROJECT_VERSION) ? "" : version;
+        return new Dependency(dependencyName, dependencyVersion, externalId);
+    }
+}
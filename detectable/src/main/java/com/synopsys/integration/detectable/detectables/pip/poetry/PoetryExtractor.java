@@ -22,6 +22,7 @@
  */
 package com.synopsys.integration.detectable.detectables.pip.poetry;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
@@ -30,7 +31,6 @@ import java.nio.file.Files;
 import java.util.List;
 import java.util.Optional;
 
-import org.apache.commons.io.FileUtils;
 import org.tomlj.Toml;
 import org.tomlj.TomlParseResult;
 import org.tomlj.TomlTable;
@@ -55,7 +55,10 @@ public class PoetryExtractor {
 
     public Extraction extract(File poetryLock, Optional<File> pyprojectToml) {
         try {
-            final DependencyGraph graph = poetryLockParser.parseLockFile(FileUtils.readFileToString(poetryLock, StandardCharsets.UTF_8));
+            final DependencyGraph graph;
+            try (BufferedReader poetryLockReader = Files.newBufferedReader(poetryLock.toPath(), StandardCharsets.UTF_8)) {
+                graph = poetryLockParser.parseLockFile(poetryLockReader);
+            }
             final CodeLocation codeLocation = new CodeLocation(graph);
 
             Optional<NameVersion> poetryNameVersion = extractNameVersionFromPyProjectToml(pyprojectToml);
@@ -22,6 +22,10 @@
  */
 package com.synopsys.integration.detectable.detectables.pip.poetry.parser;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -29,11 +33,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.jetbrains.annotations.Nullable;
-import org.tomlj.Toml;
-import org.tomlj.TomlArray;
-import org.tomlj.TomlParseResult;
-import org.tomlj.TomlTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
@@ -42,6 +43,9 @@ import com.synopsys.integration.bdio.model.Forge;
 import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.detectable.toml.TomlSyntaxException;
+import com.synopsys.integration.detectable.detectable.toml.TomlTableReader;
+import com.synopsys.integration.detectable.detectable.toml.TomlTableRecord;
 
 public class PoetryLockParser {
 
@@ -50,21 +54,35 @@ public class PoetryLockParser {
     private static final String DEPENDENCIES_KEY = "dependencies";
     private static final String PACKAGE_KEY = "package";
 
+    private final Logger logger = LoggerFactory.getLogger(PoetryLockParser.class);
+
     private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
 
     private final Map<String, Dependency> packageMap = new HashMap<>();
 
     public DependencyGraph parseLockFile(String lockFile) {
-        TomlParseResult result = Toml.parse(lockFile);
-        if (result.get(PACKAGE_KEY) != null) {
-            TomlArray lockPackages = result.getArray(PACKAGE_KEY);
-            return parseDependencies(lockPackages);
+        try {
+            return parseLockFile(new StringReader(lockFile));
+        } catch (IOException e) {
+            // Only syntax errors can occur when reading from a string and those are handled while parsing.
+            throw new UncheckedIOException(e);
         }
+    }
 
-        return new MutableMapDependencyGraph();
+    public DependencyGraph parseLockFile(Reader lockFileReader) throws IOException {
+        List<TomlTableRecord> lockPackages = new ArrayList<>();
+        try {
+            new TomlTableReader(lockFileReader).readTables(PACKAGE_KEY, lockPackages::add);
+        } catch (TomlSyntaxException e) {
+            logger.warn(String.format("Illegal syntax was detected in poetry.lock file, only the packages before the error will be used: %s", e.getMessage()));
+        }
+        if (lockPackages.isEmpty()) {
+            return new MutableMapDependencyGraph();
+        }
+        return parseDependencies(lockPackages);
     }
 
-    private DependencyGraph parseDependencies(final TomlArray lockPackages) {
+    private DependencyGraph parseDependencies(List<TomlTableRecord> lockPackages) {
         MutableDependencyGraph graph = new MutableMapDependencyGraph();
 
         Set<String> rootPackages = determineRootPackages(lockPackages);
@@ -73,15 +91,14 @@ public class PoetryLockParser {
             graph.addChildToRoot(packageMap.get(rootPackage));
         }
 
-        for (int i = 0; i < lockPackages.size(); i++) {
-            TomlTable lockPackage = lockPackages.getTable(i);
-            List<String> dependencies = extractFromDependencyList(lockPackage.getTable(DEPENDENCIES_KEY));
+        for (TomlTableRecord lockPackage : lockPackages) {
+            Set<String> dependencies = lockPackage.getSubTableKeys(DEPENDENCIES_KEY);
             if (dependencies.isEmpty()) {
                 continue;
             }
             for (final String dependency : dependencies) {
                 Dependency child = packageMap.get(dependency);
-                Dependency parent = packageMap.get(lockPackage.getString(NAME_KEY));
+                Dependency parent = packageMap.get(lockPackage.getString(NAME_KEY).orElse(null));
                 if (child != null && parent != null) {
                     graph.addChildWithParent(child, parent);
                 }
@@ -91,43 +108,23 @@ public class PoetryLockParser {
         return graph;
     }
 
-    private Set<String> determineRootPackages(TomlArray lockPackages) {
+    private Set<String> determineRootPackages(List<TomlTableRecord> lockPackages) {
         Set<String> rootPackages = new HashSet<>();
         Set<String> dependencyPackages = new HashSet<>();
 
-        for (int i = 0; i < lockPackages.size(); i++) {
-            TomlTable lockPackage = lockPackages.getTable(i);
+        for (TomlTableRecord lockPackage : lockPackages) {
+            final String projectName = lockPackage.getString(NAME_KEY).orElse(null);
+            final String projectVersion = lockPackage.getString(VERSION_KEY).orElse(null);
 
-            if (lockPackage != null) {
-                final String projectName = lockPackage.getString(NAME_KEY);
-                final String projectVersion = lockPackage.getString(VERSION_KEY);
-
-                packageMap.put(projectName, createPoetryDependency(projectName, projectVersion));
-                rootPackages.add(projectName);
-
-                if (lockPackage.getTable(DEPENDENCIES_KEY) != null) {
-                    List<String> dependencies = extractFromDependencyList(lockPackage.getTable(DEPENDENCIES_KEY));
-                    dependencyPackages.addAll(dependencies);
-                }
-
-            }
+            packageMap.put(projectName, createPoetryDependency(projectName, projectVersion));
+            rootPackages.add(projectName);
+            dependencyPackages.addAll(lockPackage.getSubTableKeys(DEPENDENCIES_KEY));
         }
         rootPackages.removeAll(dependencyPackages);
 
         return rootPackages;
     }
 
-    private List<String> extractFromDependencyList(@Nullable TomlTable dependencyList) {
-        List<String> dependencies = new ArrayList<>();
-        if (dependencyList == null) {
-            return dependencies;
-        }
-        for (List<String> key : dependencyList.keyPathSet()) {
-            dependencies.add(key.get(0));
-        }
-        return dependencies;
-    }
-
     private Dependency createPoetryDependency(final String name, final String version) {
         final ExternalId dependencyExternalId = externalIdFactory.createNameVersionExternalId(Forge.PYPI, name, version);
         return new Dependency(name, version, dependencyExternalId);
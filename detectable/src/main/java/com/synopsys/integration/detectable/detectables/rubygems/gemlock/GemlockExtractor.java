@@ -22,10 +22,10 @@
  */
 package com.synopsys.integration.detectable.detectables.rubygems.gemlock;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,12 +45,11 @@ public class GemlockExtractor {
     }
 
     public Extraction extract(final File gemlock) {
-        try {
-            final List<String> gemlockText = Files.readAllLines(gemlock.toPath(), StandardCharsets.UTF_8);
-            logger.debug(String.join(System.lineSeparator(), gemlockText));
+        try (final BufferedReader gemlockReader = Files.newBufferedReader(gemlock.toPath(), StandardCharsets.UTF_8)) {
+            logger.debug(String.format("Parsing %s", gemlock.getAbsolutePath()));
 
             final GemlockParser gemlockParser = new GemlockParser(externalIdFactory);
-            final DependencyGraph dependencyGraph = gemlockParser.parseProjectDependencies(gemlockText);
+            final DependencyGraph dependencyGraph = gemlockParser.parseProjectDependencies(gemlockReader);
 
             final CodeLocation codeLocation = new CodeLocation(dependencyGraph);
             return new Extraction.Builder().success(codeLocation).build();
@@ -27,10 +27,17 @@ import static com.synopsys.integration.detectable.detectables.rubygems.gemlock.p
 import static com.synopsys.integration.detectable.detectables.rubygems.gemlock.parse.GemlockParser.GemfileLockSection.NONE;
 import static com.synopsys.integration.detectable.detectables.rubygems.gemlock.parse.GemlockParser.GemfileLockSection.SPECS;
 
-import java.util.ArrayList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -58,6 +65,7 @@ public class GemlockParser {
     public static final String VERSION_CHARACTERS = "()<>=~";
     public static final String FUZZY_VERSION_CHARACTERS = "<>";
     public static final String VERSION_PREFIX_PATTERN = " \\(";
+    private static final String VERSION_PREFIX = " (";
     public static final String VERSION_SUFFIX = ")";
 
     private final Logger logger = LoggerFactory.getLogger(GemlockParser.class);
@@ -68,43 +76,43 @@ public class GemlockParser {
 
     private GemfileLockSection currentSection = NONE;
 
-    private List<String> encounteredDependencies = new ArrayList<>();
-    private List<String> resolvedDependencies = new ArrayList<>();
+    // Names are looked up for every spec line, so they are kept in hash tables rather than lists.
+    private Set<String> encounteredDependencies = new LinkedHashSet<>();
+    private Set<String> resolvedDependencies = new HashSet<>();
+    private Map<String, NameDependencyId> nameDependencyIds = new HashMap<>();
 
     public GemlockParser(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
     }
 
     public DependencyGraph parseProjectDependencies(final List<String> gemfileLockLines) throws MissingExternalIdException {
-        encounteredDependencies = new ArrayList<>();
-        resolvedDependencies = new ArrayList<>();
+        return parseProjectDependencies(gemfileLockLines.stream());
+    }
+
+    public DependencyGraph parseProjectDependencies(final BufferedReader gemfileLockReader) throws IOException, MissingExternalIdException {
+        try {
+            return parseProjectDependencies(gemfileLockReader.lines());
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private DependencyGraph parseProjectDependencies(final Stream<String> gemfileLockLines) throws MissingExternalIdException {
+        encounteredDependencies = new LinkedHashSet<>();
+        resolvedDependencies = new HashSet<>();
+        nameDependencyIds = new HashMap<>();
         lazyBuilder = new LazyExternalIdDependencyGraphBuilder();
         currentParent = null;
+        currentSection = NONE;
 
-        for (final String line : gemfileLockLines) {
-            final String trimmedLine = StringUtils.trimToEmpty(line);
-
-            if (StringUtils.isBlank(trimmedLine)) {
-                currentSection = NONE;
-            } else if (SPECS_HEADER.equals(trimmedLine)) {
-                currentSection = SPECS;
-            } else if (DEPENDENCIES_HEADER.equals(trimmedLine)) {
-                currentSection = DEPENDENCIES;
-            } else if (BUNDLED_WITH_HEADER.equals(trimmedLine)) {
-                currentSection = BUNDLED_WITH;
-            } else if (BUNDLED_WITH.equals(currentSection)) {
-                addBundlerDependency(trimmedLine);
-            } else if (SPECS.equals(currentSection)) {
-                parseSpecsSectionLine(line);
-            } else if (DEPENDENCIES.equals(currentSection)) {
-                parseDependencySectionLine(trimmedLine);
-            }
-        }
+        gemfileLockLines.forEachOrdered(this::parseLine);
 
-        final List<String> missingDependencies = encounteredDependencies.stream().filter(it -> !resolvedDependencies.contains(it)).collect(Collectors.toList());
-        for (final String missingName : missingDependencies) {
+        for (final String missingName : encounteredDependencies) {
+            if (resolvedDependencies.contains(missingName)) {
+                continue;
+            }
             final String missingVersion = "";
-            final DependencyId dependencyId = new NameDependencyId(missingName);
+            final DependencyId dependencyId = nameDependencyId(missingName);
             final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, missingName, missingVersion);
             lazyBuilder.setDependencyInfo(dependencyId, missingName, missingVersion, externalId);
         }
@@ -112,15 +120,38 @@ public class GemlockParser {
         return lazyBuilder.build();
     }
 
+    private void parseLine(final String line) {
+        final String trimmedLine = StringUtils.trimToEmpty(line);
+
+        if (StringUtils.isBlank(trimmedLine)) {
+            currentSection = NONE;
+        } else if (SPECS_HEADER.equals(trimmedLine)) {
+            currentSection = SPECS;
+        } else if (DEPENDENCIES_HEADER.equals(trimmedLine)) {
+            currentSection = DEPENDENCIES;
+        } else if (BUNDLED_WITH_HEADER.equals(trimmedLine)) {
+            currentSection = BUNDLED_WITH;
+        } else if (BUNDLED_WITH.equals(currentSection)) {
+            addBundlerDependency(trimmedLine);
+        } else if (SPECS.equals(currentSection)) {
+            parseSpecsSectionLine(line);
+        } else if (DEPENDENCIES.equals(currentSection)) {
+            parseDependencySectionLine(trimmedLine);
+        }
+    }
+
+    private NameDependencyId nameDependencyId(final String name) {
+        return nameDependencyIds.computeIfAbsent(name, NameDependencyId::new);
+    }
+
     private void discoveredDependencyInfo(final NameVersionDependencyId id) {
-        final NameDependencyId nameOnlyId = new NameDependencyId(id.getName());
+        final NameDependencyId nameOnlyId = nameDependencyId(id.getName());
 
         //regardless we found the external id for this specific dependency.
         final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, id.getName(), id.getVersion());
         lazyBuilder.setDependencyInfo(id, id.getName(), id.getVersion(), externalId);
 
-        if (!resolvedDependencies.contains(id.getName())) { //if this is our first time encountering a dependency of this name, we become the 'version-less'
-            resolvedDependencies.add(id.getName());
+        if (resolvedDependencies.add(id.getName())) { //if this is our first time encountering a dependency of this name, we become the 'version-less'
             lazyBuilder.setDependencyInfo(nameOnlyId, id.getName(), id.getVersion(), externalId);
         } else {//otherwise, add us as a child to the version-less
             lazyBuilder.addChildWithParent(id, nameOnlyId);
@@ -156,7 +187,7 @@ public class GemlockParser {
     private void parseSpecPackageLine(final String trimmedLine) {
         final NameVersion parentNameVersion = parseNameVersion(trimmedLine);
         if (StringUtils.isNotBlank(parentNameVersion.getVersion())) {
-            currentParent = new NameDependencyId(parentNameVersion.getName());
+            currentParent = nameDependencyId(parentNameVersion.getName());
             discoveredDependencyInfo(new NameVersionDependencyId(parentNameVersion.getName(), parentNameVersion.getVersion()));
         } else {
             logger.error(String.format("An installed spec did not have a non-fuzzy version: %s", trimmedLine));
@@ -166,7 +197,7 @@ public class GemlockParser {
     //If you have Version, you know everything. Otherwise, you need to find this version later.
     //Generally each parse/process call should either call this or add to encountered.
     private DependencyId processNameVersion(final NameVersion nameVersion) {
-        final NameDependencyId nameDependencyId = new NameDependencyId(nameVersion.getName());
+        final NameDependencyId nameDependencyId = nameDependencyId(nameVersion.getName());
         if (StringUtils.isNotBlank(nameVersion.getVersion())) {
             final NameVersionDependencyId nameVersionDependencyId = new NameVersionDependencyId(nameVersion.getName(), nameVersion.getVersion());
             discoveredDependencyInfo(nameVersionDependencyId);
@@ -187,12 +218,18 @@ public class GemlockParser {
     }
 
     private NameVersion parseNameVersion(final String trimmedLine) {
-        final String[] pieces = trimmedLine.split(VERSION_PREFIX_PATTERN);
-        String name = pieces[0].trim();
+        // Same pieces as splitting on VERSION_PREFIX_PATTERN, without compiling a pattern for every line.
+        final int versionStart = trimmedLine.indexOf(VERSION_PREFIX);
+        String name;
         String version = "";
 
-        if (pieces.length > 1) {
-            final Optional<String> validVersion = parseValidVersion(pieces[1].trim());
+        if (versionStart < 0) {
+            name = trimmedLine.trim();
+        } else {
+            name = trimmedLine.substring(0, versionStart).trim();
+            final int versionEnd = trimmedLine.indexOf(VERSION_PREFIX, versionStart + VERSION_PREFIX.length());
+            final String versionPiece = trimmedLine.substring(versionStart + VERSION_PREFIX.length(), versionEnd < 0 ? trimmedLine.length() : versionEnd);
+            final Optional<String> validVersion = parseValidVersion(versionPiece.trim());
             version = validVersion.orElse("");
         }
 
@@ -23,8 +23,10 @@
 package com.synopsys.integration.detectable.detectables.yarn;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 
@@ -40,8 +42,10 @@ public class YarnLockExtractor {
     public Extraction extract(File yarnLockFile, File packageJsonFile) {
         try {
             String packageJsonText = FileUtils.readFileToString(packageJsonFile, StandardCharsets.UTF_8);
-            List<String> yarnLockLines = FileUtils.readLines(yarnLockFile, StandardCharsets.UTF_8);
-            YarnResult yarnResult = yarnPackager.generateYarnResult(packageJsonText, yarnLockLines, yarnLockFile.getAbsolutePath());
+            YarnResult yarnResult;
+            try (Reader yarnLockReader = new InputStreamReader(new FileInputStream(yarnLockFile), StandardCharsets.UTF_8)) {
+                yarnResult = yarnPackager.generateYarnResult(packageJsonText, yarnLockReader, yarnLockFile.getAbsolutePath());
+            }
 
             if (yarnResult.getException().isPresent()) {
                 throw yarnResult.getException().get();
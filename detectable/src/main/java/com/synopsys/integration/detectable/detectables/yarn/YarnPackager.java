@@ -22,6 +22,8 @@
  */
 package com.synopsys.integration.detectable.detectables.yarn;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 
 import com.google.gson.Gson;
@@ -48,8 +50,17 @@ public class YarnPackager {
     }
 
     public YarnResult generateYarnResult(String packageJsonText, List<String> yarnLockLines, String yarnLockFilePath) {
-        PackageJson packageJson = gson.fromJson(packageJsonText, PackageJson.class);
         YarnLock yarnLock = yarnLockParser.parseYarnLock(yarnLockLines);
+        return generateYarnResult(packageJsonText, yarnLock, yarnLockFilePath);
+    }
+
+    public YarnResult generateYarnResult(String packageJsonText, Reader yarnLockReader, String yarnLockFilePath) throws IOException {
+        YarnLock yarnLock = yarnLockParser.parseYarnLock(yarnLockReader);
+        return generateYarnResult(packageJsonText, yarnLock, yarnLockFilePath);
+    }
+
+    private YarnResult generateYarnResult(String packageJsonText, YarnLock yarnLock, String yarnLockFilePath) {
+        PackageJson packageJson = gson.fromJson(packageJsonText, PackageJson.class);
         YarnLockResult yarnLockResult = new YarnLockResult(packageJson, yarnLockFilePath, yarnLock);
 
         try {
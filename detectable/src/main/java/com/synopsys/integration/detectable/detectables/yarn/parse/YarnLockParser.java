@@ -22,127 +22,253 @@
  */
 package com.synopsys.integration.detectable.detectables.yarn.parse;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
-import org.jetbrains.annotations.NotNull;
 
+// Scans the yarn.lock a character at a time, one line per pass, without materializing intermediate line lists or substrings.
+// Names and versions repeat heavily across a lockfile so they are pooled per parse.
 public class YarnLockParser {
-    private static final String COMMENT_PREFIX = "#";
+    private static final char COMMENT_PREFIX = '#';
+    private static final char QUOTE = '"';
     private static final String VERSION_PREFIX = "version \"";
-    private static final String VERSION_SUFFIX = "\"";
     private static final String OPTIONAL_DEPENDENCIES_TOKEN = "optionalDependencies:";
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int INITIAL_LINE_CAPACITY = 256;
 
     public YarnLock parseYarnLock(List<String> yarnLockFileAsList) {
-        List<YarnLockEntry> entries = new ArrayList<>();
-        String resolvedVersion = "";
-        List<YarnLockDependency> dependencies = new ArrayList<>();
-        List<YarnLockEntryId> ids;
-        boolean inOptionalDependencies = false;
+        YarnLockScanner scanner = new YarnLockScanner();
+        char[] line = new char[INITIAL_LINE_CAPACITY];
+        for (String text : yarnLockFileAsList) {
+            int length = text.length();
+            if (length > line.length) {
+                line = new char[Math.max(length, line.length * 2)];
+            }
+            text.getChars(0, length, line, 0);
+            scanner.scanLine(line, length);
+        }
+        return scanner.finish();
+    }
 
-        List<String> cleanedYarnLockFileAsList = cleanList(yarnLockFileAsList);
+    public YarnLock parseYarnLock(Reader yarnLockReader) throws IOException {
+        YarnLockScanner scanner = new YarnLockScanner();
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        char[] line = new char[INITIAL_LINE_CAPACITY];
+        int lineLength = 0;
+        int read;
+        while ((read = yarnLockReader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char current = buffer[i];
+                if (current == '\n' || current == '\r') {
+                    // Blank lines are skipped, so a \r\n pair simply produces an extra empty line.
+                    scanner.scanLine(line, lineLength);
+                    lineLength = 0;
+                } else {
+                    if (lineLength == line.length) {
+                        line = Arrays.copyOf(line, line.length * 2);
+                    }
+                    line[lineLength++] = current;
+                }
+            }
+        }
+        scanner.scanLine(line, lineLength);
+        return scanner.finish();
+    }
 
-        int indexOfFirstLevelZeroLine = findIndexOfFirstLevelZeroLine(cleanedYarnLockFileAsList);
+    public int countIndent(String line) {
+        return countIndent(line.toCharArray(), line.length());
+    }
 
-        if (indexOfFirstLevelZeroLine == -1 || indexOfFirstLevelZeroLine == cleanedYarnLockFileAsList.size() - 1) {
-            return new YarnLock(entries);
+    //Takes a line of the form "entry \"entry\" entry:"
+    public List<YarnLockEntryId> parseMultipleEntryLine(String line) {
+        return new YarnLockScanner().parseMultipleEntryLine(line.toCharArray(), 0, line.length());
+    }
+
+    //Takes an entry of format "name@version" or "@name@version" where name has an @ symbol.
+    public YarnLockEntryId parseSingleEntry(String entry) {
+        return new YarnLockScanner().parseSingleEntry(entry.toCharArray(), 0, entry.length());
+    }
+
+    // Each level of indentation is two spaces, any odd trailing space does not count towards the level.
+    private static int countIndent(char[] line, int length) {
+        int spaces = 0;
+        while (spaces < length && line[spaces] == ' ') {
+            spaces++;
         }
+        return spaces / 2;
+    }
 
-        // We need to set ids with the first level zero line
-        ids = parseMultipleEntryLine(cleanedYarnLockFileAsList.get(indexOfFirstLevelZeroLine));
+    private static int trimStart(char[] line, int start, int end) {
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(char[] line, int start, int end) {
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+        return end;
+    }
 
-        List<String> yarnLinesThatMatter = cleanedYarnLockFileAsList.subList(indexOfFirstLevelZeroLine + 1, cleanedYarnLockFileAsList.size());
+    private static boolean startsWith(char[] line, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (line[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        for (String line : yarnLinesThatMatter) {
+    private static class YarnLockScanner {
+        private final Map<String, String> stringPool = new HashMap<>();
+        private final List<YarnLockEntry> entries = new ArrayList<>();
+        private List<YarnLockEntryId> ids = null;
+        private String resolvedVersion = "";
+        private List<YarnLockDependency> dependencies = new ArrayList<>();
+        private boolean inOptionalDependencies = false;
 
-            String trimmedLine = line.trim();
-            int level = countIndent(line);
+        public void scanLine(char[] line, int length) {
+            int start = trimStart(line, 0, length);
+            if (start == length || line[start] == COMMENT_PREFIX) {
+                return;
+            }
+            int end = trimEnd(line, start, length);
+
+            int level = countIndent(line, length);
             if (level == 0) {
-                entries.add(new YarnLockEntry(ids, resolvedVersion, dependencies));
-                resolvedVersion = "";
-                dependencies = new ArrayList<>();
-                inOptionalDependencies = false;
-                ids = parseMultipleEntryLine(line);
-            } else if (level == 1 && trimmedLine.startsWith(VERSION_PREFIX)) {
-                resolvedVersion = parseVersionFromLine(trimmedLine);
-            } else if (level == 1 && trimmedLine.startsWith(OPTIONAL_DEPENDENCIES_TOKEN)) {
+                if (ids != null) {
+                    entries.add(new YarnLockEntry(ids, resolvedVersion, dependencies));
+                    resolvedVersion = "";
+                    dependencies = new ArrayList<>();
+                    inOptionalDependencies = false;
+                }
+                ids = parseMultipleEntryLine(line, 0, length);
+            } else if (ids == null) {
+                // Anything before the first entry does not belong to an entry.
+                return;
+            } else if (level == 1 && startsWith(line, start, end, VERSION_PREFIX)) {
+                resolvedVersion = parseVersion(line, start, end);
+            } else if (level == 1 && startsWith(line, start, end, OPTIONAL_DEPENDENCIES_TOKEN)) {
                 inOptionalDependencies = true;
             } else if (level == 2) {
-                dependencies.add(parseDependencyFromLine(trimmedLine, inOptionalDependencies));
+                dependencies.add(parseDependency(line, start, end, inOptionalDependencies));
             }
         }
-        if (StringUtils.isNotBlank(resolvedVersion)) {
-            entries.add(new YarnLockEntry(ids, resolvedVersion, dependencies));
-        }
 
-        return new YarnLock(entries);
-    }
+        public YarnLock finish() {
+            if (ids != null && StringUtils.isNotBlank(resolvedVersion)) {
+                entries.add(new YarnLockEntry(ids, resolvedVersion, dependencies));
+            }
+            return new YarnLock(entries);
+        }
 
-    @NotNull
-    private Integer findIndexOfFirstLevelZeroLine(List<String> cleanedYarnLockFileAsList) {
-        return cleanedYarnLockFileAsList
-                   .stream()
-                   .filter(line -> countIndent(line) == 0)
-                   .findFirst()
-                   .map(line -> cleanedYarnLockFileAsList.indexOf(line))
-                   .orElse(-1);
-    }
+        public List<YarnLockEntryId> parseMultipleEntryLine(char[] line, int start, int end) {
+            List<YarnLockEntryId> entryIds = new ArrayList<>();
+            while (end > start && line[end - 1] == ',') {
+                end--;
+            }
+            if (end == start) {
+                return entryIds;
+            }
 
-    @NotNull
-    private List<String> cleanList(List<String> yarnLockFileAsList) {
-        return yarnLockFileAsList
-                   .stream()
-                   .filter(StringUtils::isNotBlank)
-                   .filter(line -> !line.trim().startsWith(COMMENT_PREFIX))
-                   .collect(Collectors.toList());
-    }
+            int segmentStart = start;
+            for (int i = start; i <= end; i++) {
+                if (i == end || line[i] == ',') {
+                    entryIds.add(parseEntry(line, segmentStart, i));
+                    segmentStart = i + 1;
+                }
+            }
+            return entryIds;
+        }
 
-    public int countIndent(String line) {
-        int count = 0;
-        while (line.startsWith("  ")) {
-            count++;
-            line = line.substring(2);
+        private YarnLockEntryId parseEntry(char[] line, int start, int end) {
+            start = trimStart(line, start, end);
+            end = trimEnd(line, start, end);
+            if (end > start && line[end - 1] == ':') {
+                end--;
+            }
+            start = trimStart(line, start, end);
+            end = trimEnd(line, start, end);
+            if (end > start && line[end - 1] == QUOTE) {
+                end--;
+            }
+            if (end > start && line[start] == QUOTE) {
+                start++;
+            }
+            return parseSingleEntry(line, start, end);
         }
-        return count;
-    }
 
-    private YarnLockDependency parseDependencyFromLine(String line, boolean optional) {
-        String[] pieces = StringUtils.split(line, " ", 2);
-        return new YarnLockDependency(removeWrappingQuotes(pieces[0]), removeWrappingQuotes(pieces[1]), optional);
-    }
+        public YarnLockEntryId parseSingleEntry(char[] line, int start, int end) {
+            int atCount = 0;
+            int lastAt = -1;
+            for (int i = start; i < end; i++) {
+                if (line[i] == '@') {
+                    atCount++;
+                    lastAt = i;
+                }
+            }
 
-    private String removeWrappingQuotes(String s) {
-        return StringUtils.removeStart(StringUtils.removeEnd(s.trim(), "\""), "\"");
-    }
+            if (lastAt == -1 || (atCount == 1 && lastAt == start)) {
+                return new YarnLockEntryId(intern(line, start, end), "");
+            } else {
+                return new YarnLockEntryId(intern(line, start, lastAt), intern(line, lastAt + 1, end));
+            }
+        }
 
-    //Takes a line of the form "entry \"entry\" entry:"
-    public List<YarnLockEntryId> parseMultipleEntryLine(String line) {
-        List<YarnLockEntryId> ids = new ArrayList<>();
-        String[] entries = line.split(",");
-        for (String entryRaw : entries) {
-            String entryNoColon = StringUtils.removeEnd(entryRaw.trim(), ":");
-            String entryNoColonOrQuotes = removeWrappingQuotes(entryNoColon);
-            YarnLockEntryId entry = parseSingleEntry(entryNoColonOrQuotes);
-            ids.add(entry);
-        }
-        return ids;
-    }
+        private YarnLockDependency parseDependency(char[] line, int start, int end, boolean optional) {
+            int nameEnd = start;
+            while (nameEnd < end && line[nameEnd] != ' ') {
+                nameEnd++;
+            }
+            int versionStart = nameEnd;
+            while (versionStart < end && line[versionStart] == ' ') {
+                versionStart++;
+            }
+            return new YarnLockDependency(unquote(line, start, nameEnd), unquote(line, versionStart, end), optional);
+        }
 
-    //Takes an entry of format "name@version" or "@name@version" where name has an @ symbol.
-    public YarnLockEntryId parseSingleEntry(String entry) {
-        if (StringUtils.countMatches(entry, "@") == 1 && entry.startsWith("@")) {
-            return new YarnLockEntryId(entry, "");
-        } else {
-            String name = StringUtils.substringBeforeLast(entry, "@");
-            String version = StringUtils.substringAfterLast(entry, "@");
-            return new YarnLockEntryId(name, version);
+        private String parseVersion(char[] line, int start, int end) {
+            int versionStart = start + VERSION_PREFIX.length();
+            int versionEnd = end;
+            while (versionEnd > versionStart && line[versionEnd - 1] != QUOTE) {
+                versionEnd--;
+            }
+            if (versionEnd > versionStart) {
+                versionEnd--;
+            }
+            return unquote(line, versionStart, versionEnd);
+        }
+
+        private String unquote(char[] line, int start, int end) {
+            start = trimStart(line, start, end);
+            end = trimEnd(line, start, end);
+            if (end > start && line[end - 1] == QUOTE) {
+                end--;
+            }
+            if (end > start && line[start] == QUOTE) {
+                start++;
+            }
+            return intern(line, start, end);
         }
-    }
 
-    private String parseVersionFromLine(String line) {
-        String rawVersion = line.substring(VERSION_PREFIX.length(), line.lastIndexOf(VERSION_SUFFIX));
-        return removeWrappingQuotes(rawVersion);
+        private String intern(char[] line, int start, int end) {
+            if (end <= start) {
+                return "";
+            }
+            String value = new String(line, start, end - start);
+            String pooled = stringPool.putIfAbsent(value, value);
+            return pooled == null ? value : pooled;
+        }
     }
-}
\ No newline at end of file
+}
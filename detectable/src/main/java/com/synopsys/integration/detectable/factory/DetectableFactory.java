@@ -22,6 +22,8 @@
  */
 package com.synopsys.integration.detectable.factory;
 
+import java.util.concurrent.ExecutorService;
+
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
@@ -89,6 +91,7 @@ import com.synopsys.integration.detectable.detectables.cocoapods.parser.PodlockP
 import com.synopsys.integration.detectable.detectables.conda.CondaCliDetectable;
 import com.synopsys.integration.detectable.detectables.conda.CondaCliDetectableOptions;
 import com.synopsys.integration.detectable.detectables.conda.CondaCliExtractor;
+import com.synopsys.integration.detectable.detectables.conda.CondaEnvironmentCache;
 import com.synopsys.integration.detectable.detectables.conda.parser.CondaListParser;
 import com.synopsys.integration.detectable.detectables.cpan.CpanCliDetectable;
 import com.synopsys.integration.detectable.detectables.cpan.CpanCliExtractor;
@@ -125,7 +128,9 @@ import com.synopsys.integration.detectable.detectables.go.vendr.GoVndrExtractor;
 import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleDetectable;
 import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleInspectorExtractor;
 import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleInspectorOptions;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleModelExtractor;
 import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleRunner;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.parse.GradleDependencyModelParser;
 import com.synopsys.integration.detectable.detectables.gradle.inspection.parse.GradleReportParser;
 import com.synopsys.integration.detectable.detectables.gradle.inspection.parse.GradleReportTransformer;
 import com.synopsys.integration.detectable.detectables.gradle.inspection.parse.GradleRootMetadataParser;
@@ -180,6 +185,7 @@ import com.synopsys.integration.detectable.detectables.pip.PipenvDetectable;
 import com.synopsys.integration.detectable.detectables.pip.PipenvDetectableOptions;
 import com.synopsys.integration.detectable.detectables.pip.PipenvExtractor;
 import com.synopsys.integration.detectable.detectables.pip.parser.PipEnvJsonGraphParser;
+import com.synopsys.integration.detectable.detectables.pip.parser.PipInspectorGraphParser;
 import com.synopsys.integration.detectable.detectables.pip.parser.PipInspectorTreeParser;
 import com.synopsys.integration.detectable.detectables.pip.parser.PipenvFreezeParser;
 import com.synopsys.integration.detectable.detectables.pip.parser.PipenvTransformer;
@@ -219,12 +225,16 @@ public class DetectableFactory {
     private final ExecutableRunner executableRunner;
     private final ExternalIdFactory externalIdFactory;
     private final Gson gson;
+    private final ExecutorService processExecutorService;
+    private final CondaEnvironmentCache condaEnvironmentCache = new CondaEnvironmentCache();
 
-    public DetectableFactory(FileFinder fileFinder, ExecutableRunner executableRunner, ExternalIdFactory externalIdFactory, Gson gson) {
+    // Detectables that start more than one process at once submit the extra processes to the process executor service.
+    public DetectableFactory(FileFinder fileFinder, ExecutableRunner executableRunner, ExternalIdFactory externalIdFactory, Gson gson, ExecutorService processExecutorService) {
         this.fileFinder = fileFinder;
         this.executableRunner = executableRunner;
         this.externalIdFactory = externalIdFactory;
         this.gson = gson;
+        this.processExecutorService = processExecutorService;
     }
 
     //#region Detectables
@@ -299,7 +309,7 @@ public class DetectableFactory {
     }
 
     public GradleDetectable createGradleDetectable(DetectableEnvironment environment, GradleInspectorOptions gradleInspectorOptions, GradleInspectorResolver gradleInspectorResolver, GradleResolver gradleResolver) {
-        return new GradleDetectable(environment, fileFinder, gradleResolver, gradleInspectorResolver, gradleInspectorExtractor(), gradleInspectorOptions);
+        return new GradleDetectable(environment, fileFinder, gradleResolver, gradleInspectorResolver, gradleInspectorExtractor(), gradleModelExtractor(), gradleInspectorOptions);
     }
 
     public GradleParseDetectable createGradleParseDetectable(DetectableEnvironment environment) {
@@ -410,7 +420,7 @@ public class DetectableFactory {
     }
 
     private DependencyFileDetailGenerator dependencyFileDetailGenerator() {
-        return new DependencyFileDetailGenerator(filePathGenerator());
+        return new DependencyFileDetailGenerator(filePathGenerator(), processExecutorService);
     }
 
     private CargoExtractor cargoExtractor() {
@@ -442,11 +452,11 @@ public class DetectableFactory {
     }
 
     private CondaListParser condaListParser() {
-        return new CondaListParser(gson, externalIdFactory);
+        return new CondaListParser(externalIdFactory);
     }
 
     private CondaCliExtractor condaCliExtractor() {
-        return new CondaCliExtractor(condaListParser(), executableRunner);
+        return new CondaCliExtractor(condaListParser(), executableRunner, condaEnvironmentCache, processExecutorService);
     }
 
     private CpanListParser cpanListParser() {
@@ -529,6 +539,10 @@ public class DetectableFactory {
         return new GradleRootMetadataParser();
     }
 
+    private GradleDependencyModelParser gradleDependencyModelParser() {
+        return new GradleDependencyModelParser(externalIdFactory);
+    }
+
     private Rebar3TreeParser rebar3TreeParser() {
         return new Rebar3TreeParser(externalIdFactory);
     }
@@ -621,8 +635,12 @@ public class DetectableFactory {
         return new PipInspectorTreeParser(externalIdFactory);
     }
 
+    private PipInspectorGraphParser pipInspectorGraphParser() {
+        return new PipInspectorGraphParser(externalIdFactory);
+    }
+
     private PipInspectorExtractor pipInspectorExtractor() {
-        return new PipInspectorExtractor(executableRunner, pipInspectorTreeParser());
+        return new PipInspectorExtractor(executableRunner, pipInspectorTreeParser(), pipInspectorGraphParser());
     }
 
     private PoetryExtractor poetryExtractor() {
@@ -693,6 +711,10 @@ public class DetectableFactory {
         return new GradleInspectorExtractor(fileFinder, gradleRunner(), gradleReportParser(), gradleReportTransformer(), gradleRootMetadataParser());
     }
 
+    private GradleModelExtractor gradleModelExtractor() {
+        return new GradleModelExtractor(fileFinder, gradleRunner(), gradleDependencyModelParser());
+    }
+
     private DockerExtractor dockerExtractor() {
         return new DockerExtractor(fileFinder, executableRunner, new BdioTransformer(), new ExternalIdFactory(), gson);
     }
@@ -0,0 +1,76 @@
+package com.synopsys.integration.detectable.detectables.cargo.performance;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tomlj.Toml;
+import org.tomlj.TomlArray;
+import org.tomlj.TomlParseResult;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.detectable.exception.DetectableException;
+import com.synopsys.integration.detectable.detectables.cargo.parse.CargoLockParser;
+
+@Tag("performance")
+public class CargoLockParserPerformanceTest {
+    private static final int[] PACKAGE_COUNTS = { 1000, 2500, 5000 };
+    private static final int DEPENDENCIES_PER_PACKAGE = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void documentTreeAgainstStreamingTables() throws DetectableException {
+        for (final int packages : PACKAGE_COUNTS) {
+            final String cargoLock = generateCargoLock(packages);
+
+            final long treeStart = System.nanoTime();
+            final TomlParseResult document = Toml.parse(cargoLock);
+            final TomlArray documentPackages = document.getArray("package");
+            final long treeMillis = (System.nanoTime() - treeStart) / 1000000;
+
+            final long streamingStart = System.nanoTime();
+            final DependencyGraph graph = new CargoLockParser().parseLockFile(cargoLock);
+            final long streamingMillis = (System.nanoTime() - streamingStart) / 1000000;
+
+            Assertions.assertEquals(packages, documentPackages.size());
+            Assertions.assertEquals(1, graph.getRootDependencies().size());
+            for (int i = 0; i < packages; i++) {
+                final String name = documentPackages.getTable(i).getString("name");
+                final String version = documentPackages.getTable(i).getString("version");
+                Assertions.assertTrue(graph.hasDependency(externalIdFactory.createNameVersionExternalId(Forge.CRATES, name, version)), name);
+            }
+            logger.info(String.format("Cargo.lock with %d packages (%d KB): document tree built in %d ms, graph built from streamed tables in %d ms.",
+                packages, cargoLock.length() / 1024, treeMillis, streamingMillis));
+        }
+    }
+
+    // Every package depends on the next few packages, so only the first package is a root.
+    private String generateCargoLock(final int packages) {
+        final StringBuilder cargoLock = new StringBuilder();
+        cargoLock.append("# This file is automatically @generated by Cargo.\n");
+        cargoLock.append("[[package]]\n");
+        for (int i = 0; i < packages; i++) {
+            if (i > 0) {
+                cargoLock.append("\n[[package]]\n");
+            }
+            cargoLock.append("name = \"crate-").append(i).append("\"\n");
+            cargoLock.append("version = \"0.").append(i % 50).append(".0\"\n");
+            cargoLock.append("source = \"registry+https://github.com/rust-lang/crates.io-index\"\n");
+            cargoLock.append("checksum = \"").append(String.format("%064x", i)).append("\"\n");
+            final int lastDependency = Math.min(packages - 1, i + DEPENDENCIES_PER_PACKAGE);
+            if (i < lastDependency) {
+                cargoLock.append("dependencies = [\n");
+                for (int dependency = i + 1; dependency <= lastDependency; dependency++) {
+                    cargoLock.append(" \"crate-").append(dependency).append(" 0.").append(dependency % 50).append(".0\",\n");
+                }
+                cargoLock.append("]\n");
+            }
+        }
+        return cargoLock.toString();
+    }
+}
@@ -44,17 +44,18 @@ import com.synopsys.integration.detectable.detectables.clang.dependencyfile.Clan
 import com.synopsys.integration.detectable.detectables.clang.dependencyfile.DependencyFileDetailGenerator;
 import com.synopsys.integration.detectable.detectables.clang.dependencyfile.FilePathGenerator;
 import com.synopsys.integration.detectable.detectables.clang.packagemanager.PackageDetails;
+import com.synopsys.integration.util.NoThreadExecutorService;
 
 public class DependencyFileDetailGeneratorTest {
     @Test
-    public void testFileThatDoesNotExistIsSkipped() {
+    public void testFileThatDoesNotExistIsSkipped() throws Exception {
         final File mockFile = Mockito.mock(File.class);
         Mockito.when(mockFile.toString()).thenReturn("Example");
 
         final FilePathGenerator filePathGenerator = Mockito.mock(FilePathGenerator.class);
         Mockito.when(filePathGenerator.fromCompileCommand(mockFile, null, true)).thenReturn(Collections.singletonList("does_not_exist.h"));
 
-        final DependencyFileDetailGenerator dependencyFileDetailGenerator = new DependencyFileDetailGenerator(filePathGenerator);
+        final DependencyFileDetailGenerator dependencyFileDetailGenerator = new DependencyFileDetailGenerator(filePathGenerator, new NoThreadExecutorService());
 
         final Set<File> fileDetailsSet = dependencyFileDetailGenerator.fromCompileCommands(Collections.singletonList(new CompileCommand()), null, true);
         Assertions.assertEquals(0, fileDetailsSet.size());
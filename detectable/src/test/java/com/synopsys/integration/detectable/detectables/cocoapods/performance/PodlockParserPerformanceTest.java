@@ -0,0 +1,110 @@
+package com.synopsys.integration.detectable.detectables.cocoapods.performance;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.builder.MissingExternalIdException;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.detectables.cocoapods.parser.PodlockParser;
+
+@Tag("performance")
+public class PodlockParserPerformanceTest {
+    private static final int[] POD_COUNTS = { 1000, 10000 };
+    private static final int SUBSPECS_PER_POD = 3;
+    private static final int DEPENDENCIES_PER_POD = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void documentTreeAgainstStreamingSections() throws IOException, MissingExternalIdException {
+        final PodlockParser podlockParser = new PodlockParser(externalIdFactory);
+        for (final int pods : POD_COUNTS) {
+            final String podLockText = generatePodLock(pods);
+
+            final long treeStart = System.nanoTime();
+            final JsonNode document = new YAMLMapper().readTree(podLockText);
+            final long treeMillis = (System.nanoTime() - treeStart) / 1000000;
+
+            final long streamingStart = System.nanoTime();
+            final DependencyGraph graph = podlockParser.extractDependencyGraph(podLockText);
+            final long streamingMillis = (System.nanoTime() - streamingStart) / 1000000;
+
+            Assertions.assertEquals(pods * (1 + SUBSPECS_PER_POD), document.get("PODS").size());
+            Assertions.assertEquals(pods / 10, graph.getRootDependencyExternalIds().size());
+            for (int i = 0; i < pods; i++) {
+                final ExternalId pod = externalIdFactory.createNameVersionExternalId(forge(i), podName(i), podVersion(i));
+                Assertions.assertTrue(graph.hasDependency(pod), podName(i));
+                if (i + 1 < pods) {
+                    final ExternalId dependency = externalIdFactory.createNameVersionExternalId(forge(i + 1), podName(i + 1), podVersion(i + 1));
+                    Assertions.assertTrue(graph.getChildrenExternalIdsForParent(pod).contains(dependency), podName(i));
+                }
+            }
+            logger.info(String.format("Podfile.lock with %d pods and %d subspecs (%d KB): document tree built in %d ms, graph built from streamed sections in %d ms.",
+                pods, pods * SUBSPECS_PER_POD, podLockText.length() / 1024, treeMillis, streamingMillis));
+        }
+    }
+
+    // Every pod has subspecs and depends on subspecs of the next few pods. Every 10th pod is a declared dependency and every 20th comes from node_modules.
+    private String generatePodLock(final int pods) {
+        final StringBuilder podLock = new StringBuilder("PODS:\n");
+        for (int i = 0; i < pods; i++) {
+            podLock.append("  - ").append(podName(i)).append(" (").append(podVersion(i)).append("):\n");
+            for (int subspec = 0; subspec < SUBSPECS_PER_POD; subspec++) {
+                podLock.append("    - ").append(podName(i)).append("/Subspec").append(subspec).append(" (= ").append(podVersion(i)).append(")\n");
+            }
+            for (int subspec = 0; subspec < SUBSPECS_PER_POD; subspec++) {
+                podLock.append("  - ").append(podName(i)).append("/Subspec").append(subspec).append(" (").append(podVersion(i)).append(")");
+                final int lastDependency = Math.min(pods - 1, i + DEPENDENCIES_PER_POD);
+                if (subspec == 0 && i < lastDependency) {
+                    podLock.append(":\n");
+                    for (int dependency = i + 1; dependency <= lastDependency; dependency++) {
+                        podLock.append("    - ").append(podName(dependency)).append("/Subspec").append(dependency % SUBSPECS_PER_POD).append(" (~> 1.0)\n");
+                    }
+                } else {
+                    podLock.append("\n");
+                }
+            }
+        }
+
+        podLock.append("\nDEPENDENCIES:\n");
+        for (int i = 0; i < pods; i += 10) {
+            podLock.append("  - ").append(podName(i)).append(" (~> 1.0)\n");
+        }
+
+        podLock.append("\nEXTERNAL SOURCES:\n");
+        for (int i = 0; i < pods; i += 20) {
+            podLock.append("  ").append(podName(i)).append(":\n");
+            podLock.append("    :path: \"../node_modules/").append(podName(i)).append("\"\n");
+        }
+
+        podLock.append("\nSPEC CHECKSUMS:\n");
+        for (int i = 0; i < pods; i++) {
+            podLock.append("  ").append(podName(i)).append(": ").append(String.format("%040x", i)).append("\n");
+        }
+        podLock.append("\nCOCOAPODS: 1.9.1\n");
+        return podLock.toString();
+    }
+
+    private Forge forge(final int index) {
+        return index % 20 == 0 ? Forge.NPMJS : Forge.COCOAPODS;
+    }
+
+    private String podName(final int index) {
+        return "Pod" + index;
+    }
+
+    private String podVersion(final int index) {
+        return "1." + (index % 10) + ".0";
+    }
+}
@@ -0,0 +1,66 @@
+package com.synopsys.integration.detectable.detectables.cocoapods.unit;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.builder.MissingExternalIdException;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.annotations.UnitTest;
+import com.synopsys.integration.detectable.detectables.cocoapods.parser.PodlockParser;
+import com.synopsys.integration.detectable.util.FunctionalTestFiles;
+
+@UnitTest
+public class PodlockParserTest {
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+    private final PodlockParser podlockParser = new PodlockParser(externalIdFactory);
+
+    @Test
+    public void externalSourcesOverrideForge() throws IOException, MissingExternalIdException {
+        final DependencyGraph graph = podlockParser.extractDependencyGraph(FunctionalTestFiles.asString("/cocoapods/externalSourcesFile.lock"));
+
+        final ExternalId react = externalIdFactory.createNameVersionExternalId(Forge.NPMJS, "React", "0.46.0");
+        final ExternalId branch = externalIdFactory.createNameVersionExternalId(Forge.NPMJS, "Branch-SDK", "0.14.12");
+        final ExternalId alamofireHandlers = externalIdFactory.createNameVersionExternalId(Forge.COCOAPODS, "AlamofireHandlers", "1.0.1");
+        final ExternalId alamofire = externalIdFactory.createNameVersionExternalId(Forge.COCOAPODS, "Alamofire", "4.4.0");
+
+        Assertions.assertTrue(graph.getRootDependencyExternalIds().contains(react));
+        Assertions.assertTrue(graph.getRootDependencyExternalIds().contains(branch));
+        Assertions.assertTrue(graph.getRootDependencyExternalIds().contains(alamofireHandlers));
+        Assertions.assertTrue(graph.getChildrenExternalIdsForParent(alamofireHandlers).contains(alamofire));
+        Assertions.assertFalse(graph.getChildrenExternalIdsForParent(react).contains(react), "Subspecs of React should collapse into React without a self reference.");
+        Assertions.assertTrue(graph.getChildrenExternalIdsForParent(react).contains(externalIdFactory.createNameVersionExternalId(Forge.NPMJS, "Yoga", "0.46.0.React")));
+    }
+
+    @Test
+    public void subspecsResolveToTheirSuperPod() throws IOException, MissingExternalIdException {
+        final String podLockText = String.join(System.lineSeparator(), Arrays.asList(
+            "PODS:",
+            "  - Mockingjay (2.0.0):",
+            "    - Mockingjay/Core (= 2.0.0)",
+            "  - Mockingjay/Core (2.0.0):",
+            "    - URITemplate/Parser (~> 2.0)",
+            "  - URITemplate/Parser (2.0.0)",
+            "",
+            "DEPENDENCIES:",
+            "  - Mockingjay/Core (~> 2.0)",
+            "",
+            "SPEC CHECKSUMS:",
+            "  Mockingjay: 7122a3fc0597aa63438e4cd9b71b7bc8aac05b87",
+            "",
+            "COCOAPODS: 1.2.1"
+        ));
+        final DependencyGraph graph = podlockParser.extractDependencyGraph(podLockText);
+
+        final ExternalId mockingjay = externalIdFactory.createNameVersionExternalId(Forge.COCOAPODS, "Mockingjay", "2.0.0");
+        final ExternalId uriTemplate = externalIdFactory.createNameVersionExternalId(Forge.COCOAPODS, "URITemplate", "2.0.0");
+        Assertions.assertEquals(1, graph.getRootDependencyExternalIds().size());
+        Assertions.assertTrue(graph.getRootDependencyExternalIds().contains(mockingjay));
+        Assertions.assertTrue(graph.getChildrenExternalIdsForParent(mockingjay).contains(uriTemplate));
+    }
+}
@@ -0,0 +1,147 @@
+package com.synopsys.integration.detectable.detectables.conda.unit;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.Extraction;
+import com.synopsys.integration.detectable.annotations.UnitTest;
+import com.synopsys.integration.detectable.detectable.executable.Executable;
+import com.synopsys.integration.detectable.detectable.executable.ExecutableOutput;
+import com.synopsys.integration.detectable.detectable.executable.ExecutableRunner;
+import com.synopsys.integration.detectable.detectable.executable.ExecutableRunnerException;
+import com.synopsys.integration.detectable.detectables.conda.CondaCliExtractor;
+import com.synopsys.integration.detectable.detectables.conda.CondaEnvironmentCache;
+import com.synopsys.integration.detectable.detectables.conda.parser.CondaListParser;
+
+@UnitTest
+public class CondaCliExtractorTest {
+    private static final String LIST_JSON = "[{\"name\": \"numpy\", \"version\": \"1.13.1\", \"build_string\": \"py36_0\"}]";
+    private static final String INFO_JSON = "{\"platform\": \"linux-64\"}";
+
+    private final File condaExe = new File("conda");
+    private final File directory = new File("source");
+    private final File outputDirectory = new File("output");
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void shutdownExecutorService() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void runsInfoWhileListIsRunning() {
+        final CountDownLatch infoStarted = new CountDownLatch(1);
+        final FakeCondaRunner runner = new FakeCondaRunner() {
+            @Override
+            protected void beforeList() throws ExecutableRunnerException {
+                try {
+                    if (!infoStarted.await(30, TimeUnit.SECONDS)) {
+                        throw new ExecutableRunnerException(new IllegalStateException("conda info was not started while conda list was running."));
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ExecutableRunnerException(e);
+                }
+            }
+
+            @Override
+            protected void beforeInfo() {
+                infoStarted.countDown();
+            }
+        };
+        final CondaCliExtractor extractor = new CondaCliExtractor(new CondaListParser(new ExternalIdFactory()), runner, new CondaEnvironmentCache(), executorService);
+
+        final Extraction extraction = extractor.extract(directory, condaExe, outputDirectory, "env", true, false);
+
+        Assertions.assertTrue(extraction.isSuccess());
+        Assertions.assertEquals(1, extraction.getCodeLocations().get(0).getDependencyGraph().getRootDependencies().size());
+    }
+
+    @Test
+    public void reusesEnvironmentResults() {
+        final FakeCondaRunner runner = new FakeCondaRunner();
+        final CondaEnvironmentCache cache = new CondaEnvironmentCache();
+        final CondaCliExtractor extractor = new CondaCliExtractor(new CondaListParser(new ExternalIdFactory()), runner, cache, executorService);
+
+        final Extraction first = extractor.extract(new File("first"), condaExe, outputDirectory, "env", true, true);
+        final Extraction second = extractor.extract(new File("second"), condaExe, outputDirectory, "env", true, true);
+        final Extraction otherEnvironment = extractor.extract(new File("third"), condaExe, outputDirectory, "other", true, true);
+
+        Assertions.assertTrue(first.isSuccess());
+        Assertions.assertTrue(second.isSuccess());
+        Assertions.assertTrue(otherEnvironment.isSuccess());
+        Assertions.assertEquals(2, runner.listCount.get());
+        Assertions.assertEquals(2, runner.infoCount.get());
+    }
+
+    @Test
+    public void doesNotReuseFailures() {
+        final AtomicInteger failures = new AtomicInteger(1);
+        final FakeCondaRunner runner = new FakeCondaRunner() {
+            @Override
+            protected void beforeList() throws ExecutableRunnerException {
+                if (failures.getAndDecrement() > 0) {
+                    throw new ExecutableRunnerException(new IllegalStateException("conda list failed."));
+                }
+            }
+        };
+        final CondaCliExtractor extractor = new CondaCliExtractor(new CondaListParser(new ExternalIdFactory()), runner, new CondaEnvironmentCache(), executorService);
+
+        Assertions.assertFalse(extractor.extract(directory, condaExe, outputDirectory, "env", false, true).isSuccess());
+        Assertions.assertTrue(extractor.extract(directory, condaExe, outputDirectory, "env", false, true).isSuccess());
+    }
+
+    private static class FakeCondaRunner implements ExecutableRunner {
+        private final AtomicInteger listCount = new AtomicInteger();
+        private final AtomicInteger infoCount = new AtomicInteger();
+
+        protected void beforeList() throws ExecutableRunnerException {
+        }
+
+        protected void beforeInfo() {
+        }
+
+        @Override
+        public ExecutableOutput execute(final File workingDirectory, final File exeFile, final List<String> args) throws ExecutableRunnerException {
+            if (args.contains("list")) {
+                listCount.incrementAndGet();
+                beforeList();
+                return new ExecutableOutput("conda list", 0, LIST_JSON, "");
+            }
+            infoCount.incrementAndGet();
+            beforeInfo();
+            return new ExecutableOutput("conda info", 0, INFO_JSON, "");
+        }
+
+        @Override
+        public ExecutableOutput execute(final File workingDirectory, final File exeFile, final String... args) throws ExecutableRunnerException {
+            return execute(workingDirectory, exeFile, Arrays.asList(args));
+        }
+
+        @Override
+        public ExecutableOutput execute(final File workingDirectory, final String exeCmd, final String... args) throws ExecutableRunnerException {
+            return execute(workingDirectory, new File(exeCmd), Arrays.asList(args));
+        }
+
+        @Override
+        public ExecutableOutput execute(final File workingDirectory, final String exeCmd, final List<String> args) throws ExecutableRunnerException {
+            return execute(workingDirectory, new File(exeCmd), args);
+        }
+
+        @Override
+        public ExecutableOutput execute(final Executable executable) throws ExecutableRunnerException {
+            return execute(executable.getWorkingDirectory(), executable.getCommand().get(0), executable.getCommand().subList(1, executable.getCommand().size()));
+        }
+    }
+}
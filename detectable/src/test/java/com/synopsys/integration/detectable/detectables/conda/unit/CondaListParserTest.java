@@ -0,0 +1,37 @@
+package com.synopsys.integration.detectable.detectables.conda.unit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.annotations.UnitTest;
+import com.synopsys.integration.detectable.detectables.conda.parser.CondaListParser;
+import com.synopsys.integration.detectable.util.graph.NameVersionGraphAssert;
+
+@UnitTest
+public class CondaListParserTest {
+    @Test
+    public void parsesOnlyTheFieldsItNeeds() {
+        final String listJson = "[\n"
+                                    + "  {\"base_url\": null, \"build_number\": 0, \"build_string\": \"py36_0\", \"channel\": \"defaults\", \"depends\": [\"python\"], \"name\": \"numpy\", \"version\": \"1.13.1\"},\n"
+                                    + "  {\"version\": 2017, \"name\": \"mkl\", \"build_string\": null, \"extra\": {\"nested\": [1, 2, 3]}}\n"
+                                    + "]";
+        final String infoJson = "{\"channels\": [\"defaults\"], \"envs\": [], \"platform\": \"linux-64\", \"conda_private\": false}";
+
+        final DependencyGraph graph = new CondaListParser(new ExternalIdFactory()).parse(listJson, infoJson);
+
+        final NameVersionGraphAssert graphAssert = new NameVersionGraphAssert(Forge.ANACONDA, graph);
+        graphAssert.hasRootSize(2);
+        graphAssert.hasRootDependency("numpy", "1.13.1-py36_0-linux-64");
+        graphAssert.hasRootDependency("mkl", "2017-null-linux-64");
+    }
+
+    @Test
+    public void parsesEmptyEnvironment() {
+        final DependencyGraph graph = new CondaListParser(new ExternalIdFactory()).parse("[]", "{\"platform\": \"osx-64\"}");
+
+        Assertions.assertTrue(graph.getRootDependencies().isEmpty());
+    }
+}
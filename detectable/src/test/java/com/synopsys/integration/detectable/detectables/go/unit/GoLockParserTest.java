@@ -24,6 +24,7 @@ package com.synopsys.integration.detectable.detectables.go.unit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
 import java.io.InputStream;
 
 import org.junit.jupiter.api.Test;
@@ -35,7 +36,7 @@ import com.synopsys.integration.detectable.util.FunctionalTestFiles;
 public class GoLockParserTest {
 
     @Test
-    public void testNoProjects() {
+    public void testNoProjects() throws IOException {
         final GoLockParser parser = new GoLockParser(null);
         final InputStream gopkgLockInputStream = FunctionalTestFiles.asInputStream("/go/Gopkg_noprojects.lock");
         final DependencyGraph graph = parser.parseDepLock(gopkgLockInputStream);
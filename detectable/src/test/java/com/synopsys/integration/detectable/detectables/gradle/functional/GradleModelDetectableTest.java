@@ -0,0 +1,118 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.gradle.functional;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.Detectable;
+import com.synopsys.integration.detectable.DetectableEnvironment;
+import com.synopsys.integration.detectable.Extraction;
+import com.synopsys.integration.detectable.detectable.codelocation.CodeLocation;
+import com.synopsys.integration.detectable.detectable.executable.ExecutableOutput;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleInspectorOptions;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.inspector.GradleInspectorScriptOptions;
+import com.synopsys.integration.detectable.functional.DetectableFunctionalTest;
+import com.synopsys.integration.detectable.util.graph.GraphAssert;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+
+public class GradleModelDetectableTest extends DetectableFunctionalTest {
+    public GradleModelDetectableTest() throws IOException {
+        super("gradle-model");
+    }
+
+    @Override
+    protected void setup() throws IOException {
+        addFile(Paths.get("build.gradle"));
+
+        ExecutableOutput gradleModelOutput = createStandardOutput("");
+        addExecutableOutput(gradleModelOutput, "gradle", "--quiet", "--parallel", "detectDependencyModel", "--init-script=gradle-model", "-DGRADLEEXTRACTIONDIR=" + getOutputDirectory().toFile().getCanonicalPath());
+
+        addOutputFile(Paths.get("rootProjectModel.txt"), Collections.singletonList("rootProject\tfixture\t1.2.3"));
+
+        addOutputFile(Paths.get("%3A_dependencyModel.txt"), Collections.singletonList("project\t:\tcom.example.fixture\tfixture\t1.2.3\t/fixture"));
+
+        addOutputFile(Paths.get("%3Aapp_dependencyModel.txt"), Arrays.asList(
+            "project\t:app\tcom.example.fixture\tapp\t1.2.3\t/fixture/app",
+            "component\t1\tcom.example\tdelta\t3.1",
+            "component\t2\tcom.example\talpha\t1.0",
+            "component\t3\tcom.example\tbeta\t1.0",
+            "component\t4\tcom.example\tgamma\t2.0",
+            "component\t5\tcom.example\tepsilon\t0.9",
+            "dependency\t0\t1",
+            "dependency\t1\t2",
+            "dependency\t2\t3",
+            "dependency\t2\t4",
+            "dependency\t3\t4",
+            "dependency\t0\t5"
+        ));
+    }
+
+    @NotNull
+    @Override
+    public Detectable create(@NotNull DetectableEnvironment detectableEnvironment) {
+        GradleInspectorScriptOptions scriptOptions = new GradleInspectorScriptOptions("", "", "", "", "", "", true);
+        GradleInspectorOptions gradleInspectorOptions = new GradleInspectorOptions("", scriptOptions, ProxyInfo.NO_PROXY_INFO);
+        return detectableFactory.createGradleDetectable(detectableEnvironment, gradleInspectorOptions, () -> new File("gradle-model"), (environment) -> new File("gradle"));
+    }
+
+    @Override
+    public void assertExtraction(@NotNull Extraction extraction) {
+        Assertions.assertEquals(2, extraction.getCodeLocations().size());
+        Assertions.assertEquals("fixture", extraction.getProjectName());
+        Assertions.assertEquals("1.2.3", extraction.getProjectVersion());
+
+        ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        CodeLocation app = extraction.getCodeLocations().stream()
+                               .filter(codeLocation -> codeLocation.getExternalId().map(ExternalId::getName).filter("app"::equals).isPresent())
+                               .findFirst()
+                               .orElseThrow(() -> new AssertionError("Missing the app code location."));
+        Assertions.assertEquals(new File("/fixture/app"), app.getSourcePath().orElse(null));
+
+        GraphAssert graphAssert = new GraphAssert(Forge.MAVEN, app.getDependencyGraph());
+        graphAssert.hasRootSize(2);
+
+        ExternalId delta = externalIdFactory.createMavenExternalId("com.example", "delta", "3.1");
+        ExternalId alpha = externalIdFactory.createMavenExternalId("com.example", "alpha", "1.0");
+        ExternalId beta = externalIdFactory.createMavenExternalId("com.example", "beta", "1.0");
+        ExternalId gamma = externalIdFactory.createMavenExternalId("com.example", "gamma", "2.0");
+        ExternalId epsilon = externalIdFactory.createMavenExternalId("com.example", "epsilon", "0.9");
+
+        graphAssert.hasRootDependency(delta);
+        graphAssert.hasRootDependency(epsilon);
+        graphAssert.hasParentChildRelationship(delta, alpha);
+        graphAssert.hasParentChildRelationship(alpha, beta);
+        graphAssert.hasParentChildRelationship(alpha, gamma);
+        graphAssert.hasParentChildRelationship(beta, gamma);
+        graphAssert.hasRelationshipCount(alpha, 2);
+    }
+}
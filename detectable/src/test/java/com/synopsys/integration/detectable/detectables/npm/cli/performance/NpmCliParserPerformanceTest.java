@@ -0,0 +1,105 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.npm.cli.performance;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.detectables.npm.cli.parse.NpmCliParser;
+import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmParseResult;
+
+@Tag("performance")
+public class NpmCliParserPerformanceTest {
+    private static final int TOP_LEVEL_PACKAGES = 5000;
+    private static final int CHILDREN_PER_PACKAGE = 4;
+    private static final int NESTED_LEVELS = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Test
+    public void parseLargeNpmLsOutput() {
+        final String npmLsOutput = generateNpmLsOutput();
+        logger.info(String.format("Generated %d MB of npm ls output.", npmLsOutput.length() / (1024 * 1024)));
+
+        // The previous parser held this whole tree alongside the output while building the graph.
+        long usedBefore = usedHeap();
+        long start = System.nanoTime();
+        JsonObject tree = JsonParser.parseString(npmLsOutput).getAsJsonObject();
+        final long treeMillis = (System.nanoTime() - start) / 1000000;
+        final long treeBytes = usedHeap() - usedBefore;
+        Assertions.assertEquals(TOP_LEVEL_PACKAGES, tree.getAsJsonObject("dependencies").size());
+        tree = null;
+
+        usedBefore = usedHeap();
+        start = System.nanoTime();
+        final NpmParseResult result = new NpmCliParser(new ExternalIdFactory()).generateCodeLocation(npmLsOutput);
+        final long streamingMillis = (System.nanoTime() - start) / 1000000;
+        final long graphBytes = usedHeap() - usedBefore;
+
+        Assertions.assertEquals(TOP_LEVEL_PACKAGES, result.getCodeLocation().getDependencyGraph().getRootDependencies().size());
+        logger.info(String.format("Building the JSON tree took %d ms and held about %d MB.", treeMillis, treeBytes / (1024 * 1024)));
+        logger.info(String.format("Streaming the output into the graph took %d ms and the graph holds about %d MB.", streamingMillis, graphBytes / (1024 * 1024)));
+    }
+
+    private String generateNpmLsOutput() {
+        final StringBuilder output = new StringBuilder();
+        output.append("{\"name\":\"large\",\"version\":\"1.0.0\",\"dependencies\":{");
+        for (int i = 0; i < TOP_LEVEL_PACKAGES; i++) {
+            if (i > 0) {
+                output.append(',');
+            }
+            appendPackage(output, "package-" + i, NESTED_LEVELS);
+        }
+        output.append("}}");
+        return output.toString();
+    }
+
+    private void appendPackage(final StringBuilder output, final String name, final int levels) {
+        final String version = "1.0." + (name.hashCode() & 7);
+        output.append('"').append(name).append("\":{\"version\":\"").append(version).append("\",\"from\":\"").append(name).append("@^1.0.0\",");
+        output.append("\"resolved\":\"https://registry.npmjs.org/").append(name).append("/-/").append(name).append('-').append(version).append(".tgz\"");
+        if (levels > 0) {
+            output.append(",\"dependencies\":{");
+            for (int child = 0; child < CHILDREN_PER_PACKAGE; child++) {
+                if (child > 0) {
+                    output.append(',');
+                }
+                appendPackage(output, name + "-" + child, levels - 1);
+            }
+            output.append('}');
+        }
+        output.append('}');
+    }
+
+    private long usedHeap() {
+        System.gc();
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -87,4 +87,40 @@ public class NpmOutputParserTest {
         graphAssert.hasParentChildRelationship("xml2js", "0.4.17", "sax", "1.2.2");
         graphAssert.hasParentChildRelationship("xmlbuilder", "4.2.1", "lodash", "4.17.4");
     }
+
+    @Test
+    public void versionsAfterDependenciesAndInvalidSubtrees() {
+        final NpmCliParser parser = new NpmCliParser(new ExternalIdFactory());
+        final String testIn = String.join(System.lineSeparator(), Arrays.asList(
+            "{",
+            "   \"dependencies\": {",
+            "       \"xml2js\": {",
+            "           \"dependencies\": {",
+            "               \"sax\": { \"version\": \"1.2.2\" }",
+            "           },",
+            "           \"version\": \"0.4.17\"",
+            "       },",
+            "       \"missing-peer\": {",
+            "           \"required\": \"^1.0.0\",",
+            "           \"missing\": true,",
+            "           \"dependencies\": {",
+            "               \"lodash\": { \"version\": \"4.17.4\" }",
+            "           }",
+            "       }",
+            "   },",
+            "   \"name\": \"node-js\",",
+            "   \"version\": \"0.2.0\"",
+            "}"));
+        final NpmParseResult result = parser.convertNpmJsonFileToCodeLocation(testIn);
+
+        Assertions.assertEquals("node-js", result.getProjectName());
+        Assertions.assertEquals("0.2.0", result.getProjectVersion());
+
+        final NameVersionGraphAssert graphAssert = new NameVersionGraphAssert(Forge.NPMJS, result.getCodeLocation().getDependencyGraph());
+
+        graphAssert.hasRootSize(1);
+        graphAssert.hasRootDependency("xml2js", "0.4.17");
+        graphAssert.hasParentChildRelationship("xml2js", "0.4.17", "sax", "1.2.2");
+        graphAssert.hasNoDependency("lodash", "4.17.4");
+    }
 }
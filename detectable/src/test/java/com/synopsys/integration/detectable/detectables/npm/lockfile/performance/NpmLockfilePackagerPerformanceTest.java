@@ -0,0 +1,106 @@
+/**
+ * detectable
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.npm.lockfile.performance;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmParseResult;
+import com.synopsys.integration.detectable.detectables.npm.lockfile.parse.NpmLockfilePackager;
+
+@Tag("performance")
+public class NpmLockfilePackagerPerformanceTest {
+    private static final int TOP_LEVEL_PACKAGES = 20000;
+    private static final int NESTED_PACKAGES = 8;
+    private static final int REQUIRES_PER_PACKAGE = 6;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Test
+    public void parseLargePackageLock() throws IOException {
+        File packageLock = Files.createTempFile("NpmLockfilePackagerPerformanceTest", "package-lock.json").toFile();
+        packageLock.deleteOnExit();
+        generatePackageLock(packageLock);
+        logger.info(String.format("Generated a %d MB package-lock.json.", packageLock.length() / (1024 * 1024)));
+
+        NpmLockfilePackager npmLockfilePackager = new NpmLockfilePackager(new Gson(), new ExternalIdFactory());
+        long start = System.nanoTime();
+        NpmParseResult result;
+        try (Reader lockfileReader = new InputStreamReader(new FileInputStream(packageLock), StandardCharsets.UTF_8)) {
+            result = npmLockfilePackager.parse(null, lockfileReader, true);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        Assertions.assertEquals(TOP_LEVEL_PACKAGES, result.getCodeLocation().getDependencyGraph().getRootDependencies().size());
+        logger.info(String.format("Parsed and resolved the package-lock.json in %d ms.", elapsedMillis));
+    }
+
+    // Each top level package nests its own copies of a few packages (as npm does for conflicting versions) and requires both nested and hoisted packages.
+    private void generatePackageLock(File packageLock) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(packageLock.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("{\"name\":\"large\",\"version\":\"1.0.0\",\"lockfileVersion\":1,\"requires\":true,\"dependencies\":{");
+            for (int i = 0; i < TOP_LEVEL_PACKAGES; i++) {
+                if (i > 0) {
+                    writer.write(",");
+                }
+                writer.write(String.format("\"package-%d\":{\"version\":\"1.0.%d\",", i, i % 10));
+                writer.write(String.format("\"resolved\":\"https://registry.npmjs.org/package-%d/-/package-%d-1.0.%d.tgz\",", i, i, i % 10));
+                writer.write("\"integrity\":\"sha512-AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA==\",");
+                writer.write("\"requires\":{");
+                for (int r = 0; r < REQUIRES_PER_PACKAGE; r++) {
+                    if (r > 0) {
+                        writer.write(",");
+                    }
+                    writer.write(String.format("\"package-%d\":\"^1.0.0\"", (i + r * 7919 + 1) % TOP_LEVEL_PACKAGES));
+                }
+                writer.write("},\"dependencies\":{");
+                for (int n = 0; n < NESTED_PACKAGES; n++) {
+                    if (n > 0) {
+                        writer.write(",");
+                    }
+                    int nested = (i + n * 104729 + 3) % TOP_LEVEL_PACKAGES;
+                    writer.write(String.format("\"package-%d\":{\"version\":\"2.0.0\",", nested));
+                    writer.write(String.format("\"resolved\":\"https://registry.npmjs.org/package-%d/-/package-%d-2.0.0.tgz\",", nested, nested));
+                    writer.write("\"integrity\":\"sha512-BBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBB==\",");
+                    writer.write(String.format("\"requires\":{\"package-%d\":\"^1.0.0\"}}", (nested + 1) % TOP_LEVEL_PACKAGES));
+                }
+                writer.write("}}");
+            }
+            writer.write("}}");
+        }
+    }
+}
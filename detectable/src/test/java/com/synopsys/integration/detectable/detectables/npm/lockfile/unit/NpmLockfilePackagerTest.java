@@ -0,0 +1,77 @@
+/**
+ * detectable
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.npm.lockfile.unit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.annotations.UnitTest;
+import com.synopsys.integration.detectable.detectables.npm.lockfile.model.NpmParseResult;
+import com.synopsys.integration.detectable.detectables.npm.lockfile.parse.NpmLockfilePackager;
+import com.synopsys.integration.detectable.util.graph.NameVersionGraphAssert;
+
+@UnitTest
+public class NpmLockfilePackagerTest {
+    private static final String PACKAGE_LOCK = String.join("\n",
+        "{",
+        "  \"name\": \"root\",",
+        "  \"version\": \"1.0.0\",",
+        "  \"lockfileVersion\": 1,",
+        "  \"requires\": true,",
+        "  \"dependencies\": {",
+        "    \"a\": {",
+        "      \"dependencies\": {",
+        "        \"b\": {",
+        "          \"version\": \"2.0.0\",",
+        "          \"requires\": { \"c\": \"^2.0.0\" },",
+        "          \"dependencies\": { \"c\": { \"version\": \"2.0.0\" } }",
+        "        }",
+        "      },",
+        "      \"version\": \"1.0.0\",",
+        "      \"integrity\": \"sha512-ignored\",",
+        "      \"requires\": { \"b\": \"^2.0.0\", \"c\": \"^1.0.0\" }",
+        "    },",
+        "    \"b\": { \"version\": \"1.0.0\" },",
+        "    \"c\": { \"version\": \"1.0.0\" }",
+        "  }",
+        "}"
+    );
+
+    @Test
+    public void resolvesClosestScopeFirst() {
+        NpmLockfilePackager npmLockfilePackager = new NpmLockfilePackager(new Gson(), new ExternalIdFactory());
+        NpmParseResult result = npmLockfilePackager.parse(null, PACKAGE_LOCK, true);
+
+        Assertions.assertEquals("root", result.getProjectName());
+        Assertions.assertEquals("1.0.0", result.getProjectVersion());
+
+        NameVersionGraphAssert graphAssert = new NameVersionGraphAssert(Forge.NPMJS, result.getCodeLocation().getDependencyGraph());
+        graphAssert.hasRootSize(3);
+        graphAssert.hasParentChildRelationship("a", "1.0.0", "b", "2.0.0");
+        graphAssert.hasParentChildRelationship("a", "1.0.0", "c", "1.0.0");
+        graphAssert.hasParentChildRelationship("b", "2.0.0", "c", "2.0.0");
+    }
+}
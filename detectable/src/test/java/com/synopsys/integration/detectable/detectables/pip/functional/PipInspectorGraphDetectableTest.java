@@ -0,0 +1,74 @@
+package com.synopsys.integration.detectable.detectables.pip.functional;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.detectable.Detectable;
+import com.synopsys.integration.detectable.DetectableEnvironment;
+import com.synopsys.integration.detectable.Extraction;
+import com.synopsys.integration.detectable.detectables.pip.PipInspectorDetectableOptions;
+import com.synopsys.integration.detectable.detectables.pip.PipInspectorExtractor;
+import com.synopsys.integration.detectable.functional.DetectableFunctionalTest;
+import com.synopsys.integration.detectable.util.graph.NameVersionGraphAssert;
+
+public class PipInspectorGraphDetectableTest extends DetectableFunctionalTest {
+    private final static String PYTHON_CMD = "python";
+    private final static String PIP_CMD = "pip";
+
+    Path pipInspectorPath;
+
+    protected PipInspectorGraphDetectableTest() throws IOException {
+        super("pip-inspector-graph");
+    }
+
+    @Override
+    protected void setup() throws IOException {
+        pipInspectorPath = addOutputFile("pip-inspector");
+        final Path setupFilePath = addFile("setup.py");
+
+        addExecutableOutput(createStandardOutput("project-name"), PYTHON_CMD, setupFilePath.toAbsolutePath().toString(), "--name");
+
+        addExecutableOutput(createStandardOutput(
+            "node\t0\tproject-name\tproject-version",
+            "node\t1\tdep1\t1.0",
+            "node\t2\tdep12\t2.0",
+            "node\t3\tdep2\t3.0",
+            "edge\t0\t1",
+            "edge\t1\t2",
+            "edge\t0\t3",
+            "edge\t3\t2"
+        ), PYTHON_CMD, pipInspectorPath.toString(), "--projectname=project-name", PipInspectorExtractor.GRAPH_FORMAT_ARGUMENT);
+    }
+
+    @NotNull
+    @Override
+    public Detectable create(@NotNull final DetectableEnvironment detectableEnvironment) {
+        final List<Path> requirementTxtPaths = new ArrayList<>();
+        final PipInspectorDetectableOptions pipInspectorDetectableOptions = new PipInspectorDetectableOptions("project-name", requirementTxtPaths, false);
+        return detectableFactory.createPipInspectorDetectable(detectableEnvironment, pipInspectorDetectableOptions, () -> pipInspectorPath.toFile(), () -> new File(PYTHON_CMD), () -> new File(PIP_CMD));
+    }
+
+    @Override
+    public void assertExtraction(@NotNull final Extraction extraction) {
+        Assertions.assertEquals("project-name", extraction.getProjectName());
+        Assertions.assertEquals("project-version", extraction.getProjectVersion());
+        Assertions.assertEquals(1, extraction.getCodeLocations().size());
+
+        final DependencyGraph dependencyGraph = extraction.getCodeLocations().get(0).getDependencyGraph();
+        final NameVersionGraphAssert graphAssert = new NameVersionGraphAssert(Forge.PYPI, dependencyGraph);
+
+        graphAssert.hasNoDependency("project-name", "project-version");
+        graphAssert.hasRootDependency("dep1", "1.0");
+        graphAssert.hasRootDependency("dep2", "3.0");
+        graphAssert.hasParentChildRelationship("dep1", "1.0", "dep12", "2.0");
+        graphAssert.hasParentChildRelationship("dep2", "3.0", "dep12", "2.0");
+    }
+}
@@ -0,0 +1,121 @@
+package com.synopsys.integration.detectable.detectables.pip.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.detectables.pip.model.PipenvResult;
+import com.synopsys.integration.detectable.detectables.pip.parser.PipInspectorGraphParser;
+import com.synopsys.integration.detectable.detectables.pip.parser.PipInspectorTreeParser;
+
+@Tag("performance")
+public class PipInspectorParserPerformanceTest {
+    private static final int[] LAYER_COUNTS = { 3, 4, 5, 6 };
+    private static final int PACKAGES_PER_LAYER = 6;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void treeOutputAgainstGraphOutput() {
+        for (final int layers : LAYER_COUNTS) {
+            final List<String> treeOutput = generateTreeOutput(layers);
+            final List<String> graphOutput = generateGraphOutput(layers);
+
+            final long treeStart = System.nanoTime();
+            final PipenvResult treeResult = new PipInspectorTreeParser(externalIdFactory).parse(treeOutput, "").get();
+            final long treeMillis = (System.nanoTime() - treeStart) / 1000000;
+
+            final long graphStart = System.nanoTime();
+            final PipenvResult graphResult = new PipInspectorGraphParser(externalIdFactory).parse(graphOutput, "").get();
+            final long graphMillis = (System.nanoTime() - graphStart) / 1000000;
+
+            assertSameGraph(treeResult.getCodeLocation().getDependencyGraph(), graphResult.getCodeLocation().getDependencyGraph());
+            logger.info(String.format("Wide diamond with %d layers of %d packages: tree output of %d lines parsed in %d ms, graph output of %d lines parsed in %d ms.",
+                layers, PACKAGES_PER_LAYER, treeOutput.size(), treeMillis, graphOutput.size(), graphMillis));
+        }
+    }
+
+    // Every package requires every package in the layer below it, so the expanded tree grows as PACKAGES_PER_LAYER ^ layers.
+    private List<String> generateTreeOutput(final int layers) {
+        final List<String> lines = new ArrayList<>();
+        lines.add("project==1.0");
+        appendTreeLayer(lines, 0, layers);
+        return lines;
+    }
+
+    private void appendTreeLayer(final List<String> lines, final int layer, final int layers) {
+        if (layer == layers) {
+            return;
+        }
+        final StringBuilder indentation = new StringBuilder();
+        for (int i = 0; i <= layer; i++) {
+            indentation.append(PipInspectorTreeParser.INDENTATION);
+        }
+        for (int i = 0; i < PACKAGES_PER_LAYER; i++) {
+            lines.add(indentation + packageName(layer, i) + PipInspectorTreeParser.SEPARATOR + packageVersion(i));
+            appendTreeLayer(lines, layer + 1, layers);
+        }
+    }
+
+    private List<String> generateGraphOutput(final int layers) {
+        final List<String> lines = new ArrayList<>();
+        lines.add("node\t0\tproject\t1.0");
+        for (int layer = 0; layer < layers; layer++) {
+            for (int i = 0; i < PACKAGES_PER_LAYER; i++) {
+                lines.add("node\t" + nodeId(layer, i) + "\t" + packageName(layer, i) + "\t" + packageVersion(i));
+            }
+        }
+        for (int i = 0; i < PACKAGES_PER_LAYER; i++) {
+            lines.add("edge\t0\t" + nodeId(0, i));
+        }
+        for (int layer = 0; layer < layers - 1; layer++) {
+            for (int parent = 0; parent < PACKAGES_PER_LAYER; parent++) {
+                for (int child = 0; child < PACKAGES_PER_LAYER; child++) {
+                    lines.add("edge\t" + nodeId(layer, parent) + "\t" + nodeId(layer + 1, child));
+                }
+            }
+        }
+        return lines;
+    }
+
+    private int nodeId(final int layer, final int index) {
+        return 1 + layer * PACKAGES_PER_LAYER + index;
+    }
+
+    private String packageName(final int layer, final int index) {
+        return "lib-" + layer + "-" + index;
+    }
+
+    private String packageVersion(final int index) {
+        return "1." + index;
+    }
+
+    private void assertSameGraph(final DependencyGraph expected, final DependencyGraph actual) {
+        Assertions.assertEquals(expected.getRootDependencyExternalIds(), actual.getRootDependencyExternalIds());
+        for (final Dependency dependency : expected.getRootDependencies()) {
+            assertSameChildren(expected, actual, dependency.getExternalId());
+        }
+    }
+
+    private void assertSameChildren(final DependencyGraph expected, final DependencyGraph actual, final ExternalId root) {
+        final List<ExternalId> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            final ExternalId parent = pending.remove(pending.size() - 1);
+            final Set<ExternalId> children = expected.getChildrenExternalIdsForParent(parent);
+            Assertions.assertEquals(children, actual.getChildrenExternalIdsForParent(parent));
+            pending.addAll(children);
+        }
+    }
+}
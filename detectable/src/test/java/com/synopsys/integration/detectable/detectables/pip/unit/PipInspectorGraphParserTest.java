@@ -0,0 +1,99 @@
+package com.synopsys.integration.detectable.detectables.pip.unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.annotations.UnitTest;
+import com.synopsys.integration.detectable.detectables.pip.model.PipenvResult;
+import com.synopsys.integration.detectable.detectables.pip.parser.PipInspectorGraphParser;
+import com.synopsys.integration.detectable.detectables.pip.parser.PipInspectorTreeParser;
+import com.synopsys.integration.detectable.util.graph.NameVersionGraphAssert;
+
+@UnitTest
+public class PipInspectorGraphParserTest {
+    private PipInspectorGraphParser parser;
+
+    @BeforeEach
+    public void init() {
+        parser = new PipInspectorGraphParser(new ExternalIdFactory());
+    }
+
+    @Test
+    public void validTest() {
+        final List<String> pipInspectorOutput = Arrays.asList(
+            "node\t0\tprojectName\tprojectVersionName",
+            "node\t1\twith-dashes\t1.0.0",
+            "node\t2\tUppercase\t2.0.0",
+            "node\t3\tchild\t3.0.0",
+            "node\t4\ttest\t4.0.0",
+            "edge\t0\t1",
+            "edge\t0\t2",
+            "edge\t2\t3",
+            "edge\t0\t4",
+            "edge\t4\t3"
+        );
+
+        final Optional<PipenvResult> validParse = parser.parse(pipInspectorOutput, "");
+        Assertions.assertTrue(validParse.isPresent());
+        Assertions.assertEquals("projectName", validParse.get().getProjectName());
+        Assertions.assertEquals("projectVersionName", validParse.get().getProjectVersion());
+
+        final NameVersionGraphAssert graphAssert = new NameVersionGraphAssert(Forge.PYPI, validParse.get().getCodeLocation().getDependencyGraph());
+        graphAssert.hasRootDependency("with-dashes", "1.0.0");
+        graphAssert.hasRootDependency("Uppercase", "2.0.0");
+        graphAssert.hasRootDependency("test", "4.0.0");
+        graphAssert.hasParentChildRelationship("Uppercase", "2.0.0", "child", "3.0.0");
+        graphAssert.hasParentChildRelationship("test", "4.0.0", "child", "3.0.0");
+        graphAssert.hasNoDependency("projectName", "projectVersionName");
+
+        graphAssert.hasRootSize(3);
+    }
+
+    @Test
+    public void unknownProjectTest() {
+        final List<String> pipInspectorOutput = Arrays.asList(
+            PipInspectorTreeParser.UNKNOWN_PACKAGE_PREFIX + "missing",
+            "node\t0\t" + PipInspectorTreeParser.UNKNOWN_PROJECT_NAME + "\t" + PipInspectorTreeParser.UNKNOWN_PROJECT_VERSION,
+            "node\t1\trequests\t2.24.0",
+            "edge\t0\t1"
+        );
+
+        final Optional<PipenvResult> validParse = parser.parse(pipInspectorOutput, "/source");
+        Assertions.assertTrue(validParse.isPresent());
+        Assertions.assertEquals("", validParse.get().getProjectName());
+        Assertions.assertEquals("", validParse.get().getProjectVersion());
+        Assertions.assertEquals(Forge.PYPI, validParse.get().getCodeLocation().getExternalId().get().getForge());
+
+        final NameVersionGraphAssert graphAssert = new NameVersionGraphAssert(Forge.PYPI, validParse.get().getCodeLocation().getDependencyGraph());
+        graphAssert.hasRootDependency("requests", "2.24.0");
+        graphAssert.hasRootSize(1);
+    }
+
+    @Test
+    public void invalidParseTest() {
+        final List<String> invalidText = new ArrayList<>();
+        invalidText.add("i am not a valid file");
+        invalidText.add("edge\t0\t1");
+        invalidText.add("node\tzero\tname\tversion");
+        final Optional<PipenvResult> invalidParse = parser.parse(invalidText, "");
+        Assertions.assertFalse(invalidParse.isPresent());
+    }
+
+    @Test
+    public void errorTest() {
+        final List<String> invalidText = new ArrayList<>();
+        invalidText.add(PipInspectorTreeParser.UNKNOWN_PACKAGE_PREFIX + "probably_an_internal_dependency_PY");
+        invalidText.add(PipInspectorTreeParser.UNPARSEABLE_REQUIREMENTS_PREFIX + "/not/a/real/path/encrypted/requirements.txt");
+        invalidText.add(PipInspectorTreeParser.UNKNOWN_REQUIREMENTS_PREFIX + "/not/a/real/path/requirements.txt");
+        final Optional<PipenvResult> invalidParse = parser.parse(invalidText, "");
+        Assertions.assertFalse(invalidParse.isPresent());
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.rubygems.gemlock.performance;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.builder.MissingExternalIdException;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.detectables.rubygems.gemlock.parse.GemlockParser;
+
+@Tag("performance")
+public class GemlockParserPerformanceTest {
+    private static final int[] SPEC_COUNTS = { 1000, 5000, 10000, 25000, 50000 };
+    private static final int DEPENDENCIES_PER_SPEC = 4;
+    private static final int ROOT_DEPENDENCIES = 200;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Test
+    public void parseGrowingGemfileLocks() throws IOException, MissingExternalIdException {
+        for (final int specCount : SPEC_COUNTS) {
+            final String gemfileLock = generateGemfileLock(specCount);
+
+            final long start = System.nanoTime();
+            final DependencyGraph graph = new GemlockParser(new ExternalIdFactory()).parseProjectDependencies(new BufferedReader(new StringReader(gemfileLock)));
+            final long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+            Assertions.assertEquals(ROOT_DEPENDENCIES, graph.getRootDependencies().size());
+            logger.info(String.format("Parsed a Gemfile.lock with %d specs in %d ms.", specCount, elapsedMillis));
+        }
+    }
+
+    // Every spec depends on a few other specs by fuzzy version, as bundler writes them, plus one gem that is never resolved.
+    private String generateGemfileLock(final int specCount) {
+        final StringBuilder gemfileLock = new StringBuilder();
+        gemfileLock.append("GEM\n  remote: https://rubygems.org/\n  specs:\n");
+        for (int i = 0; i < specCount; i++) {
+            gemfileLock.append("    gem-").append(i).append(" (1.").append(i % 10).append(".0)\n");
+            for (int dependency = 1; dependency <= DEPENDENCIES_PER_SPEC; dependency++) {
+                gemfileLock.append("      gem-").append((i + dependency * 7919) % specCount).append(" (~> 1.0, >= 1.0.1)\n");
+            }
+            gemfileLock.append("      missing-").append(i % 100).append('\n');
+        }
+        gemfileLock.append("\nPLATFORMS\n  ruby\n\nDEPENDENCIES\n");
+        for (int i = 0; i < ROOT_DEPENDENCIES; i++) {
+            gemfileLock.append("  gem-").append(i * (specCount / ROOT_DEPENDENCIES)).append(" (>= 1)\n");
+        }
+        gemfileLock.append("\nBUNDLED WITH\n   1.17.3\n");
+        return gemfileLock.toString();
+    }
+}
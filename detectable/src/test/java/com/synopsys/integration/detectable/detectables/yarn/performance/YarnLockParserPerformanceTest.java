@@ -0,0 +1,88 @@
+/**
+ * detectable
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.detectables.yarn.performance;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.detectable.detectables.yarn.parse.YarnLock;
+import com.synopsys.integration.detectable.detectables.yarn.parse.YarnLockParser;
+
+@Tag("performance")
+public class YarnLockParserPerformanceTest {
+    private static final int ENTRY_COUNT = 100000;
+    private static final int ITERATIONS = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Test
+    public void parseGeneratedYarnLock() throws IOException {
+        List<String> yarnLockLines = generateYarnLock();
+        String yarnLockText = String.join("\n", yarnLockLines);
+        YarnLockParser yarnLockParser = new YarnLockParser();
+
+        long linesNanos = 0;
+        long readerNanos = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            YarnLock fromLines = yarnLockParser.parseYarnLock(yarnLockLines);
+            linesNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            YarnLock fromReader = yarnLockParser.parseYarnLock(new StringReader(yarnLockText));
+            readerNanos += System.nanoTime() - start;
+
+            Assertions.assertEquals(ENTRY_COUNT, fromLines.getEntries().size());
+            Assertions.assertEquals(ENTRY_COUNT, fromReader.getEntries().size());
+        }
+
+        logger.info(String.format("Parsed %d yarn.lock entries from lines in %d ms on average.", ENTRY_COUNT, linesNanos / ITERATIONS / 1000000));
+        logger.info(String.format("Parsed %d yarn.lock entries from a reader in %d ms on average.", ENTRY_COUNT, readerNanos / ITERATIONS / 1000000));
+    }
+
+    private List<String> generateYarnLock() {
+        List<String> lines = new ArrayList<>(Arrays.asList("# THIS IS AN AUTOGENERATED FILE. DO NOT EDIT THIS FILE DIRECTLY.", "# yarn lockfile v1", ""));
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            String name = "@scope" + (i % 100) + "/package" + i;
+            lines.add(String.format("\"%s@^1.%d.0\", \"%s@~1.%d.1\":", name, i % 10, name, i % 10));
+            lines.add(String.format("  version \"1.%d.3\"", i % 10));
+            lines.add(String.format("  resolved \"https://registry.yarnpkg.com/%s/-/package%d-1.%d.3.tgz#0123456789abcdef\"", name, i, i % 10));
+            lines.add("  dependencies:");
+            for (int dependency = 1; dependency <= 3; dependency++) {
+                int dependencyIndex = (i + dependency * 7919) % ENTRY_COUNT;
+                lines.add(String.format("    \"@scope%d/package%d\" \"^1.%d.0\"", dependencyIndex % 100, dependencyIndex, dependencyIndex % 10));
+            }
+            lines.add("");
+        }
+        return lines;
+    }
+}
@@ -25,6 +25,8 @@ package com.synopsys.integration.detectable.detectables.yarn.unit;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -118,6 +120,30 @@ public class YarnLockParserTest {
         assertEntry(yarnLock, "cssstyle", ">= 0.2.37 < 0.3.0", "0.2.37", new YarnLockDependency("cssom", "0.3.x", false));
     }
 
+    @Test
+    void testThatReaderMatchesLines() throws IOException {
+        final List<String> yarnLockText = new ArrayList<>();
+        yarnLockText.add("# yarn lockfile v1");
+        yarnLockText.add("");
+        yarnLockText.add("\"@babel/code-frame@^7.0.0\", \"@babel/code-frame@^7.5.5\":");
+        yarnLockText.add("  version \"7.5.5\"");
+        yarnLockText.add("  dependencies:");
+        yarnLockText.add("    \"@babel/highlight\" \"^7.0.0\"");
+        yarnLockText.add("  optionalDependencies:");
+        yarnLockText.add("    fsevents \"^1.2.7\"");
+        yarnLockText.add("");
+        yarnLockText.add("fsevents@^1.2.7:");
+        yarnLockText.add("  version \"1.2.9\"");
+
+        final YarnLockParser yarnLockParser = new YarnLockParser();
+        final YarnLock yarnLock = yarnLockParser.parseYarnLock(new StringReader(String.join("\r\n", yarnLockText)));
+
+        assertEquals(2, yarnLock.getEntries().size());
+        assertEntry(yarnLock, "@babel/code-frame", "^7.0.0", "7.5.5", new YarnLockDependency("@babel/highlight", "^7.0.0", false), new YarnLockDependency("fsevents", "^1.2.7", true));
+        assertEntry(yarnLock, "@babel/code-frame", "^7.5.5", "7.5.5", new YarnLockDependency("@babel/highlight", "^7.0.0", false), new YarnLockDependency("fsevents", "^1.2.7", true));
+        assertEntry(yarnLock, "fsevents", "^1.2.7", "1.2.9");
+    }
+
     @Test
     void testParserHandlesMissingSymbol() {
         YarnLockParser yarnLockParser = new YarnLockParser();
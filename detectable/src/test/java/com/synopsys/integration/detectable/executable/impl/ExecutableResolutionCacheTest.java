@@ -0,0 +1,185 @@
+/**
+ * detectable
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detectable.executable.impl;
+
+import static org.junit.jupiter.api.condition.OS.WINDOWS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.detectable.annotations.UnitTest;
+import com.synopsys.integration.detectable.detectable.executable.impl.ExecutableResolutionCache;
+
+@DisabledOnOs(WINDOWS)
+public class ExecutableResolutionCacheTest {
+    private final Gson gson = new Gson();
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private File root;
+    private File binDirectory;
+    private File cacheFile;
+    private String systemPath;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("ExecutableResolutionCacheTest").toFile();
+        binDirectory = new File(root, "bin");
+        binDirectory.mkdirs();
+        cacheFile = new File(root, "cache/resolution-cache.json");
+        systemPath = binDirectory.getAbsolutePath();
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        FileUtils.deleteDirectory(root);
+    }
+
+    @UnitTest
+    public void reusedWhenPathIsUnchanged() throws IOException {
+        final File tool = createExecutable("tool");
+        final ExecutableResolutionCache firstRun = ExecutableResolutionCache.persistent(cacheFile, gson, systemPath);
+        Assertions.assertEquals(tool, firstRun.resolve("tool", this::find));
+        Assertions.assertNull(firstRun.resolve("missing", this::find));
+        firstRun.save();
+        Assertions.assertEquals(2, lookups.get());
+
+        final ExecutableResolutionCache secondRun = ExecutableResolutionCache.persistent(cacheFile, gson, systemPath);
+        Assertions.assertEquals(tool, secondRun.resolve("tool", this::find));
+        Assertions.assertNull(secondRun.resolve("missing", this::find));
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    @UnitTest
+    public void findsAgainWhenPathDirectoryChanges() throws IOException {
+        final ExecutableResolutionCache firstRun = ExecutableResolutionCache.persistent(cacheFile, gson, systemPath);
+        Assertions.assertNull(firstRun.resolve("tool", this::find));
+        firstRun.save();
+
+        final File tool = createExecutable("tool");
+        Assertions.assertTrue(binDirectory.setLastModified(binDirectory.lastModified() + 10000));
+
+        final ExecutableResolutionCache secondRun = ExecutableResolutionCache.persistent(cacheFile, gson, systemPath);
+        Assertions.assertEquals(tool, secondRun.resolve("tool", this::find));
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    @UnitTest
+    public void findsAgainWhenExecutableIsReplaced() throws IOException {
+        final File tool = createExecutable("tool");
+        final ExecutableResolutionCache firstRun = ExecutableResolutionCache.persistent(cacheFile, gson, systemPath);
+        firstRun.resolve("tool", this::find);
+        firstRun.save();
+
+        final long binModified = binDirectory.lastModified();
+        Assertions.assertTrue(tool.setLastModified(tool.lastModified() + 10000));
+        Assertions.assertTrue(binDirectory.setLastModified(binModified));
+
+        final ExecutableResolutionCache secondRun = ExecutableResolutionCache.persistent(cacheFile, gson, systemPath);
+        Assertions.assertEquals(tool, secondRun.resolve("tool", this::find));
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    @UnitTest
+    public void findsAgainWhenPathChanges() throws IOException {
+        createExecutable("tool");
+        final ExecutableResolutionCache firstRun = ExecutableResolutionCache.persistent(cacheFile, gson, systemPath);
+        firstRun.resolve("tool", this::find);
+        firstRun.save();
+
+        final ExecutableResolutionCache secondRun = ExecutableResolutionCache.persistent(cacheFile, gson, systemPath + File.pathSeparator + root.getAbsolutePath());
+        secondRun.resolve("tool", this::find);
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    @UnitTest
+    public void corruptCacheIsIgnored() throws IOException {
+        final File tool = createExecutable("tool");
+        FileUtils.writeStringToFile(cacheFile, "{ not json", "UTF-8");
+
+        final ExecutableResolutionCache cache = ExecutableResolutionCache.persistent(cacheFile, gson, systemPath);
+        Assertions.assertEquals(tool, cache.resolve("tool", this::find));
+    }
+
+    @UnitTest
+    public void concurrentLookupsSearchOnce() throws Exception {
+        final File tool = createExecutable("tool");
+        final ExecutableResolutionCache cache = ExecutableResolutionCache.inMemory();
+        final Function<String, File> slowFinder = name -> {
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return find(name);
+        };
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<File>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    return cache.resolve("tool", slowFinder);
+                }));
+            }
+            start.countDown();
+            for (final Future<File> future : futures) {
+                Assertions.assertEquals(tool, future.get(1, TimeUnit.MINUTES));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(1, lookups.get());
+    }
+
+    private File find(final String name) {
+        lookups.incrementAndGet();
+        final File candidate = new File(binDirectory, name);
+        return candidate.canExecute() ? candidate : null;
+    }
+
+    private File createExecutable(final String name) throws IOException {
+        final File executable = new File(binDirectory, name);
+        FileUtils.writeStringToFile(executable, "#!/bin/sh", "UTF-8");
+        Assertions.assertTrue(executable.setExecutable(true));
+        return executable;
+    }
+}
@@ -52,6 +52,7 @@ import com.synopsys.integration.detectable.detectable.file.impl.SimpleFileFinder
 import com.synopsys.integration.detectable.detectable.result.DetectableResult;
 import com.synopsys.integration.detectable.factory.DetectableFactory;
 import com.synopsys.integration.detectable.util.FunctionalTestFiles;
+import com.synopsys.integration.util.NoThreadExecutorService;
 
 public abstract class DetectableFunctionalTest {
 
@@ -85,7 +86,7 @@ public abstract class DetectableFunctionalTest {
         final FileFinder fileFinder = new SimpleFileFinder();
         final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
         final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        this.detectableFactory = new DetectableFactory(fileFinder, executableRunner, externalIdFactory, gson);
+        this.detectableFactory = new DetectableFactory(fileFinder, executableRunner, externalIdFactory, gson, new NoThreadExecutorService());
     }
 
     @Test
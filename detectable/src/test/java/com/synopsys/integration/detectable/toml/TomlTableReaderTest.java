@@ -0,0 +1,189 @@
+package com.synopsys.integration.detectable.toml;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.tomlj.Toml;
+import org.tomlj.TomlArray;
+import org.tomlj.TomlParseResult;
+import org.tomlj.TomlTable;
+
+import com.synopsys.integration.detectable.annotations.UnitTest;
+import com.synopsys.integration.detectable.detectable.toml.TomlSyntaxException;
+import com.synopsys.integration.detectable.detectable.toml.TomlTableReader;
+import com.synopsys.integration.detectable.detectable.toml.TomlTableRecord;
+import com.synopsys.integration.detectable.util.FunctionalTestFiles;
+
+@UnitTest
+public class TomlTableReaderTest {
+
+    @Test
+    public void matchesFullParseOfGopkgLock() throws IOException {
+        assertSameTables(FunctionalTestFiles.asString("/go/Gopkg.lock"), "projects");
+        assertSameTables(FunctionalTestFiles.asString("/go/Gopkg_noprojects.lock"), "projects");
+    }
+
+    @Test
+    public void matchesFullParseOfCargoLock() throws IOException {
+        String cargoLock = String.join(System.lineSeparator(), Arrays.asList(
+            "# This file is automatically @generated by Cargo.",
+            "# It is not intended for manual editing.",
+            "version = 3",
+            "",
+            "[[package]]",
+            "name = \"abscissa_core\"",
+            "version = \"0.5.2\"",
+            "source = \"registry+https://github.com/rust-lang/crates.io-index\"",
+            "checksum = 'literal\\checksum'",
+            "dependencies = [",
+            " \"abscissa_derive 0.5.0 (registry+https://github.com/rust-lang/crates.io-index)\", # a comment",
+            " \"backtrace\",",
+            "]",
+            "",
+            "[[package]]",
+            "name = \"caf\\u00e9\"",
+            "version = \"0.3.46\"",
+            "dependencies = [\"abscissa_core\"]",
+            "features = [[\"nested\"], [\"arrays\"]]",
+            "replace = [{ inline = \"table\" }]",
+            "",
+            "[[package]]",
+            "  name=\"darling\"   # trailing comment",
+            "  version = \"\"\"",
+            "0.10.2\"\"\"",
+            "  description = '''multi",
+            "line ''literal'''",
+            "  yanked = false",
+            "",
+            "[metadata]",
+            "\"checksum abscissa_core 0.5.2 (registry+https://github.com/rust-lang/crates.io-index)\" = \"6a07677\"",
+            "\"checksum darling 0.10.2 (registry+https://github.com/rust-lang/crates.io-index)\" = \"0d706e7\""
+        ));
+        assertSameTables(cargoLock, "package");
+    }
+
+    @Test
+    public void matchesFullParseOfPoetryLock() throws IOException {
+        String poetryLock = String.join(System.lineSeparator(), Arrays.asList(
+            "[[package]]",
+            "category = \"dev\"",
+            "name = \"atomicwrites\"",
+            "python-versions = \">=2.7, !=3.0.*, !=3.1.*, !=3.2.*, !=3.3.*\"",
+            "version = \"1.4.0\"",
+            "",
+            "[package.dependencies]",
+            "importlib-metadata = \"*\"",
+            "colorama = {version = \"*\", markers = \"sys_platform == \\\"win32\\\"\"}",
+            "\"zope.interface\" = \">=4.0\"",
+            "",
+            "[[package.dependencies.pytest]]",
+            "python = \"<3.5\"",
+            "version = \">=3.0,<5.0\"",
+            "",
+            "[[package.dependencies.pytest]]",
+            "python = \">=3.5\"",
+            "version = \">=5.0\"",
+            "",
+            "[package.extras]",
+            "docs = [\"sphinx\", \"rst.linker\"]",
+            "",
+            "[[package]]",
+            "name = \"importlib-metadata\"",
+            "version = \"1.6.0\"",
+            "source.type = \"git\"",
+            "source.url = \"https://github.com/python/importlib_metadata.git\"",
+            "",
+            "[metadata]",
+            "content-hash = \"e9b3d0b0\"",
+            "python-versions = \"^3.6\"",
+            "",
+            "[metadata.files]",
+            "atomicwrites = [",
+            "    {file = \"atomicwrites-1.4.0-py2.py3-none-any.whl\", hash = \"sha256:6d1784\"},",
+            "]"
+        ));
+        assertSameTables(poetryLock, "package");
+    }
+
+    @Test
+    public void trimsLineEndingBackslashInMultiLineString() throws IOException {
+        String toml = String.join("\n", Arrays.asList(
+            "[[package]]",
+            "version = \"\"\"",
+            "0.10.\\",
+            "   2\"\"\""
+        ));
+        List<TomlTableRecord> records = readTables(toml, "package");
+        Assertions.assertEquals(1, records.size());
+        Assertions.assertEquals(Optional.of("0.10.2"), records.get(0).getString("version"));
+    }
+
+    @Test
+    public void reportsLineOfMissingEquals() {
+        String invalid = String.join("\n", Arrays.asList(
+            "[[package]]",
+            "name = \"test1\"",
+            "version \"test2\""
+        ));
+        TomlSyntaxException exception = Assertions.assertThrows(TomlSyntaxException.class, () -> readTables(invalid, "package"));
+        Assertions.assertTrue(exception.getMessage().endsWith("on line 3"), exception.getMessage());
+    }
+
+    @Test
+    public void reportsUnterminatedArray() {
+        String invalid = String.join("\n", Arrays.asList(
+            "[[package]]",
+            "dependencies = [",
+            "\"dep1\","
+        ));
+        Assertions.assertThrows(TomlSyntaxException.class, () -> readTables(invalid, "package"));
+    }
+
+    private void assertSameTables(String toml, String tableArrayName) throws IOException {
+        TomlParseResult document = Toml.parse(toml);
+        Assertions.assertFalse(document.hasErrors(), document.errors().toString());
+
+        List<TomlTableRecord> records = readTables(toml, tableArrayName);
+        TomlArray expectedTables = document.getArray(tableArrayName);
+        if (expectedTables == null) {
+            Assertions.assertTrue(records.isEmpty());
+            return;
+        }
+
+        Assertions.assertEquals(expectedTables.size(), records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertSameTable(expectedTables.getTable(i), records.get(i));
+        }
+    }
+
+    private void assertSameTable(TomlTable expected, TomlTableRecord actual) {
+        for (String key : expected.keySet()) {
+            Object value = expected.get(key);
+            if (value instanceof TomlTable) {
+                Assertions.assertEquals(((TomlTable) value).keySet(), actual.getSubTableKeys(key), key);
+            } else if (value instanceof TomlArray) {
+                List<String> strings = new ArrayList<>();
+                for (Object element : ((TomlArray) value).toList()) {
+                    if (element instanceof String) {
+                        strings.add((String) element);
+                    }
+                }
+                Assertions.assertEquals(Optional.of(strings), actual.getStringArray(key), key);
+            } else {
+                Assertions.assertEquals(Optional.of(String.valueOf(value)), actual.getString(key), key);
+            }
+        }
+    }
+
+    private List<TomlTableRecord> readTables(String toml, String tableArrayName) throws IOException {
+        List<TomlTableRecord> records = new ArrayList<>();
+        new TomlTableReader(new StringReader(toml)).readTables(tableArrayName, records::add);
+        return records;
+    }
+}
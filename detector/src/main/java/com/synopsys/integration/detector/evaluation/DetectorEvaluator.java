@@ -22,7 +22,7 @@
  */
 package com.synopsys.integration.detector.evaluation;
 
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -43,6 +43,7 @@ import com.synopsys.integration.detector.base.DetectorEvaluationTree;
 import com.synopsys.integration.detector.result.DetectorResult;
 import com.synopsys.integration.detector.result.FallbackNotNeededDetectorResult;
 import com.synopsys.integration.detector.rule.DetectorRule;
+import com.synopsys.integration.detector.rule.DetectorRuleSet;
 
 public class DetectorEvaluator {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
@@ -59,9 +60,19 @@ public class DetectorEvaluator {
     //Unfortunately, currently search and applicable are tied together due to Search needing to know about previous detectors that applied.
     //So Search and then Applicable must be evaluated of Detector 1 before the next Search can be evaluated of Detector 2.
     public void searchAndApplicableEvaluation(final DetectorEvaluationTree detectorEvaluationTree, final Set<DetectorRule> appliedInParent) {
+        final DetectorRuleSet detectorRuleSet = detectorEvaluationTree.getDetectorRuleSet();
+        final BitSet appliedInParentIds = new BitSet();
+        for (final DetectorRule detectorRule : appliedInParent) {
+            appliedInParentIds.set(detectorRuleSet.getRuleId(detectorRule));
+        }
+        searchAndApplicableEvaluation(detectorEvaluationTree, appliedInParentIds);
+    }
+
+    private void searchAndApplicableEvaluation(final DetectorEvaluationTree detectorEvaluationTree, final BitSet appliedInParent) {
         logger.trace("Determining applicable detectors on the directory: " + detectorEvaluationTree.getDirectory().toString());
 
-        final Set<DetectorRule> appliedSoFar = new HashSet<>();
+        final DetectorRuleSet detectorRuleSet = detectorEvaluationTree.getDetectorRuleSet();
+        final BitSet appliedSoFar = new BitSet();
 
         for (final DetectorEvaluation detectorEvaluation : detectorEvaluationTree.getOrderedEvaluations()) {
             getDetectorEvaluatorListener().ifPresent(it -> it.applicableStarted(detectorEvaluation));
@@ -72,7 +83,7 @@ public class DetectorEvaluator {
             final SearchEnvironment searchEnvironment = new SearchEnvironment(detectorEvaluationTree.getDepthFromRoot(), evaluationOptions.getDetectorFilter(), evaluationOptions.isForceNested(), appliedInParent, appliedSoFar);
             detectorEvaluation.setSearchEnvironment(searchEnvironment);
 
-            final DetectorResult searchableResult = detectorRuleSetEvaluator.evaluateSearchable(detectorEvaluationTree.getDetectorRuleSet(), detectorEvaluation.getDetectorRule(), searchEnvironment);
+            final DetectorResult searchableResult = detectorRuleSetEvaluator.evaluateSearchable(detectorRuleSet, detectorEvaluation.getDetectorRule(), searchEnvironment);
             detectorEvaluation.setSearchable(searchableResult);
 
             if (detectorEvaluation.isSearchable()) {
@@ -90,7 +101,7 @@ public class DetectorEvaluator {
 
                 if (detectorEvaluation.isApplicable()) {
                     logger.trace("Found applicable detector: " + detectorRule.getDescriptiveName());
-                    appliedSoFar.add(detectorRule);
+                    appliedSoFar.set(detectorRuleSet.getRuleId(detectorRule));
                 } else {
                     logger.trace("Applicable did not pass: " + detectorEvaluation.getApplicabilityMessage());
                 }
@@ -102,13 +113,12 @@ public class DetectorEvaluator {
         }
 
         if (!appliedSoFar.isEmpty()) {
-            logger.debug("Found (" + appliedSoFar.size() + ") applicable detectors in: " + detectorEvaluationTree.getDirectory()
+            logger.debug("Found (" + appliedSoFar.cardinality() + ") applicable detectors in: " + detectorEvaluationTree.getDirectory()
                                                                                                .toString()); //TODO: Perfect log level also matters here. To little and we may appear stuck, but we may also be flooding the logs.
         }
 
-        final Set<DetectorRule> nextAppliedInParent = new HashSet<>();
-        nextAppliedInParent.addAll(appliedInParent);
-        nextAppliedInParent.addAll(appliedSoFar);
+        final BitSet nextAppliedInParent = (BitSet) appliedInParent.clone();
+        nextAppliedInParent.or(appliedSoFar);
 
         for (final DetectorEvaluationTree childDetectorEvaluationTree : detectorEvaluationTree.getChildren()) {
             searchAndApplicableEvaluation(childDetectorEvaluationTree, nextAppliedInParent);
@@ -22,8 +22,9 @@
  */
 package com.synopsys.integration.detector.evaluation;
 
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.synopsys.integration.detector.result.DetectorResult;
 import com.synopsys.integration.detector.result.ExcludedDetectorResult;
@@ -47,12 +48,16 @@ public class DetectorRuleSetEvaluator {
             return new MaxDepthExceededDetectorResult(environment.getDepth(), maxDepth);
         }
 
-        final Set<DetectorRule> yieldTo = environment.getAppliedSoFar().stream()
-                                              .filter(it -> detectorRuleSet.getYieldsTo(detectorRule).contains(it))
-                                              .collect(Collectors.toSet());
-
-        if (yieldTo.size() > 0) {
-            return new YieldedDetectorResult(yieldTo.stream().map(DetectorRule::getName).collect(Collectors.toSet()));
+        final int ruleId = detectorRuleSet.getRuleId(detectorRule);
+        final BitSet yieldsTo = detectorRuleSet.getYieldsToIds(ruleId);
+        if (yieldsTo.intersects(environment.getAppliedSoFar())) {
+            final BitSet yieldedTo = (BitSet) yieldsTo.clone();
+            yieldedTo.and(environment.getAppliedSoFar());
+            final Set<String> yieldedToNames = new HashSet<>();
+            for (int yieldedToId = yieldedTo.nextSetBit(0); yieldedToId >= 0; yieldedToId = yieldedTo.nextSetBit(yieldedToId + 1)) {
+                yieldedToNames.add(detectorRuleSet.getRule(yieldedToId).getName());
+            }
+            return new YieldedDetectorResult(yieldedToNames);
         }
 
         final boolean nestable = detectorRule.isNestable();
@@ -60,10 +65,10 @@ public class DetectorRuleSetEvaluator {
         if (environment.isForceNestedSearch()) {
             return new ForcedNestedPassedDetectorResult();
         } else if (nestable) {
-            if (!selfNestable && environment.getAppliedToParent().stream().anyMatch(parentApplied -> parentApplied.equals(detectorRule))) {
+            if (!selfNestable && environment.getAppliedToParent().get(ruleId)) {
                 return new NotSelfNestableDetectorResult();
             }
-        } else if (environment.getAppliedToParent().stream().anyMatch(it -> !it.isNestInvisible())) {
+        } else if (environment.getAppliedToParent().intersects(detectorRuleSet.getNestVisibleIds())) {
             return new NotNestableDetectorResult();
         }
 
@@ -22,20 +22,21 @@
  */
 package com.synopsys.integration.detector.evaluation;
 
-import java.util.Set;
+import java.util.BitSet;
 import java.util.function.Predicate;
 
 import com.synopsys.integration.detector.rule.DetectorRule;
 
+// The applied rules are ids from the DetectorRuleSet being evaluated.
 public class SearchEnvironment {
     private final int depth;
     private final Predicate<DetectorRule> detectorFilter;
     private final boolean forceNestedSearch;
-    private final Set<DetectorRule> appliedToParent;
-    private final Set<DetectorRule> appliedSoFar;
+    private final BitSet appliedToParent;
+    private final BitSet appliedSoFar;
 
-    public SearchEnvironment(final int depth, final Predicate<DetectorRule> detectorFilter, final boolean forceNestedSearch, final Set<DetectorRule> appliedToParent,
-        final Set<DetectorRule> appliedSoFar) {
+    public SearchEnvironment(final int depth, final Predicate<DetectorRule> detectorFilter, final boolean forceNestedSearch, final BitSet appliedToParent,
+        final BitSet appliedSoFar) {
         this.depth = depth;
         this.detectorFilter = detectorFilter;
         this.forceNestedSearch = forceNestedSearch;
@@ -55,11 +56,11 @@ public class SearchEnvironment {
         return forceNestedSearch;
     }
 
-    public Set<DetectorRule> getAppliedToParent() {
+    public BitSet getAppliedToParent() {
         return appliedToParent;
     }
 
-    public Set<DetectorRule> getAppliedSoFar() {
+    public BitSet getAppliedSoFar() {
         return appliedSoFar;
     }
 }
@@ -22,22 +22,58 @@
  */
 package com.synopsys.integration.detector.rule;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+/**
+ * Besides the rules and their relationships, the rule set gives every rule a dense id so search evaluation can keep the rules that
+ * applied in a BitSet and answer yield and nesting questions with bitwise operations instead of walking sets.
+ */
 public class DetectorRuleSet {
     private final List<DetectorRule> orderedRules;
     private final Map<DetectorRule, Set<DetectorRule>> yieldsToRules;
     private final Map<DetectorRule, DetectorRule> fallbackRules;
+    private final Map<DetectorRule, DetectorRule> fallbackFromRules = new HashMap<>();
+
+    private final Map<DetectorRule, Integer> ruleIds = new HashMap<>();
+    private final List<DetectorRule> rulesById = new ArrayList<>();
+    private final List<BitSet> yieldsToIds = new ArrayList<>();
+    private final BitSet nestVisibleIds = new BitSet();
 
     public DetectorRuleSet(final List<DetectorRule> orderedRules, Map<DetectorRule, Set<DetectorRule>> yieldsToRules,
         final Map<DetectorRule, DetectorRule> fallbackRules) {
         this.orderedRules = orderedRules;
         this.yieldsToRules = yieldsToRules;
         this.fallbackRules = fallbackRules;
+
+        orderedRules.forEach(this::assignRuleId);
+        yieldsToRules.forEach((rule, yieldsTo) -> {
+            final BitSet ids = yieldsToIds.get(assignRuleId(rule));
+            yieldsTo.forEach(yieldTo -> ids.set(assignRuleId(yieldTo)));
+        });
+        fallbackRules.forEach((failing, fallbackTo) -> {
+            assignRuleId(failing);
+            assignRuleId(fallbackTo);
+            fallbackFromRules.putIfAbsent(fallbackTo, failing);
+        });
+    }
+
+    private int assignRuleId(final DetectorRule rule) {
+        return ruleIds.computeIfAbsent(rule, newRule -> {
+            final int ruleId = rulesById.size();
+            rulesById.add(newRule);
+            yieldsToIds.add(new BitSet());
+            if (!newRule.isNestInvisible()) {
+                nestVisibleIds.set(ruleId);
+            }
+            return ruleId;
+        });
     }
 
     public List<DetectorRule> getOrderedDetectorRules() {
@@ -45,21 +81,35 @@ public class DetectorRuleSet {
     }
 
     public Set<DetectorRule> getYieldsTo(DetectorRule rule) {
-        if (yieldsToRules.containsKey(rule))
-            return yieldsToRules.get(rule);
-        return new HashSet<>();
+        return yieldsToRules.getOrDefault(rule, Collections.emptySet());
     }
 
     public Optional<DetectorRule> getFallbackTo(DetectorRule rule) {
-        if (fallbackRules.containsKey(rule))
-            return Optional.of(fallbackRules.get(rule));
-        return Optional.empty();
+        return Optional.ofNullable(fallbackRules.get(rule));
     }
 
     public Optional<DetectorRule> getFallbackFrom(DetectorRule rule) {
-        return fallbackRules.entrySet().stream()
-                   .filter(it -> it.getValue().equals(rule))
-                   .map(Map.Entry::getKey)
-                   .findFirst();
+        return Optional.ofNullable(fallbackFromRules.get(rule));
+    }
+
+    public int getRuleId(final DetectorRule rule) {
+        final Integer ruleId = ruleIds.get(rule);
+        if (ruleId == null) {
+            throw new IllegalArgumentException(String.format("The detector rule %s is not part of this rule set.", rule.getDescriptiveName()));
+        }
+        return ruleId;
+    }
+
+    public DetectorRule getRule(final int ruleId) {
+        return rulesById.get(ruleId);
+    }
+
+    // The returned ids are shared, callers must not modify them.
+    public BitSet getYieldsToIds(final int ruleId) {
+        return yieldsToIds.get(ruleId);
+    }
+
+    public BitSet getNestVisibleIds() {
+        return nestVisibleIds;
     }
 }
@@ -24,6 +24,7 @@ package com.synopsys.integration.detector.evaluation;
 
 import java.io.File;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -65,6 +66,8 @@ public class DetectorEvaluatorTest {
         final DetectorRule detectorRule = Mockito.mock(DetectorRule.class);
         Mockito.when(detectorRule.getDescriptiveName()).thenReturn("test rule");
         Mockito.when(detectorEvaluation.getDetectorRule()).thenReturn(detectorRule);
+        final DetectorRuleSet detectorRuleSet = new DetectorRuleSet(Collections.singletonList(detectorRule), new HashMap<>(), new HashMap<>());
+        Mockito.when(detectorEvaluationTree.getDetectorRuleSet()).thenReturn(detectorRuleSet);
 
         Mockito.when(detectorEvaluationTree.getDepthFromRoot()).thenReturn(0);
         Mockito.when(evaluationOptions.isForceNested()).thenReturn(true);
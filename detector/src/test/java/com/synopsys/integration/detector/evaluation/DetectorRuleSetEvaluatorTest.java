@@ -22,40 +22,88 @@
  */
 package com.synopsys.integration.detector.evaluation;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleDetectable;
+import com.synopsys.integration.detectable.detectables.maven.cli.MavenPomDetectable;
+import com.synopsys.integration.detectable.detectables.npm.cli.NpmCliDetectable;
+import com.synopsys.integration.detector.base.DetectorType;
 import com.synopsys.integration.detector.result.DetectorResult;
+import com.synopsys.integration.detector.result.NotNestableDetectorResult;
+import com.synopsys.integration.detector.result.NotSelfNestableDetectorResult;
+import com.synopsys.integration.detector.result.YieldedDetectorResult;
 import com.synopsys.integration.detector.rule.DetectorRule;
 import com.synopsys.integration.detector.rule.DetectorRuleSet;
+import com.synopsys.integration.detector.rule.DetectorRuleSetBuilder;
 
 public class DetectorRuleSetEvaluatorTest {
 
     @Test
     public void test() {
 
-        final DetectorRuleSet detectorRuleSet = Mockito.mock(DetectorRuleSet.class);
         final DetectorRule detectorRule = Mockito.mock(DetectorRule.class);
-        final SearchEnvironment environment = Mockito.mock(SearchEnvironment.class);
+        final DetectorRuleSet detectorRuleSet = new DetectorRuleSet(Collections.singletonList(detectorRule), new HashMap<>(), new HashMap<>());
 
         final Predicate<DetectorRule> rulePredicate = it -> true;
-        Mockito.when(environment.getDetectorFilter()).thenReturn(rulePredicate);
         Mockito.when(detectorRule.getMaxDepth()).thenReturn(1);
-        Mockito.when(environment.getDepth()).thenReturn(0);
-        final Set<DetectorRule> appliedSoFar = new HashSet<>();
-        Mockito.when(environment.getAppliedSoFar()).thenReturn(appliedSoFar);
+        final BitSet appliedSoFar = new BitSet();
+        final SearchEnvironment environment = new SearchEnvironment(0, rulePredicate, false, new BitSet(), appliedSoFar);
         Mockito.when(detectorRule.isNestable()).thenReturn(true);
-        Mockito.when(environment.isForceNestedSearch()).thenReturn(false);
 
         final DetectorRuleSetEvaluator evaluator = new DetectorRuleSetEvaluator();
         final DetectorResult result = evaluator.evaluateSearchable(detectorRuleSet, detectorRule, environment);
 
         assertTrue(result.getPassed());
     }
+
+    @Test
+    public void yieldsOnlyToRulesAppliedSoFar() {
+        final DetectorRuleSetBuilder ruleSetBuilder = new DetectorRuleSetBuilder();
+        final DetectorRule gradle = ruleSetBuilder.addDetector(DetectorType.GRADLE, "Gradle", GradleDetectable.class, (e) -> null).defaults().build();
+        final DetectorRule maven = ruleSetBuilder.addDetector(DetectorType.MAVEN, "Maven", MavenPomDetectable.class, (e) -> null).defaults().build();
+        final DetectorRule npm = ruleSetBuilder.addDetector(DetectorType.NPM, "Npm", NpmCliDetectable.class, (e) -> null).defaults().build();
+        ruleSetBuilder.yield(npm).to(gradle);
+        ruleSetBuilder.yield(npm).to(maven);
+        final DetectorRuleSet ruleSet = ruleSetBuilder.build();
+        final DetectorRuleSetEvaluator evaluator = new DetectorRuleSetEvaluator();
+
+        final BitSet appliedSoFar = new BitSet();
+        final SearchEnvironment environment = new SearchEnvironment(0, it -> true, false, new BitSet(), appliedSoFar);
+        assertTrue(evaluator.evaluateSearchable(ruleSet, npm, environment).getPassed());
+
+        appliedSoFar.set(ruleSet.getRuleId(maven));
+        final DetectorResult yielded = evaluator.evaluateSearchable(ruleSet, npm, environment);
+        assertTrue(yielded instanceof YieldedDetectorResult);
+        assertEquals("Yielded to detectors: Maven", yielded.getDescription());
+        assertTrue(evaluator.evaluateSearchable(ruleSet, gradle, environment).getPassed());
+    }
+
+    @Test
+    public void nestingFollowsRulesAppliedToParent() {
+        final DetectorRuleSetBuilder ruleSetBuilder = new DetectorRuleSetBuilder();
+        final DetectorRule gradle = ruleSetBuilder.addDetector(DetectorType.GRADLE, "Gradle", GradleDetectable.class, (e) -> null).defaults().build();
+        final DetectorRule maven = ruleSetBuilder.addDetector(DetectorType.MAVEN, "Maven", MavenPomDetectable.class, (e) -> null).noMaxDepth().notNestable().build();
+        final DetectorRule npm = ruleSetBuilder.addDetector(DetectorType.NPM, "Npm", NpmCliDetectable.class, (e) -> null).defaults().invisibleToNesting().build();
+        final DetectorRuleSet ruleSet = ruleSetBuilder.build();
+        final DetectorRuleSetEvaluator evaluator = new DetectorRuleSetEvaluator();
+
+        final BitSet appliedToParent = new BitSet();
+        appliedToParent.set(ruleSet.getRuleId(npm));
+        final SearchEnvironment environment = new SearchEnvironment(1, it -> true, false, appliedToParent, new BitSet());
+        assertTrue(evaluator.evaluateSearchable(ruleSet, maven, environment).getPassed(), "A nest invisible parent should not stop a rule that is not nestable.");
+
+        appliedToParent.set(ruleSet.getRuleId(gradle));
+        assertTrue(evaluator.evaluateSearchable(ruleSet, maven, environment) instanceof NotNestableDetectorResult);
+        assertTrue(evaluator.evaluateSearchable(ruleSet, gradle, environment) instanceof NotSelfNestableDetectorResult);
+        assertTrue(evaluator.evaluateSearchable(ruleSet, npm, environment) instanceof NotSelfNestableDetectorResult);
+    }
 }
@@ -0,0 +1,215 @@
+/**
+ * detector
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detector.evaluation.performance;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.detectable.detectables.npm.cli.NpmCliDetectable;
+import com.synopsys.integration.detector.base.DetectorType;
+import com.synopsys.integration.detector.evaluation.DetectorRuleSetEvaluator;
+import com.synopsys.integration.detector.evaluation.SearchEnvironment;
+import com.synopsys.integration.detector.result.DetectorResult;
+import com.synopsys.integration.detector.result.ExcludedDetectorResult;
+import com.synopsys.integration.detector.result.MaxDepthExceededDetectorResult;
+import com.synopsys.integration.detector.result.NotNestableDetectorResult;
+import com.synopsys.integration.detector.result.NotSelfNestableDetectorResult;
+import com.synopsys.integration.detector.result.PassedDetectorResult;
+import com.synopsys.integration.detector.result.YieldedDetectorResult;
+import com.synopsys.integration.detector.rule.DetectorRule;
+import com.synopsys.integration.detector.rule.DetectorRuleSet;
+import com.synopsys.integration.detector.rule.DetectorRuleSetBuilder;
+
+@Tag("performance")
+public class DetectorRuleSetEvaluatorPerformanceTest {
+    private static final int RULES = 60;
+    private static final int DIRECTORIES = 300000;
+    private static final int CHILDREN_PER_DIRECTORY = 8;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Test
+    public void setsAgainstRuleIdBitSets() {
+        DetectorRuleSet ruleSet = createRuleSet(new Random(7));
+        Predicate<DetectorRule> detectorFilter = rule -> !rule.getName().endsWith("7");
+
+        // Warm both paths up before timing them.
+        searchWithSets(ruleSet, detectorFilter, DIRECTORIES / 10);
+        searchWithBitSets(ruleSet, detectorFilter, DIRECTORIES / 10);
+
+        long start = System.nanoTime();
+        SearchSummary setSummary = searchWithSets(ruleSet, detectorFilter, DIRECTORIES);
+        long setNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        SearchSummary bitSetSummary = searchWithBitSets(ruleSet, detectorFilter, DIRECTORIES);
+        long bitSetNanos = System.nanoTime() - start;
+
+        Assertions.assertEquals(setSummary.evaluations, bitSetSummary.evaluations);
+        Assertions.assertEquals(setSummary.resultCounts, bitSetSummary.resultCounts);
+        Assertions.assertEquals(setSummary.resultHash, bitSetSummary.resultHash);
+        logger.info(String.format("Evaluated %d searchable results over %d directories with rule sets in %d ms.", setSummary.evaluations, DIRECTORIES, setNanos / 1000000));
+        logger.info(String.format("Evaluated %d searchable results over %d directories with rule id bit sets in %d ms.", bitSetSummary.evaluations, DIRECTORIES, bitSetNanos / 1000000));
+    }
+
+    // Shaped like the built in rules: most are nestable but not self nestable with no max depth, and about a third yield to another rule.
+    // Rules only yield to and fall back to earlier rules so the builder can always order them.
+    private DetectorRuleSet createRuleSet(Random random) {
+        DetectorRuleSetBuilder ruleSetBuilder = new DetectorRuleSetBuilder();
+        List<DetectorRule> rules = new ArrayList<>();
+        for (int i = 0; i < RULES; i++) {
+            DetectorRule rule = ruleSetBuilder.addDetector(DetectorType.values()[i % DetectorType.values().length], "Rule " + i, NpmCliDetectable.class, (e) -> null)
+                                    .maxDepth(random.nextInt(20) == 0 ? 2 + random.nextInt(3) : Integer.MAX_VALUE)
+                                    .isNestable(random.nextInt(20) != 0)
+                                    .isSelfNestable(random.nextInt(16) == 0)
+                                    .isNestInvisible(random.nextInt(50) == 0)
+                                    .build();
+            for (int yield = random.nextInt(3) == 0 ? 1 + random.nextInt(2) : 0; yield > 0 && i > 0; yield--) {
+                ruleSetBuilder.yield(rule).to(rules.get(random.nextInt(i)));
+            }
+            if (i > 0 && random.nextInt(6) == 0) {
+                ruleSetBuilder.fallback(rules.get(i - 1)).to(rule);
+            }
+            rules.add(rule);
+        }
+        return ruleSetBuilder.build();
+    }
+
+    // Whether a searchable rule applies is a pure function of the directory and the rule, so both searches see the same tree.
+    private boolean applies(int directory, int rule) {
+        int mixed = directory * 31 + rule * 17;
+        mixed ^= mixed >>> 7;
+        return mixed % 11 == 0;
+    }
+
+    private int depthOf(int directory) {
+        int depth = 0;
+        for (int current = directory; current > 0; current = (current - 1) / CHILDREN_PER_DIRECTORY) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private SearchSummary searchWithSets(DetectorRuleSet ruleSet, Predicate<DetectorRule> detectorFilter, int directories) {
+        SearchSummary summary = new SearchSummary();
+        searchWithSets(ruleSet, detectorFilter, directories, 0, new HashSet<>(), summary);
+        return summary;
+    }
+
+    private void searchWithSets(DetectorRuleSet ruleSet, Predicate<DetectorRule> detectorFilter, int directories, int directory, Set<DetectorRule> appliedInParent, SearchSummary summary) {
+        Set<DetectorRule> appliedSoFar = new HashSet<>();
+        List<DetectorRule> rules = ruleSet.getOrderedDetectorRules();
+        for (int i = 0; i < rules.size(); i++) {
+            DetectorRule rule = rules.get(i);
+            DetectorResult result = evaluateWithSets(ruleSet, rule, depthOf(directory), detectorFilter, appliedInParent, appliedSoFar);
+            summary.add(result);
+            if (result.getPassed() && applies(directory, i)) {
+                appliedSoFar.add(rule);
+            }
+        }
+
+        Set<DetectorRule> nextAppliedInParent = new HashSet<>(appliedInParent);
+        nextAppliedInParent.addAll(appliedSoFar);
+        for (int child = directory * CHILDREN_PER_DIRECTORY + 1; child <= directory * CHILDREN_PER_DIRECTORY + CHILDREN_PER_DIRECTORY && child < directories; child++) {
+            searchWithSets(ruleSet, detectorFilter, directories, child, nextAppliedInParent, summary);
+        }
+    }
+
+    // The evaluation as it was written before rules had ids.
+    private DetectorResult evaluateWithSets(DetectorRuleSet ruleSet, DetectorRule rule, int depth, Predicate<DetectorRule> detectorFilter, Set<DetectorRule> appliedToParent, Set<DetectorRule> appliedSoFar) {
+        if (!detectorFilter.test(rule)) {
+            return new ExcludedDetectorResult();
+        }
+        if (depth > rule.getMaxDepth()) {
+            return new MaxDepthExceededDetectorResult(depth, rule.getMaxDepth());
+        }
+
+        Set<DetectorRule> yieldTo = appliedSoFar.stream()
+                                        .filter(it -> ruleSet.getYieldsTo(rule).contains(it))
+                                        .collect(Collectors.toSet());
+        if (yieldTo.size() > 0) {
+            return new YieldedDetectorResult(yieldTo.stream().map(DetectorRule::getName).collect(Collectors.toSet()));
+        }
+
+        if (rule.isNestable()) {
+            if (!rule.isSelfNestable() && appliedToParent.stream().anyMatch(parentApplied -> parentApplied.equals(rule))) {
+                return new NotSelfNestableDetectorResult();
+            }
+        } else if (appliedToParent.stream().anyMatch(it -> !it.isNestInvisible())) {
+            return new NotNestableDetectorResult();
+        }
+        return new PassedDetectorResult();
+    }
+
+    private SearchSummary searchWithBitSets(DetectorRuleSet ruleSet, Predicate<DetectorRule> detectorFilter, int directories) {
+        SearchSummary summary = new SearchSummary();
+        searchWithBitSets(new DetectorRuleSetEvaluator(), ruleSet, detectorFilter, directories, 0, new BitSet(), summary);
+        return summary;
+    }
+
+    private void searchWithBitSets(DetectorRuleSetEvaluator evaluator, DetectorRuleSet ruleSet, Predicate<DetectorRule> detectorFilter, int directories, int directory, BitSet appliedInParent, SearchSummary summary) {
+        BitSet appliedSoFar = new BitSet();
+        SearchEnvironment environment = new SearchEnvironment(depthOf(directory), detectorFilter, false, appliedInParent, appliedSoFar);
+        List<DetectorRule> rules = ruleSet.getOrderedDetectorRules();
+        for (int i = 0; i < rules.size(); i++) {
+            DetectorRule rule = rules.get(i);
+            DetectorResult result = evaluator.evaluateSearchable(ruleSet, rule, environment);
+            summary.add(result);
+            if (result.getPassed() && applies(directory, i)) {
+                appliedSoFar.set(ruleSet.getRuleId(rule));
+            }
+        }
+
+        BitSet nextAppliedInParent = (BitSet) appliedInParent.clone();
+        nextAppliedInParent.or(appliedSoFar);
+        for (int child = directory * CHILDREN_PER_DIRECTORY + 1; child <= directory * CHILDREN_PER_DIRECTORY + CHILDREN_PER_DIRECTORY && child < directories; child++) {
+            searchWithBitSets(evaluator, ruleSet, detectorFilter, directories, child, nextAppliedInParent, summary);
+        }
+    }
+
+    private static class SearchSummary {
+        private long evaluations = 0;
+        private long resultHash = 0;
+        private final Map<String, Integer> resultCounts = new HashMap<>();
+
+        private void add(DetectorResult result) {
+            evaluations++;
+            resultHash = resultHash * 31 + result.getClass().getName().hashCode() * 17 + result.getDescription().hashCode();
+            resultCounts.merge(result.getClass().getSimpleName(), 1, Integer::sum);
+        }
+    }
+}
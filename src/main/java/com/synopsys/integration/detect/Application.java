@@ -159,6 +159,9 @@ public class Application implements ApplicationRunner {
             }
         }
 
+        //Listeners may still be catching up if events are dispatched asynchronously.
+        eventSystem.flush();
+
         //Create status output file.
         logger.info("");
         try {
@@ -187,13 +190,15 @@ public class Application implements ApplicationRunner {
                 detectBootResult.flatMap(DetectBootResult::getAirGapZip).toOptional(),
                 detectBootResult.flatMap(DetectBootResult::getDetectConfiguration).toOptional(),
                 detectBootResult.flatMap(DetectBootResult::getDirectoryManager).toOptional(),
-                detectBootResult.flatMap(DetectBootResult::getDiagnosticSystem).toOptional());
+                detectBootResult.flatMap(DetectBootResult::getDiagnosticSystem).toOptional(),
+                detectContext.getResourceGovernor());
             logger.debug("Detect shutdown completed.");
         } catch (final Exception e) {
             logger.error("Detect shutdown failed.");
             exitCodeManager.requestExitCode(e);
         }
 
+        eventSystem.shutdown();
         logger.debug("All Detect actions completed.");
 
         //Generally, when requesting a failure status, an exit code is also requested, but if it is not, we default to an unknown error.
@@ -66,12 +66,19 @@ import com.synopsys.integration.detect.workflow.DetectRun;
 import com.synopsys.integration.detect.workflow.airgap.AirGapInspectorPaths;
 import com.synopsys.integration.detect.workflow.airgap.AirGapOptions;
 import com.synopsys.integration.detect.workflow.airgap.AirGapPathFinder;
+import com.synopsys.integration.detect.workflow.blackduck.ExclusionPatternCreator;
 import com.synopsys.integration.detect.workflow.codelocation.BdioCodeLocationCreator;
 import com.synopsys.integration.detect.workflow.codelocation.CodeLocationNameGenerator;
 import com.synopsys.integration.detect.workflow.codelocation.CodeLocationNameManager;
 import com.synopsys.integration.detect.workflow.event.EventSystem;
+import com.synopsys.integration.detect.workflow.file.CanonicalPathCache;
 import com.synopsys.integration.detect.workflow.file.DirectoryManager;
+import com.synopsys.integration.detect.workflow.prefetch.ArtifactPrefetcher;
+import com.synopsys.integration.detect.workflow.profiling.RunProfiler;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
 import com.synopsys.integration.detectable.detectable.executable.ExecutableRunner;
+import com.synopsys.integration.detectable.detectable.executable.impl.ExecutableResolutionCache;
 import com.synopsys.integration.detectable.detectable.executable.impl.SimpleExecutableFinder;
 import com.synopsys.integration.detectable.detectable.executable.impl.SimpleExecutableResolver;
 import com.synopsys.integration.detectable.detectable.executable.impl.SimpleLocalExecutableFinder;
@@ -102,6 +109,10 @@ public class RunBeanConfiguration {
     @Autowired
     public EventSystem eventSystem;
     @Autowired
+    public RunProfiler runProfiler;
+    @Autowired
+    public ResourceGovernor resourceGovernor;
+    @Autowired
     public Gson gson;
     @Autowired
     public Configuration configuration;
@@ -136,6 +147,11 @@ public class RunBeanConfiguration {
         return new ArtifactResolver(connectionFactory(), gson);
     }
 
+    @Bean
+    public ArtifactPrefetcher artifactPrefetcher() {
+        return new ArtifactPrefetcher(resourceGovernor.executorService(ResourcePoolType.IO));
+    }
+
     @Bean
     public AirGapPathFinder airGapPathFinder() {
         return new AirGapPathFinder();
@@ -144,7 +160,12 @@ public class RunBeanConfiguration {
     @Bean
     public CodeLocationNameGenerator codeLocationNameService() {
         final String codeLocationNameOverride = detectConfiguration.getValueOrEmpty(DetectProperties.DETECT_CODE_LOCATION_NAME.getProperty()).orElse(null);
-        return new CodeLocationNameGenerator(codeLocationNameOverride);
+        return new CodeLocationNameGenerator(codeLocationNameOverride, canonicalPathCache());
+    }
+
+    @Bean
+    public CanonicalPathCache canonicalPathCache() {
+        return new CanonicalPathCache();
     }
 
     @Bean
@@ -170,7 +191,7 @@ public class RunBeanConfiguration {
 
     @Bean
     public ExecutableRunner executableRunner() {
-        return DetectExecutableRunner.newDebug(eventSystem);
+        return DetectExecutableRunner.newDebug(eventSystem, runProfiler, resourceGovernor);
     }
 
     @Bean
@@ -190,7 +211,9 @@ public class RunBeanConfiguration {
 
     @Bean
     public SimpleExecutableResolver simpleExecutableResolver() {
-        return new SimpleExecutableResolver(detectableOptionFactory.createCachedExecutableResolverOptions(), simpleLocalExecutableFinder(), simpleSystemExecutableFinder());
+        File cacheFile = new File(directoryManager.getPermanentDirectory("executables"), "resolution-cache.json");
+        ExecutableResolutionCache cache = ExecutableResolutionCache.persistent(cacheFile, gson);
+        return new SimpleExecutableResolver(detectableOptionFactory.createCachedExecutableResolverOptions(), simpleLocalExecutableFinder(), simpleSystemExecutableFinder(), cache);
     }
 
     @Bean
@@ -242,7 +265,7 @@ public class RunBeanConfiguration {
 
     @Bean()
     public DetectableFactory detectableFactory() {
-        return new DetectableFactory(filteredFileFinder(), executableRunner(), externalIdFactory(), gson);
+        return new DetectableFactory(filteredFileFinder(), executableRunner(), externalIdFactory(), gson, resourceGovernor.executorService(ResourcePoolType.PROCESS));
     }
 
     @Bean()
@@ -255,6 +278,7 @@ public class RunBeanConfiguration {
     @Lazy
     @Bean()
     public BlackDuckSignatureScanner blackDuckSignatureScanner(final BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions, final ScanBatchRunner scanBatchRunner, final BlackDuckServerConfig blackDuckServerConfig) {
-        return new BlackDuckSignatureScanner(directoryManager, fullFileFinder(), codeLocationNameManager(), blackDuckSignatureScannerOptions, eventSystem, scanBatchRunner, blackDuckServerConfig);
+        ExclusionPatternCreator exclusionPatternCreator = new ExclusionPatternCreator(resourceGovernor.executorService(ResourcePoolType.CPU, blackDuckSignatureScannerOptions.getParallelProcessors()));
+        return new BlackDuckSignatureScanner(directoryManager, exclusionPatternCreator, codeLocationNameManager(), blackDuckSignatureScannerOptions, eventSystem, scanBatchRunner, blackDuckServerConfig);
     }
 }
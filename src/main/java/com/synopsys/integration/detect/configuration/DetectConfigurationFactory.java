@@ -83,6 +83,8 @@ import com.synopsys.integration.detect.workflow.blackduck.DetectProjectServiceOp
 import com.synopsys.integration.detect.workflow.file.DirectoryOptions;
 import com.synopsys.integration.detect.workflow.phonehome.PhoneHomeOptions;
 import com.synopsys.integration.detect.workflow.project.ProjectNameVersionOptions;
+import com.synopsys.integration.detect.workflow.prefetch.PrefetchOptions;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernorOptions;
 import com.synopsys.integration.detectable.detectable.file.FileFinder;
 import com.synopsys.integration.detector.base.DetectorType;
 import com.synopsys.integration.detector.evaluation.DetectorEvaluationOptions;
@@ -141,6 +143,42 @@ public class DetectConfigurationFactory {
         return Runtime.getRuntime().availableProcessors();
     }
 
+    public PrefetchOptions createPrefetchOptions() {
+        Boolean enabled = getValue(DetectProperties.DETECT_ARTIFACT_PREFETCH_ENABLED);
+        Integer searchDepth = getValue(DetectProperties.DETECT_DETECTOR_SEARCH_DEPTH);
+        Boolean buildless = getValue(DetectProperties.DETECT_BUILDLESS);
+        boolean dockerTargetProvided = StringUtils.isNotBlank(getNullableValue(DetectProperties.DETECT_DOCKER_IMAGE))
+                                           || StringUtils.isNotBlank(getNullableValue(DetectProperties.DETECT_DOCKER_IMAGE_ID))
+                                           || StringUtils.isNotBlank(getNullableValue(DetectProperties.DETECT_DOCKER_TAR));
+
+        boolean scannerPathProvided = PropertyConfigUtils.getFirstProvidedValueOrEmpty(detectConfiguration, DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_OFFLINE_LOCAL_PATH.getProperty(),
+            DetectProperties.DETECT_HUB_SIGNATURE_SCANNER_OFFLINE_LOCAL_PATH.getProperty()).isPresent()
+                                          || PropertyConfigUtils.getFirstProvidedValueOrEmpty(detectConfiguration, DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_LOCAL_PATH.getProperty(),
+            DetectProperties.DETECT_HUB_SIGNATURE_SCANNER_LOCAL_PATH.getProperty()).isPresent();
+        boolean scannerUrlProvided = PropertyConfigUtils.getFirstProvidedValueOrEmpty(detectConfiguration, DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_HOST_URL.getProperty(),
+            DetectProperties.DETECT_HUB_SIGNATURE_SCANNER_HOST_URL.getProperty()).filter(StringUtils::isNotBlank).isPresent();
+
+        return new PrefetchOptions(enabled, searchDepth, buildless, dockerTargetProvided, !scannerPathProvided && !scannerUrlProvided);
+    }
+
+    public ResourceGovernorOptions createResourceGovernorOptions() {
+        int parallelProcessors = findParallelProcessors();
+        int runtimeProcessors = findRuntimeProcessors();
+
+        int maxConcurrentProcesses = getValue(DetectProperties.DETECT_RESOURCES_MAX_CONCURRENT_PROCESSES);
+        if (maxConcurrentProcesses <= 0) {
+            maxConcurrentProcesses = Math.max(parallelProcessors, runtimeProcessors);
+        }
+        int maxMemoryHeavyTasks = getValue(DetectProperties.DETECT_RESOURCES_MAX_MEMORY_HEAVY_TASKS);
+        if (maxMemoryHeavyTasks <= 0 || maxMemoryHeavyTasks > maxConcurrentProcesses) {
+            maxMemoryHeavyTasks = maxConcurrentProcesses;
+        }
+        // IO threads mostly wait on the network, so there can be more of them than processors.
+        int ioThreads = Math.max(4, 2 * parallelProcessors);
+
+        return new ResourceGovernorOptions(runtimeProcessors, ioThreads, maxConcurrentProcesses, maxMemoryHeavyTasks);
+    }
+
     @Nullable
     public SnippetMatching findSnippetMatching() {
         ExtendedEnumValue<ExtendedSnippetMode, SnippetMatching> snippetMatching = getValue(DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_SNIPPET_MATCHING);
@@ -401,6 +439,9 @@ public class DetectConfigurationFactory {
         String codeLocationSuffix = getNullableValue(DetectProperties.DETECT_PROJECT_CODELOCATION_SUFFIX);
         String additionalArguments = PropertyConfigUtils.getFirstProvidedValueOrEmpty(detectConfiguration,  DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_ARGUMENTS.getProperty(),  DetectProperties.DETECT_HUB_SIGNATURE_SCANNER_ARGUMENTS.getProperty()).orElse(null);
         Integer maxDepth = getValue(DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_EXCLUSION_PATTERN_SEARCH_DEPTH);
+        Integer shardCount = getValue(DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_SHARD_COUNT);
+        Integer shardMinimumFiles = getValue(DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_SHARD_MINIMUM_FILES);
+        Integer shardConcurrency = getValue(DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_SHARD_CONCURRENCY);
         Path offlineLocalScannerInstallPath = PropertyConfigUtils.getFirstProvidedValueOrEmpty(detectConfiguration,  DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_OFFLINE_LOCAL_PATH.getProperty(),  DetectProperties.DETECT_HUB_SIGNATURE_SCANNER_OFFLINE_LOCAL_PATH.getProperty()).map(path -> path.resolvePath(pathResolver)).orElse(null);
         Path onlineLocalScannerInstallPath = PropertyConfigUtils.getFirstProvidedValueOrEmpty(detectConfiguration,  DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_LOCAL_PATH.getProperty(),  DetectProperties.DETECT_HUB_SIGNATURE_SCANNER_LOCAL_PATH.getProperty()).map(path -> path.resolvePath(pathResolver)).orElse(null);
         String userProvidedScannerInstallUrl = PropertyConfigUtils.getFirstProvidedValueOrEmpty(detectConfiguration,  DetectProperties.DETECT_BLACKDUCK_SIGNATURE_SCANNER_HOST_URL.getProperty(),  DetectProperties.DETECT_HUB_SIGNATURE_SCANNER_HOST_URL.getProperty()).orElse(null);
@@ -430,7 +471,10 @@ public class DetectConfigurationFactory {
             maxDepth,
             findIndividualFileMatching(),
             licenseSearch,
-            copyrightSearch
+            copyrightSearch,
+            shardCount,
+            shardMinimumFiles,
+            shardConcurrency
         );
     }
 
@@ -443,7 +487,7 @@ public class DetectConfigurationFactory {
         List<FilterableEnumValue<PolicyRuleSeverityType>> policySeverities = getValue(DetectProperties.DETECT_POLICY_CHECK_FAIL_ON_SEVERITIES);
         List<PolicyRuleSeverityType> severitiesToFailPolicyCheck = FilterableEnumUtils.populatedValues(policySeverities, PolicyRuleSeverityType.class);
 
-        return new BlackDuckPostOptions(waitForResults, runRiskReport, runNoticesReport, riskReportPdfPath, noticesReportPath, severitiesToFailPolicyCheck);
+        return new BlackDuckPostOptions(waitForResults, runRiskReport, runNoticesReport, riskReportPdfPath, noticesReportPath, severitiesToFailPolicyCheck, findParallelProcessors());
     }
 
     public BinaryScanOptions createBinaryScanOptions()  {
@@ -459,7 +503,8 @@ public class DetectConfigurationFactory {
         Path outputDirectory = getPathOrNull(DetectProperties.DETECT_IMPACT_ANALYSIS_OUTPUT_PATH.getProperty());
         String codeLocationPrefix = getNullableValue(DetectProperties.DETECT_PROJECT_CODELOCATION_PREFIX);
         String codeLocationSuffix = getNullableValue(DetectProperties.DETECT_PROJECT_CODELOCATION_SUFFIX);
-        return new ImpactAnalysisOptions(enabled, codeLocationPrefix, codeLocationSuffix, outputDirectory);
+        Boolean partitioned = getValue(DetectProperties.DETECT_IMPACT_ANALYSIS_PARTITIONED);
+        return new ImpactAnalysisOptions(enabled, codeLocationPrefix, codeLocationSuffix, outputDirectory, partitioned, findParallelProcessors());
     }
 
     public DetectExecutableOptions createExecutablePaths() {
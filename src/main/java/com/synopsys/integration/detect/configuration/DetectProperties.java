@@ -174,6 +174,37 @@ public class DetectProperties {
             .setGroups(DetectGroup.GENERAL, DetectGroup.GLOBAL)
             .setCategory(DetectCategory.Advanced);
 
+    public static final DetectProperty<IntegerProperty> DETECT_RESOURCES_MAX_CONCURRENT_PROCESSES =
+        new DetectProperty<>(new IntegerProperty("detect.resources.max.concurrent.processes", 0))
+            .setInfo("Max Concurrent Processes", "6.6.0")
+            .setHelp("The maximum number of external processes (package managers, inspectors and signature scanners) Detect will run at once across all tools. If you specify less than or equal to 0, the larger of the parallel processors and the number of processors on the machine will be used.")
+            .setGroups(DetectGroup.GENERAL, DetectGroup.GLOBAL)
+            .setCategory(DetectCategory.Advanced);
+
+    public static final DetectProperty<IntegerProperty> DETECT_RESOURCES_MAX_MEMORY_HEAVY_TASKS =
+        new DetectProperty<>(new IntegerProperty("detect.resources.max.memory.heavy.tasks", 0))
+            .setInfo("Max Memory Heavy Tasks", "6.6.0")
+            .setHelp("The maximum number of memory heavy tasks, such as signature scanner processes, Detect will run at once. If you specify less than or equal to 0, only the max concurrent processes limit applies.",
+                "Each signature scanner process uses the configured signature scanner memory, so lower this when several scans would not fit in memory together.")
+            .setGroups(DetectGroup.GENERAL, DetectGroup.GLOBAL)
+            .setCategory(DetectCategory.Advanced);
+
+    public static final DetectProperty<BooleanProperty> DETECT_ARTIFACT_PREFETCH_ENABLED =
+        new DetectProperty<>(new BooleanProperty("detect.artifact.prefetch.enabled", true))
+            .setInfo("Artifact Prefetch Enabled", "6.6.0")
+            .setHelp("If true, Detect will download or verify the signature scanner and inspectors it expects to need in the background, as soon as the run starts.",
+                "The artifacts are predicted from the enabled tools and a shallow search of the source directory. A tool that needs an artifact that is still downloading waits for that download instead of starting its own.")
+            .setGroups(DetectGroup.GENERAL, DetectGroup.GLOBAL)
+            .setCategory(DetectCategory.Advanced);
+
+    public static final DetectProperty<BooleanProperty> DETECT_EVENTS_ASYNCHRONOUS =
+        new DetectProperty<>(new BooleanProperty("detect.events.asynchronous", false))
+            .setInfo("Asynchronous Events", "6.6.0")
+            .setHelp("If true, Detect hands the events that only feed reports, diagnostics and the status output to background threads instead of handling them on the thread that raised them.",
+                "Events of one kind are still handled in the order they were raised, and all of them are handled before the status file is written. Events that control the run, such as detector timings and exit codes, are always handled immediately.")
+            .setGroups(DetectGroup.GENERAL, DetectGroup.GLOBAL)
+            .setCategory(DetectCategory.Advanced);
+
     public static final DetectProperty<NullablePathProperty> DETECT_BASH_PATH =
         new DetectProperty<>(new NullablePathProperty("detect.bash.path"))
             .setInfo("Bash Executable", "3.0.0")
@@ -340,6 +371,28 @@ public class DetectProperties {
             .setHelp("These paths and only these paths will be scanned.")
             .setGroups(DetectGroup.SIGNATURE_SCANNER, DetectGroup.GLOBAL);
 
+    public static final DetectProperty<IntegerProperty> DETECT_BLACKDUCK_SIGNATURE_SCANNER_SHARD_COUNT =
+        new DetectProperty<>(new IntegerProperty("detect.blackduck.signature.scanner.shard.count", 1))
+            .setInfo("Signature Scanner Shard Count", "6.6.0")
+            .setHelp("The number of shards to split a large scan target into. Each shard is scanned by its own signature scanner process and produces its own code location. A value of 1 disables sharding.",
+                "Shards are balanced by file count and size, and every file is scanned by exactly one shard. Only folders that contain no files of their own, and the scan target itself, are split between shards. The first shard keeps the code location name of the whole target; when online, the code locations of shards that a previous run created but this run did not are unmapped from the project version. Every concurrent scanner process uses the configured signature scanner memory.")
+            .setGroups(DetectGroup.SIGNATURE_SCANNER, DetectGroup.SOURCE_SCAN)
+            .setCategory(DetectCategory.Advanced);
+
+    public static final DetectProperty<IntegerProperty> DETECT_BLACKDUCK_SIGNATURE_SCANNER_SHARD_MINIMUM_FILES =
+        new DetectProperty<>(new IntegerProperty("detect.blackduck.signature.scanner.shard.minimum.files", 100000))
+            .setInfo("Signature Scanner Shard Minimum Files", "6.6.0")
+            .setHelp("When sharding is enabled, only scan targets containing at least this many files are split into shards.")
+            .setGroups(DetectGroup.SIGNATURE_SCANNER, DetectGroup.SOURCE_SCAN)
+            .setCategory(DetectCategory.Advanced);
+
+    public static final DetectProperty<IntegerProperty> DETECT_BLACKDUCK_SIGNATURE_SCANNER_SHARD_CONCURRENCY =
+        new DetectProperty<>(new IntegerProperty("detect.blackduck.signature.scanner.shard.concurrency", 0))
+            .setInfo("Signature Scanner Shard Concurrency", "6.6.0")
+            .setHelp("When sharding is enabled, the maximum number of signature scanner processes to run at once. If you specify less than or equal to 0, the shard count will be used.")
+            .setGroups(DetectGroup.SIGNATURE_SCANNER, DetectGroup.SOURCE_SCAN)
+            .setCategory(DetectCategory.Advanced);
+
     public static final DetectProperty<ExtendedEnumProperty<ExtendedSnippetMode, SnippetMatching>> DETECT_BLACKDUCK_SIGNATURE_SCANNER_SNIPPET_MATCHING =
         new DetectProperty<>(new ExtendedEnumProperty<>("detect.blackduck.signature.scanner.snippet.matching", ExtendedEnumValue.ofExtendedValue(ExtendedSnippetMode.NONE), ExtendedSnippetMode.class, SnippetMatching.class))
             .setInfo("Snippet Matching", "5.5.0")
@@ -401,6 +454,13 @@ public class DetectProperties {
             .setGroups(DetectGroup.PROJECT, DetectGroup.PROJECT_SETTING)
             .setCategory(DetectCategory.Advanced);
 
+    public static final DetectProperty<BooleanProperty> DETECT_CONDA_CONCURRENT_COMMANDS =
+        new DetectProperty<>(new BooleanProperty("detect.conda.concurrent.commands", true))
+            .setInfo("Conda Concurrent Commands", "6.6.0")
+            .setHelp("If true, Detect runs conda list and conda info at the same time instead of one after the other. Each conda command spends several seconds starting up.")
+            .setGroups(DetectGroup.CONDA, DetectGroup.SOURCE_SCAN)
+            .setCategory(DetectCategory.Advanced);
+
     public static final DetectProperty<NullableStringProperty> DETECT_CONDA_ENVIRONMENT_NAME =
         new DetectProperty<>(new NullableStringProperty("detect.conda.environment.name"))
             .setInfo("Anaconda Environment Name", "3.0.0")
@@ -413,6 +473,16 @@ public class DetectProperties {
             .setHelp("The path to the conda executable.")
             .setGroups(DetectGroup.CONDA, DetectGroup.GLOBAL);
 
+    public static final DetectProperty<BooleanProperty> DETECT_CONDA_REUSE_ENVIRONMENT_RESULTS =
+        new DetectProperty<>(new BooleanProperty("detect.conda.reuse.environment.results", false))
+            .setInfo("Conda Reuse Environment Results", "6.6.0")
+            .setHelp(
+                "If true, Detect lists each conda environment once per run and reuses the result for every environment.yml that uses it.",
+                "Every Conda CLI code location lists the environment named by detect.conda.environment.name, or the active environment when no name is given, so projects with several environment.yml files otherwise list the same environment repeatedly."
+            )
+            .setGroups(DetectGroup.CONDA, DetectGroup.SOURCE_SCAN)
+            .setCategory(DetectCategory.Advanced);
+
     public static final DetectProperty<NullablePathProperty> DETECT_CPAN_PATH =
         new DetectProperty<>(new NullablePathProperty("detect.cpan.path"))
             .setInfo("cpan Executable", "3.0.0")
@@ -697,6 +767,16 @@ public class DetectProperties {
             .setGroups(DetectGroup.GRADLE, DetectGroup.GLOBAL)
             .setCategory(DetectCategory.Advanced);
 
+    public static final DetectProperty<BooleanProperty> DETECT_GRADLE_MODEL_EXTRACTION_ENABLED =
+        new DetectProperty<>(new BooleanProperty("detect.gradle.model.extraction.enabled", false))
+            .setInfo("Gradle Model Extraction Enabled", "6.6.0")
+            .setHelp(
+                "If true, Detect will gather Gradle dependencies with a lightweight task that writes each project's resolved dependency graph directly, instead of running the dependencies task with the Gradle Inspector.",
+                "The task prints no dependencies report and Gradle runs quietly with --parallel, which is much faster on builds with many projects. The Gradle Inspector does not need to be downloaded in this mode. The Gradle include and exclude properties still apply."
+            )
+            .setGroups(DetectGroup.GRADLE, DetectGroup.SOURCE_SCAN)
+            .setCategory(DetectCategory.Advanced);
+
     public static final DetectProperty<NullablePathProperty> DETECT_GRADLE_PATH =
         new DetectProperty<>(new NullablePathProperty("detect.gradle.path"))
             .setInfo("Gradle Executable", "3.0.0")
@@ -719,6 +799,13 @@ public class DetectProperties {
         .setHelp("The path to the output directory for Impact Analysis reports.", "If not set, the Impact Analysis reports are placed in a 'impact-analysis' subdirectory of the output directory.")
         .setGroups(DetectGroup.IMPACT_ANALYSIS, DetectGroup.GLOBAL);
 
+    public static final DetectProperty<BooleanProperty> DETECT_IMPACT_ANALYSIS_PARTITIONED = new DetectProperty<>(new BooleanProperty("detect.impact.analysis.partitioned", false))
+        .setInfo("Partitioned Impact Analysis", "6.6.0")
+        .setHelp("If set to true, Detect will split the source directory into its class roots (for example the target/classes directory of each module) and analyze them in parallel, producing one Impact Analysis report and code location per class root.",
+            "The number of class roots analyzed at once is controlled by detect.parallel.processors.")
+        .setGroups(DetectGroup.IMPACT_ANALYSIS, DetectGroup.GLOBAL)
+        .setCategory(DetectCategory.Advanced);
+
     public static final DetectProperty<FilterableEnumListProperty<DetectorType>> DETECT_INCLUDED_DETECTOR_TYPES =
         new DetectProperty<>(new FilterableEnumListProperty<>("detect.included.detector.types", emptyList(), DetectorType.class))
             .setInfo("Detector Types Included", "3.0.0")
@@ -931,6 +1018,16 @@ public class DetectProperties {
             .setHelp("By default, pipenv includes all dependencies found in the graph. Set to true to only include dependencies found underneath the dependency that matches the provided pip project and version name.")
             .setGroups(DetectGroup.PIP, DetectGroup.SOURCE_SCAN);
 
+    public static final DetectProperty<BooleanProperty> DETECT_PIP_INSPECTOR_TREE_OUTPUT =
+        new DetectProperty<>(new BooleanProperty("detect.pip.inspector.tree.output", false))
+            .setInfo("PIP Inspector Tree Output", "6.6.0")
+            .setHelp(
+                "If true, the Pip Inspector prints the fully expanded dependency tree, as it did before 6.6.0.",
+                "By default the Pip Inspector resolves each installed distribution once and prints the dependencies as nodes and edges. The expanded tree repeats every shared subtree on each path that reaches it, which can be very large and slow in environments with many shared dependencies."
+            )
+            .setGroups(DetectGroup.PIP, DetectGroup.SOURCE_SCAN)
+            .setCategory(DetectCategory.Advanced);
+
     public static final DetectProperty<NullablePathProperty> DETECT_PIPENV_PATH =
         new DetectProperty<>(new NullablePathProperty("detect.pipenv.path"))
             .setInfo("Pipenv Executable", "4.1.0")
@@ -116,7 +116,9 @@ public class DetectableOptionFactory {
 
     public CondaCliDetectableOptions createCondaOptions() {
         String environmentName = getNullableValue(DetectProperties.DETECT_CONDA_ENVIRONMENT_NAME);
-        return new CondaCliDetectableOptions(environmentName);
+        Boolean concurrentCommands = getValue(DetectProperties.DETECT_CONDA_CONCURRENT_COMMANDS);
+        Boolean reuseEnvironmentResults = getValue(DetectProperties.DETECT_CONDA_REUSE_ENVIRONMENT_RESULTS);
+        return new CondaCliDetectableOptions(environmentName, concurrentCommands, reuseEnvironmentResults);
     }
 
     public MavenParseOptions createMavenParseOptions() {
@@ -155,7 +157,9 @@ public class DetectableOptionFactory {
         }
 
         String onlineInspectorVersion = getNullableValue(DetectProperties.DETECT_GRADLE_INSPECTOR_VERSION);
-        GradleInspectorScriptOptions scriptOptions = new GradleInspectorScriptOptions(excludedProjectNames, includedProjectNames, excludedConfigurationNames, includedConfigurationNames, customRepository, onlineInspectorVersion);
+        Boolean modelExtractionEnabled = getValue(DetectProperties.DETECT_GRADLE_MODEL_EXTRACTION_ENABLED);
+        GradleInspectorScriptOptions scriptOptions = new GradleInspectorScriptOptions(excludedProjectNames, includedProjectNames, excludedConfigurationNames, includedConfigurationNames, customRepository, onlineInspectorVersion,
+            modelExtractionEnabled);
         String gradleBuildCommand = getNullableValue(DetectProperties.DETECT_GRADLE_BUILD_COMMAND);
         return new GradleInspectorOptions(gradleBuildCommand, scriptOptions, proxyInfo);
     }
@@ -207,7 +211,8 @@ public class DetectableOptionFactory {
         List<Path> requirementsFilePath = getValue(DetectProperties.DETECT_PIP_REQUIREMENTS_PATH).stream()
                                               .map(it -> it.resolvePath(pathResolver))
                                               .collect(Collectors.toList());
-        return new PipInspectorDetectableOptions(pipProjectName, requirementsFilePath);
+        Boolean treeOutput = getValue(DetectProperties.DETECT_PIP_INSPECTOR_TREE_OUTPUT);
+        return new PipInspectorDetectableOptions(pipProjectName, requirementsFilePath, treeOutput);
     }
 
     public GemspecParseDetectableOptions createGemspecParseDetectableOptions() {
@@ -23,7 +23,7 @@
 package com.synopsys.integration.detect.configuration.connection;
 
 import java.util.Optional;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
 
 import com.synopsys.integration.blackduck.configuration.BlackDuckServerConfig;
 import com.synopsys.integration.blackduck.configuration.BlackDuckServerConfigBuilder;
@@ -36,9 +36,11 @@ import com.synopsys.integration.rest.proxy.ProxyInfo;
 
 public class BlackDuckConfigFactory {
     private final BlackDuckConnectionDetails blackDuckConnectionDetails;
+    private final ExecutorService executorService;
 
-    public BlackDuckConfigFactory(final BlackDuckConnectionDetails blackDuckConnectionDetails) {
+    public BlackDuckConfigFactory(final BlackDuckConnectionDetails blackDuckConnectionDetails, final ExecutorService executorService) {
         this.blackDuckConnectionDetails = blackDuckConnectionDetails;
+        this.executorService = executorService;
     }
 
     public BlackDuckServerConfig createServerConfig(final IntLogger intLogger) throws DetectUserFriendlyException {
@@ -51,7 +53,7 @@ public class BlackDuckConfigFactory {
         final ConnectionDetails connectionDetails = blackDuckConnectionDetails.getConnectionDetails();
 
         final BlackDuckServerConfigBuilder blackDuckServerConfigBuilder = new BlackDuckServerConfigBuilder()
-                                                                              .setExecutorService(Executors.newFixedThreadPool(blackDuckConnectionDetails.getParallelProcessors()))
+                                                                              .setExecutorService(executorService)
                                                                               .setLogger(logger);
 
         blackDuckServerConfigBuilder.setProperties(blackDuckConnectionDetails.getBlackduckProperties().entrySet());
@@ -24,6 +24,7 @@ package com.synopsys.integration.detect.interactive.mode;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import com.synopsys.integration.blackduck.configuration.BlackDuckServerConfig;
 import com.synopsys.integration.configuration.config.PropertyConfiguration;
@@ -33,10 +34,14 @@ import com.synopsys.integration.configuration.source.PropertySource;
 import com.synopsys.integration.detect.configuration.DetectConfigurationFactory;
 import com.synopsys.integration.detect.configuration.DetectProperties;
 import com.synopsys.integration.detect.configuration.connection.BlackDuckConfigFactory;
+import com.synopsys.integration.detect.configuration.connection.BlackDuckConnectionDetails;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
 import com.synopsys.integration.log.SilentIntLogger;
 import com.synopsys.integration.rest.client.ConnectionResult;
 
 public class DefaultInteractiveMode extends InteractiveMode {
+    private static final long CONNECTION_TEST_SHUTDOWN_SECONDS = 5;
 
     private final List<PropertySource> existingPropertySources;
 
@@ -94,19 +99,28 @@ public class DefaultInteractiveMode extends InteractiveMode {
                 final Boolean testHub = askYesOrNo("Would you like to test the Black Duck connection now?");
                 if (testHub) {
                     ConnectionResult connectionAttempt = null;
+                    ResourceGovernor resourceGovernor = null;
                     try {
                         MapPropertySource interactivePropertySource = new MapPropertySource("interactive", toPropertyMap());
                         List<PropertySource> propertySources = new ArrayList<>(this.existingPropertySources);
                         propertySources.add(interactivePropertySource);
                         PropertyConfiguration propertyConfiguration = new PropertyConfiguration(propertySources);
                         DetectConfigurationFactory detectConfigurationFactory = new DetectConfigurationFactory(propertyConfiguration, new SimplePathResolver());
-                        BlackDuckConfigFactory blackDuckConfigFactory = new BlackDuckConfigFactory(detectConfigurationFactory.createBlackDuckConnectionDetails());
+                        // The run's governor does not exist until the configuration is complete, so the connection test gets one of its own.
+                        resourceGovernor = new ResourceGovernor(detectConfigurationFactory.createResourceGovernorOptions());
+                        BlackDuckConnectionDetails blackDuckConnectionDetails = detectConfigurationFactory.createBlackDuckConnectionDetails();
+                        BlackDuckConfigFactory blackDuckConfigFactory = new BlackDuckConfigFactory(blackDuckConnectionDetails,
+                            resourceGovernor.executorService(ResourcePoolType.IO, blackDuckConnectionDetails.getParallelProcessors()));
                         BlackDuckServerConfig blackDuckServerConfig = blackDuckConfigFactory.createServerConfig(new SilentIntLogger());
                         connectionAttempt = blackDuckServerConfig.attemptConnection(new SilentIntLogger());
                     } catch (final Exception e) {
                         println("Failed to test connection.");
                         println(e.toString());
                         println("");
+                    } finally {
+                        if (resourceGovernor != null) {
+                            resourceGovernor.shutdown(CONNECTION_TEST_SHUTDOWN_SECONDS, TimeUnit.SECONDS);
+                        }
                     }
 
                     if (connectionAttempt != null && connectionAttempt.isSuccess()) {
@@ -22,15 +22,19 @@
  */
 package com.synopsys.integration.detect.lifecycle;
 
+import java.util.Optional;
+
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import com.synopsys.integration.detect.workflow.DetectRun;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
 
 public class DetectContext {
     private final AnnotationConfigApplicationContext springContext;
     private final ConfigurableListableBeanFactory beanFactory;
 
+    private ResourceGovernor resourceGovernor;
     private boolean lock = false;
 
     public DetectContext(final DetectRun detectRun) {
@@ -53,6 +57,16 @@ public class DetectContext {
         return singleton;
     }
 
+    //The governor is kept outside of spring as well so shutdown can stop its threads even when boot never finished.
+    public ResourceGovernor registerResourceGovernor(final ResourceGovernor resourceGovernor) {
+        this.resourceGovernor = registerBean(resourceGovernor);
+        return resourceGovernor;
+    }
+
+    public Optional<ResourceGovernor> getResourceGovernor() {
+        return Optional.ofNullable(resourceGovernor);
+    }
+
     public <T> T getBean(final Class<T> beanClass) {
         return beanFactory.getBean(beanClass);
     }
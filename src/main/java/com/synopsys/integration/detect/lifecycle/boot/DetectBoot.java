@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -43,6 +44,7 @@ import org.springframework.core.env.ConfigurableEnvironment;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
+import com.synopsys.integration.blackduck.configuration.BlackDuckServerConfig;
 import com.synopsys.integration.configuration.config.PropertyConfiguration;
 import com.synopsys.integration.configuration.help.PropertyConfigurationHelpContext;
 import com.synopsys.integration.configuration.property.Property;
@@ -89,7 +91,9 @@ import com.synopsys.integration.detect.tool.detector.impl.DetectExecutableResolv
 import com.synopsys.integration.detect.tool.detector.inspectors.DockerInspectorInstaller;
 import com.synopsys.integration.detect.tool.detector.inspectors.GradleInspectorInstaller;
 import com.synopsys.integration.detect.tool.detector.inspectors.nuget.NugetInspectorInstaller;
+import com.synopsys.integration.detect.tool.signaturescanner.ScanBatchRunnerFactory;
 import com.synopsys.integration.detect.type.OperatingSystemType;
+import com.synopsys.integration.detect.util.ParallelZipPacker;
 import com.synopsys.integration.detect.util.filter.DetectFilter;
 import com.synopsys.integration.detect.util.filter.DetectOverrideableFilter;
 import com.synopsys.integration.detect.util.filter.DetectToolFilter;
@@ -107,8 +111,15 @@ import com.synopsys.integration.detect.workflow.diagnostic.DiagnosticsDecision;
 import com.synopsys.integration.detect.workflow.event.Event;
 import com.synopsys.integration.detect.workflow.event.EventSystem;
 import com.synopsys.integration.detect.workflow.file.DirectoryManager;
+import com.synopsys.integration.detect.workflow.prefetch.ArtifactPrefetcher;
+import com.synopsys.integration.detect.workflow.prefetch.PrefetchArtifact;
+import com.synopsys.integration.detect.workflow.prefetch.PrefetchDecider;
+import com.synopsys.integration.detect.workflow.prefetch.PrefetchDecision;
 import com.synopsys.integration.detect.workflow.profiling.DetectorProfiler;
+import com.synopsys.integration.detect.workflow.profiling.RunProfiler;
 import com.synopsys.integration.detect.workflow.report.writer.InfoLogReportWriter;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
 import com.synopsys.integration.detect.workflow.status.DetectIssue;
 import com.synopsys.integration.detect.workflow.status.DetectIssueType;
 import com.synopsys.integration.detectable.Detectable;
@@ -120,9 +131,14 @@ import com.synopsys.integration.detectable.detectable.executable.impl.SimpleExec
 import com.synopsys.integration.detectable.detectable.executable.impl.SimpleLocalExecutableFinder;
 import com.synopsys.integration.detectable.detectable.executable.impl.SimpleSystemExecutableFinder;
 import com.synopsys.integration.detectable.detectable.file.impl.SimpleFileFinder;
+import com.synopsys.integration.detectable.detectable.inspector.GradleInspectorResolver;
+import com.synopsys.integration.detectable.detectable.inspector.nuget.NugetInspectorResolver;
+import com.synopsys.integration.detectable.detectables.docker.DockerInspectorResolver;
 import com.synopsys.integration.detector.rule.DetectorRule;
 import com.synopsys.integration.detector.rule.DetectorRuleSet;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.util.IntEnvironmentVariables;
+import com.synopsys.integration.util.NoThreadExecutorService;
 
 import freemarker.template.Configuration;
 
@@ -172,7 +188,7 @@ public class DetectBoot {
             PropertySource interactivePropertySource = new MapPropertySource("interactive", interactivePropertyMap);
             propertySources.add(0, interactivePropertySource);
         }
-        PropertyConfiguration detectConfiguration = new PropertyConfiguration(propertySources);
+        PropertyConfiguration detectConfiguration = PropertyConfiguration.snapshot(propertySources, DetectProperties.allProperties());
 
         logger.debug("Configuration processed completely.");
 
@@ -184,6 +200,11 @@ public class DetectBoot {
 
         logger.debug("Initializing Detect.");
 
+        if (detectConfiguration.getValueOrDefault(DetectProperties.DETECT_EVENTS_ASYNCHRONOUS.getProperty())) {
+            logger.debug("Events for reports and diagnostics will be handled asynchronously.");
+            eventSystem.enableAsynchronousDispatch(EventSystem.DEFAULT_QUEUE_CAPACITY);
+        }
+
         PathResolver pathResolver;
         if (detectInfo.getCurrentOs() != OperatingSystemType.WINDOWS && detectConfiguration.getValueOrDefault(DetectProperties.DETECT_RESOLVE_TILDE_IN_PATHS.getProperty())) {
             logger.info("Tilde's will be automatically resolved to USER HOME.");
@@ -193,6 +214,7 @@ public class DetectBoot {
         }
         DetectConfigurationFactory detectConfigurationFactory = new DetectConfigurationFactory(detectConfiguration, pathResolver);
         DirectoryManager directoryManager = new DirectoryManager(detectConfigurationFactory.createDirectoryOptions(), detectRun);
+        ResourceGovernor resourceGovernor = detectContext.registerResourceGovernor(new ResourceGovernor(detectConfigurationFactory.createResourceGovernorOptions()));
 
         DiagnosticsDecision diagnosticsDecision = new DiagnosticsDecider(detectArgumentState, detectConfiguration).decide();
         DiagnosticSystem diagnosticSystem = null;
@@ -207,7 +229,7 @@ public class DetectBoot {
             String airGapSuffix = inspectorFilter.getIncludedSet().stream().sorted().collect(Collectors.joining("-"));
             File airGapZip;
             try {
-                airGapZip = createAirGapZip(inspectorFilter, detectConfiguration, pathResolver, directoryManager, gson, eventSystem, configuration, airGapSuffix);
+                airGapZip = createAirGapZip(inspectorFilter, detectConfiguration, pathResolver, directoryManager, gson, eventSystem, configuration, airGapSuffix, resourceGovernor);
             } catch (DetectUserFriendlyException e) {
                 return DetectBootResult.exception(e, detectConfiguration, directoryManager, diagnosticSystem);
             }
@@ -222,7 +244,7 @@ public class DetectBoot {
 
         logger.debug("Decided what products will be run. Starting product boot.");
 
-        ProductBootFactory productBootFactory = new ProductBootFactory(detectInfo, eventSystem, detectConfigurationFactory);
+        ProductBootFactory productBootFactory = new ProductBootFactory(detectInfo, eventSystem, detectConfigurationFactory, resourceGovernor);
         ProductBoot productBoot = new ProductBoot();
         ProductRunData productRunData;
         ProductBootOptions productBootOptions = detectConfigurationFactory.createProductBootOptions();
@@ -245,12 +267,14 @@ public class DetectBoot {
         }
 
         DetectableOptionFactory detectableOptionFactory = new DetectableOptionFactory(detectConfiguration, diagnosticSystem, pathResolver, detectableProxyInfo);
-        DetectorProfiler profiler = new DetectorProfiler(eventSystem);
+        RunProfiler runProfiler = new RunProfiler();
+        DetectorProfiler profiler = new DetectorProfiler(eventSystem, runProfiler);
 
         //Finished, populate the detect context
         detectContext.registerBean(detectRun);
         detectContext.registerBean(eventSystem);
         detectContext.registerBean(profiler);
+        detectContext.registerBean(runProfiler);
 
         detectContext.registerBean(detectConfiguration);
         detectContext.registerBean(detectableOptionFactory);
@@ -264,6 +288,9 @@ public class DetectBoot {
         detectContext.registerConfiguration(RunBeanConfiguration.class);
         detectContext.lock(); //can only refresh once, this locks and triggers refresh.
 
+        startExecutablePrefetch(detectContext, detectConfigurationFactory, resourceGovernor);
+        startPrefetch(detectContext, detectConfigurationFactory, detectToolFilter, directoryManager, productRunData);
+
         return DetectBootResult.run(detectConfiguration, productRunData, directoryManager, diagnosticSystem);
     }
 
@@ -395,6 +422,53 @@ public class DetectBoot {
         return detectArgumentState;
     }
 
+    private void startExecutablePrefetch(DetectContext detectContext, DetectConfigurationFactory detectConfigurationFactory, ResourceGovernor resourceGovernor) {
+        // System executables are found in the background so the detectors rarely have to wait on the PATH. The run saves what was found once it ends.
+        SimpleExecutableResolver simpleExecutableResolver = detectContext.getBean(SimpleExecutableResolver.class);
+        ExecutorService prefetchExecutor = resourceGovernor.executorService(ResourcePoolType.IO, detectConfigurationFactory.findParallelProcessors());
+        try {
+            simpleExecutableResolver.prefetchSystemExecutables(prefetchExecutor);
+        } finally {
+            // Every lookup has been submitted, and shutting down lets them finish while refusing anything more.
+            prefetchExecutor.shutdown();
+        }
+    }
+
+    private void startPrefetch(DetectContext detectContext, DetectConfigurationFactory detectConfigurationFactory, DetectToolFilter detectToolFilter, DirectoryManager directoryManager,
+        ProductRunData productRunData) {
+        Optional<BlackDuckServerConfig> blackDuckServerConfig = Optional.empty();
+        if (productRunData.shouldUseBlackDuckProduct() && productRunData.getBlackDuckRunData().isOnline()) {
+            blackDuckServerConfig = productRunData.getBlackDuckRunData().getBlackDuckServerConfig();
+        }
+
+        PrefetchDecider prefetchDecider = new PrefetchDecider(new SimpleFileFinder());
+        PrefetchDecision prefetchDecision = prefetchDecider.decide(detectConfigurationFactory.createPrefetchOptions(), detectToolFilter, directoryManager.getSourceDirectory(), blackDuckServerConfig.isPresent());
+        if (prefetchDecision.getArtifacts().isEmpty()) {
+            return;
+        }
+        logger.debug("Prefetching: " + prefetchDecision.getArtifacts().stream().map(PrefetchArtifact::getDisplayName).collect(Collectors.joining(", ")));
+
+        // The resolvers remember what they resolved, so the detectors that need them later get the prefetched result.
+        ArtifactPrefetcher artifactPrefetcher = detectContext.getBean(ArtifactPrefetcher.class);
+        if (prefetchDecision.shouldPrefetch(PrefetchArtifact.SIGNATURE_SCANNER) && blackDuckServerConfig.isPresent()) {
+            BlackDuckServerConfig serverConfig = blackDuckServerConfig.get();
+            ScanBatchRunnerFactory scanBatchRunnerFactory = new ScanBatchRunnerFactory(IntEnvironmentVariables.empty(), new NoThreadExecutorService());
+            artifactPrefetcher.prefetch(PrefetchArtifact.SIGNATURE_SCANNER, () -> scanBatchRunnerFactory.installOrUpdateScanner(serverConfig, directoryManager.getPermanentDirectory()));
+        }
+        if (prefetchDecision.shouldPrefetch(PrefetchArtifact.GRADLE_INSPECTOR)) {
+            GradleInspectorResolver gradleInspectorResolver = detectContext.getBean(GradleInspectorResolver.class);
+            artifactPrefetcher.prefetch(PrefetchArtifact.GRADLE_INSPECTOR, gradleInspectorResolver::resolveGradleInspector);
+        }
+        if (prefetchDecision.shouldPrefetch(PrefetchArtifact.DOCKER_INSPECTOR)) {
+            DockerInspectorResolver dockerInspectorResolver = detectContext.getBean(DockerInspectorResolver.class);
+            artifactPrefetcher.prefetch(PrefetchArtifact.DOCKER_INSPECTOR, dockerInspectorResolver::resolveDockerInspector);
+        }
+        if (prefetchDecision.shouldPrefetch(PrefetchArtifact.NUGET_INSPECTOR)) {
+            NugetInspectorResolver nugetInspectorResolver = detectContext.getBean(NugetInspectorResolver.class);
+            artifactPrefetcher.prefetch(PrefetchArtifact.NUGET_INSPECTOR, nugetInspectorResolver::resolveNugetInspector);
+        }
+    }
+
     private Optional<DiagnosticSystem> createDiagnostics(PropertyConfiguration propertyConfiguration, DetectRun detectRun, DetectInfo detectInfo, DiagnosticsDecider diagnosticsDecider, EventSystem eventSystem,
         DirectoryManager directoryManager) {
         DiagnosticSystem diagnosticSystem = null;
@@ -405,7 +479,8 @@ public class DetectBoot {
     private File createAirGapZip(DetectFilter inspectorFilter, PropertyConfiguration detectConfiguration, PathResolver pathResolver, DirectoryManager directoryManager, Gson gson,
         EventSystem eventSystem,
         Configuration configuration,
-        String airGapSuffix)
+        String airGapSuffix,
+        ResourceGovernor resourceGovernor)
         throws DetectUserFriendlyException {
         DetectConfigurationFactory detectConfigurationFactory = new DetectConfigurationFactory(detectConfiguration, pathResolver);
         ConnectionDetails connectionDetails = detectConfigurationFactory.createConnectionDetails();
@@ -426,7 +501,10 @@ public class DetectBoot {
         NugetAirGapCreator nugetAirGapCreator = new NugetAirGapCreator(new NugetInspectorInstaller(artifactResolver));
         DockerAirGapCreator dockerAirGapCreator = new DockerAirGapCreator(new DockerInspectorInstaller(artifactResolver));
 
-        AirGapCreator airGapCreator = new AirGapCreator(new AirGapPathFinder(), eventSystem, gradleAirGapCreator, nugetAirGapCreator, dockerAirGapCreator);
+        int packParallelism = Runtime.getRuntime().availableProcessors();
+        ParallelZipPacker zipPacker = new ParallelZipPacker(() -> resourceGovernor.executorService(ResourcePoolType.CPU, packParallelism));
+        AirGapCreator airGapCreator = new AirGapCreator(new AirGapPathFinder(), eventSystem, gradleAirGapCreator, nugetAirGapCreator, dockerAirGapCreator, zipPacker,
+            resourceGovernor.executorService(ResourcePoolType.IO));
         String gradleInspectorVersion = detectConfiguration.getValueOrEmpty(DetectProperties.DETECT_GRADLE_INSPECTOR_VERSION.getProperty()).orElse(null);
         return airGapCreator.createAirGapZip(inspectorFilter, directoryManager.getRunHomeDirectory(), airGapSuffix, gradleInspectorVersion);
     }
@@ -23,7 +23,6 @@
 package com.synopsys.integration.detect.lifecycle.boot.product;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import com.synopsys.integration.blackduck.configuration.BlackDuckServerConfig;
 import com.synopsys.integration.blackduck.phonehome.BlackDuckPhoneHomeHelper;
@@ -36,21 +35,25 @@ import com.synopsys.integration.detect.exception.DetectUserFriendlyException;
 import com.synopsys.integration.detect.workflow.event.EventSystem;
 import com.synopsys.integration.detect.workflow.phonehome.OnlinePhoneHomeManager;
 import com.synopsys.integration.detect.workflow.phonehome.PhoneHomeManager;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
 import com.synopsys.integration.log.SilentIntLogger;
 
 public class ProductBootFactory {
     private final DetectInfo detectInfo;
     private final EventSystem eventSystem;
     private final DetectConfigurationFactory detectConfigurationFactory;
+    private final ResourceGovernor resourceGovernor;
 
-    public ProductBootFactory(final DetectInfo detectInfo, final EventSystem eventSystem, final DetectConfigurationFactory detectConfigurationFactory) {
+    public ProductBootFactory(final DetectInfo detectInfo, final EventSystem eventSystem, final DetectConfigurationFactory detectConfigurationFactory, final ResourceGovernor resourceGovernor) {
         this.detectInfo = detectInfo;
         this.eventSystem = eventSystem;
         this.detectConfigurationFactory = detectConfigurationFactory;
+        this.resourceGovernor = resourceGovernor;
     }
 
     public PhoneHomeManager createPhoneHomeManager(final BlackDuckServicesFactory blackDuckServicesFactory) {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final ExecutorService executorService = resourceGovernor.executorService(ResourcePoolType.IO, 1);
         final BlackDuckPhoneHomeHelper blackDuckPhoneHomeHelper = BlackDuckPhoneHomeHelper.createAsynchronousPhoneHomeHelper(blackDuckServicesFactory, executorService);
         final PhoneHomeManager phoneHomeManager = new OnlinePhoneHomeManager(detectConfigurationFactory.createPhoneHomeOptions().getPassthrough(), detectInfo, eventSystem, blackDuckPhoneHomeHelper);
         return phoneHomeManager;
@@ -58,7 +61,7 @@ public class ProductBootFactory {
 
     public BlackDuckServerConfig createBlackDuckServerConfig() throws DetectUserFriendlyException {
         BlackDuckConnectionDetails connectionDetails = detectConfigurationFactory.createBlackDuckConnectionDetails();
-        BlackDuckConfigFactory blackDuckConfigFactory = new BlackDuckConfigFactory(connectionDetails);
+        BlackDuckConfigFactory blackDuckConfigFactory = new BlackDuckConfigFactory(connectionDetails, resourceGovernor.executorService(ResourcePoolType.IO, connectionDetails.getParallelProcessors()));
         return blackDuckConfigFactory.createServerConfig(new SilentIntLogger());
     }
 }
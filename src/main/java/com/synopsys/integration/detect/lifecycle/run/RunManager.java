@@ -28,6 +28,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -78,6 +79,7 @@ import com.synopsys.integration.detect.tool.signaturescanner.BlackDuckSignatureS
 import com.synopsys.integration.detect.tool.signaturescanner.BlackDuckSignatureScannerTool;
 import com.synopsys.integration.detect.tool.signaturescanner.SignatureScannerToolResult;
 import com.synopsys.integration.detect.util.filter.DetectToolFilter;
+import com.synopsys.integration.detect.workflow.DetectRun;
 import com.synopsys.integration.detect.workflow.bdio.AggregateMode;
 import com.synopsys.integration.detect.workflow.bdio.AggregateOptions;
 import com.synopsys.integration.detect.workflow.bdio.BdioManager;
@@ -85,6 +87,7 @@ import com.synopsys.integration.detect.workflow.bdio.BdioOptions;
 import com.synopsys.integration.detect.workflow.bdio.BdioResult;
 import com.synopsys.integration.detect.workflow.blackduck.BlackDuckPostActions;
 import com.synopsys.integration.detect.workflow.blackduck.BlackDuckPostOptions;
+import com.synopsys.integration.detect.workflow.blackduck.CodeLocationUnmapping;
 import com.synopsys.integration.detect.workflow.blackduck.DetectBdioUploadService;
 import com.synopsys.integration.detect.workflow.blackduck.DetectCodeLocationUnmapService;
 import com.synopsys.integration.detect.workflow.blackduck.DetectCustomFieldService;
@@ -99,9 +102,13 @@ import com.synopsys.integration.detect.workflow.event.Event;
 import com.synopsys.integration.detect.workflow.event.EventSystem;
 import com.synopsys.integration.detect.workflow.file.DirectoryManager;
 import com.synopsys.integration.detect.workflow.phonehome.PhoneHomeManager;
+import com.synopsys.integration.detect.workflow.profiling.ProfiledSpan;
+import com.synopsys.integration.detect.workflow.profiling.RunProfiler;
 import com.synopsys.integration.detect.workflow.project.ProjectNameVersionDecider;
 import com.synopsys.integration.detect.workflow.project.ProjectNameVersionOptions;
 import com.synopsys.integration.detect.workflow.report.util.ReportConstants;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
 import com.synopsys.integration.detect.workflow.result.BlackDuckBomDetectResult;
 import com.synopsys.integration.detect.workflow.result.DetectResult;
 import com.synopsys.integration.detect.workflow.status.DetectIssue;
@@ -109,6 +116,7 @@ import com.synopsys.integration.detect.workflow.status.DetectIssueType;
 import com.synopsys.integration.detect.workflow.status.Status;
 import com.synopsys.integration.detect.workflow.status.StatusType;
 import com.synopsys.integration.detectable.detectable.executable.ExecutableRunner;
+import com.synopsys.integration.detectable.detectable.executable.impl.SimpleExecutableResolver;
 import com.synopsys.integration.detectable.detectable.file.impl.SimpleFileFinder;
 import com.synopsys.integration.detector.base.DetectorType;
 import com.synopsys.integration.detector.evaluation.DetectorEvaluationOptions;
@@ -142,34 +150,45 @@ public class RunManager {
         DetectInfo detectInfo = detectContext.getBean(DetectInfo.class);
         DetectDetectableFactory detectDetectableFactory = detectContext.getBean(DetectDetectableFactory.class);
 
-        RunResult runResult = new RunResult();
-        RunOptions runOptions = detectConfigurationFactory.createRunOptions();
-        DetectToolFilter detectToolFilter = runOptions.getDetectToolFilter();
+        RunProfiler runProfiler = detectContext.getBean(RunProfiler.class);
+        ResourceGovernor resourceGovernor = detectContext.getBean(ResourceGovernor.class);
+        DetectRun detectRun = detectContext.getBean(DetectRun.class);
 
-        logger.info(ReportConstants.RUN_SEPARATOR);
+        try (ProfiledSpan span = runProfiler.start(RunProfiler.CATEGORY_STEP, "Run")) {
+            RunResult runResult = new RunResult();
+            RunOptions runOptions = detectConfigurationFactory.createRunOptions();
+            DetectToolFilter detectToolFilter = runOptions.getDetectToolFilter();
 
-        if (productRunData.shouldUsePolarisProduct()) {
-            runPolarisProduct(productRunData, detectConfiguration, directoryManager, eventSystem, detectToolFilter);
-        } else {
-            logger.info("Polaris tools will not be run.");
-        }
+            logger.info(ReportConstants.RUN_SEPARATOR);
 
-        UniversalToolsResult universalToolsResult = runUniversalProjectTools(detectConfiguration, detectConfigurationFactory, directoryManager, eventSystem, detectDetectableFactory, runResult, runOptions, detectToolFilter,
-            codeLocationNameManager);
+            if (productRunData.shouldUsePolarisProduct()) {
+                runPolarisProduct(productRunData, detectConfiguration, directoryManager, eventSystem, detectToolFilter);
+            } else {
+                logger.info("Polaris tools will not be run.");
+            }
 
-        if (productRunData.shouldUseBlackDuckProduct()) {
-            AggregateOptions aggregateOptions = determineAggregationStrategy(runOptions.getAggregateName().orElse(null), runOptions.getAggregateMode(), universalToolsResult);
-            ImpactAnalysisOptions impactAnalysisOptions = detectConfigurationFactory.createImpactAnalysisOptions();
-            runBlackDuckProduct(productRunData, detectConfigurationFactory, directoryManager, eventSystem, codeLocationNameManager, bdioCodeLocationCreator, detectInfo, runResult, runOptions, detectToolFilter,
-                universalToolsResult.getNameVersion(), aggregateOptions, impactAnalysisOptions);
-        } else {
-            logger.info("Black Duck tools will not be run.");
-        }
+            UniversalToolsResult universalToolsResult = runUniversalProjectTools(detectConfiguration, detectConfigurationFactory, directoryManager, eventSystem, detectDetectableFactory, runResult, runOptions, detectToolFilter,
+                codeLocationNameManager);
 
-        logger.info("All tools have finished.");
-        logger.info(ReportConstants.RUN_SEPARATOR);
+            if (productRunData.shouldUseBlackDuckProduct()) {
+                AggregateOptions aggregateOptions = determineAggregationStrategy(runOptions.getAggregateName().orElse(null), runOptions.getAggregateMode(), universalToolsResult);
+                ImpactAnalysisOptions impactAnalysisOptions = detectConfigurationFactory.createImpactAnalysisOptions();
+                runBlackDuckProduct(productRunData, detectConfigurationFactory, directoryManager, eventSystem, codeLocationNameManager, bdioCodeLocationCreator, detectInfo, runResult, runOptions, detectToolFilter,
+                    universalToolsResult.getNameVersion(), aggregateOptions, impactAnalysisOptions);
+            } else {
+                logger.info("Black Duck tools will not be run.");
+            }
 
-        return runResult;
+            logger.info("All tools have finished.");
+            logger.info(ReportConstants.RUN_SEPARATOR);
+
+            return runResult;
+        } finally {
+            // Saved at the end so the cache holds every executable the run resolved, not only the prefetched ones.
+            detectContext.getBean(SimpleExecutableResolver.class).saveCache();
+            runProfiler.export(directoryManager.getReportOutputDirectory(), detectRun.getRunId());
+            resourceGovernor.export(directoryManager.getReportOutputDirectory(), detectRun.getRunId());
+        }
     }
 
     private AggregateOptions determineAggregationStrategy(@Nullable String aggregateName, AggregateMode aggregateMode, UniversalToolsResult universalToolsResult) {
@@ -208,7 +227,10 @@ public class RunManager {
                 extractionEnvironmentProvider, codeLocationConverter, "DOCKER", DetectTool.DOCKER,
                 eventSystem);
 
-            DetectableToolResult detectableToolResult = detectableTool.execute(directoryManager.getSourceDirectory());
+            DetectableToolResult detectableToolResult;
+            try (ProfiledSpan span = startStep("Docker")) {
+                detectableToolResult = detectableTool.execute(directoryManager.getSourceDirectory());
+            }
 
             runResult.addDetectableToolResult(detectableToolResult);
             anythingFailed = anythingFailed || detectableToolResult.isFailure();
@@ -223,7 +245,10 @@ public class RunManager {
             DetectableTool detectableTool = new DetectableTool(detectDetectableFactory::createBazelDetectable,
                 extractionEnvironmentProvider, codeLocationConverter, "BAZEL", DetectTool.BAZEL,
                 eventSystem);
-            DetectableToolResult detectableToolResult = detectableTool.execute(directoryManager.getSourceDirectory());
+            DetectableToolResult detectableToolResult;
+            try (ProfiledSpan span = startStep("Bazel")) {
+                detectableToolResult = detectableTool.execute(directoryManager.getSourceDirectory());
+            }
             runResult.addDetectableToolResult(detectableToolResult);
             anythingFailed = anythingFailed || detectableToolResult.isFailure();
             logger.info("Bazel actions finished.");
@@ -247,7 +272,10 @@ public class RunManager {
 
             DetectorIssuePublisher detectorIssuePublisher = new DetectorIssuePublisher();
             DetectorTool detectorTool = new DetectorTool(new DetectorFinder(), extractionEnvironmentProvider, eventSystem, codeLocationConverter, detectorIssuePublisher);
-            DetectorToolResult detectorToolResult = detectorTool.performDetectors(directoryManager.getSourceDirectory(), detectRuleSet, finderOptions, detectorEvaluationOptions, projectBomTool, requiredDetectors);
+            DetectorToolResult detectorToolResult;
+            try (ProfiledSpan span = startStep("Detectors")) {
+                detectorToolResult = detectorTool.performDetectors(directoryManager.getSourceDirectory(), detectRuleSet, finderOptions, detectorEvaluationOptions, projectBomTool, requiredDetectors);
+            }
 
             detectorToolResult.getBomToolProjectNameVersion().ifPresent(it -> runResult.addToolNameVersion(DetectTool.DETECTOR, new NameVersion(it.getName(), it.getVersion())));
             runResult.addDetectCodeLocations(detectorToolResult.getBomToolCodeLocations());
@@ -288,9 +316,11 @@ public class RunManager {
         if (detectToolFilter.shouldInclude(DetectTool.POLARIS)) {
             logger.info("Will include the Polaris tool.");
             PolarisServerConfig polarisServerConfig = productRunData.getPolarisRunData().getPolarisServerConfig();
-            ExecutableRunner polarisExecutableRunner = DetectExecutableRunner.newInfo(eventSystem);
+            ExecutableRunner polarisExecutableRunner = DetectExecutableRunner.newInfo(eventSystem, detectContext.getBean(RunProfiler.class), detectContext.getBean(ResourceGovernor.class));
             PolarisTool polarisTool = new PolarisTool(eventSystem, directoryManager, polarisExecutableRunner, detectConfiguration, polarisServerConfig);
-            polarisTool.runPolaris(new Slf4jIntLogger(logger), directoryManager.getSourceDirectory());
+            try (ProfiledSpan span = startStep("Polaris")) {
+                polarisTool.runPolaris(new Slf4jIntLogger(logger), directoryManager.getSourceDirectory());
+            }
             logger.info("Polaris actions finished.");
         } else {
             logger.info("Polaris CLI tool will not be run.");
@@ -308,6 +338,8 @@ public class RunManager {
         blackDuckRunData.getPhoneHomeManager().ifPresent(PhoneHomeManager::startPhoneHome);
 
         ProjectVersionWrapper projectVersionWrapper = null;
+        CodeLocationUnmapping codeLocationUnmapping = null;
+        ExecutorService unmapExecutorService = null;
 
         BlackDuckServicesFactory blackDuckServicesFactory = blackDuckRunData.getBlackDuckServicesFactory().orElse(null);
 
@@ -317,12 +349,16 @@ public class RunManager {
             ProjectMappingService detectProjectMappingService = blackDuckServicesFactory.createProjectMappingService();
             DetectCustomFieldService detectCustomFieldService = new DetectCustomFieldService();
             DetectProjectService detectProjectService = new DetectProjectService(blackDuckServicesFactory, options, detectProjectMappingService, detectCustomFieldService);
-            projectVersionWrapper = detectProjectService.createOrUpdateBlackDuckProject(projectNameVersion);
+            try (ProfiledSpan span = startStep("Project and version")) {
+                projectVersionWrapper = detectProjectService.createOrUpdateBlackDuckProject(projectNameVersion);
+            }
 
             if (null != projectVersionWrapper && runOptions.shouldUnmapCodeLocations()) {
                 logger.debug("Unmapping code locations.");
-                DetectCodeLocationUnmapService detectCodeLocationUnmapService = new DetectCodeLocationUnmapService(blackDuckServicesFactory.getBlackDuckService(), blackDuckServicesFactory.createCodeLocationService());
-                detectCodeLocationUnmapService.unmapCodeLocations(projectVersionWrapper.getProjectVersionView());
+                unmapExecutorService = detectContext.getBean(ResourceGovernor.class).executorService(ResourcePoolType.IO, detectConfigurationFactory.findParallelProcessors());
+                DetectCodeLocationUnmapService detectCodeLocationUnmapService = new DetectCodeLocationUnmapService(blackDuckServicesFactory.getBlackDuckService(), blackDuckServicesFactory.createCodeLocationService(),
+                    unmapExecutorService);
+                codeLocationUnmapping = detectCodeLocationUnmapService.startUnmappingCodeLocations(projectVersionWrapper.getProjectVersionView());
             } else {
                 logger.debug("Will not unmap code locations: Project view was not present, or should not unmap code locations.");
             }
@@ -336,7 +372,18 @@ public class RunManager {
 
         BdioOptions bdioOptions = detectConfigurationFactory.createBdioOptions();
         BdioManager bdioManager = new BdioManager(detectInfo, new SimpleBdioFactory(), new Bdio2Factory(), new IntegrationEscapeUtil(), codeLocationNameManager, bdioCodeLocationCreator, directoryManager);
-        BdioResult bdioResult = bdioManager.createBdioFiles(bdioOptions, aggregateOptions, projectNameVersion, runResult.getDetectCodeLocations(), runOptions.shouldUseBdio2());
+        BdioResult bdioResult = null;
+        try {
+            try (ProfiledSpan span = startStep("BDIO generation")) {
+                bdioResult = bdioManager.createBdioFiles(bdioOptions, aggregateOptions, projectNameVersion, runResult.getDetectCodeLocations(), runOptions.shouldUseBdio2());
+            }
+        } finally {
+            if (null != codeLocationUnmapping) {
+                // Unmapping runs while the BDIO is generated but must finish before anything is uploaded to the project version.
+                // It is awaited even when generation fails so that no unmap request outlives the run.
+                awaitCodeLocationUnmapping(codeLocationUnmapping, unmapExecutorService, null != bdioResult);
+            }
+        }
         eventSystem.publishEvent(Event.DetectCodeLocationNamesCalculated, bdioResult.getCodeLocationNamesResult());
 
         CodeLocationAccumulator codeLocationAccumulator = new CodeLocationAccumulator();
@@ -345,7 +392,10 @@ public class RunManager {
             if (null != blackDuckServicesFactory) {
                 logger.debug("Uploading BDIO files.");
                 DetectBdioUploadService detectBdioUploadService = new DetectBdioUploadService();
-                CodeLocationCreationData<UploadBatchOutput> uploadBatchOutputCodeLocationCreationData = detectBdioUploadService.uploadBdioFiles(bdioResult, blackDuckServicesFactory);
+                CodeLocationCreationData<UploadBatchOutput> uploadBatchOutputCodeLocationCreationData;
+                try (ProfiledSpan span = startStep("BDIO upload")) {
+                    uploadBatchOutputCodeLocationCreationData = detectBdioUploadService.uploadBdioFiles(bdioResult, blackDuckServicesFactory);
+                }
                 codeLocationAccumulator.addWaitableCodeLocation(uploadBatchOutputCodeLocationCreationData);
             }
         } else {
@@ -359,7 +409,10 @@ public class RunManager {
             logger.info("Will include the signature scanner tool.");
             BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions = detectConfigurationFactory.createBlackDuckSignatureScannerOptions();
             BlackDuckSignatureScannerTool blackDuckSignatureScannerTool = new BlackDuckSignatureScannerTool(blackDuckSignatureScannerOptions, detectContext);
-            SignatureScannerToolResult signatureScannerToolResult = blackDuckSignatureScannerTool.runScanTool(blackDuckRunData, projectNameVersion, runResult.getDockerTar());
+            SignatureScannerToolResult signatureScannerToolResult;
+            try (ProfiledSpan span = startStep("Signature scan")) {
+                signatureScannerToolResult = blackDuckSignatureScannerTool.runScanTool(blackDuckRunData, projectNameVersion, projectVersionWrapper, runResult.getDockerTar());
+            }
             if (signatureScannerToolResult.getResult() == Result.SUCCESS && signatureScannerToolResult.getCreationData().isPresent()) {
                 codeLocationAccumulator.addWaitableCodeLocation(signatureScannerToolResult.getCreationData().get());
             } else if (signatureScannerToolResult.getResult() != Result.SUCCESS) {
@@ -378,7 +431,10 @@ public class RunManager {
                 BinaryScanOptions binaryScanOptions = detectConfigurationFactory.createBinaryScanOptions();
                 BlackDuckBinaryScannerTool blackDuckBinaryScanner = new BlackDuckBinaryScannerTool(eventSystem, codeLocationNameManager, directoryManager, new SimpleFileFinder(), binaryScanOptions, blackDuckServicesFactory);
                 if (blackDuckBinaryScanner.shouldRun()) {
-                    BinaryScanToolResult result = blackDuckBinaryScanner.performBinaryScanActions(projectNameVersion);
+                    BinaryScanToolResult result;
+                    try (ProfiledSpan span = startStep("Binary scan")) {
+                        result = blackDuckBinaryScanner.performBinaryScanActions(projectNameVersion);
+                    }
                     if (result.isSuccessful()) {
                         codeLocationAccumulator.addWaitableCodeLocation(result.getCodeLocationCreationData());
                     }
@@ -392,13 +448,16 @@ public class RunManager {
         logger.info(ReportConstants.RUN_SEPARATOR);
         BlackDuckImpactAnalysisTool blackDuckImpactAnalysisTool;
         if (null != blackDuckServicesFactory) {
-            blackDuckImpactAnalysisTool = BlackDuckImpactAnalysisTool.ONLINE(directoryManager, codeLocationNameManager, impactAnalysisOptions, blackDuckServicesFactory, eventSystem);
+            blackDuckImpactAnalysisTool = BlackDuckImpactAnalysisTool.ONLINE(directoryManager, codeLocationNameManager, impactAnalysisOptions, blackDuckServicesFactory, eventSystem, detectContext.getBean(ResourceGovernor.class));
         } else {
-            blackDuckImpactAnalysisTool = BlackDuckImpactAnalysisTool.OFFLINE(directoryManager, codeLocationNameManager, impactAnalysisOptions, eventSystem);
+            blackDuckImpactAnalysisTool = BlackDuckImpactAnalysisTool.OFFLINE(directoryManager, codeLocationNameManager, impactAnalysisOptions, eventSystem, detectContext.getBean(ResourceGovernor.class));
         }
         if (detectToolFilter.shouldInclude(DetectTool.IMPACT_ANALYSIS) && blackDuckImpactAnalysisTool.shouldRun()) {
             logger.info("Will include the Vulnerability Impact Analysis tool.");
-            ImpactAnalysisToolResult impactAnalysisToolResult = blackDuckImpactAnalysisTool.performImpactAnalysisActions(projectNameVersion, projectVersionWrapper);
+            ImpactAnalysisToolResult impactAnalysisToolResult;
+            try (ProfiledSpan span = startStep("Impact analysis")) {
+                impactAnalysisToolResult = blackDuckImpactAnalysisTool.performImpactAnalysisActions(projectNameVersion, projectVersionWrapper);
+            }
 
             /* TODO: There is currently no mechanism within Black Duck for checking the completion status of an Impact Analysis code location. Waiting should happen here when such a mechanism exists. See HUB-25142. JM - 08/2020 */
             codeLocationAccumulator.addNonWaitableCodeLocation(impactAnalysisToolResult.getCodeLocationNames());
@@ -425,8 +484,10 @@ public class RunManager {
         if (null != blackDuckServicesFactory) {
             logger.info("Will perform Black Duck post actions.");
             BlackDuckPostOptions blackDuckPostOptions = detectConfigurationFactory.createBlackDuckPostOptions();
-            BlackDuckPostActions blackDuckPostActions = new BlackDuckPostActions(blackDuckServicesFactory, eventSystem);
-            blackDuckPostActions.perform(blackDuckPostOptions, codeLocationResults.getCodeLocationWaitData(), projectVersionWrapper, projectNameVersion, detectConfigurationFactory.findTimeoutInSeconds());
+            BlackDuckPostActions blackDuckPostActions = new BlackDuckPostActions(blackDuckServicesFactory, eventSystem, detectContext.getBean(ResourceGovernor.class));
+            try (ProfiledSpan span = startStep("Black Duck post actions")) {
+                blackDuckPostActions.perform(blackDuckPostOptions, codeLocationResults.getCodeLocationWaitData(), projectVersionWrapper, projectNameVersion, detectConfigurationFactory.findTimeoutInSeconds());
+            }
 
             if ((!bdioResult.getUploadTargets().isEmpty() || detectToolFilter.shouldInclude(DetectTool.SIGNATURE_SCAN))) {
                 Optional<String> componentsLink = Optional.ofNullable(projectVersionWrapper)
@@ -445,6 +506,25 @@ public class RunManager {
         }
     }
 
+    private void awaitCodeLocationUnmapping(CodeLocationUnmapping codeLocationUnmapping, ExecutorService unmapExecutorService, boolean propagateFailure) throws DetectUserFriendlyException {
+        logger.debug("Waiting for code locations to be unmapped.");
+        try (ProfiledSpan span = startStep("Code location unmapping")) {
+            codeLocationUnmapping.waitForCompletion();
+        } catch (DetectUserFriendlyException e) {
+            if (propagateFailure) {
+                throw e;
+            }
+            // The run is already failing; keep the original failure rather than masking it with this one.
+            logger.error(e.getMessage());
+        } finally {
+            unmapExecutorService.shutdownNow();
+        }
+    }
+
+    private ProfiledSpan startStep(String name) {
+        return detectContext.getBean(RunProfiler.class).start(RunProfiler.CATEGORY_STEP, name);
+    }
+
     private Set<String> createCodeLocationNames(DetectableToolResult detectableToolResult, CodeLocationNameManager codeLocationNameManager, DirectoryManager directoryManager) {
         if (detectableToolResult.getDetectToolProjectInfo().isPresent()) {
             NameVersion projectNameVersion = detectableToolResult.getDetectToolProjectInfo().get().getSuggestedNameVersion();
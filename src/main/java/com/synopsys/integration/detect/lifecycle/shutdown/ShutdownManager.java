@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
@@ -38,17 +39,23 @@ import com.synopsys.integration.detect.lifecycle.run.data.BlackDuckRunData;
 import com.synopsys.integration.detect.lifecycle.run.data.ProductRunData;
 import com.synopsys.integration.detect.workflow.diagnostic.DiagnosticSystem;
 import com.synopsys.integration.detect.workflow.file.DirectoryManager;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
 
 public class ShutdownManager {
+    private static final long RESOURCE_SHUTDOWN_TIMEOUT_SECONDS = 30;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     public void shutdown(final Optional<ProductRunData> productRunData, final Optional<File> airgapZip, final Optional<PropertyConfiguration> detectConfigurationOptional, final Optional<DirectoryManager> directoryManagerOptional,
-        final Optional<DiagnosticSystem> diagnosticSystem) {
+        final Optional<DiagnosticSystem> diagnosticSystem, final Optional<ResourceGovernor> resourceGovernor) {
 
         if (productRunData.isPresent() && productRunData.get().shouldUseBlackDuckProduct()) {
             stopPhoneHome(productRunData.get());
         }
 
+        //Threads are stopped before diagnostics are zipped and the run is cleaned up so nothing is still writing into the run directory.
+        resourceGovernor.ifPresent(this::stopResourceGovernor);
+
         diagnosticSystem.ifPresent(DiagnosticSystem::finish);
 
         if (detectConfigurationOptional.isPresent() && directoryManagerOptional.isPresent()) {
@@ -70,6 +77,17 @@ public class ShutdownManager {
         }
     }
 
+    private void stopResourceGovernor(final ResourceGovernor resourceGovernor) {
+        try {
+            logger.debug("Stopping run threads.");
+            if (!resourceGovernor.shutdown(RESOURCE_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.debug("Some run threads did not finish in time and were interrupted.");
+            }
+        } catch (final Exception e) {
+            logger.debug(String.format("Error trying to stop the run threads: %s", e.getMessage()));
+        }
+    }
+
     private void cleanupRun(final Optional<ProductRunData> productRunData, final Optional<File> airgapZip, final DirectoryManager directoryManager, final PropertyConfiguration detectConfiguration) {
         try {
             if (detectConfiguration.getValue(DetectProperties.DETECT_CLEANUP.getProperty())) {
@@ -24,12 +24,17 @@ package com.synopsys.integration.detect.tool.detector;
 
 import java.util.function.Consumer;
 
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.synopsys.integration.detect.workflow.event.Event;
 import com.synopsys.integration.detect.workflow.event.EventSystem;
+import com.synopsys.integration.detect.workflow.profiling.ProfiledSpan;
+import com.synopsys.integration.detect.workflow.profiling.RunProfiler;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourcePermit;
 import com.synopsys.integration.detectable.detectable.executable.Executable;
 import com.synopsys.integration.detectable.detectable.executable.ExecutableOutput;
 import com.synopsys.integration.detectable.detectable.executable.ExecutableRunnerException;
@@ -37,28 +42,38 @@ import com.synopsys.integration.detectable.detectable.executable.impl.SimpleExec
 
 public class DetectExecutableRunner extends SimpleExecutableRunner {
     private final EventSystem eventSystem;
+    private final RunProfiler runProfiler;
+    private final ResourceGovernor resourceGovernor;
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final boolean shouldLogOutput;
 
-    public DetectExecutableRunner(final Consumer<String> outputConsumer, final Consumer<String> traceConsumer, EventSystem eventSystem, boolean shouldLogOutput) {
+    public DetectExecutableRunner(final Consumer<String> outputConsumer, final Consumer<String> traceConsumer, EventSystem eventSystem, RunProfiler runProfiler, ResourceGovernor resourceGovernor,
+        boolean shouldLogOutput) {
         super(outputConsumer, traceConsumer);
         this.eventSystem = eventSystem;
+        this.runProfiler = runProfiler;
+        this.resourceGovernor = resourceGovernor;
         this.shouldLogOutput = shouldLogOutput;
     }
 
-    public static DetectExecutableRunner newDebug(EventSystem eventSystem) {
+    public static DetectExecutableRunner newDebug(EventSystem eventSystem, RunProfiler runProfiler, ResourceGovernor resourceGovernor) {
         Logger logger = LoggerFactory.getLogger(SimpleExecutableRunner.class);
-        return new DetectExecutableRunner(logger::debug, logger::trace, eventSystem, true);
+        return new DetectExecutableRunner(logger::debug, logger::trace, eventSystem, runProfiler, resourceGovernor, true);
     }
 
-    public static DetectExecutableRunner newInfo(EventSystem eventSystem) {
+    public static DetectExecutableRunner newInfo(EventSystem eventSystem, RunProfiler runProfiler, ResourceGovernor resourceGovernor) {
         Logger logger = LoggerFactory.getLogger(SimpleExecutableRunner.class);
-        return new DetectExecutableRunner(logger::info, logger::trace, eventSystem, false);
+        return new DetectExecutableRunner(logger::info, logger::trace, eventSystem, runProfiler, resourceGovernor, false);
     }
 
     @Override
     public ExecutableOutput execute(final Executable executable) throws ExecutableRunnerException {
-        final ExecutableOutput output = super.execute(executable);
+        final ExecutableOutput output;
+        // The permit is taken before the span starts so the span measures the process and not the wait for a free slot.
+        try (final ResourcePermit permit = resourceGovernor.acquireProcessPermit();
+             final ProfiledSpan span = runProfiler.start(RunProfiler.CATEGORY_EXECUTABLE, spanName(executable))) {
+            output = super.execute(executable);
+        }
         eventSystem.publishEvent(Event.Executable, output);
         if (output.getReturnCode() != 0 && shouldLogOutput && !logger.isDebugEnabled() && !logger.isTraceEnabled()) {
             if (StringUtils.isNotBlank(output.getStandardOutput())) {
@@ -73,4 +88,11 @@ public class DetectExecutableRunner extends SimpleExecutableRunner {
         }
         return output;
     }
+
+    private String spanName(final Executable executable) {
+        if (executable.getCommand().isEmpty()) {
+            return "unknown";
+        }
+        return FilenameUtils.getName(executable.getCommand().get(0));
+    }
 }
@@ -27,20 +27,19 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.function.Predicate;
 
-import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.filefilter.WildcardFileFilter;
+import org.apache.commons.io.IOCase;
 
 public class DetectDetectorFileFilter implements Predicate<File> {
     private final Path sourcePath;
-    private final List<String> excludedDirectories;
-    private final List<String> excludedDirectoryPaths;
-    private final WildcardFileFilter fileFilter;
+    private final WildcardNameMatcher excludedDirectoryMatcher;
+    private final PathSuffixMatcher excludedDirectoryPathMatcher;
+    private final WildcardNameMatcher excludedDirectoryNamePatternMatcher;
 
     public DetectDetectorFileFilter(final Path sourcePath, final List<String> excludedDirectories, final List<String> excludedDirectoryPaths, final List<String> excludedDirectoryNamePatterns) {
         this.sourcePath = sourcePath;
-        this.excludedDirectories = excludedDirectories;
-        this.excludedDirectoryPaths = excludedDirectoryPaths;
-        fileFilter = new WildcardFileFilter(excludedDirectoryNamePatterns);
+        excludedDirectoryMatcher = new WildcardNameMatcher(excludedDirectories, IOCase.SYSTEM);
+        excludedDirectoryPathMatcher = new PathSuffixMatcher(excludedDirectoryPaths);
+        excludedDirectoryNamePatternMatcher = new WildcardNameMatcher(excludedDirectoryNamePatterns, IOCase.SENSITIVE);
     }
 
     @Override
@@ -49,20 +48,15 @@ public class DetectDetectorFileFilter implements Predicate<File> {
     }
 
     public boolean isExcluded(final File file) {
-        for (final String excludedDirectory : excludedDirectories) {
-            if (FilenameUtils.wildcardMatchOnSystem(file.getName(), excludedDirectory)) {
-                return true;
-            }
+        final String fileName = file.getName();
+        if (excludedDirectoryMatcher.matches(fileName)) {
+            return true;
         }
 
-        for (final String excludedDirectory : excludedDirectoryPaths) {
-            final Path excludedDirectoryPath = new File(excludedDirectory).toPath();
-            final Path relativeDirectoryPath = sourcePath.relativize(file.toPath());
-            if (relativeDirectoryPath.endsWith(excludedDirectoryPath)) {
-                return true;
-            }
+        if (!excludedDirectoryPathMatcher.isEmpty() && excludedDirectoryPathMatcher.matches(sourcePath.relativize(file.toPath()))) {
+            return true;
         }
 
-        return fileFilter.accept(file); //returns TRUE if it matches one of the file filters.
+        return excludedDirectoryNamePatternMatcher.matches(fileName); //returns TRUE if it matches one of the name patterns.
     }
 }
@@ -0,0 +1,75 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.detector.impl;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers whether a relative path ends with any of a set of paths, as Path.endsWith would, by walking a trie of the reversed name elements.
+ * Name elements are kept as Path objects so they compare with the file system's own case rules.
+ */
+public class PathSuffixMatcher {
+    private final Node root = new Node();
+
+    public PathSuffixMatcher(final List<String> paths) {
+        for (final String path : paths) {
+            final Path suffix = new File(path).toPath();
+            if (suffix.getRoot() != null) {
+                // A path with a root only ends another path that is equal to it, and a relativized path never has a root.
+                continue;
+            }
+            Node node = root;
+            for (int i = suffix.getNameCount() - 1; i >= 0; i--) {
+                node = node.children.computeIfAbsent(suffix.getName(i), key -> new Node());
+            }
+            node.terminal = true;
+        }
+    }
+
+    public boolean isEmpty() {
+        return root.children.isEmpty();
+    }
+
+    public boolean matches(final Path relativePath) {
+        Node node = root;
+        for (int i = relativePath.getNameCount() - 1; i >= 0; i--) {
+            node = node.children.get(relativePath.getName(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Node {
+        private final Map<Path, Node> children = new HashMap<>();
+        private boolean terminal = false;
+    }
+}
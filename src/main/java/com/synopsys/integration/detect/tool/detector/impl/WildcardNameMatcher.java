@@ -0,0 +1,174 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.detector.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.IOCase;
+
+/**
+ * Matches file names against wildcard patterns exactly as FilenameUtils.wildcardMatch does, but splits and case folds the patterns once.
+ * Patterns without wildcards are looked up in a hash set.
+ */
+public class WildcardNameMatcher {
+    private static final String ANY_SEQUENCE = "*";
+    private static final String ANY_CHARACTER = "?";
+
+    private final boolean caseSensitive;
+    private final Set<String> exactNames = new HashSet<>();
+    private final List<String[]> wildcards = new ArrayList<>();
+
+    public WildcardNameMatcher(final List<String> patterns, final IOCase caseSensitivity) {
+        this.caseSensitive = caseSensitivity.isCaseSensitive();
+        for (final String pattern : patterns) {
+            if (pattern == null) {
+                continue;
+            }
+            final String foldedPattern = fold(pattern);
+            if (pattern.contains(ANY_SEQUENCE) || pattern.contains(ANY_CHARACTER)) {
+                wildcards.add(splitOnTokens(foldedPattern));
+            } else {
+                exactNames.add(foldedPattern);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return exactNames.isEmpty() && wildcards.isEmpty();
+    }
+
+    public boolean matches(final String name) {
+        if (name == null || isEmpty()) {
+            return false;
+        }
+
+        final String foldedName = fold(name);
+        if (exactNames.contains(foldedName)) {
+            return true;
+        }
+        for (final String[] wildcard : wildcards) {
+            if (wildcardMatch(foldedName, wildcard)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The same walk as FilenameUtils.wildcardMatch, including a '?' after a '*' ending that '*', so both always agree.
+    private static boolean wildcardMatch(final String name, final String[] tokens) {
+        boolean anyChars = false;
+        int nameIndex = 0;
+        int tokenIndex = 0;
+        Deque<int[]> backtrack = null;
+        do {
+            if (backtrack != null && !backtrack.isEmpty()) {
+                final int[] state = backtrack.pop();
+                tokenIndex = state[0];
+                nameIndex = state[1];
+                anyChars = true;
+            }
+            while (tokenIndex < tokens.length) {
+                final String token = tokens[tokenIndex];
+                if (ANY_CHARACTER.equals(token)) {
+                    nameIndex++;
+                    if (nameIndex > name.length()) {
+                        break;
+                    }
+                    anyChars = false;
+                } else if (ANY_SEQUENCE.equals(token)) {
+                    anyChars = true;
+                    if (tokenIndex == tokens.length - 1) {
+                        nameIndex = name.length();
+                    }
+                } else {
+                    if (anyChars) {
+                        nameIndex = name.indexOf(token, nameIndex);
+                        if (nameIndex < 0) {
+                            break;
+                        }
+                        final int repeat = name.indexOf(token, nameIndex + 1);
+                        if (repeat >= 0) {
+                            if (backtrack == null) {
+                                backtrack = new ArrayDeque<>(tokens.length);
+                            }
+                            backtrack.push(new int[] { tokenIndex, repeat });
+                        }
+                    } else if (!name.startsWith(token, nameIndex)) {
+                        break;
+                    }
+                    nameIndex += token.length();
+                    anyChars = false;
+                }
+                tokenIndex++;
+            }
+            if (tokenIndex == tokens.length && nameIndex == name.length()) {
+                return true;
+            }
+        } while (backtrack != null && !backtrack.isEmpty());
+        return false;
+    }
+
+    private static String[] splitOnTokens(final String pattern) {
+        final List<String> tokens = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        char previous = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char character = pattern.charAt(i);
+            if (character == '?' || character == '*') {
+                if (literal.length() > 0) {
+                    tokens.add(literal.toString());
+                    literal.setLength(0);
+                }
+                if (character == '?') {
+                    tokens.add(ANY_CHARACTER);
+                } else if (previous != '*') {
+                    tokens.add(ANY_SEQUENCE);
+                }
+            } else {
+                literal.append(character);
+            }
+            previous = character;
+        }
+        if (literal.length() > 0) {
+            tokens.add(literal.toString());
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    // Folds each character the way String.regionMatches does when ignoring case, so folded strings match exactly when the originals would.
+    private String fold(final String value) {
+        if (caseSensitive) {
+            return value;
+        }
+        final char[] folded = new char[value.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+        return new String(folded);
+    }
+}
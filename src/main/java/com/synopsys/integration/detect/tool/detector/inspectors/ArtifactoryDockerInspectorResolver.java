@@ -70,7 +70,7 @@ public class ArtifactoryDockerInspectorResolver implements DockerInspectorResolv
     }
 
     @Override
-    public DockerInspectorInfo resolveDockerInspector() throws DetectableException {
+    public synchronized DockerInspectorInfo resolveDockerInspector() throws DetectableException {
         try {
             if (resolvedInfo == null) {
                 resolvedInfo = install();
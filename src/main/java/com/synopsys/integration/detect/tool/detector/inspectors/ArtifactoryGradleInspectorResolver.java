@@ -42,6 +42,7 @@ public class ArtifactoryGradleInspectorResolver implements GradleInspectorResolv
 
     private static final String GRADLE_DIR_NAME = "gradle";
     private static final String GENERATED_GRADLE_SCRIPT_NAME = "init-detect.gradle";
+    private static final String GENERATED_GRADLE_MODEL_SCRIPT_NAME = "init-detect-model.gradle";
 
     private final GradleInspectorInstaller gradleInspectorInstaller;
     private final Configuration configuration;
@@ -63,14 +64,17 @@ public class ArtifactoryGradleInspectorResolver implements GradleInspectorResolv
     }
 
     @Override
-    public File resolveGradleInspector() throws DetectableException {
+    public synchronized File resolveGradleInspector() throws DetectableException {
         if (!hasResolvedInspector) {
-            hasResolvedInspector = true;
             try {
                 final Optional<File> airGapPath = airGapInspectorPaths.getGradleInspectorAirGapFile();
                 final File generatedGradleScriptFile = directoryManager.getSharedFile(GRADLE_DIR_NAME, GENERATED_GRADLE_SCRIPT_NAME);
                 final GradleInspectorScriptCreator gradleInspectorScriptCreator = new GradleInspectorScriptCreator(configuration);
-                if (airGapPath.isPresent()) {
+                if (gradleInspectorScriptOptions.isModelExtractionEnabled()) {
+                    logger.debug("Using the gradle model script, the gradle inspector does not need to be resolved.");
+                    final File generatedGradleModelScriptFile = directoryManager.getSharedFile(GRADLE_DIR_NAME, GENERATED_GRADLE_MODEL_SCRIPT_NAME);
+                    generatedGradleScriptPath = gradleInspectorScriptCreator.createModelGradleInspector(generatedGradleModelScriptFile, gradleInspectorScriptOptions);
+                } else if (airGapPath.isPresent()) {
                     generatedGradleScriptPath = gradleInspectorScriptCreator.createOfflineGradleInspector(generatedGradleScriptFile, gradleInspectorScriptOptions, airGapPath.get().getCanonicalPath());
                 } else {
                     final String gradleInspectorVersion;
@@ -93,9 +97,10 @@ public class ArtifactoryGradleInspectorResolver implements GradleInspectorResolv
                 throw new DetectableException("Unable to initialize the gradle inspector.");
             } else {
                 logger.trace(String.format("Derived generated gradle script path: %s", generatedGradleScriptPath));
+                hasResolvedInspector = true;
             }
         } else {
-            logger.debug("Already attempted to resolve the gradle inspector script, will not attempt again.");
+            logger.debug("Already resolved the gradle inspector script, will reuse it.");
         }
         if (generatedGradleScriptPath == null) {
             throw new DetectableException("Unable to find or create the gradle inspector script.");
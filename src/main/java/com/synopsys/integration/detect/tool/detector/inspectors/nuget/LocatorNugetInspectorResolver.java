@@ -71,11 +71,11 @@ public class LocatorNugetInspectorResolver implements NugetInspectorResolver {
     }
 
     @Override
-    public NugetInspector resolveNugetInspector() throws DetectableException {
+    public synchronized NugetInspector resolveNugetInspector() throws DetectableException {
         try {
             if (!hasResolvedInspector) {
-                hasResolvedInspector = true;
                 resolvedNugetInspector = install();
+                hasResolvedInspector = true;
             }
 
             return resolvedNugetInspector;
@@ -26,7 +26,13 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
@@ -50,14 +56,18 @@ import com.synopsys.integration.detect.exception.DetectUserFriendlyException;
 import com.synopsys.integration.detect.exitcode.ExitCodeType;
 import com.synopsys.integration.detect.lifecycle.shutdown.ExitCodeRequest;
 import com.synopsys.integration.detect.tool.impactanalysis.service.ImpactAnalysis;
+import com.synopsys.integration.detect.tool.impactanalysis.service.ImpactAnalysisBatch;
 import com.synopsys.integration.detect.tool.impactanalysis.service.ImpactAnalysisBatchOutput;
 import com.synopsys.integration.detect.tool.impactanalysis.service.ImpactAnalysisOutput;
 import com.synopsys.integration.detect.tool.impactanalysis.service.ImpactAnalysisUploadService;
 import com.synopsys.integration.detect.tool.impactanalysis.service.ImpactAnalysisUploadView;
+import com.synopsys.integration.detect.workflow.blackduck.DetectCodeLocationUnmapService;
 import com.synopsys.integration.detect.workflow.codelocation.CodeLocationNameManager;
 import com.synopsys.integration.detect.workflow.event.Event;
 import com.synopsys.integration.detect.workflow.event.EventSystem;
 import com.synopsys.integration.detect.workflow.file.DirectoryManager;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
 import com.synopsys.integration.detect.workflow.status.DetectIssue;
 import com.synopsys.integration.detect.workflow.status.DetectIssueType;
 import com.synopsys.integration.detect.workflow.status.Status;
@@ -78,23 +88,30 @@ public class BlackDuckImpactAnalysisTool {
     private final EventSystem eventSystem;
     private final ImpactAnalysisUploadService impactAnalysisUploadService;
     private final BlackDuckService blackDuckService;
-    private final CodeLocationService codeLocationService; // TODO: Use this when upgrading to blackduck-common:49.2.0
+    private final CodeLocationService codeLocationService;
+    private final ExecutorService analysisExecutorService;
+    private final ResourceGovernor resourceGovernor;
     private final boolean online;
 
     public static BlackDuckImpactAnalysisTool ONLINE(DirectoryManager directoryManager, CodeLocationNameManager codeLocationNameManager, ImpactAnalysisOptions impactAnalysisOptions, BlackDuckServicesFactory blackDuckServicesFactory,
-        EventSystem eventSystem) {
-        ImpactAnalysisUploadService impactAnalysisService = ImpactAnalysisUploadService.create(blackDuckServicesFactory);
+        EventSystem eventSystem, ResourceGovernor resourceGovernor) {
+        ExecutorService uploadExecutorService = resourceGovernor.executorService(ResourcePoolType.IO, impactAnalysisOptions.getParallelism());
+        ImpactAnalysisUploadService impactAnalysisService = ImpactAnalysisUploadService.create(blackDuckServicesFactory, uploadExecutorService);
         BlackDuckService blackDuckService = blackDuckServicesFactory.getBlackDuckService();
         CodeLocationService codeLocationService = blackDuckServicesFactory.createCodeLocationService();
-        return new BlackDuckImpactAnalysisTool(directoryManager, codeLocationNameManager, impactAnalysisOptions, eventSystem, impactAnalysisService, blackDuckService, codeLocationService, true);
+        ExecutorService analysisExecutorService = resourceGovernor.executorService(ResourcePoolType.CPU, impactAnalysisOptions.getParallelism());
+        return new BlackDuckImpactAnalysisTool(directoryManager, codeLocationNameManager, impactAnalysisOptions, eventSystem, impactAnalysisService, blackDuckService, codeLocationService, analysisExecutorService, resourceGovernor, true);
     }
 
-    public static BlackDuckImpactAnalysisTool OFFLINE(DirectoryManager directoryManager, CodeLocationNameManager codeLocationNameManager, ImpactAnalysisOptions impactAnalysisOptions, EventSystem eventSystem) {
-        return new BlackDuckImpactAnalysisTool(directoryManager, codeLocationNameManager, impactAnalysisOptions, eventSystem, null, null, null, false);
+    public static BlackDuckImpactAnalysisTool OFFLINE(DirectoryManager directoryManager, CodeLocationNameManager codeLocationNameManager, ImpactAnalysisOptions impactAnalysisOptions, EventSystem eventSystem,
+        ResourceGovernor resourceGovernor) {
+        ExecutorService analysisExecutorService = resourceGovernor.executorService(ResourcePoolType.CPU, impactAnalysisOptions.getParallelism());
+        return new BlackDuckImpactAnalysisTool(directoryManager, codeLocationNameManager, impactAnalysisOptions, eventSystem, null, null, null, analysisExecutorService, resourceGovernor, false);
     }
 
     private BlackDuckImpactAnalysisTool(DirectoryManager directoryManager, CodeLocationNameManager codeLocationNameManager, ImpactAnalysisOptions impactAnalysisOptions, EventSystem eventSystem,
-        ImpactAnalysisUploadService impactAnalysisUploadService, BlackDuckService blackDuckService, CodeLocationService codeLocationService, boolean online) {
+        ImpactAnalysisUploadService impactAnalysisUploadService, BlackDuckService blackDuckService, CodeLocationService codeLocationService, ExecutorService analysisExecutorService, ResourceGovernor resourceGovernor,
+        boolean online) {
         this.directoryManager = directoryManager;
         this.codeLocationNameManager = codeLocationNameManager;
         this.impactAnalysisOptions = impactAnalysisOptions;
@@ -102,6 +119,8 @@ public class BlackDuckImpactAnalysisTool {
         this.impactAnalysisUploadService = impactAnalysisUploadService;
         this.blackDuckService = blackDuckService;
         this.codeLocationService = codeLocationService;
+        this.analysisExecutorService = analysisExecutorService;
+        this.resourceGovernor = resourceGovernor;
         this.online = online;
     }
 
@@ -120,33 +139,40 @@ public class BlackDuckImpactAnalysisTool {
         String projectVersionName = projectNameAndVersion.getVersion();
         String codeLocationPrefix = impactAnalysisOptions.getCodeLocationPrefix();
         String codeLocationSuffix = impactAnalysisOptions.getCodeLocationSuffix();
-        String codeLocationName = codeLocationNameManager.createImpactAnalysisCodeLocationName(sourceDirectory, projectName, projectVersionName, codeLocationPrefix, codeLocationSuffix);
 
         Path outputDirectory = directoryManager.getImpactAnalysisOutputDirectory().toPath();
         if (null != impactAnalysisOptions.getOutputDirectory()) {
             outputDirectory = impactAnalysisOptions.getOutputDirectory();
         }
 
-        Path impactAnalysisPath;
+        List<ImpactAnalysisPartition> partitions;
+        List<Path> impactAnalysisPaths;
         try {
-            impactAnalysisPath = generateImpactAnalysis(codeLocationName, outputDirectory);
+            partitions = createPartitions(sourceDirectory, projectName, projectVersionName, codeLocationPrefix, codeLocationSuffix);
+            impactAnalysisPaths = generateImpactAnalyses(partitions, outputDirectory);
             cleanupTempFiles();
         } catch (IOException e) {
             return failImpactAnalysis(e.getMessage());
         }
 
-        if (impactAnalysisPath == null || !impactAnalysisPath.toFile().isFile() || !impactAnalysisPath.toFile().canRead()) {
-            return failImpactAnalysis("Impact analysis file did not exist, is not a file or can't be read.");
+        for (Path impactAnalysisPath : impactAnalysisPaths) {
+            if (impactAnalysisPath == null || !impactAnalysisPath.toFile().isFile() || !impactAnalysisPath.toFile().canRead()) {
+                return failImpactAnalysis("Impact analysis file did not exist, is not a file or can't be read.");
+            }
         }
 
         if (!online || projectVersionWrapper == null) {
             logger.debug("Not online. Skipping Impact Analysis report upload.");
-            return ImpactAnalysisToolResult.SUCCESS(impactAnalysisPath);
+            return ImpactAnalysisToolResult.SUCCESS(impactAnalysisPaths);
         }
 
         try {
-            CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData = uploadImpactAnalysis(impactAnalysisPath, projectNameAndVersion, codeLocationName);
-            ImpactAnalysisToolResult impactAnalysisToolResult = mapCodeLocations(impactAnalysisPath, codeLocationCreationData, projectVersionWrapper);
+            CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData = uploadImpactAnalyses(partitions, impactAnalysisPaths, projectNameAndVersion);
+            ImpactAnalysisToolResult impactAnalysisToolResult = mapCodeLocations(impactAnalysisPaths, codeLocationCreationData, projectVersionWrapper);
+            if (impactAnalysisToolResult.isSuccessful()) {
+                Predicate<String> staleCodeLocationFilter = createStaleCodeLocationFilter(sourceDirectory, partitions, projectName, projectVersionName, codeLocationPrefix, codeLocationSuffix);
+                unmapStaleCodeLocations(projectVersionWrapper, staleCodeLocationFilter);
+            }
             eventSystem.publishEvent(Event.StatusSummary, new Status(STATUS_KEY, StatusType.SUCCESS));
             return impactAnalysisToolResult;
         } catch (IntegrationException exception) {
@@ -171,17 +197,40 @@ public class BlackDuckImpactAnalysisTool {
         }
     }
 
-    public Path generateImpactAnalysis(String impactAnalysisCodeLocationName, Path outputDirectory) throws IOException {
-        MethodUseAnalyzer analyzer = new MethodUseAnalyzer();
-        Path sourceDirectory = directoryManager.getSourceDirectory().toPath();
-        Path outputReportFile = analyzer.analyze(sourceDirectory, outputDirectory, impactAnalysisCodeLocationName);
-        logger.info(String.format("Vulnerability Impact Analysis generated report at %s", outputReportFile));
-        return outputReportFile;
+    private List<ImpactAnalysisPartition> createPartitions(File sourceDirectory, String projectName, String projectVersionName, @Nullable String codeLocationPrefix, @Nullable String codeLocationSuffix)
+        throws IOException {
+        List<Path> classRoots = Collections.emptyList();
+        if (impactAnalysisOptions.isPartitioned()) {
+            classRoots = new ImpactAnalysisPartitioner().findClassRoots(sourceDirectory.toPath());
+            logger.info(String.format("Vulnerability Impact Analysis found %d class roots to analyze.", classRoots.size()));
+        }
+
+        if (classRoots.isEmpty()) {
+            String codeLocationName = codeLocationNameManager.createImpactAnalysisCodeLocationName(sourceDirectory, projectName, projectVersionName, codeLocationPrefix, codeLocationSuffix);
+            return Collections.singletonList(new ImpactAnalysisPartition(sourceDirectory.toPath(), codeLocationName));
+        }
+
+        List<ImpactAnalysisPartition> partitions = new ArrayList<>();
+        for (Path classRoot : classRoots) {
+            String codeLocationName = codeLocationNameManager.createImpactAnalysisCodeLocationName(sourceDirectory, classRoot.toFile(), projectName, projectVersionName, codeLocationPrefix, codeLocationSuffix);
+            partitions.add(new ImpactAnalysisPartition(classRoot, codeLocationName));
+        }
+        return partitions;
+    }
+
+    // The analyzer is not known to be thread safe, so every partition gets its own.
+    public List<Path> generateImpactAnalyses(List<ImpactAnalysisPartition> partitions, Path outputDirectory) throws IOException {
+        ImpactAnalysisPartitionRunner partitionRunner = new ImpactAnalysisPartitionRunner((classRoot, partitionOutputDirectory, codeLocationName) -> new MethodUseAnalyzer().analyze(classRoot, partitionOutputDirectory, codeLocationName),
+            analysisExecutorService);
+        return partitionRunner.analyze(partitions, outputDirectory);
     }
 
-    public CodeLocationCreationData<ImpactAnalysisBatchOutput> uploadImpactAnalysis(Path impactAnalysisPath, NameVersion projectNameVersion, String codeLocationName) throws IntegrationException {
-        ImpactAnalysis impactAnalysis = new ImpactAnalysis(impactAnalysisPath, projectNameVersion.getName(), projectNameVersion.getVersion(), codeLocationName);
-        CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData = impactAnalysisUploadService.uploadImpactAnalysis(impactAnalysis);
+    public CodeLocationCreationData<ImpactAnalysisBatchOutput> uploadImpactAnalyses(List<ImpactAnalysisPartition> partitions, List<Path> impactAnalysisPaths, NameVersion projectNameVersion) throws IntegrationException {
+        ImpactAnalysisBatch impactAnalysisBatch = new ImpactAnalysisBatch();
+        for (int i = 0; i < partitions.size(); i++) {
+            impactAnalysisBatch.addImpactAnalysis(new ImpactAnalysis(impactAnalysisPaths.get(i), projectNameVersion.getName(), projectNameVersion.getVersion(), partitions.get(i).getCodeLocationName()));
+        }
+        CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData = impactAnalysisUploadService.uploadImpactAnalysis(impactAnalysisBatch);
         ImpactAnalysisBatchOutput impactAnalysisBatchOutput = codeLocationCreationData.getOutput();
         impactAnalysisBatchOutput.throwExceptionForError(logger);
         return codeLocationCreationData;
@@ -189,7 +238,7 @@ public class BlackDuckImpactAnalysisTool {
     }
 
     // TODO: Create a code location mapping service generic enough for all tools.
-    private ImpactAnalysisToolResult mapCodeLocations(Path impactAnalysisPath, CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData, ProjectVersionWrapper projectVersionWrapper) throws IntegrationException {
+    private ImpactAnalysisToolResult mapCodeLocations(List<Path> impactAnalysisPaths, CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData, ProjectVersionWrapper projectVersionWrapper) throws IntegrationException {
         for (ImpactAnalysisOutput output : codeLocationCreationData.getOutput().getOutputs()) {
             ImpactAnalysisUploadView impactAnalysisUploadView = output.getImpactAnalysisUploadView();
             ProjectView projectView = projectVersionWrapper.getProjectView();
@@ -206,7 +255,7 @@ public class BlackDuckImpactAnalysisTool {
             }
         }
 
-        return ImpactAnalysisToolResult.SUCCESS(codeLocationCreationData, impactAnalysisPath);
+        return ImpactAnalysisToolResult.SUCCESS(codeLocationCreationData, impactAnalysisPaths);
     }
 
     // TODO: Use the method provided in blackduck-common:49.2.0
@@ -225,6 +274,29 @@ public class BlackDuckImpactAnalysisTool {
         blackDuckService.put(codeLocationView);
     }
 
+    /**
+     * Matches the code locations that an earlier run created for the source directory or for a class root in it, but that this run did not create
+     * because the class root is gone or partitioning was switched on or off. Left mapped, they would keep reporting the methods their classes used.
+     */
+    private Predicate<String> createStaleCodeLocationFilter(File sourceDirectory, List<ImpactAnalysisPartition> partitions, String projectName, String projectVersionName,
+        @Nullable String codeLocationPrefix, @Nullable String codeLocationSuffix) {
+        Set<String> codeLocationNames = partitions.stream()
+                                            .map(ImpactAnalysisPartition::getCodeLocationName)
+                                            .collect(Collectors.toSet());
+        Predicate<String> impactAnalysisCodeLocationFilter = codeLocationNameManager.createImpactAnalysisCodeLocationNameFilter(sourceDirectory, projectName, projectVersionName, codeLocationPrefix, codeLocationSuffix);
+        return codeLocationName -> !codeLocationNames.contains(codeLocationName) && impactAnalysisCodeLocationFilter.test(codeLocationName);
+    }
+
+    private void unmapStaleCodeLocations(ProjectVersionWrapper projectVersionWrapper, Predicate<String> staleCodeLocationFilter) {
+        ExecutorService unmapExecutorService = resourceGovernor.executorService(ResourcePoolType.IO, impactAnalysisOptions.getParallelism());
+        try {
+            DetectCodeLocationUnmapService detectCodeLocationUnmapService = new DetectCodeLocationUnmapService(blackDuckService, codeLocationService, unmapExecutorService);
+            detectCodeLocationUnmapService.unmapMatching(projectVersionWrapper.getProjectVersionView(), staleCodeLocationFilter, "Impact Analysis code locations of class roots that this run no longer analyzes");
+        } finally {
+            unmapExecutorService.shutdownNow();
+        }
+    }
+
     private ImpactAnalysisToolResult failImpactAnalysis(String issueMessage) {
         logger.warn(issueMessage);
         eventSystem.publishEvent(Event.StatusSummary, new Status(STATUS_KEY, StatusType.FAILURE));
@@ -34,12 +34,20 @@ public class ImpactAnalysisOptions {
     private final String codeLocationSuffix;
     @Nullable
     private final Path outputDirectory;
+    private final boolean partitioned;
+    private final int parallelism;
 
     public ImpactAnalysisOptions(Boolean enabled, @Nullable String codeLocationPrefix, @Nullable String codeLocationSuffix, @Nullable Path outputDirectory) {
+        this(enabled, codeLocationPrefix, codeLocationSuffix, outputDirectory, false, 1);
+    }
+
+    public ImpactAnalysisOptions(Boolean enabled, @Nullable String codeLocationPrefix, @Nullable String codeLocationSuffix, @Nullable Path outputDirectory, boolean partitioned, int parallelism) {
         this.enabled = enabled;
         this.codeLocationPrefix = codeLocationPrefix;
         this.codeLocationSuffix = codeLocationSuffix;
         this.outputDirectory = outputDirectory;
+        this.partitioned = partitioned;
+        this.parallelism = parallelism;
     }
 
     public Boolean isEnabled() {
@@ -60,4 +68,12 @@ public class ImpactAnalysisOptions {
     public Path getOutputDirectory() {
         return outputDirectory;
     }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
 }
@@ -1,5 +1,5 @@
 /**
- * detectable
+ * synopsys-detect
  *
  * Copyright (c) 2020 Synopsys, Inc.
  *
@@ -20,23 +20,24 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package com.synopsys.integration.detectable.detectables.cocoapods.model;
+package com.synopsys.integration.detect.tool.impactanalysis;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Path;
 
-import com.fasterxml.jackson.annotation.JsonAnySetter;
+public class ImpactAnalysisPartition {
+    private final Path classRoot;
+    private final String codeLocationName;
 
-public class ExternalSources {
-    private final List<PodSource> sources = new ArrayList<>();
+    public ImpactAnalysisPartition(Path classRoot, String codeLocationName) {
+        this.classRoot = classRoot;
+        this.codeLocationName = codeLocationName;
+    }
 
-    @JsonAnySetter
-    public void setDynamicProperty(final String name, final PodSource podSource) {
-        podSource.setName(name);
-        sources.add(podSource);
+    public Path getClassRoot() {
+        return classRoot;
     }
 
-    public List<PodSource> getSources() {
-        return sources;
+    public String getCodeLocationName() {
+        return codeLocationName;
     }
 }
@@ -0,0 +1,98 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.impactanalysis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Analyzes each partition on the given executor. Partitions share nothing, so they may run in any order, but the reports are always
+ * returned in partition order so the upload batch and the resulting code locations do not depend on thread timing.
+ */
+public class ImpactAnalysisPartitionRunner {
+    @FunctionalInterface
+    public interface PartitionAnalyzer {
+        Path analyze(Path classRoot, Path outputDirectory, String codeLocationName) throws IOException;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PartitionAnalyzer partitionAnalyzer;
+    private final ExecutorService executorService;
+
+    public ImpactAnalysisPartitionRunner(PartitionAnalyzer partitionAnalyzer, ExecutorService executorService) {
+        this.partitionAnalyzer = partitionAnalyzer;
+        this.executorService = executorService;
+    }
+
+    public List<Path> analyze(List<ImpactAnalysisPartition> partitions, Path outputDirectory) throws IOException {
+        List<Future<Path>> submitted = new ArrayList<>();
+        for (int i = 0; i < partitions.size(); i++) {
+            ImpactAnalysisPartition partition = partitions.get(i);
+            // Each partition writes into its own directory, the analyzer does not promise unique report names.
+            Path partitionOutputDirectory = partitions.size() == 1 ? outputDirectory : outputDirectory.resolve(String.format("partition-%d", i + 1));
+            submitted.add(executorService.submit(() -> analyzePartition(partition, partitionOutputDirectory)));
+        }
+
+        List<Path> reports = new ArrayList<>();
+        try {
+            for (Future<Path> future : submitted) {
+                reports.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            cancel(submitted);
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(String.format("Vulnerability Impact Analysis failed: %s", e.getCause().getMessage()), e.getCause());
+        } catch (InterruptedException e) {
+            cancel(submitted);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for Vulnerability Impact Analysis to finish.", e);
+        }
+        return reports;
+    }
+
+    private Path analyzePartition(ImpactAnalysisPartition partition, Path outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory);
+        logger.debug(String.format("Running Vulnerability Impact Analysis on %s", partition.getClassRoot()));
+        Path outputReportFile = partitionAnalyzer.analyze(partition.getClassRoot(), outputDirectory, partition.getCodeLocationName());
+        logger.info(String.format("Vulnerability Impact Analysis generated report at %s", outputReportFile));
+        return outputReportFile;
+    }
+
+    private void cancel(List<Future<Path>> submitted) {
+        for (Future<Path> future : submitted) {
+            future.cancel(true);
+        }
+    }
+}
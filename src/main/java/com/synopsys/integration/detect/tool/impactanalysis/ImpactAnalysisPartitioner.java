@@ -0,0 +1,176 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.impactanalysis;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits a source directory into independent class roots, such as the build/classes/java/main or target/classes directory of each
+ * module, so each root can be analyzed on its own. A root is found by reading the name of one class file per directory and removing
+ * its package from the directory path. Roots nested inside another root are folded into the outer one so no class is analyzed twice.
+ */
+public class ImpactAnalysisPartitioner {
+    private static final String CLASS_EXTENSION = ".class";
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public List<Path> findClassRoots(Path sourceDirectory) throws IOException {
+        Set<Path> classRoots = new TreeSet<>();
+        Set<Path> visitedDirectories = new HashSet<>();
+        Files.walkFileTree(sourceDirectory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                Path directory = file.getParent();
+                if (attrs.isRegularFile() && file.getFileName().toString().endsWith(CLASS_EXTENSION) && visitedDirectories.add(directory)) {
+                    classRoots.add(findClassRoot(sourceDirectory, file));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                logger.debug(String.format("Impact analysis partitioning could not visit %s: %s", file, exc.getMessage()));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        List<Path> outermostRoots = new ArrayList<>();
+        for (Path classRoot : classRoots) {
+            if (!hasAncestorIn(classRoot, classRoots)) {
+                outermostRoots.add(classRoot);
+            }
+        }
+        return outermostRoots;
+    }
+
+    private boolean hasAncestorIn(Path path, Set<Path> candidates) {
+        for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+            if (candidates.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Falls back to the directory of the class file when its package does not match its location, which keeps the file in some partition.
+    private Path findClassRoot(Path sourceDirectory, Path classFile) {
+        Path directory = classFile.getParent();
+        Optional<String> internalName = readInternalName(classFile);
+        if (!internalName.isPresent()) {
+            return directory;
+        }
+
+        Path root = directory;
+        String[] packageSegments = internalName.get().split("/");
+        for (int i = packageSegments.length - 2; i >= 0; i--) {
+            if (root == null || root.equals(sourceDirectory) || root.getFileName() == null || !root.getFileName().toString().equals(packageSegments[i])) {
+                return directory;
+            }
+            root = root.getParent();
+        }
+        return root;
+    }
+
+    /**
+     * Reads the this_class entry of a class file, for example com/example/Foo, by skipping through the constant pool.
+     */
+    Optional<String> readInternalName(Path classFile) {
+        try (InputStream inputStream = Files.newInputStream(classFile);
+             DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream))) {
+            if (input.readInt() != CLASS_MAGIC) {
+                return Optional.empty();
+            }
+            input.readUnsignedShort(); // minor_version
+            input.readUnsignedShort(); // major_version
+
+            int constantPoolCount = input.readUnsignedShort();
+            String[] utf8Entries = new String[constantPoolCount];
+            int[] classNameIndexes = new int[constantPoolCount];
+            for (int index = 1; index < constantPoolCount; index++) {
+                int tag = input.readUnsignedByte();
+                switch (tag) {
+                    case 1: // Utf8
+                        utf8Entries[index] = input.readUTF();
+                        break;
+                    case 7: // Class
+                        classNameIndexes[index] = input.readUnsignedShort();
+                        break;
+                    case 8: // String
+                    case 16: // MethodType
+                    case 19: // Module
+                    case 20: // Package
+                        input.skipBytes(2);
+                        break;
+                    case 15: // MethodHandle
+                        input.skipBytes(3);
+                        break;
+                    case 3: // Integer
+                    case 4: // Float
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 12: // NameAndType
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        input.skipBytes(4);
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        input.skipBytes(8);
+                        index++;
+                        break;
+                    default:
+                        return Optional.empty();
+                }
+            }
+
+            input.readUnsignedShort(); // access_flags
+            int thisClass = input.readUnsignedShort();
+            if (thisClass <= 0 || thisClass >= constantPoolCount || classNameIndexes[thisClass] <= 0 || classNameIndexes[thisClass] >= constantPoolCount) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(utf8Entries[classNameIndexes[thisClass]]);
+        } catch (IOException e) {
+            logger.debug(String.format("Could not read the class name of %s: %s", classFile, e.getMessage()));
+            return Optional.empty();
+        }
+    }
+}
@@ -24,6 +24,7 @@ package com.synopsys.integration.detect.tool.impactanalysis;
 
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.jetbrains.annotations.Nullable;
@@ -35,31 +36,30 @@ import com.synopsys.integration.detect.tool.impactanalysis.service.ImpactAnalysi
 public class ImpactAnalysisToolResult {
     @Nullable
     private final CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData;
-    @Nullable
-    private final Path impactAnalysisPath;
+    private final List<Path> impactAnalysisPaths;
 
-    public static ImpactAnalysisToolResult SUCCESS(CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData, Path impactAnalysisPath) {
-        return new ImpactAnalysisToolResult(codeLocationCreationData, impactAnalysisPath);
+    public static ImpactAnalysisToolResult SUCCESS(CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData, List<Path> impactAnalysisPaths) {
+        return new ImpactAnalysisToolResult(codeLocationCreationData, impactAnalysisPaths);
     }
 
-    public static ImpactAnalysisToolResult SUCCESS(Path impactAnalysisPath) {
-        return new ImpactAnalysisToolResult(null, impactAnalysisPath);
+    public static ImpactAnalysisToolResult SUCCESS(List<Path> impactAnalysisPaths) {
+        return new ImpactAnalysisToolResult(null, impactAnalysisPaths);
     }
 
     public static ImpactAnalysisToolResult FAILURE() {
-        return new ImpactAnalysisToolResult(null, null);
+        return new ImpactAnalysisToolResult(null, Collections.emptyList());
     }
 
-    private ImpactAnalysisToolResult(@Nullable CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData, @Nullable Path impactAnalysisPath) {
+    private ImpactAnalysisToolResult(@Nullable CodeLocationCreationData<ImpactAnalysisBatchOutput> codeLocationCreationData, List<Path> impactAnalysisPaths) {
         this.codeLocationCreationData = codeLocationCreationData;
-        this.impactAnalysisPath = impactAnalysisPath;
+        this.impactAnalysisPaths = impactAnalysisPaths;
     }
 
     public boolean isSuccessful() {
         if (null != codeLocationCreationData) {
             return !codeLocationCreationData.getOutput().getSuccessfulCodeLocationNames().isEmpty();
         } else {
-            return null != impactAnalysisPath;
+            return !impactAnalysisPaths.isEmpty();
         }
     }
 
@@ -82,8 +82,7 @@ public class ImpactAnalysisToolResult {
         return codeLocationCreationData;
     }
 
-    @Nullable
-    public Path getImpactAnalysisPath() {
-        return impactAnalysisPath;
+    public List<Path> getImpactAnalysisPaths() {
+        return impactAnalysisPaths;
     }
 }
@@ -23,6 +23,7 @@
 package com.synopsys.integration.detect.tool.impactanalysis.service;
 
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import com.synopsys.integration.blackduck.api.core.BlackDuckPath;
 import com.synopsys.integration.blackduck.codelocation.CodeLocationCreationData;
@@ -31,7 +32,6 @@ import com.synopsys.integration.blackduck.service.BlackDuckServicesFactory;
 import com.synopsys.integration.blackduck.service.model.NotificationTaskRange;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.util.NameVersion;
-import com.synopsys.integration.util.NoThreadExecutorService;
 
 public class ImpactAnalysisUploadService {
     public static final BlackDuckPath IMPACT_ANALYSIS_PATH = new BlackDuckPath("/api/scans/vulnerability-impact");
@@ -40,8 +40,8 @@ public class ImpactAnalysisUploadService {
     private final CodeLocationCreationService codeLocationCreationService;
 
     // TODO: Move to BlackDuckServicesFactory in blackduck-common
-    public static ImpactAnalysisUploadService create(BlackDuckServicesFactory blackDuckServicesFactory) {
-        ImpactAnalysisBatchRunner impactAnalysisBatchRunner = new ImpactAnalysisBatchRunner(blackDuckServicesFactory.getLogger(), blackDuckServicesFactory.getBlackDuckService(), new NoThreadExecutorService(),
+    public static ImpactAnalysisUploadService create(BlackDuckServicesFactory blackDuckServicesFactory, ExecutorService executorService) {
+        ImpactAnalysisBatchRunner impactAnalysisBatchRunner = new ImpactAnalysisBatchRunner(blackDuckServicesFactory.getLogger(), blackDuckServicesFactory.getBlackDuckService(), executorService,
             blackDuckServicesFactory.getGson());
         return new ImpactAnalysisUploadService(impactAnalysisBatchRunner, blackDuckServicesFactory.createCodeLocationCreationService());
     }
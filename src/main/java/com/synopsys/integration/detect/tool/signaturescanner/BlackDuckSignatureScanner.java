@@ -27,10 +27,19 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,15 +62,16 @@ import com.synopsys.integration.detect.workflow.status.DetectIssue;
 import com.synopsys.integration.detect.workflow.status.DetectIssueType;
 import com.synopsys.integration.detect.workflow.status.SignatureScanStatus;
 import com.synopsys.integration.detect.workflow.status.StatusType;
-import com.synopsys.integration.detectable.detectable.file.FileFinder;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.util.NameVersion;
 
 public class BlackDuckSignatureScanner {
+    private static final Pattern SHARD_NUMBER_PATTERN = Pattern.compile("\\d{1,9}");
+
     private final Logger logger = LoggerFactory.getLogger(BlackDuckSignatureScanner.class);
 
     private final DirectoryManager directoryManager;
-    private final FileFinder fileFinder;
+    private final ExclusionPatternCreator exclusionPatternCreator;
     private final CodeLocationNameManager codeLocationNameManager;
     private final BlackDuckSignatureScannerOptions signatureScannerOptions;
     private final EventSystem eventSystem;
@@ -70,10 +80,10 @@ public class BlackDuckSignatureScanner {
     //When OFFLINE, this should be NULL. No other changes required for offline (in this class).
     private final BlackDuckServerConfig blackDuckServerConfig;
 
-    public BlackDuckSignatureScanner(DirectoryManager directoryManager, FileFinder fileFinder, CodeLocationNameManager codeLocationNameManager,
+    public BlackDuckSignatureScanner(DirectoryManager directoryManager, ExclusionPatternCreator exclusionPatternCreator, CodeLocationNameManager codeLocationNameManager,
         BlackDuckSignatureScannerOptions signatureScannerOptions, EventSystem eventSystem, ScanBatchRunner scanJobManager, BlackDuckServerConfig blackDuckServerConfig) {
         this.directoryManager = directoryManager;
-        this.fileFinder = fileFinder;
+        this.exclusionPatternCreator = exclusionPatternCreator;
         this.codeLocationNameManager = codeLocationNameManager;
         this.signatureScannerOptions = signatureScannerOptions;
         this.eventSystem = eventSystem;
@@ -82,8 +92,18 @@ public class BlackDuckSignatureScanner {
     }
 
     public ScanBatchOutput performScanActions(NameVersion projectNameVersion, File installDirectory, File dockerTarFile) throws IntegrationException, IOException, DetectUserFriendlyException {
+        return performScanActions(projectNameVersion, installDirectory, determineScanPaths(projectNameVersion, dockerTarFile), dockerTarFile);
+    }
+
+    public List<SignatureScanPath> determineScanPaths(NameVersion projectNameVersion, File dockerTarFile) throws IOException {
         List<SignatureScanPath> signatureScanPaths = determinePathsAndExclusions(projectNameVersion, signatureScannerOptions.getMaxDepth(), dockerTarFile);
+        if (signatureScannerOptions.isShardingEnabled()) {
+            signatureScanPaths = shardScanPaths(signatureScanPaths);
+        }
+        return signatureScanPaths;
+    }
 
+    public ScanBatchOutput performScanActions(NameVersion projectNameVersion, File installDirectory, List<SignatureScanPath> signatureScanPaths, File dockerTarFile) throws IntegrationException, IOException, DetectUserFriendlyException {
         ScanBatchBuilder scanJobBuilder = createDefaultScanBatchBuilder(projectNameVersion, installDirectory, signatureScanPaths, dockerTarFile);
         scanJobBuilder.fromBlackDuckServerConfig(blackDuckServerConfig);//when offline, we must still call this with 'null' as a workaround for library issues, so offline scanner must be created with this set to null.
         ScanBatch scanJob;
@@ -106,12 +126,23 @@ public class BlackDuckSignatureScanner {
 
     //TODO: Possibly promote this to the Tool. Ideally it would return some object describing these results and the Tool translates that into detect nonsense -jp.
     private void reportResults(List<SignatureScanPath> signatureScanPaths, List<ScanCommandOutput> scanCommandOutputList) {
+        // Shards of one target share its path, so they are matched on the code location name as well.
+        Map<String, ScanCommandOutput> scanCommandOutputsByTarget = new HashMap<>();
+        Map<Pair<String, String>, ScanCommandOutput> scanCommandOutputsByCodeLocation = new HashMap<>();
+        for (ScanCommandOutput scanCommandOutput : scanCommandOutputList) {
+            scanCommandOutputsByTarget.putIfAbsent(scanCommandOutput.getScanTarget(), scanCommandOutput);
+            scanCommandOutputsByCodeLocation.putIfAbsent(Pair.of(scanCommandOutput.getScanTarget(), scanCommandOutput.getCodeLocationName()), scanCommandOutput);
+        }
+
         List<SignatureScannerReport> signatureScannerReports = new ArrayList<>();
         for (SignatureScanPath signatureScanPath : signatureScanPaths) {
-            Optional<ScanCommandOutput> scanCommandOutput = scanCommandOutputList.stream()
-                                                                .filter(output -> output.getScanTarget().equals(signatureScanPath.getTargetCanonicalPath()))
-                                                                .findFirst();
-            SignatureScannerReport signatureScannerReport = SignatureScannerReport.create(signatureScanPath, scanCommandOutput.orElse(null));
+            ScanCommandOutput scanCommandOutput;
+            if (signatureScanPath.getShard().isPresent()) {
+                scanCommandOutput = scanCommandOutputsByCodeLocation.get(Pair.of(signatureScanPath.getTargetCanonicalPath(), signatureScanPath.getCodeLocationName().orElse(null)));
+            } else {
+                scanCommandOutput = scanCommandOutputsByTarget.get(signatureScanPath.getTargetCanonicalPath());
+            }
+            SignatureScannerReport signatureScannerReport = SignatureScannerReport.create(signatureScanPath, scanCommandOutput);
             signatureScannerReports.add(signatureScannerReport);
         }
 
@@ -128,11 +159,11 @@ public class BlackDuckSignatureScanner {
 
     private void publishResults(SignatureScannerReport signatureScannerReport) {
         if (signatureScannerReport.isSuccessful()) {
-            eventSystem.publishEvent(Event.StatusSummary, new SignatureScanStatus(signatureScannerReport.getSignatureScanPath().getTargetCanonicalPath(), StatusType.SUCCESS));
+            eventSystem.publishEvent(Event.StatusSummary, new SignatureScanStatus(signatureScannerReport.getSignatureScanPath().getDescription(), StatusType.SUCCESS));
             return;
         }
 
-        String scanTargetPath = signatureScannerReport.getSignatureScanPath().getTargetCanonicalPath();
+        String scanTargetPath = signatureScannerReport.getSignatureScanPath().getDescription();
         if (!signatureScannerReport.hasOutput()) {
             String errorMessage = String.format("Scanning target %s was never scanned by the BlackDuck CLI.", scanTargetPath);
             logger.info(errorMessage);
@@ -147,7 +178,7 @@ public class BlackDuckSignatureScanner {
             eventSystem.publishEvent(Event.Issue, new DetectIssue(DetectIssueType.SIGNATURE_SCANNER, Collections.singletonList(errorMessage)));
         }
 
-        eventSystem.publishEvent(Event.StatusSummary, new SignatureScanStatus(signatureScannerReport.getSignatureScanPath().getTargetCanonicalPath(), StatusType.FAILURE));
+        eventSystem.publishEvent(Event.StatusSummary, new SignatureScanStatus(signatureScannerReport.getSignatureScanPath().getDescription(), StatusType.FAILURE));
     }
 
     private List<SignatureScanPath> determinePathsAndExclusions(NameVersion projectNameVersion, Integer maxDepth, File dockerTarFile) throws IOException {
@@ -160,12 +191,10 @@ public class BlackDuckSignatureScanner {
         if (null != projectNameVersion.getName() && null != projectNameVersion.getVersion() && userProvidedScanTargets) {
             for (Path path : providedSignatureScanPaths) {
                 logger.info(String.format("Registering explicit scan path %s", path));
-                SignatureScanPath scanPath = createScanPath(path, maxDepth, signatureScannerExclusionNamePatterns, providedExclusionPatterns);
-                signatureScanPaths.add(scanPath);
+                signatureScanPaths.add(createScanPath(path));
             }
         } else if (dockerTarFile != null) {
-            SignatureScanPath scanPath = createScanPath(dockerTarFile.getCanonicalFile().toPath(), maxDepth, signatureScannerExclusionNamePatterns, providedExclusionPatterns);
-            signatureScanPaths.add(scanPath);
+            signatureScanPaths.add(createScanPath(dockerTarFile.getCanonicalFile().toPath()));
         } else {
             Path sourcePath = directoryManager.getSourceDirectory().getAbsoluteFile().toPath();
             if (userProvidedScanTargets) {
@@ -173,23 +202,45 @@ public class BlackDuckSignatureScanner {
             } else {
                 logger.info(String.format("No scan targets provided - registering the source path %s to scan", sourcePath));
             }
-            SignatureScanPath scanPath = createScanPath(sourcePath, maxDepth, signatureScannerExclusionNamePatterns, providedExclusionPatterns);
-            signatureScanPaths.add(scanPath);
+            signatureScanPaths.add(createScanPath(sourcePath));
+        }
+
+        List<String> canonicalScanTargets = signatureScanPaths.stream().map(SignatureScanPath::getTargetCanonicalPath).collect(Collectors.toList());
+        Map<String, Set<String>> exclusionPatterns = exclusionPatternCreator.determineExclusionPatterns(canonicalScanTargets, maxDepth, signatureScannerExclusionNamePatterns);
+        for (SignatureScanPath signatureScanPath : signatureScanPaths) {
+            signatureScanPath.getExclusions().addAll(exclusionPatterns.getOrDefault(signatureScanPath.getTargetCanonicalPath(), Collections.emptySet()));
+            if (null != providedExclusionPatterns) {
+                signatureScanPath.getExclusions().addAll(providedExclusionPatterns);
+            }
         }
         return signatureScanPaths;
     }
 
-    private SignatureScanPath createScanPath(Path path, Integer maxDepth, List<String> signatureScannerExclusionNamePatterns, List<String> providedExclusionPatterns) {
-        File target = path.toFile();
-        ExclusionPatternCreator exclusionPatternCreator = new ExclusionPatternCreator(fileFinder, target);
-
-        Set<String> scanExclusionPatterns = exclusionPatternCreator.determineExclusionPatterns(maxDepth, signatureScannerExclusionNamePatterns);
-        if (null != providedExclusionPatterns) {
-            scanExclusionPatterns.addAll(providedExclusionPatterns);
+    private List<SignatureScanPath> shardScanPaths(List<SignatureScanPath> signatureScanPaths) throws IOException {
+        SignatureScanShardPlanner shardPlanner = new SignatureScanShardPlanner(signatureScannerOptions.getShardCount(), signatureScannerOptions.getShardMinimumFiles());
+        List<SignatureScanPath> shardScanPaths = new ArrayList<>();
+        for (SignatureScanPath signatureScanPath : signatureScanPaths) {
+            List<SignatureScanShard> shards = shardPlanner.planShards(new File(signatureScanPath.getTargetCanonicalPath()), signatureScanPath.getExclusions());
+            if (shards.isEmpty()) {
+                shardScanPaths.add(signatureScanPath);
+                continue;
+            }
+            logger.info(String.format("Splitting scan path %s into %d shards.", signatureScanPath.getTargetCanonicalPath(), shards.size()));
+            for (SignatureScanShard shard : shards) {
+                logger.debug(String.format("Shard %s will scan %d files (%d bytes) in %s and exclude %d folders.", shard.getName(), shard.getFileCount(), shard.getByteCount(), shard.getTargetFolder(), shard.getExclusions().size()));
+                SignatureScanPath shardScanPath = new SignatureScanPath();
+                shardScanPath.setTargetPath(new File(signatureScanPath.getTargetCanonicalPath(), shard.getTargetFolder()));
+                shardScanPath.setShard(shard, signatureScanPath.getTargetPath());
+                shardScanPath.getExclusions().addAll(shard.getExclusions());
+                shardScanPaths.add(shardScanPath);
+            }
         }
+        return shardScanPaths;
+    }
+
+    private SignatureScanPath createScanPath(Path path) {
         SignatureScanPath signatureScanPath = new SignatureScanPath();
-        signatureScanPath.setTargetPath(target);
-        signatureScanPath.getExclusions().addAll(scanExclusionPatterns);
+        signatureScanPath.setTargetPath(path.toFile());
         return signatureScanPath;
     }
 
@@ -216,15 +267,60 @@ public class BlackDuckSignatureScanner {
         signatureScannerOptions.getIndividualFileMatching()
             .ifPresent(scanJobBuilder::individualFileMatching);
 
-        File sourcePath = directoryManager.getSourceDirectory();
-        String prefix = signatureScannerOptions.getCodeLocationPrefix().orElse(null);
-        String suffix = signatureScannerOptions.getCodeLocationSuffix().orElse(null);
-
         for (SignatureScanPath scanPath : signatureScanPaths) {
-            String codeLocationName = codeLocationNameManager.createScanCodeLocationName(sourcePath, scanPath.getTargetPath(), dockerTarFile, projectName, projectVersionName, prefix, suffix);
+            String shardName = scanPath.getShard()
+                                   .filter(shard -> !shard.isPrimary())
+                                   .map(SignatureScanShard::getName)
+                                   .orElse(null);
+            String codeLocationName = createScanCodeLocationName(projectNameVersion, scanPath.getCodeLocationTargetPath(), dockerTarFile, shardName);
+            scanPath.setCodeLocationName(codeLocationName);
             scanJobBuilder.addTarget(ScanTarget.createBasicTarget(scanPath.getTargetCanonicalPath(), scanPath.getExclusions(), codeLocationName));
         }
 
         return scanJobBuilder;
     }
+
+    /**
+     * Matches the code locations of shards that an earlier run created for one of the given targets, but that this run did
+     * not create because the target was split into fewer shards or not at all. Left mapped, they would count their files
+     * in the BOM a second time.
+     */
+    public Predicate<String> createStaleShardCodeLocationFilter(NameVersion projectNameVersion, List<SignatureScanPath> signatureScanPaths, File dockerTarFile) {
+        if (codeLocationNameManager.useCodeLocationOverride()) {
+            // Stale shards can not be recognized by an overridden name, see CodeLocationNameManager.useCodeLocationOverride().
+            return codeLocationName -> false;
+        }
+        Map<File, Integer> shardCountsByTarget = new HashMap<>();
+        for (SignatureScanPath signatureScanPath : signatureScanPaths) {
+            Optional<SignatureScanShard> shard = signatureScanPath.getShard();
+            if (!shard.isPresent()) {
+                shardCountsByTarget.put(signatureScanPath.getTargetPath(), 1);
+            } else if (shard.get().isPrimary()) {
+                shardCountsByTarget.put(signatureScanPath.getCodeLocationTargetPath(), shard.get().getCount());
+            }
+        }
+        return codeLocationName -> {
+            Matcher numbers = SHARD_NUMBER_PATTERN.matcher(codeLocationName);
+            while (numbers.find()) {
+                int shardNumber = Integer.parseInt(numbers.group());
+                for (Map.Entry<File, Integer> shardCount : shardCountsByTarget.entrySet()) {
+                    if (shardNumber > shardCount.getValue()
+                            && codeLocationName.equals(createScanCodeLocationName(projectNameVersion, shardCount.getKey(), dockerTarFile, SignatureScanShard.createName(shardNumber)))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        };
+    }
+
+    private String createScanCodeLocationName(NameVersion projectNameVersion, File targetPath, File dockerTarFile, @Nullable String shardName) {
+        File sourcePath = directoryManager.getSourceDirectory();
+        String prefix = signatureScannerOptions.getCodeLocationPrefix().orElse(null);
+        String suffix = signatureScannerOptions.getCodeLocationSuffix().orElse(null);
+        if (shardName != null) {
+            suffix = StringUtils.isBlank(suffix) ? shardName : suffix + "/" + shardName;
+        }
+        return codeLocationNameManager.createScanCodeLocationName(sourcePath, targetPath, dockerTarFile, projectNameVersion.getName(), projectNameVersion.getVersion(), prefix, suffix);
+    }
 }
\ No newline at end of file
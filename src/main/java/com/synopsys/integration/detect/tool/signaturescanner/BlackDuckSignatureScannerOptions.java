@@ -62,6 +62,9 @@ public class BlackDuckSignatureScannerOptions {
     private final IndividualFileMatching individualFileMatching;
     private final Boolean licenseSearch;
     private final Boolean copyrightSearch;
+    private final Integer shardCount;
+    private final Integer shardMinimumFiles;
+    private final Integer shardConcurrency;
 
     public BlackDuckSignatureScannerOptions(
         final List<Path> signatureScannerPaths,
@@ -81,7 +84,10 @@ public class BlackDuckSignatureScannerOptions {
         final Integer maxDepth,
         @Nullable final IndividualFileMatching individualFileMatching,
         final Boolean licenseSearch,
-        final Boolean copyrightSearch) {
+        final Boolean copyrightSearch,
+        final Integer shardCount,
+        final Integer shardMinimumFiles,
+        final Integer shardConcurrency) {
 
         this.signatureScannerPaths = signatureScannerPaths;
         this.exclusionPatterns = exclusionPatterns;
@@ -101,6 +107,9 @@ public class BlackDuckSignatureScannerOptions {
         this.individualFileMatching = individualFileMatching;
         this.licenseSearch = licenseSearch;
         this.copyrightSearch = copyrightSearch;
+        this.shardCount = shardCount;
+        this.shardMinimumFiles = shardMinimumFiles;
+        this.shardConcurrency = shardConcurrency;
     }
 
     public List<Path> getSignatureScannerPaths() {
@@ -174,4 +183,30 @@ public class BlackDuckSignatureScannerOptions {
     public Boolean getCopyrightSearch() {
         return copyrightSearch;
     }
+
+    public Integer getShardCount() {
+        return shardCount;
+    }
+
+    public Integer getShardMinimumFiles() {
+        return shardMinimumFiles;
+    }
+
+    public Integer getShardConcurrency() {
+        return shardConcurrency;
+    }
+
+    public boolean isShardingEnabled() {
+        return shardCount != null && shardCount > 1;
+    }
+
+    public int findScanConcurrency() {
+        if (!isShardingEnabled()) {
+            return parallelProcessors;
+        }
+        if (shardConcurrency == null || shardConcurrency <= 0) {
+            return shardCount;
+        }
+        return shardConcurrency;
+    }
 }
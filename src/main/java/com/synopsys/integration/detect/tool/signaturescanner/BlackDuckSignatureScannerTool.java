@@ -25,25 +25,35 @@ package com.synopsys.integration.detect.tool.signaturescanner;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Predicate;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.synopsys.integration.blackduck.codelocation.CodeLocationCreationData;
 import com.synopsys.integration.blackduck.codelocation.CodeLocationCreationService;
+import com.synopsys.integration.blackduck.codelocation.Result;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.ScanBatchOutput;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.ScanBatchRunner;
 import com.synopsys.integration.blackduck.configuration.BlackDuckServerConfig;
+import com.synopsys.integration.blackduck.service.BlackDuckServicesFactory;
 import com.synopsys.integration.blackduck.service.model.NotificationTaskRange;
+import com.synopsys.integration.blackduck.service.model.ProjectVersionWrapper;
 import com.synopsys.integration.detect.configuration.DetectConfigurationFactory;
 import com.synopsys.integration.detect.configuration.connection.ConnectionFactory;
 import com.synopsys.integration.detect.exception.DetectUserFriendlyException;
 import com.synopsys.integration.detect.lifecycle.DetectContext;
 import com.synopsys.integration.detect.lifecycle.run.data.BlackDuckRunData;
+import com.synopsys.integration.detect.workflow.blackduck.DetectCodeLocationUnmapService;
 import com.synopsys.integration.detect.workflow.file.DirectoryManager;
+import com.synopsys.integration.detect.workflow.prefetch.ArtifactPrefetcher;
+import com.synopsys.integration.detect.workflow.prefetch.PrefetchArtifact;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.SilentIntLogger;
 import com.synopsys.integration.rest.client.IntHttpClient;
@@ -61,10 +71,11 @@ public class BlackDuckSignatureScannerTool {
     }
 
     // TODO: Don't accept an Optional as a parameter.
-    public SignatureScannerToolResult runScanTool(BlackDuckRunData blackDuckRunData, NameVersion projectNameVersion, Optional<File> dockerTar) throws DetectUserFriendlyException {
+    public SignatureScannerToolResult runScanTool(BlackDuckRunData blackDuckRunData, NameVersion projectNameVersion, @Nullable ProjectVersionWrapper projectVersionWrapper, Optional<File> dockerTar) throws DetectUserFriendlyException {
         DetectConfigurationFactory detectConfigurationFactory = detectContext.getBean(DetectConfigurationFactory.class);
         ConnectionFactory connectionFactory = detectContext.getBean(ConnectionFactory.class);
         DirectoryManager directoryManager = detectContext.getBean(DirectoryManager.class);
+        ResourceGovernor resourceGovernor = detectContext.getBean(ResourceGovernor.class);
 
         Optional<BlackDuckServerConfig> blackDuckServerConfig = Optional.empty();
         if (blackDuckRunData.isOnline() && blackDuckRunData.getBlackDuckServerConfig().isPresent()) {
@@ -78,7 +89,8 @@ public class BlackDuckSignatureScannerTool {
         localScannerInstallPath.ifPresent(path -> logger.debug(String.format("Determined local scanner path: %s", path.toString())));
 
         BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions = detectConfigurationFactory.createBlackDuckSignatureScannerOptions();
-        ExecutorService executorService = Executors.newFixedThreadPool(blackDuckSignatureScannerOptions.getParallelProcessors());
+        // Every scan starts its own scanner JVM, so scans count against both the process and the memory heavy limits.
+        ExecutorService executorService = resourceGovernor.memoryHeavyExecutorService(ResourcePoolType.PROCESS, blackDuckSignatureScannerOptions.findScanConcurrency());
         IntEnvironmentVariables intEnvironmentVariables = IntEnvironmentVariables.empty();
 
         ScanBatchRunnerFactory scanBatchRunnerFactory = new ScanBatchRunnerFactory(intEnvironmentVariables, executorService);
@@ -86,6 +98,7 @@ public class BlackDuckSignatureScannerTool {
         File installDirectory = directoryManager.getPermanentDirectory();
         if (blackDuckServerConfig.isPresent() && !signatureScannerOptions.getUserProvidedScannerInstallUrl().isPresent() && !localScannerInstallPath.isPresent()) {
             logger.debug("Signature scanner will use the Black Duck server to download/update the scanner - this is the most likely situation.");
+            detectContext.getBean(ArtifactPrefetcher.class).awaitPrefetch(PrefetchArtifact.SIGNATURE_SCANNER);
             scanBatchRunner = scanBatchRunnerFactory.withInstall(blackDuckServerConfig.get());
         } else {
             if (signatureScannerOptions.getUserProvidedScannerInstallUrl().isPresent()) {
@@ -114,7 +127,12 @@ public class BlackDuckSignatureScannerTool {
                 // Since we are online, we need to calculate the notification task range to wait for code locations.
                 CodeLocationCreationService codeLocationCreationService = blackDuckRunData.getBlackDuckServicesFactory().get().createCodeLocationCreationService();
                 NotificationTaskRange notificationTaskRange = codeLocationCreationService.calculateCodeLocationRange();
-                ScanBatchOutput scanBatchOutput = blackDuckSignatureScanner.performScanActions(projectNameVersion, installDirectory, dockerTar.orElse(null));
+                List<SignatureScanPath> signatureScanPaths = blackDuckSignatureScanner.determineScanPaths(projectNameVersion, dockerTar.orElse(null));
+                ScanBatchOutput scanBatchOutput = blackDuckSignatureScanner.performScanActions(projectNameVersion, installDirectory, signatureScanPaths, dockerTar.orElse(null));
+                if (projectVersionWrapper != null) {
+                    Predicate<String> staleShardFilter = blackDuckSignatureScanner.createStaleShardCodeLocationFilter(projectNameVersion, signatureScanPaths, dockerTar.orElse(null));
+                    unmapStaleShardCodeLocations(blackDuckRunData.getBlackDuckServicesFactory().get(), projectVersionWrapper, scanBatchOutput, staleShardFilter);
+                }
                 CodeLocationCreationData<ScanBatchOutput> codeLocationCreationData = new CodeLocationCreationData<>(notificationTaskRange, scanBatchOutput);
                 return SignatureScannerToolResult.createOnlineResult(codeLocationCreationData);
             } else {
@@ -132,4 +150,20 @@ public class BlackDuckSignatureScannerTool {
         }
     }
 
+    private void unmapStaleShardCodeLocations(BlackDuckServicesFactory blackDuckServicesFactory, ProjectVersionWrapper projectVersionWrapper, ScanBatchOutput scanBatchOutput, Predicate<String> staleShardFilter) {
+        boolean scansFailed = scanBatchOutput.getOutputs() == null || scanBatchOutput.getOutputs().stream().anyMatch(output -> Result.FAILURE.equals(output.getResult()));
+        if (Boolean.TRUE.equals(signatureScannerOptions.getDryRun()) || scansFailed) {
+            logger.debug("Will not look for stale shard code locations: the scans were not all uploaded.");
+            return;
+        }
+
+        DetectConfigurationFactory detectConfigurationFactory = detectContext.getBean(DetectConfigurationFactory.class);
+        ExecutorService unmapExecutorService = detectContext.getBean(ResourceGovernor.class).executorService(ResourcePoolType.IO, detectConfigurationFactory.findParallelProcessors());
+        try {
+            DetectCodeLocationUnmapService detectCodeLocationUnmapService = new DetectCodeLocationUnmapService(blackDuckServicesFactory.getBlackDuckService(), blackDuckServicesFactory.createCodeLocationService(), unmapExecutorService);
+            detectCodeLocationUnmapService.unmapMatching(projectVersionWrapper.getProjectVersionView(), staleShardFilter, "code locations of shards that this run no longer creates");
+        } finally {
+            unmapExecutorService.shutdownNow();
+        }
+    }
 }
\ No newline at end of file
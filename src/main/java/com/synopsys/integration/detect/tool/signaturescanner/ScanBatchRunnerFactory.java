@@ -62,13 +62,22 @@ public class ScanBatchRunnerFactory {
 
     public ScanBatchRunner withInstall(final BlackDuckServerConfig blackDuckServerConfig) {
         // will will use the server to download/update the scanner - this is the most likely situation
-        BlackDuckHttpClient blackDuckHttpClient = blackDuckServerConfig.createBlackDuckHttpClient(slf4jIntLogger);
-        CleanupZipExpander cleanupZipExpander = new CleanupZipExpander(slf4jIntLogger);
-        ScannerZipInstaller scannerZipInstaller = new ScannerZipInstaller(slf4jIntLogger, blackDuckHttpClient, cleanupZipExpander, scanPathsUtility, blackDuckServerConfig.getBlackDuckUrl(), operatingSystemType);
+        ScannerZipInstaller scannerZipInstaller = createScannerZipInstaller(blackDuckServerConfig);
         final ScanBatchRunner scanBatchManager = ScanBatchRunner.createComplete(intEnvironmentVariables, scannerZipInstaller, scanPathsUtility, scanCommandRunner);
         return scanBatchManager;
     }
 
+    public void installOrUpdateScanner(final BlackDuckServerConfig blackDuckServerConfig, final File installDirectory) throws IntegrationException {
+        // the same install a managed scan performs, so a later scan finds the scanner current and skips the download
+        createScannerZipInstaller(blackDuckServerConfig).installOrUpdateScanner(installDirectory);
+    }
+
+    private ScannerZipInstaller createScannerZipInstaller(final BlackDuckServerConfig blackDuckServerConfig) {
+        BlackDuckHttpClient blackDuckHttpClient = blackDuckServerConfig.createBlackDuckHttpClient(slf4jIntLogger);
+        CleanupZipExpander cleanupZipExpander = new CleanupZipExpander(slf4jIntLogger);
+        return new ScannerZipInstaller(slf4jIntLogger, blackDuckHttpClient, cleanupZipExpander, scanPathsUtility, blackDuckServerConfig.getBlackDuckUrl(), operatingSystemType);
+    }
+
     public ScanBatchRunner withoutInstall(final File defaultInstallDirectory) {
         // either we were given an existing path for the scanner or
         // we are offline - either way, we won't attempt to manage the install
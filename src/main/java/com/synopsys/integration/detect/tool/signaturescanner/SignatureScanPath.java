@@ -24,14 +24,23 @@ package com.synopsys.integration.detect.tool.signaturescanner;
 
 import java.io.File;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
+import org.jetbrains.annotations.Nullable;
+
 import com.synopsys.integration.detect.workflow.file.DetectFileUtils;
 
 public class SignatureScanPath {
     private File targetPath;
     private String targetCanonicalPath;
     private final Set<String> exclusions = new HashSet<>();
+    @Nullable
+    private SignatureScanShard shard;
+    @Nullable
+    private File shardedTargetPath;
+    @Nullable
+    private String codeLocationName;
 
     public File getTargetPath() {
         return targetPath;
@@ -49,4 +58,33 @@ public class SignatureScanPath {
     public String getTargetCanonicalPath() {
         return targetCanonicalPath;
     }
+
+    public Optional<SignatureScanShard> getShard() {
+        return Optional.ofNullable(shard);
+    }
+
+    public void setShard(@Nullable final SignatureScanShard shard, @Nullable final File shardedTargetPath) {
+        this.shard = shard;
+        this.shardedTargetPath = shardedTargetPath;
+    }
+
+    // The target that was split into shards, which names the code locations of all of its shards.
+    public File getCodeLocationTargetPath() {
+        return shardedTargetPath != null ? shardedTargetPath : targetPath;
+    }
+
+    public Optional<String> getCodeLocationName() {
+        return Optional.ofNullable(codeLocationName);
+    }
+
+    public void setCodeLocationName(@Nullable final String codeLocationName) {
+        this.codeLocationName = codeLocationName;
+    }
+
+    // The canonical target path, qualified by the shard when the target was split.
+    public String getDescription() {
+        return getShard()
+                   .map(shard -> String.format("%s (%s)", targetCanonicalPath, shard.getName()))
+                   .orElse(targetCanonicalPath);
+    }
 }
@@ -0,0 +1,83 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.signaturescanner;
+
+import java.util.Set;
+
+public class SignatureScanShard {
+    private final int index;
+    private final int count;
+    private final String targetFolder;
+    private final Set<String> exclusions;
+    private final long fileCount;
+    private final long byteCount;
+
+    public SignatureScanShard(final int index, final int count, final String targetFolder, final Set<String> exclusions, final long fileCount, final long byteCount) {
+        this.index = index;
+        this.count = count;
+        this.targetFolder = targetFolder;
+        this.exclusions = exclusions;
+        this.fileCount = fileCount;
+        this.byteCount = byteCount;
+    }
+
+    // Depends only on the index, so a target split the same way keeps its shard names between runs.
+    public String getName() {
+        return createName(index + 1);
+    }
+
+    public static String createName(final int shardNumber) {
+        return String.format("shard-%d", shardNumber);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    // The first shard scans the whole target, so it keeps the code location name of the unsplit target.
+    public boolean isPrimary() {
+        return index == 0;
+    }
+
+    // The folder this shard scans, as a scanner exclusion pattern relative to the split target: "/" for the target itself.
+    public String getTargetFolder() {
+        return targetFolder;
+    }
+
+    // The folders, relative to this shard's target folder, that the shard must not scan.
+    public Set<String> getExclusions() {
+        return exclusions;
+    }
+
+    public long getFileCount() {
+        return fileCount;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+}
@@ -0,0 +1,306 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.signaturescanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Splits a large scan target into shards that can be scanned by concurrent signature scanner processes. Folders are
+ * assigned largest first to the lightest shard, weighing file count and bytes equally. A folder heavier than half a
+ * shard's share is split into its subfolders, but only when it contains no files of its own: the scanner can only exclude
+ * folders, so the files directly inside a folder are scanned by every shard that reaches it.
+ * <p>
+ * The first shard scans the target and owns the files directly inside it. Every other shard scans the deepest folder
+ * holding all of its folders, so when the target contains files of its own, such a shard only takes folders from a
+ * single top level folder. Each shard excludes the folders of the other shards that lie inside the folder it scans, so
+ * every file is scanned by exactly one shard.
+ */
+public class SignatureScanShardPlanner {
+    private static final String ROOT_FOLDER = "/";
+
+    private final int shardCount;
+    private final long minimumFiles;
+
+    public SignatureScanShardPlanner(final int shardCount, final long minimumFiles) {
+        this.shardCount = shardCount;
+        this.minimumFiles = minimumFiles;
+    }
+
+    /**
+     * @param exclusions folders, as scanner exclusion patterns, that will not be scanned and so should not be weighed.
+     * @return the shards, or an empty list when the target should be scanned as a whole.
+     */
+    public List<SignatureScanShard> planShards(final File scanTarget, final Set<String> exclusions) throws IOException {
+        if (shardCount < 2 || !scanTarget.isDirectory()) {
+            return Collections.emptyList();
+        }
+        final List<Pattern> exclusionMatchers = exclusions.stream().map(this::toMatcher).collect(Collectors.toList());
+        final DirectoryWeight root = weighDirectories(scanTarget.toPath(), exclusionMatchers);
+        if (root == null || root.files < minimumFiles) {
+            return Collections.emptyList();
+        }
+
+        final List<DirectoryWeight> units = new ArrayList<>();
+        collectUnits(root, root, weight(root, root) / shardCount / 2, units);
+        units.sort(Comparator.comparingDouble((DirectoryWeight unit) -> weight(unit, root)).reversed().thenComparing(unit -> unit.pattern));
+
+        final boolean rootHasOwnFiles = root.ownEntries > 0;
+        final List<Bin> bins = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            bins.add(new Bin(i));
+        }
+        bins.get(0).addOwnFiles(root, weight(root.ownFiles, root.ownBytes, root));
+        for (final DirectoryWeight unit : units) {
+            final Bin lightest = bins.stream()
+                                     .filter(bin -> bin.accepts(unit, rootHasOwnFiles))
+                                     .min(Comparator.comparingDouble((Bin bin) -> bin.weight).thenComparingInt(bin -> bin.index))
+                                     .orElse(bins.get(0));
+            lightest.add(unit, weight(unit, root));
+        }
+
+        final List<Bin> usedBins = bins.stream()
+                                       .filter(bin -> bin.index == 0 || !bin.units.isEmpty())
+                                       .collect(Collectors.toList());
+        if (usedBins.size() < 2) {
+            return Collections.emptyList();
+        }
+
+        final List<SignatureScanShard> shards = new ArrayList<>();
+        for (int i = 0; i < usedBins.size(); i++) {
+            final Bin bin = usedBins.get(i);
+            final String targetFolder = bin.index == 0 ? ROOT_FOLDER : commonFolder(bin.units);
+            final Set<String> shardExclusions = new HashSet<>();
+            for (final String exclusion : exclusions) {
+                rebase(exclusion, targetFolder).ifPresent(shardExclusions::add);
+            }
+            for (final Bin other : usedBins) {
+                if (other != bin) {
+                    other.units.stream()
+                        .filter(unit -> unit.pattern.startsWith(targetFolder))
+                        .forEach(unit -> shardExclusions.add(unit.pattern.substring(targetFolder.length() - 1)));
+                }
+            }
+            shards.add(new SignatureScanShard(i, usedBins.size(), targetFolder, shardExclusions, bin.files, bin.bytes));
+        }
+        return shards;
+    }
+
+    private void collectUnits(final DirectoryWeight directory, final DirectoryWeight root, final double unitLimit, final List<DirectoryWeight> units) {
+        for (final DirectoryWeight child : directory.children) {
+            if (child.children.isEmpty() || child.ownEntries > 0 || weight(child, root) <= unitLimit) {
+                units.add(child);
+            } else {
+                collectUnits(child, root, unitLimit, units);
+            }
+        }
+    }
+
+    private double weight(final DirectoryWeight directory, final DirectoryWeight root) {
+        return weight(directory.files, directory.bytes, root);
+    }
+
+    private double weight(final long files, final long bytes, final DirectoryWeight root) {
+        final double fileWeight = root.files == 0 ? 0 : (double) files / root.files;
+        final double byteWeight = root.bytes == 0 ? 0 : (double) bytes / root.bytes;
+        return fileWeight + byteWeight;
+    }
+
+    // The deepest folder that holds every given folder.
+    private String commonFolder(final List<DirectoryWeight> folders) {
+        String common = folders.get(0).pattern;
+        for (final DirectoryWeight folder : folders) {
+            while (!folder.pattern.startsWith(common)) {
+                common = common.substring(0, common.lastIndexOf('/', common.length() - 2) + 1);
+            }
+        }
+        return common;
+    }
+
+    private static String topLevelFolder(final String pattern) {
+        return pattern.substring(0, pattern.indexOf('/', 1) + 1);
+    }
+
+    // Exclusion patterns are relative to the scanned folder, so a shard scanning a subfolder keeps only the patterns that reach into it.
+    private Optional<String> rebase(final String exclusion, final String targetFolder) {
+        if (ROOT_FOLDER.equals(targetFolder)) {
+            return Optional.of(exclusion);
+        }
+        final String[] exclusionSegments = segments(exclusion);
+        final String[] targetSegments = segments(targetFolder);
+        if (exclusionSegments.length <= targetSegments.length) {
+            return Optional.empty();
+        }
+        for (int i = 0; i < targetSegments.length; i++) {
+            if (!toMatcher(ROOT_FOLDER + exclusionSegments[i] + ROOT_FOLDER).matcher(ROOT_FOLDER + targetSegments[i] + ROOT_FOLDER).matches()) {
+                return Optional.empty();
+            }
+        }
+        final StringBuilder rebased = new StringBuilder(ROOT_FOLDER);
+        for (int i = targetSegments.length; i < exclusionSegments.length; i++) {
+            rebased.append(exclusionSegments[i]).append(ROOT_FOLDER);
+        }
+        return Optional.of(rebased.toString());
+    }
+
+    private String[] segments(final String pattern) {
+        final String trimmed = pattern.replaceAll("^/+|/+$", "");
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/+");
+    }
+
+    // The scanner accepts '*' within a single folder name, so the patterns are matched against a folder's path the same way.
+    private Pattern toMatcher(final String exclusion) {
+        final StringBuilder regex = new StringBuilder();
+        for (final String literal : exclusion.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append("[^/]*");
+            }
+            regex.append(Pattern.quote(literal));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    // Returns null when the target could not be walked as a directory, for example when it is a symbolic link.
+    private DirectoryWeight weighDirectories(final Path scanTarget, final List<Pattern> exclusionMatchers) throws IOException {
+        final Deque<DirectoryWeight> open = new ArrayDeque<>();
+        final DirectoryWeight[] root = new DirectoryWeight[1];
+        Files.walkFileTree(scanTarget, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                final DirectoryWeight parent = open.peek();
+                if (parent == null) {
+                    root[0] = new DirectoryWeight(ROOT_FOLDER);
+                    open.push(root[0]);
+                    return FileVisitResult.CONTINUE;
+                }
+                final String pattern = parent.pattern + dir.getFileName().toString() + ROOT_FOLDER;
+                if (exclusionMatchers.stream().anyMatch(matcher -> matcher.matcher(pattern).matches())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                final DirectoryWeight directory = new DirectoryWeight(pattern);
+                parent.children.add(directory);
+                open.push(directory);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                final DirectoryWeight directory = open.peek();
+                directory.ownEntries++;
+                if (attrs.isRegularFile()) {
+                    directory.ownFiles++;
+                    directory.ownBytes += attrs.size();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                final DirectoryWeight directory = open.peek();
+                if (directory != null) {
+                    directory.ownEntries++;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) {
+                final DirectoryWeight directory = open.pop();
+                directory.files += directory.ownFiles;
+                directory.bytes += directory.ownBytes;
+                final DirectoryWeight parent = open.peek();
+                if (parent != null) {
+                    parent.files += directory.files;
+                    parent.bytes += directory.bytes;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return root[0];
+    }
+
+    private static class DirectoryWeight {
+        private final String pattern;
+        private final List<DirectoryWeight> children = new ArrayList<>();
+        // Every entry that is not a walked folder, including links and files that could not be read.
+        private long ownEntries;
+        private long ownFiles;
+        private long ownBytes;
+        private long files;
+        private long bytes;
+
+        private DirectoryWeight(final String pattern) {
+            this.pattern = pattern;
+        }
+    }
+
+    private static class Bin {
+        private final int index;
+        private final List<DirectoryWeight> units = new ArrayList<>();
+        private String topLevelFolder;
+        private double weight;
+        private long files;
+        private long bytes;
+
+        private Bin(final int index) {
+            this.index = index;
+        }
+
+        // Only the first shard may scan the files directly inside the target, so the others may not reach past a top level folder when there are any.
+        private boolean accepts(final DirectoryWeight unit, final boolean rootHasOwnFiles) {
+            return index == 0 || !rootHasOwnFiles || topLevelFolder == null || topLevelFolder.equals(topLevelFolder(unit.pattern));
+        }
+
+        private void addOwnFiles(final DirectoryWeight root, final double ownWeight) {
+            weight += ownWeight;
+            files += root.ownFiles;
+            bytes += root.ownBytes;
+        }
+
+        private void add(final DirectoryWeight unit, final double unitWeight) {
+            if (topLevelFolder == null) {
+                topLevelFolder = topLevelFolder(unit.pattern);
+            }
+            units.add(unit);
+            weight += unitWeight;
+            files += unit.files;
+            bytes += unit.bytes;
+        }
+    }
+}
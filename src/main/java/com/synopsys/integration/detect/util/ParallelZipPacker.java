@@ -0,0 +1,103 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Packs a directory into a zip by deflating entries concurrently and streaming the
+ * results into the archive. Entries that are already compressed (jars, nupkgs, nested archives) are stored
+ * as-is since deflating them again costs time and saves nothing.
+ */
+public class ParallelZipPacker {
+    public static final Set<String> STORED_EXTENSIONS = new HashSet<>(Arrays.asList("jar", "war", "ear", "zip", "nupkg", "gz", "tgz", "bz2", "xz", "7z"));
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final Supplier<ExecutorService> executorServiceSupplier;
+
+    public ParallelZipPacker(Supplier<ExecutorService> executorServiceSupplier) {
+        this.executorServiceSupplier = executorServiceSupplier;
+    }
+
+    public void pack(File sourceDirectory, File targetZip) throws IOException {
+        Path sourcePath = sourceDirectory.toPath();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(sourcePath)) {
+            files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        // The creator shuts its executor down once the archive is written, so each pack gets its own executor.
+        ParallelScatterZipCreator creator = new ParallelScatterZipCreator(executorServiceSupplier.get());
+        for (Path file : files) {
+            String entryName = sourcePath.relativize(file).toString().replace(File.separatorChar, '/');
+            ZipArchiveEntry entry = new ZipArchiveEntry(entryName);
+            entry.setMethod(shouldStore(entryName) ? ZipEntry.STORED : ZipEntry.DEFLATED);
+            entry.setTime(file.toFile().lastModified());
+            entry.setUnixMode(file.toFile().canExecute() ? 0100755 : 0100644);
+            creator.addArchiveEntry(entry, () -> {
+                try {
+                    return new FileInputStream(file.toFile());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        try (ZipArchiveOutputStream outputStream = new ZipArchiveOutputStream(targetZip)) {
+            creator.writeTo(outputStream);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while packing " + targetZip, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to pack " + sourceDirectory + " into " + targetZip, e.getCause());
+        }
+        logger.debug(String.format("Packed %d files into %s (%s).", files.size(), targetZip, creator.getStatisticsMessage()));
+    }
+
+    public static boolean shouldStore(String entryName) {
+        return STORED_EXTENSIONS.contains(FilenameUtils.getExtension(entryName).toLowerCase(Locale.ROOT));
+    }
+}
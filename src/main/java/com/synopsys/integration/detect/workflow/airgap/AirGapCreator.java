@@ -25,6 +25,12 @@ package com.synopsys.integration.detect.workflow.airgap;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
@@ -32,10 +38,10 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.zeroturnaround.zip.ZipUtil;
 
 import com.synopsys.integration.detect.exception.DetectUserFriendlyException;
 import com.synopsys.integration.detect.exitcode.ExitCodeType;
+import com.synopsys.integration.detect.util.ParallelZipPacker;
 import com.synopsys.integration.detect.util.filter.DetectFilter;
 import com.synopsys.integration.detect.workflow.event.Event;
 import com.synopsys.integration.detect.workflow.event.EventSystem;
@@ -51,14 +57,20 @@ public class AirGapCreator {
     private final GradleAirGapCreator gradleAirGapCreator;
     private final NugetAirGapCreator nugetAirGapCreator;
     private final DockerAirGapCreator dockerAirGapCreator;
+    private final ParallelZipPacker zipPacker;
+    private final ExecutorService installExecutorService;
 
+    // The installers run side by side on the given executor, which is left running.
     public AirGapCreator(AirGapPathFinder airGapPathFinder, EventSystem eventSystem,
-        GradleAirGapCreator gradleAirGapCreator, NugetAirGapCreator nugetAirGapCreator, DockerAirGapCreator dockerAirGapCreator) {
+        GradleAirGapCreator gradleAirGapCreator, NugetAirGapCreator nugetAirGapCreator, DockerAirGapCreator dockerAirGapCreator, ParallelZipPacker zipPacker,
+        ExecutorService installExecutorService) {
         this.airGapPathFinder = airGapPathFinder;
         this.eventSystem = eventSystem;
         this.gradleAirGapCreator = gradleAirGapCreator;
         this.nugetAirGapCreator = nugetAirGapCreator;
         this.dockerAirGapCreator = dockerAirGapCreator;
+        this.zipPacker = zipPacker;
+        this.installExecutorService = installExecutorService;
     }
 
     public File createAirGapZip(DetectFilter inspectorFilter, File outputPath, String airGapSuffix, String gradleInspectorVersion) throws DetectUserFriendlyException {
@@ -99,7 +111,9 @@ public class AirGapCreator {
             FileUtils.copyFile(detectJar, new File(installFolder, detectJar.getName()));
 
             logger.info("Zipping into: " + target.getCanonicalPath());
-            ZipUtil.pack(installFolder, target);
+            long zipStart = System.currentTimeMillis();
+            zipPacker.pack(installFolder, target);
+            logger.info(String.format("Zipping took %d ms.", System.currentTimeMillis() - zipStart));
 
             logger.info("Cleaning up working directory: " + installFolder.getCanonicalPath());
             FileUtils.deleteDirectory(installFolder);
@@ -119,38 +133,91 @@ public class AirGapCreator {
     public void installAllAirGapDependencies(File zipFolder, DetectFilter inspectorFilter, String gradleInspectorVersion) throws DetectUserFriendlyException {
         logger.info(ReportConstants.RUN_SEPARATOR);
 
+        // Each inspector installs into its own packaged-inspectors subfolder so the installers can run side by side.
+        Map<AirGapInspectors, InspectorInstaller> installers = new LinkedHashMap<>();
         if (inspectorFilter.shouldInclude(AirGapInspectors.GRADLE.name())) {
             logger.info("Will include GRADLE inspector.");
-            logger.info("Installing gradle dependencies.");
             File gradleTemp = airGapPathFinder.createRelativePackagedInspectorsFile(zipFolder, AirGapPathFinder.GRADLE + "-temp");
             File gradleTarget = airGapPathFinder.createRelativePackagedInspectorsFile(zipFolder, AirGapPathFinder.GRADLE);
-            gradleAirGapCreator.installGradleDependencies(gradleTemp, gradleTarget, gradleInspectorVersion);
+            installers.put(AirGapInspectors.GRADLE, () -> gradleAirGapCreator.installGradleDependencies(gradleTemp, gradleTarget, gradleInspectorVersion));
         } else {
             logger.info("Will NOT include GRADLE inspector.");
         }
 
-        logger.info(ReportConstants.RUN_SEPARATOR);
-
         if (inspectorFilter.shouldInclude(AirGapInspectors.NUGET.name())) {
             logger.info("Will include NUGET inspector.");
-            logger.info("Installing nuget dependencies.");
             File nugetFolder = airGapPathFinder.createRelativePackagedInspectorsFile(zipFolder, AirGapPathFinder.NUGET);
-            nugetAirGapCreator.installNugetDependencies(nugetFolder);
+            installers.put(AirGapInspectors.NUGET, () -> nugetAirGapCreator.installNugetDependencies(nugetFolder));
         } else {
             logger.info("Will NOT include NUGET inspector.");
         }
 
-        logger.info(ReportConstants.RUN_SEPARATOR);
-
         if (inspectorFilter.shouldInclude(AirGapInspectors.DOCKER.name())) {
             logger.info("Will include DOCKER inspector.");
-            logger.info("Installing docker dependencies.");
             File dockerFolder = airGapPathFinder.createRelativePackagedInspectorsFile(zipFolder, AirGapPathFinder.DOCKER);
-            dockerAirGapCreator.installDockerDependencies(dockerFolder);
+            installers.put(AirGapInspectors.DOCKER, () -> dockerAirGapCreator.installDockerDependencies(dockerFolder));
         } else {
             logger.info("Will NOT include DOCKER inspector.");
         }
+
+        logger.info(ReportConstants.RUN_SEPARATOR);
+        if (!installers.isEmpty()) {
+            installConcurrently(installers);
+        }
         logger.info(ReportConstants.RUN_SEPARATOR);
     }
 
+    private void installConcurrently(Map<AirGapInspectors, InspectorInstaller> installers) throws DetectUserFriendlyException {
+        Map<AirGapInspectors, Long> durations = new ConcurrentHashMap<>();
+        Map<AirGapInspectors, Future<?>> installs = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<AirGapInspectors, InspectorInstaller> installer : installers.entrySet()) {
+                installs.put(installer.getKey(), installExecutorService.submit(() -> {
+                    logger.info(String.format("Installing %s dependencies.", installer.getKey().name()));
+                    long start = System.currentTimeMillis();
+                    try {
+                        installer.getValue().install();
+                    } finally {
+                        durations.put(installer.getKey(), System.currentTimeMillis() - start);
+                    }
+                    return null;
+                }));
+            }
+
+            DetectUserFriendlyException firstFailure = null;
+            for (Map.Entry<AirGapInspectors, Future<?>> install : installs.entrySet()) {
+                try {
+                    install.getValue().get();
+                } catch (ExecutionException e) {
+                    logger.error(String.format("Failed to install %s inspector.", install.getKey().name()));
+                    if (firstFailure == null) {
+                        firstFailure = asUserFriendlyException(install.getKey(), e.getCause());
+                    }
+                }
+            }
+
+            installs.keySet().forEach(inspector -> logger.info(String.format("%s inspector install took %d ms.", inspector.name(), durations.getOrDefault(inspector, 0L))));
+            if (firstFailure != null) {
+                throw firstFailure;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DetectUserFriendlyException("Interrupted while installing air gap dependencies.", e, ExitCodeType.FAILURE_UNKNOWN_ERROR);
+        } finally {
+            // Every install has finished unless this thread was interrupted, in which case the rest are abandoned.
+            installs.values().forEach(install -> install.cancel(true));
+        }
+    }
+
+    private DetectUserFriendlyException asUserFriendlyException(AirGapInspectors inspector, Throwable cause) {
+        if (cause instanceof DetectUserFriendlyException) {
+            return (DetectUserFriendlyException) cause;
+        }
+        return new DetectUserFriendlyException("An error occurred installing the " + inspector.name() + " inspector.", cause, ExitCodeType.FAILURE_GENERAL_ERROR);
+    }
+
+    @FunctionalInterface
+    private interface InspectorInstaller {
+        void install() throws DetectUserFriendlyException;
+    }
 }
@@ -47,6 +47,7 @@ public class AggregateBdioTransformer {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final SimpleBdioFactory simpleBdioFactory;
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
 
     public AggregateBdioTransformer(final SimpleBdioFactory simpleBdioFactory) {
         this.simpleBdioFactory = simpleBdioFactory;
@@ -54,20 +55,21 @@ public class AggregateBdioTransformer {
 
     public DependencyGraph aggregateCodeLocations(final File sourcePath, final List<DetectCodeLocation> codeLocations, final AggregateMode aggregateMode) throws DetectUserFriendlyException {
         final MutableDependencyGraph aggregateDependencyGraph = simpleBdioFactory.createMutableDependencyGraph();
+        final AggregateDependencyGraphBuilder aggregateDependencyGraphBuilder = new AggregateDependencyGraphBuilder(aggregateDependencyGraph);
 
         for (final DetectCodeLocation detectCodeLocation : codeLocations) {
             if (aggregateMode.equals(AggregateMode.DIRECT)) {
-                aggregateDependencyGraph.addGraphAsChildrenToRoot(detectCodeLocation.getDependencyGraph());
+                aggregateDependencyGraphBuilder.addGraphAsChildrenToRoot(detectCodeLocation.getDependencyGraph());
             } else if (aggregateMode.equals(AggregateMode.TRANSITIVE)) {
-                final Dependency codeLocationDependency = createAggregateDependency(sourcePath, detectCodeLocation);
-                aggregateDependencyGraph.addChildrenToRoot(codeLocationDependency);
-                aggregateDependencyGraph.addGraphAsChildrenToParent(codeLocationDependency, detectCodeLocation.getDependencyGraph());
+                final Dependency codeLocationDependency = aggregateDependencyGraphBuilder.addChildToRoot(createAggregateDependency(sourcePath, detectCodeLocation));
+                aggregateDependencyGraphBuilder.addGraphAsChildrenToParent(codeLocationDependency, detectCodeLocation.getDependencyGraph());
             } else {
                 throw new DetectUserFriendlyException(
                     String.format("The %s property was set to an unsupported aggregation mode, will not aggregate at this time.", DetectProperties.DETECT_BOM_AGGREGATE_REMEDIATION_MODE.getProperty().getKey()),
                     ExitCodeType.FAILURE_GENERAL_ERROR);
             }
         }
+        logger.debug(String.format("Aggregated %d code locations into %d unique dependencies.", codeLocations.size(), aggregateDependencyGraphBuilder.getInternedDependencyCount()));
 
         return aggregateDependencyGraph;
     }
@@ -100,6 +102,6 @@ public class AggregateBdioTransformer {
         }
         externalIdPieces.add(bomToolType);
         final String[] pieces = externalIdPieces.toArray(new String[externalIdPieces.size()]);
-        return new Dependency(name, version, new ExternalIdFactory().createModuleNamesExternalId(original.getForge(), pieces));
+        return new Dependency(name, version, externalIdFactory.createModuleNamesExternalId(original.getForge(), pieces));
     }
 }
@@ -0,0 +1,96 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.bdio;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+
+/**
+ * Copies code location graphs into a single aggregate graph. Every external id is interned, so a dependency shared by
+ * many code locations is stored once in the aggregate, and each code location graph is walked once per node instead of
+ * once per path, so shared subgraphs are not copied again for every parent that reaches them.
+ */
+public class AggregateDependencyGraphBuilder {
+    private final MutableDependencyGraph aggregateDependencyGraph;
+    private final Map<ExternalId, Dependency> internedDependencies = new HashMap<>();
+
+    public AggregateDependencyGraphBuilder(final MutableDependencyGraph aggregateDependencyGraph) {
+        this.aggregateDependencyGraph = aggregateDependencyGraph;
+    }
+
+    public Dependency intern(final Dependency dependency) {
+        return internedDependencies.computeIfAbsent(dependency.getExternalId(), externalId -> dependency);
+    }
+
+    public Dependency addChildToRoot(final Dependency child) {
+        final Dependency internedChild = intern(child);
+        aggregateDependencyGraph.addChildToRoot(internedChild);
+        return internedChild;
+    }
+
+    public void addGraphAsChildrenToRoot(final DependencyGraph sourceGraph) {
+        for (final Dependency rootDependency : sourceGraph.getRootDependencies()) {
+            addChildToRoot(rootDependency);
+        }
+        copyRelationships(sourceGraph);
+    }
+
+    public void addGraphAsChildrenToParent(final Dependency parent, final DependencyGraph sourceGraph) {
+        final Dependency internedParent = intern(parent);
+        for (final Dependency rootDependency : sourceGraph.getRootDependencies()) {
+            aggregateDependencyGraph.addChildWithParent(intern(rootDependency), internedParent);
+        }
+        copyRelationships(sourceGraph);
+    }
+
+    public int getInternedDependencyCount() {
+        return internedDependencies.size();
+    }
+
+    private void copyRelationships(final DependencyGraph sourceGraph) {
+        final Set<ExternalId> visited = new HashSet<>();
+        final Deque<Dependency> toVisit = new ArrayDeque<>(sourceGraph.getRootDependencies());
+        while (!toVisit.isEmpty()) {
+            final Dependency parent = intern(toVisit.pop());
+            if (!visited.add(parent.getExternalId())) {
+                continue;
+            }
+            for (final Dependency child : sourceGraph.getChildrenForParent(parent)) {
+                final Dependency internedChild = intern(child);
+                aggregateDependencyGraph.addChildWithParent(internedChild, parent);
+                if (!visited.contains(internedChild.getExternalId())) {
+                    toVisit.push(internedChild);
+                }
+            }
+        }
+    }
+}
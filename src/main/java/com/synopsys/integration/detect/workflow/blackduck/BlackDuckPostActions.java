@@ -24,6 +24,7 @@ package com.synopsys.integration.detect.workflow.blackduck;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +44,8 @@ import com.synopsys.integration.detect.workflow.blackduck.codelocation.CodeLocat
 import com.synopsys.integration.detect.workflow.blackduck.policy.PolicyChecker;
 import com.synopsys.integration.detect.workflow.event.Event;
 import com.synopsys.integration.detect.workflow.event.EventSystem;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
 import com.synopsys.integration.detect.workflow.result.ReportDetectResult;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.rest.exception.IntegrationRestException;
@@ -52,10 +55,12 @@ public class BlackDuckPostActions {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final BlackDuckServicesFactory blackDuckServicesFactory;
     private final EventSystem eventSystem;
+    private final ResourceGovernor resourceGovernor;
 
-    public BlackDuckPostActions(BlackDuckServicesFactory blackDuckServicesFactory, EventSystem eventSystem) {
+    public BlackDuckPostActions(BlackDuckServicesFactory blackDuckServicesFactory, EventSystem eventSystem, ResourceGovernor resourceGovernor) {
         this.blackDuckServicesFactory = blackDuckServicesFactory;
         this.eventSystem = eventSystem;
+        this.resourceGovernor = resourceGovernor;
     }
 
     public void perform(BlackDuckPostOptions blackDuckPostOptions, CodeLocationWaitData codeLocationWaitData, ProjectVersionWrapper projectVersionWrapper, NameVersion projectNameVersion, long timeoutInSeconds)
@@ -65,7 +70,7 @@ public class BlackDuckPostActions {
                 waitForCodeLocations(codeLocationWaitData, timeoutInSeconds, projectNameVersion);
             }
             if (blackDuckPostOptions.shouldPerformPolicyCheck()) {
-                checkPolicy(blackDuckPostOptions, projectVersionWrapper.getProjectVersionView());
+                checkPolicy(blackDuckPostOptions, projectVersionWrapper.getProjectVersionView(), timeoutInSeconds);
             }
             if (blackDuckPostOptions.shouldGenerateAnyReport()) {
                 generateReports(blackDuckPostOptions, projectVersionWrapper, timeoutInSeconds);
@@ -106,10 +111,15 @@ public class BlackDuckPostActions {
         }
     }
 
-    private void checkPolicy(BlackDuckPostOptions blackDuckPostOptions, ProjectVersionView projectVersionView) throws IntegrationException {
+    private void checkPolicy(BlackDuckPostOptions blackDuckPostOptions, ProjectVersionView projectVersionView, long timeoutInSeconds) throws IntegrationException {
         logger.info("Detect will check policy for violations.");
-        PolicyChecker policyChecker = new PolicyChecker(eventSystem, blackDuckServicesFactory.getBlackDuckService(), blackDuckServicesFactory.createProjectBomService());
-        policyChecker.checkPolicy(blackDuckPostOptions.getSeveritiesToFailPolicyCheck(), projectVersionView);
+        ExecutorService executorService = resourceGovernor.executorService(ResourcePoolType.IO, blackDuckPostOptions.getParallelProcessors());
+        try {
+            PolicyChecker policyChecker = new PolicyChecker(eventSystem, blackDuckServicesFactory.getBlackDuckService(), blackDuckServicesFactory.createProjectBomService(), executorService, timeoutInSeconds);
+            policyChecker.checkPolicy(blackDuckPostOptions.getSeveritiesToFailPolicyCheck(), projectVersionView);
+        } finally {
+            executorService.shutdownNow();
+        }
     }
 
     private void generateReports(BlackDuckPostOptions blackDuckPostOptions, ProjectVersionWrapper projectVersionWrapper, long timeoutInSeconds) throws IntegrationException, IOException, InterruptedException {
@@ -35,15 +35,17 @@ public class BlackDuckPostOptions {
     private final Path riskReportPdfPath;
     private final Path noticesReportPath;
     private final List<PolicyRuleSeverityType> severitiesToFailPolicyCheck;
+    private final int parallelProcessors;
 
     public BlackDuckPostOptions(final boolean waitForResults, final boolean generateRiskReport, final boolean generateNoticesReport, final Path riskReportPdfPath, final Path noticesReportPath,
-        final List<PolicyRuleSeverityType> severitiesToFailPolicyCheck) {
+        final List<PolicyRuleSeverityType> severitiesToFailPolicyCheck, final int parallelProcessors) {
         this.waitForResults = waitForResults;
         this.generateRiskReport = generateRiskReport;
         this.generateNoticesReport = generateNoticesReport;
         this.riskReportPdfPath = riskReportPdfPath;
         this.noticesReportPath = noticesReportPath;
         this.severitiesToFailPolicyCheck = severitiesToFailPolicyCheck;
+        this.parallelProcessors = parallelProcessors;
     }
 
     public boolean shouldWaitForResults() {
@@ -78,4 +80,8 @@ public class BlackDuckPostOptions {
         return severitiesToFailPolicyCheck;
     }
 
+    public int getParallelProcessors() {
+        return parallelProcessors;
+    }
+
 }
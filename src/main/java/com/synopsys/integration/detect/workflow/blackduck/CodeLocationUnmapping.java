@@ -0,0 +1,77 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.blackduck;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.blackduck.api.generated.view.CodeLocationView;
+import com.synopsys.integration.detect.exception.DetectUserFriendlyException;
+import com.synopsys.integration.detect.exitcode.ExitCodeType;
+
+public class CodeLocationUnmapping {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final List<CodeLocationView> codeLocationViews;
+    private final List<Future<?>> unmapRequests;
+
+    public CodeLocationUnmapping(final List<CodeLocationView> codeLocationViews, final List<Future<?>> unmapRequests) {
+        this.codeLocationViews = codeLocationViews;
+        this.unmapRequests = unmapRequests;
+    }
+
+    // Waits for every unmap request, even after a failure, so that nothing is still running once this returns.
+    public void waitForCompletion() throws DetectUserFriendlyException {
+        int failureCount = 0;
+        Throwable firstFailure = null;
+        for (int i = 0; i < unmapRequests.size(); i++) {
+            try {
+                unmapRequests.get(i).get();
+            } catch (final ExecutionException e) {
+                logger.error(String.format("Failed to unmap code location %s: %s", codeLocationViews.get(i).getName(), e.getCause().getMessage()));
+                failureCount++;
+                if (firstFailure == null) {
+                    firstFailure = e.getCause();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unmapRequests.forEach(request -> request.cancel(true));
+                throw new DetectUserFriendlyException("Interrupted while unmapping Code Locations.", e, ExitCodeType.FAILURE_GENERAL_ERROR);
+            }
+        }
+
+        if (firstFailure != null) {
+            throw new DetectUserFriendlyException(String.format("There was a problem unmapping Code Locations, %d of %d could not be unmapped: %s", failureCount, unmapRequests.size(), firstFailure.getMessage()), firstFailure,
+                ExitCodeType.FAILURE_GENERAL_ERROR);
+        }
+        logger.info("Successfully unmapped (" + codeLocationViews.size() + ") code locations.");
+    }
+
+    public List<CodeLocationView> getCodeLocationViews() {
+        return codeLocationViews;
+    }
+}
@@ -22,7 +22,13 @@
  */
 package com.synopsys.integration.detect.workflow.blackduck;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,29 +40,102 @@ import com.synopsys.integration.blackduck.service.dataservice.CodeLocationServic
 import com.synopsys.integration.detect.exception.DetectUserFriendlyException;
 import com.synopsys.integration.detect.exitcode.ExitCodeType;
 import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
 
 public class DetectCodeLocationUnmapService {
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_INITIAL_BACKOFF_IN_MILLIS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final BlackDuckService blackDuckService;
     private final CodeLocationService codeLocationService;
+    private final ExecutorService executorService;
+    private final int maxAttempts;
+    private final long initialBackoffInMillis;
+
+    public DetectCodeLocationUnmapService(final BlackDuckService blackDuckService, final CodeLocationService codeLocationService, final ExecutorService executorService) {
+        this(blackDuckService, codeLocationService, executorService, DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_IN_MILLIS);
+    }
 
-    public DetectCodeLocationUnmapService(final BlackDuckService blackDuckService, final CodeLocationService codeLocationService) {
+    public DetectCodeLocationUnmapService(final BlackDuckService blackDuckService, final CodeLocationService codeLocationService, final ExecutorService executorService, final int maxAttempts, final long initialBackoffInMillis) {
         this.blackDuckService = blackDuckService;
         this.codeLocationService = codeLocationService;
+        this.executorService = executorService;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffInMillis = initialBackoffInMillis;
     }
 
     public void unmapCodeLocations(final ProjectVersionView projectVersionView) throws DetectUserFriendlyException {
+        startUnmappingCodeLocations(projectVersionView).waitForCompletion();
+    }
+
+    // Only the code locations mapped at this point are unmapped, so this must start before anything new is uploaded to the version.
+    public CodeLocationUnmapping startUnmappingCodeLocations(final ProjectVersionView projectVersionView) throws DetectUserFriendlyException {
+        return startUnmappingCodeLocations(projectVersionView, codeLocationName -> true);
+    }
+
+    public CodeLocationUnmapping startUnmappingCodeLocations(final ProjectVersionView projectVersionView, final Predicate<String> codeLocationNameFilter) throws DetectUserFriendlyException {
+        final List<CodeLocationView> codeLocationViews;
+        try {
+            codeLocationViews = blackDuckService.getAllResponses(projectVersionView, ProjectVersionView.CODELOCATIONS_LINK_RESPONSE).stream()
+                                    .filter(codeLocationView -> codeLocationNameFilter.test(codeLocationView.getName()))
+                                    .collect(Collectors.toList());
+        } catch (final IntegrationException e) {
+            throw new DetectUserFriendlyException(String.format("There was a problem unmapping Code Locations: %s", e.getMessage()), e, ExitCodeType.FAILURE_GENERAL_ERROR);
+        }
+
+        final List<Future<?>> unmapRequests = new ArrayList<>();
+        for (final CodeLocationView codeLocationView : codeLocationViews) {
+            unmapRequests.add(executorService.submit(() -> {
+                unmapCodeLocation(codeLocationView);
+                return null;
+            }));
+        }
+        return new CodeLocationUnmapping(codeLocationViews, unmapRequests);
+    }
+
+    /**
+     * Unmaps the code locations a tool created in an earlier run but no longer creates, as matched by the filter. Call it only once
+     * everything the tool uploaded in this run is mapped, so whatever a stale code location held is already covered by a newer one.
+     * Failures are logged rather than thrown: a stale code location left mapped does not invalidate the run.
+     * @param description names the matched code locations in log messages, such as "code locations of shards that this run no longer creates".
+     */
+    public void unmapMatching(final ProjectVersionView projectVersionView, final Predicate<String> codeLocationNameFilter, final String description) {
         try {
-            final List<CodeLocationView> codeLocationViews = blackDuckService.getAllResponses(projectVersionView, ProjectVersionView.CODELOCATIONS_LINK_RESPONSE);
+            final CodeLocationUnmapping codeLocationUnmapping = startUnmappingCodeLocations(projectVersionView, codeLocationNameFilter);
+            if (!codeLocationUnmapping.getCodeLocationViews().isEmpty()) {
+                logger.info(String.format("Unmapping %d %s.", codeLocationUnmapping.getCodeLocationViews().size(), description));
+                codeLocationUnmapping.waitForCompletion();
+            }
+        } catch (final DetectUserFriendlyException e) {
+            logger.error(String.format("Unable to unmap the %s: %s", description, e.getMessage()));
+            logger.debug("Stale code location unmapping error", e);
+        }
+    }
 
-            for (final CodeLocationView codeLocationView : codeLocationViews) {
+    private void unmapCodeLocation(final CodeLocationView codeLocationView) throws IntegrationException, InterruptedException {
+        long backoffInMillis = initialBackoffInMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
                 codeLocationService.unmapCodeLocation(codeLocationView);
+                return;
+            } catch (final IntegrationException e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    throw e;
+                }
+                logger.debug(String.format("Failed to unmap code location %s (attempt %d of %d), will retry in %d ms: %s", codeLocationView.getName(), attempt, maxAttempts, backoffInMillis, e.getMessage()));
+                Thread.sleep(backoffInMillis);
+                backoffInMillis *= 2;
             }
-            logger.info("Successfully unmapped (" + codeLocationViews.size() + ") code locations.");
-        } catch (final IntegrationException e) {
-            throw new DetectUserFriendlyException(String.format("There was a problem unmapping Code Locations: %s", e.getMessage()), e, ExitCodeType.FAILURE_GENERAL_ERROR);
         }
+    }
 
+    private boolean isTransient(final IntegrationException e) {
+        if (e instanceof IntegrationRestException) {
+            final int statusCode = ((IntegrationRestException) e).getHttpStatusCode();
+            return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+        }
+        return e.getCause() instanceof IOException;
     }
 }
@@ -24,62 +24,146 @@ package com.synopsys.integration.detect.workflow.blackduck;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.synopsys.integration.detectable.detectable.file.FileFinder;
-
+/**
+ * Finds the files and folders under each scan target whose names match the exclusion name patterns and turns them into
+ * signature scanner exclusion patterns. All targets are walked in a single pass, one directory per task on the given executor;
+ * the walk does not descend into matches or symbolic links, and patterns are built from the target's canonical path and the relative names walked, so
+ * no per-match canonicalization is needed.
+ */
 public class ExclusionPatternCreator {
     private final Logger logger = LoggerFactory.getLogger(ExclusionPatternCreator.class);
 
-    private final FileFinder fileFinder;
-    private final File scanTarget;
+    private final ExecutorService executorService;
 
-    public ExclusionPatternCreator(final FileFinder fileFinder, final File scanTarget) {
-        this.fileFinder = fileFinder;
-        this.scanTarget = scanTarget;
+    // The caller waits for the walk, so it must not run on a thread of the executor's own pool.
+    public ExclusionPatternCreator(final ExecutorService executorService) {
+        this.executorService = executorService;
     }
 
-    public Set<String> determineExclusionPatterns(final int maxDepth, final List<String> signatureScannerExclusionNamePatterns) {
-        if (null == signatureScannerExclusionNamePatterns || signatureScannerExclusionNamePatterns.size() < 1 && scanTarget.isDirectory()) {
-            return Collections.emptySet();
+    /**
+     * @param canonicalScanTargets canonical paths of the scan targets; duplicates are walked once.
+     * @return the exclusion patterns for each canonical scan target.
+     */
+    public Map<String, Set<String>> determineExclusionPatterns(final Collection<String> canonicalScanTargets, final int maxDepth, final List<String> signatureScannerExclusionNamePatterns) {
+        final Map<String, Set<String>> exclusionPatterns = new HashMap<>();
+        final Set<String> distinctTargets = new LinkedHashSet<>(canonicalScanTargets);
+        if (null == signatureScannerExclusionNamePatterns || signatureScannerExclusionNamePatterns.isEmpty()) {
+            distinctTargets.forEach(target -> exclusionPatterns.put(target, Collections.emptySet()));
+            return exclusionPatterns;
         }
-        final Set<String> scanExclusionPatterns = new HashSet<>();
-        try {
-            final String scanTargetPath = scanTarget.getCanonicalPath();
-            // TODO should we only collect directories since the scanner can only exclude directories?
-            final List<File> matchingFiles = fileFinder.findFiles(scanTarget, signatureScannerExclusionNamePatterns, maxDepth, false); //TODO: re-add the depth hit message creator?
-            for (final File matchingFile : matchingFiles) {
-                final String matchingFilePath = matchingFile.getCanonicalPath();
-                final String scanExclusionPattern = createExclusionPatternFromPaths(scanTargetPath, matchingFilePath);
-                scanExclusionPatterns.add(scanExclusionPattern);
+
+        final WildcardFileFilter nameFilter = new WildcardFileFilter(signatureScannerExclusionNamePatterns);
+        final Map<String, Set<String>> foundPatterns = new HashMap<>();
+        final DirectoryWalk walk = new DirectoryWalk(nameFilter);
+        for (final String target : distinctTargets) {
+            final Set<String> patterns = ConcurrentHashMap.newKeySet();
+            foundPatterns.put(target, patterns);
+            final Path targetPath = Paths.get(target);
+            if (!Files.isSymbolicLink(targetPath) && Files.isDirectory(targetPath)) {
+                walk.submit(targetPath, "/", maxDepth, patterns);
             }
-        } catch (final IOException e) {
-            logger.warn("Problem encountered finding the exclusion patterns for the scanner. " + e.getMessage());
-            logger.debug(e.getMessage(), e);
         }
-        return scanExclusionPatterns;
+        try {
+            walk.awaitCompletion();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.debug("Interrupted while searching for scanner exclusions, only the exclusions found so far will be used.");
+        }
+
+        foundPatterns.forEach((target, patterns) -> exclusionPatterns.put(target, new HashSet<>(patterns)));
+        return exclusionPatterns;
     }
 
-    private String createExclusionPatternFromPaths(final String rootPath, final String targetPath) {
-        String scanExclusionPattern = targetPath.replace(rootPath, "/");
-        if (scanExclusionPattern.contains("\\\\")) {
-            scanExclusionPattern = scanExclusionPattern.replace("\\\\", "/");
+    // Directory tasks never wait on each other: each one submits its subdirectories and the caller waits until none are pending.
+    private class DirectoryWalk {
+        private final WildcardFileFilter nameFilter;
+        // Starts at one for the caller, so the walk can not finish while targets are still being submitted.
+        private final AtomicInteger pendingDirectories = new AtomicInteger(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        private DirectoryWalk(final WildcardFileFilter nameFilter) {
+            this.nameFilter = nameFilter;
         }
-        if (scanExclusionPattern.contains("\\")) {
-            scanExclusionPattern = scanExclusionPattern.replace("\\", "/");
+
+        private void submit(final Path directory, final String relativePattern, final int depth, final Set<String> patterns) {
+            if (depth < 0) {
+                return;
+            }
+            pendingDirectories.incrementAndGet();
+            try {
+                executorService.execute(() -> {
+                    try {
+                        walk(directory, relativePattern, depth, patterns);
+                    } catch (final RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        finishDirectory();
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                failure.compareAndSet(null, e);
+                finishDirectory();
+            }
         }
-        if (scanExclusionPattern.contains("//")) {
-            scanExclusionPattern = scanExclusionPattern.replace("//", "/");
+
+        private void awaitCompletion() throws InterruptedException {
+            finishDirectory();
+            completed.await();
+            if (failure.get() != null) {
+                throw failure.get();
+            }
         }
-        if (!scanExclusionPattern.endsWith("/")) {
-            scanExclusionPattern = scanExclusionPattern + "/";
+
+        private void finishDirectory() {
+            if (pendingDirectories.decrementAndGet() == 0) {
+                completed.countDown();
+            }
+        }
+
+        private void walk(final Path directory, final String relativePattern, final int depth, final Set<String> patterns) {
+            final File directoryFile = directory.toFile();
+            try (final DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                for (final Path child : children) {
+                    final String name = child.getFileName().toString();
+                    final String childPattern = relativePattern + name + "/";
+                    if (nameFilter.accept(directoryFile, name)) {
+                        patterns.add(childPattern);
+                        continue;
+                    }
+                    final BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        submit(child, childPattern, depth - 1, patterns);
+                    }
+                }
+            } catch (final IOException e) {
+                logger.debug(String.format("Unable to search %s for scanner exclusions: %s", directory, e.getMessage()));
+            }
         }
-        return scanExclusionPattern;
     }
 }
@@ -0,0 +1,46 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.blackduck.policy;
+
+import java.util.List;
+
+import com.synopsys.integration.blackduck.api.generated.view.ComponentPolicyRulesView;
+import com.synopsys.integration.blackduck.api.generated.view.ProjectVersionComponentView;
+
+public class ComponentPolicyViolation {
+    private final ProjectVersionComponentView component;
+    private final List<ComponentPolicyRulesView> violatedPolicyRules;
+
+    public ComponentPolicyViolation(final ProjectVersionComponentView component, final List<ComponentPolicyRulesView> violatedPolicyRules) {
+        this.component = component;
+        this.violatedPolicyRules = violatedPolicyRules;
+    }
+
+    public ProjectVersionComponentView getComponent() {
+        return component;
+    }
+
+    public List<ComponentPolicyRulesView> getViolatedPolicyRules() {
+        return violatedPolicyRules;
+    }
+}
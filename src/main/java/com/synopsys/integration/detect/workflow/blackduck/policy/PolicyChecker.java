@@ -22,8 +22,19 @@
  */
 package com.synopsys.integration.detect.workflow.blackduck.policy;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -50,11 +61,15 @@ public class PolicyChecker {
     private final EventSystem eventSystem;
     private final BlackDuckService blackDuckService;
     private final ProjectBomService projectBomService;
+    private final ExecutorService executorService;
+    private final long fetchDeadlineInSeconds;
 
-    public PolicyChecker(final EventSystem eventSystem, final BlackDuckService blackDuckService, final ProjectBomService projectBomService) {
+    public PolicyChecker(final EventSystem eventSystem, final BlackDuckService blackDuckService, final ProjectBomService projectBomService, final ExecutorService executorService, final long fetchDeadlineInSeconds) {
         this.eventSystem = eventSystem;
         this.blackDuckService = blackDuckService;
         this.projectBomService = projectBomService;
+        this.executorService = executorService;
+        this.fetchDeadlineInSeconds = fetchDeadlineInSeconds;
     }
 
     public void checkPolicy(final List<PolicyRuleSeverityType> policySeverities, final ProjectVersionView projectVersionView) throws IntegrationException {
@@ -83,13 +98,9 @@ public class PolicyChecker {
     public void fetchAndLogPolicyViolations(final ProjectVersionView projectVersionView) throws IntegrationException {
         logger.info("Searching BOM for components in violation of policy rules.");
 
-        final List<ProjectVersionComponentView> bomComponents = projectBomService.getComponentsForProjectVersion(projectVersionView);
-        for (final ProjectVersionComponentView projectVersionComponentView : bomComponents) {
-            if (projectVersionComponentView.getPolicyStatus().equals(PolicyStatusType.NOT_IN_VIOLATION)) {
-                continue;
-            }
-
-            for (final ComponentPolicyRulesView componentPolicyRulesView : blackDuckService.getAllResponses(projectVersionComponentView, ProjectVersionComponentView.POLICY_RULES_LINK_RESPONSE)) {
+        for (final ComponentPolicyViolation policyViolation : fetchPolicyViolations(projectVersionView)) {
+            final ProjectVersionComponentView projectVersionComponentView = policyViolation.getComponent();
+            for (final ComponentPolicyRulesView componentPolicyRulesView : policyViolation.getViolatedPolicyRules()) {
                 String componentId = projectVersionComponentView.getComponentName();
                 if (StringUtils.isNotBlank(projectVersionComponentView.getComponentVersionName())) {
                     componentId += ":" + projectVersionComponentView.getComponentVersionName();
@@ -120,6 +131,68 @@ public class PolicyChecker {
         }
     }
 
+    // The policy rules of each violating component are requested concurrently, one request per component, and returned in BOM order.
+    // There is no per-request timeout: every request must finish before a single deadline of fetchDeadlineInSeconds for the whole fetch.
+    // Each component's response carries its own copies of the rules, those violated by several components are kept once, by href.
+    public List<ComponentPolicyViolation> fetchPolicyViolations(final ProjectVersionView projectVersionView) throws IntegrationException {
+        final List<ProjectVersionComponentView> bomComponents = projectBomService.getComponentsForProjectVersion(projectVersionView);
+
+        final List<ProjectVersionComponentView> violatingComponents = new ArrayList<>();
+        final List<Future<List<ComponentPolicyRulesView>>> requests = new ArrayList<>();
+        for (final ProjectVersionComponentView projectVersionComponentView : bomComponents) {
+            if (projectVersionComponentView.getPolicyStatus().equals(PolicyStatusType.NOT_IN_VIOLATION)) {
+                continue;
+            }
+            violatingComponents.add(projectVersionComponentView);
+            requests.add(executorService.submit(() -> blackDuckService.getAllResponses(projectVersionComponentView, ProjectVersionComponentView.POLICY_RULES_LINK_RESPONSE)));
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(fetchDeadlineInSeconds);
+        final Map<String, ComponentPolicyRulesView> rulesByHref = new HashMap<>();
+        final List<ComponentPolicyViolation> policyViolations = new ArrayList<>();
+        int unfinishedCount = 0;
+        try {
+            for (int i = 0; i < violatingComponents.size(); i++) {
+                final ProjectVersionComponentView violatingComponent = violatingComponents.get(i);
+                final Optional<List<ComponentPolicyRulesView>> violatedRules = awaitPolicyRules(violatingComponent, requests.get(i), deadline);
+                if (!violatedRules.isPresent()) {
+                    unfinishedCount++;
+                }
+                final List<ComponentPolicyRulesView> sharedRules = violatedRules.orElse(Collections.emptyList()).stream()
+                                                                       .map(rule -> rule.getHref().map(href -> rulesByHref.computeIfAbsent(href.string(), key -> rule)).orElse(rule))
+                                                                       .collect(Collectors.toList());
+                policyViolations.add(new ComponentPolicyViolation(violatingComponent, sharedRules));
+            }
+        } finally {
+            // Each request is only awaited by its own component, so the ones still running after the deadline can be cancelled.
+            requests.forEach(request -> request.cancel(true));
+        }
+        if (unfinishedCount > 0) {
+            logger.warn(String.format("The %d second deadline for retrieving policy rules passed before the rules violated by %d of %d components were retrieved, they are reported without rules.", fetchDeadlineInSeconds,
+                unfinishedCount, violatingComponents.size()));
+        }
+        return policyViolations;
+    }
+
+    // Empty when the deadline passed before the request finished.
+    private Optional<List<ComponentPolicyRulesView>> awaitPolicyRules(final ProjectVersionComponentView projectVersionComponentView, final Future<List<ComponentPolicyRulesView>> request, final long deadline)
+        throws IntegrationException {
+        try {
+            return Optional.of(request.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+        } catch (final TimeoutException | CancellationException e) {
+            logger.debug(String.format("The deadline passed before the policy rules violated by component \"%s\" were retrieved.", projectVersionComponentView.getComponentName()));
+            return Optional.empty();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IntegrationException) {
+                throw (IntegrationException) e.getCause();
+            }
+            throw new IntegrationException(String.format("Failed to retrieve the policy rules violated by component \"%s\": %s", projectVersionComponentView.getComponentName(), e.getMessage()), e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while retrieving policy violations.", e);
+        }
+    }
+
     private boolean arePolicySeveritiesViolated(final PolicyStatusDescription policyStatusDescription, final List<PolicyRuleSeverityType> policySeverities) {
         return policySeverities.stream()
                    .map(policyStatusDescription::getCountOfSeverity)
@@ -66,7 +66,7 @@ public class BdioCodeLocationCreator {
 
     private Map<DetectCodeLocation, String> createCodeLocationNameMap(final List<DetectCodeLocation> codeLocations, final File detectSourcePath, final NameVersion projectNameVersion, final String prefix,
         final String suffix) {
-        final Map<DetectCodeLocation, String> nameMap = new HashMap<>();
+        final Map<DetectCodeLocation, String> nameMap = new HashMap<>(codeLocations.size() * 2);
         for (final DetectCodeLocation detectCodeLocation : codeLocations) {
             final String codeLocationName = codeLocationNameManager.createCodeLocationName(detectCodeLocation, detectSourcePath, projectNameVersion.getName(), projectNameVersion.getVersion(), prefix, suffix);
             nameMap.put(detectCodeLocation, codeLocationName);
@@ -92,30 +92,26 @@ public class BdioCodeLocationCreator {
     private Map<String, List<DetectCodeLocation>> seperateCodeLocationsByName(final Map<DetectCodeLocation, String> detectCodeLocationNameMap) {
         final Map<String, List<DetectCodeLocation>> codeLocationNameMap = new HashMap<>();
         for (final Map.Entry<DetectCodeLocation, String> detectCodeLocationEntry : detectCodeLocationNameMap.entrySet()) {
-            final String codeLocationName = detectCodeLocationEntry.getValue();
-            if (!codeLocationNameMap.containsKey(codeLocationName)) {
-                codeLocationNameMap.put(codeLocationName, new ArrayList<>());
-            }
-            codeLocationNameMap.get(codeLocationName).add(detectCodeLocationEntry.getKey());
+            codeLocationNameMap.computeIfAbsent(detectCodeLocationEntry.getValue(), name -> new ArrayList<>()).add(detectCodeLocationEntry.getKey());
         }
         return codeLocationNameMap;
     }
 
     private List<BdioCodeLocation> createBdioCodeLocations(final Map<String, List<DetectCodeLocation>> codeLocationsByName) {
         final List<BdioCodeLocation> bdioCodeLocations = new ArrayList<>();
+        final IntegrationEscapeUtil integrationEscapeUtil = new IntegrationEscapeUtil();
         for (final Map.Entry<String, List<DetectCodeLocation>> codeLocationEntry : codeLocationsByName.entrySet()) {
             final String codeLocationName = codeLocationEntry.getKey();
             final List<DetectCodeLocation> codeLocations = codeLocationEntry.getValue();
-            final List<BdioCodeLocation> transformedBdioCodeLocations = transformDetectCodeLocationsIntoBdioCodeLocations(codeLocations, codeLocationName);
+            final List<BdioCodeLocation> transformedBdioCodeLocations = transformDetectCodeLocationsIntoBdioCodeLocations(codeLocations, codeLocationName, integrationEscapeUtil);
             bdioCodeLocations.addAll(transformedBdioCodeLocations);
         }
 
         return bdioCodeLocations;
     }
 
-    private List<BdioCodeLocation> transformDetectCodeLocationsIntoBdioCodeLocations(final List<DetectCodeLocation> codeLocations, final String codeLocationName) {
+    private List<BdioCodeLocation> transformDetectCodeLocationsIntoBdioCodeLocations(final List<DetectCodeLocation> codeLocations, final String codeLocationName, final IntegrationEscapeUtil integrationEscapeUtil) {
         final List<BdioCodeLocation> bdioCodeLocations;
-        final IntegrationEscapeUtil integrationEscapeUtil = new IntegrationEscapeUtil();
 
         if (codeLocations.size() > 1) {
             bdioCodeLocations = new ArrayList<>();
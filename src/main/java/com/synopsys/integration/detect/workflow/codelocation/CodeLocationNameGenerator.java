@@ -29,31 +29,47 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.Nullable;
 
+import com.synopsys.integration.detect.workflow.file.CanonicalPathCache;
 import com.synopsys.integration.detect.workflow.file.DetectFileUtils;
 
 public class CodeLocationNameGenerator {
     private final String codeLocationNameOverride;
     private final Map<String, Integer> nameCounters = new HashMap<>();
     private static final int MAXIMUM_CODE_LOCATION_NAME_LENGTH = 250;
+    private static final String BOM_TYPE = CodeLocationNameType.BOM.toString().toLowerCase();
+    private static final String DOCKER_TYPE = CodeLocationNameType.DOCKER.toString().toLowerCase();
+    private static final String SCAN_TYPE = CodeLocationNameType.SCAN.toString().toLowerCase();
+    private static final String IMPACT_ANALYSIS_TYPE = CodeLocationNameType.IMPACT_ANALYSIS.toString().toLowerCase();
+
+    private final CanonicalPathCache canonicalPathCache;
+    // Code locations from one project share a handful of source folders, so their relative path pieces are kept.
+    private final Map<String, Map<String, String>> relativePathPieces = new ConcurrentHashMap<>();
 
     public CodeLocationNameGenerator(@Nullable String codeLocationNameOverride) {
+        this(codeLocationNameOverride, new CanonicalPathCache());
+    }
+
+    public CodeLocationNameGenerator(@Nullable String codeLocationNameOverride, CanonicalPathCache canonicalPathCache) {
         this.codeLocationNameOverride = codeLocationNameOverride;
+        this.canonicalPathCache = canonicalPathCache;
     }
 
     public String createBomCodeLocationName(File detectSourcePath, File sourcePath, String projectName, String projectVersionName, DetectCodeLocation detectCodeLocation, @Nullable String prefix, @Nullable String suffix) {
-        String canonicalDetectSourcePath = DetectFileUtils.tryGetCanonicalPath(detectSourcePath);
-        String canonicalSourcePath = DetectFileUtils.tryGetCanonicalPath(sourcePath);
-        String pathPiece = FileNameUtils.relativize(canonicalDetectSourcePath, canonicalSourcePath);
+        String canonicalDetectSourcePath = canonicalPathCache.getCanonicalPath(detectSourcePath);
+        String canonicalSourcePath = canonicalPathCache.getCanonicalPath(sourcePath);
+        String pathPiece = relativize(canonicalDetectSourcePath, canonicalSourcePath);
 
         String externalIdPiece = StringUtils.join(detectCodeLocation.getExternalId().getExternalIdPieces(), "/");
 
         // misc pieces
-        String codeLocationTypeString = CodeLocationNameType.BOM.toString().toLowerCase();
+        String codeLocationTypeString = BOM_TYPE;
         String bomToolTypeString = deriveCreator(detectCodeLocation).toLowerCase();
 
         List<String> bomCodeLocationNamePieces = new ArrayList<>();
@@ -69,9 +85,9 @@ public class CodeLocationNameGenerator {
     }
 
     public String createDockerCodeLocationName(File sourcePath, String projectName, String projectVersionName, String dockerImage, @Nullable String prefix, @Nullable String suffix) {
-        String canonicalSourcePath = DetectFileUtils.tryGetCanonicalPath(sourcePath);
+        String canonicalSourcePath = canonicalPathCache.getCanonicalPath(sourcePath);
         String finalSourcePathPiece = DetectFileUtils.extractFinalPieceFromPath(canonicalSourcePath);
-        String codeLocationTypeString = CodeLocationNameType.DOCKER.toString().toLowerCase();
+        String codeLocationTypeString = DOCKER_TYPE;
         final String bomToolTypeString = "docker";
 
         List<String> dockerCodeLocationNamePieces = Arrays.asList(finalSourcePathPiece, projectName, projectVersionName, dockerImage);
@@ -81,9 +97,9 @@ public class CodeLocationNameGenerator {
     }
 
     public String createDockerScanCodeLocationName(File dockerTar, String projectName, String projectVersionName, @Nullable String prefix, @Nullable String suffix) {
-        String codeLocationTypeString = CodeLocationNameType.SCAN.toString().toLowerCase();
+        String codeLocationTypeString = SCAN_TYPE;
 
-        String dockerTarFileName = DetectFileUtils.tryGetCanonicalName(dockerTar);
+        String dockerTarFileName = canonicalPathCache.getCanonicalName(dockerTar);
         List<String> fileCodeLocationNamePieces = Arrays.asList(dockerTarFileName, projectName, projectVersionName);
         List<String> fileCodeLocationEndPieces = Arrays.asList(codeLocationTypeString);
 
@@ -92,7 +108,7 @@ public class CodeLocationNameGenerator {
 
     public String createScanCodeLocationName(File sourcePath, File scanTargetPath, String projectName, String projectVersionName, @Nullable String prefix, @Nullable String suffix) {
         String pathPiece = cleanScanTargetPath(scanTargetPath, sourcePath);
-        String codeLocationTypeString = CodeLocationNameType.SCAN.toString().toLowerCase();
+        String codeLocationTypeString = SCAN_TYPE;
 
         List<String> fileCodeLocationNamePieces = Arrays.asList(pathPiece, projectName, projectVersionName);
         List<String> fileCodeLocationEndPieces = Arrays.asList(codeLocationTypeString);
@@ -101,9 +117,9 @@ public class CodeLocationNameGenerator {
     }
 
     public String createBinaryScanCodeLocationName(File targetFile, String projectName, String projectVersionName, @Nullable String prefix, @Nullable String suffix) {
-        String codeLocationTypeString = CodeLocationNameType.SCAN.toString().toLowerCase();
+        String codeLocationTypeString = SCAN_TYPE;
 
-        String canonicalFileName = DetectFileUtils.tryGetCanonicalName(targetFile);
+        String canonicalFileName = canonicalPathCache.getCanonicalName(targetFile);
         List<String> fileCodeLocationNamePieces = Arrays.asList(canonicalFileName, projectName, projectVersionName);
         List<String> fileCodeLocationEndPieces = Arrays.asList(codeLocationTypeString);
 
@@ -111,28 +127,65 @@ public class CodeLocationNameGenerator {
     }
 
     public String createImpactAnalysisCodeLocationName(File sourceDirectory, String projectName, String projectVersionName, @Nullable String prefix, @Nullable String suffix) {
-        String codeLocationTypeString = CodeLocationNameType.IMPACT_ANALYSIS.toString().toLowerCase();
+        String codeLocationTypeString = IMPACT_ANALYSIS_TYPE;
 
-        String canonicalFileName = DetectFileUtils.tryGetCanonicalName(sourceDirectory);
+        String canonicalFileName = canonicalPathCache.getCanonicalName(sourceDirectory);
         List<String> fileCodeLocationNamePieces = Arrays.asList(canonicalFileName, projectName, projectVersionName);
         List<String> fileCodeLocationEndPieces = Collections.singletonList(codeLocationTypeString);
 
         return createCodeLocationName(prefix, fileCodeLocationNamePieces, suffix, fileCodeLocationEndPieces);
     }
 
-    private String createCodeLocationName(@Nullable String prefix, List<String> codeLocationNamePieces, @Nullable String suffix, List<String> codeLocationEndPieces) {
-        String codeLocationName = createCommonName(prefix, codeLocationNamePieces, suffix, codeLocationEndPieces);
+    // A partition of the source directory is named by its path relative to the source directory, like scan targets.
+    public String createImpactAnalysisCodeLocationName(File sourceDirectory, File classRoot, String projectName, String projectVersionName, @Nullable String prefix, @Nullable String suffix) {
+        String pathPiece = cleanScanTargetPath(classRoot, sourceDirectory);
 
-        if (codeLocationName.length() > MAXIMUM_CODE_LOCATION_NAME_LENGTH) {
-            codeLocationName = createShortenedCodeLocationName(codeLocationNamePieces, prefix, suffix, codeLocationEndPieces);
+        List<String> fileCodeLocationNamePieces = Arrays.asList(pathPiece, projectName, projectVersionName);
+        List<String> fileCodeLocationEndPieces = Collections.singletonList(IMPACT_ANALYSIS_TYPE);
+
+        return createCodeLocationName(prefix, fileCodeLocationNamePieces, suffix, fileCodeLocationEndPieces);
+    }
+
+    /**
+     * Matches the names the impact analysis code locations of the source directory, or of any class root in it, would be given. Both are named by their
+     * path from the source directory's name, so only that path piece differs. Names that were shortened for length are not matched.
+     */
+    public Predicate<String> createImpactAnalysisCodeLocationNameFilter(File sourceDirectory, String projectName, String projectVersionName, @Nullable String prefix, @Nullable String suffix) {
+        String sourceDirectoryName = DetectFileUtils.extractFinalPieceFromPath(canonicalPathCache.getCanonicalPath(sourceDirectory));
+        String pathPieceMarker = "\u0000";
+        String markedName = createCommonName(prefix, Arrays.asList(pathPieceMarker, projectName, projectVersionName), suffix, Collections.singletonList(IMPACT_ANALYSIS_TYPE));
+        String namePrefix = markedName.substring(0, markedName.indexOf(pathPieceMarker));
+        String nameSuffix = markedName.substring(markedName.indexOf(pathPieceMarker) + pathPieceMarker.length());
+
+        return codeLocationName -> {
+            if (StringUtils.isBlank(sourceDirectoryName) || codeLocationName == null || codeLocationName.length() > MAXIMUM_CODE_LOCATION_NAME_LENGTH
+                    || codeLocationName.length() < namePrefix.length() + nameSuffix.length() || !codeLocationName.startsWith(namePrefix) || !codeLocationName.endsWith(nameSuffix)) {
+                return false;
+            }
+            String pathPiece = codeLocationName.substring(namePrefix.length(), codeLocationName.length() - nameSuffix.length());
+            return pathPiece.equals(sourceDirectoryName) || pathPiece.startsWith(sourceDirectoryName + File.separator);
+        };
+    }
+
+    private String createCodeLocationName(@Nullable String prefix, List<String> codeLocationNamePieces, @Nullable String suffix, List<String> codeLocationEndPieces) {
+        // The length is known before building, so names that are too long are only built once, shortened.
+        if (commonNameLength(prefix, codeLocationNamePieces, suffix, codeLocationEndPieces) > MAXIMUM_CODE_LOCATION_NAME_LENGTH) {
+            return createShortenedCodeLocationName(codeLocationNamePieces, prefix, suffix, codeLocationEndPieces);
         }
+        return createCommonName(prefix, codeLocationNamePieces, suffix, codeLocationEndPieces);
+    }
 
-        return codeLocationName;
+    private String relativize(@Nullable String from, @Nullable String to) {
+        if (from == null || to == null) {
+            return FileNameUtils.relativize(from, to);
+        }
+        return relativePathPieces.computeIfAbsent(from, ignored -> new ConcurrentHashMap<>())
+                   .computeIfAbsent(to, ignored -> FileNameUtils.relativize(from, to));
     }
 
     private String cleanScanTargetPath(File scanTargetPath, File sourcePath) {
-        String canonicalTargetPath = DetectFileUtils.tryGetCanonicalPath(scanTargetPath);
-        String canonicalSourcePath = DetectFileUtils.tryGetCanonicalPath(sourcePath);
+        String canonicalTargetPath = canonicalPathCache.getCanonicalPath(scanTargetPath);
+        String canonicalSourcePath = canonicalPathCache.getCanonicalPath(sourcePath);
 
         String finalSourcePathPiece = DetectFileUtils.extractFinalPieceFromPath(canonicalSourcePath);
         String cleanedTargetPath = "";
@@ -161,22 +214,67 @@ public class CodeLocationNameGenerator {
     }
 
     private String createCommonName(@Nullable String prefix, List<String> namePieces, @Nullable String suffix, List<String> endPieces) {
-        ArrayList<String> commonNamePieces = new ArrayList<>();
-
+        StringBuilder name = new StringBuilder(commonNameLength(prefix, namePieces, suffix, endPieces));
+        boolean first = true;
         if (StringUtils.isNotBlank(prefix)) {
-            commonNamePieces.add(prefix);
+            name.append(prefix);
+            first = false;
+        }
+        for (String namePiece : namePieces) {
+            if (!first) {
+                name.append('/');
+            }
+            appendPiece(name, namePiece);
+            first = false;
+        }
+        if (StringUtils.isNotBlank(suffix)) {
+            if (!first) {
+                name.append('/');
+            }
+            name.append(suffix);
         }
 
-        commonNamePieces.addAll(namePieces);
+        name.append(' ');
+        for (int i = 0; i < endPieces.size(); i++) {
+            if (i > 0) {
+                name.append('/');
+            }
+            appendPiece(name, endPieces.get(i));
+        }
+        return name.toString();
+    }
 
-        if (StringUtils.isNotBlank(suffix)) {
-            commonNamePieces.add(suffix);
+    private void appendPiece(StringBuilder name, @Nullable String piece) {
+        if (piece != null) {
+            name.append(piece);
         }
+    }
 
-        String name = StringUtils.join(commonNamePieces, "/");
-        String endPiece = StringUtils.join(endPieces, "/");
+    // The length of the name createCommonName builds: pieces joined by '/', then a space and the end pieces joined by '/'.
+    private int commonNameLength(@Nullable String prefix, List<String> namePieces, @Nullable String suffix, List<String> endPieces) {
+        int pieceCount = namePieces.size();
+        int length = pieceLength(namePieces);
+        if (StringUtils.isNotBlank(prefix)) {
+            length += prefix.length();
+            pieceCount++;
+        }
+        if (StringUtils.isNotBlank(suffix)) {
+            length += suffix.length();
+            pieceCount++;
+        }
+        length += Math.max(0, pieceCount - 1);
+        length += 1 + pieceLength(endPieces) + Math.max(0, endPieces.size() - 1);
+        return length;
+    }
 
-        return String.format("%s %s", name, endPiece);
+    private int pieceLength(List<String> pieces) {
+        int length = 0;
+        for (String piece : pieces) {
+            if (piece != null) {
+                length += piece.length();
+            }
+        }
+        return length;
     }
 
     public boolean useCodeLocationOverride() {
@@ -204,7 +302,7 @@ public class CodeLocationNameGenerator {
     }
 
     private String createBomCodeLocationName(String givenCodeLocationName, String creatorName) {
-        String codeLocationTypeString = CodeLocationNameType.BOM.toString().toLowerCase();
+        String codeLocationTypeString = BOM_TYPE;
         String bomToolTypeString = creatorName.toLowerCase();
 
         int givenNameMaxLength = MAXIMUM_CODE_LOCATION_NAME_LENGTH - bomToolTypeString.length() - codeLocationTypeString.length() - 2;
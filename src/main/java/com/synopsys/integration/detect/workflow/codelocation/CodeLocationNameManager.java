@@ -23,6 +23,7 @@
 package com.synopsys.integration.detect.workflow.codelocation;
 
 import java.io.File;
+import java.util.function.Predicate;
 
 import org.springframework.lang.Nullable;
 
@@ -35,6 +36,14 @@ public class CodeLocationNameManager {
         this.codeLocationNameGenerator = codeLocationNameGenerator;
     }
 
+    /**
+     * Whether every code location is named after the code location name override. Overridden names are numbered in the order they are created,
+     * so a code location left by an earlier run can not be told apart from a current one by its name.
+     */
+    public boolean useCodeLocationOverride() {
+        return codeLocationNameGenerator.useCodeLocationOverride();
+    }
+
     public String createAggregateCodeLocationName(NameVersion projectNameVersion) {
         String aggregateCodeLocationName;
         if (codeLocationNameGenerator.useCodeLocationOverride()) {
@@ -98,4 +107,22 @@ public class CodeLocationNameManager {
         }
         return scanCodeLocationName;
     }
+
+    public String createImpactAnalysisCodeLocationName(File sourceDirectory, File classRoot, String projectName, String projectVersionName, @Nullable String prefix, @Nullable String suffix) {
+        String scanCodeLocationName;
+
+        if (codeLocationNameGenerator.useCodeLocationOverride()) {
+            scanCodeLocationName = codeLocationNameGenerator.getNextCodeLocationOverrideNameUnSourced(CodeLocationNameType.IMPACT_ANALYSIS);
+        } else {
+            scanCodeLocationName = codeLocationNameGenerator.createImpactAnalysisCodeLocationName(sourceDirectory, classRoot, projectName, projectVersionName, prefix, suffix);
+        }
+        return scanCodeLocationName;
+    }
+
+    public Predicate<String> createImpactAnalysisCodeLocationNameFilter(File sourceDirectory, String projectName, String projectVersionName, @Nullable String prefix, @Nullable String suffix) {
+        if (codeLocationNameGenerator.useCodeLocationOverride()) {
+            return codeLocationName -> false;
+        }
+        return codeLocationNameGenerator.createImpactAnalysisCodeLocationNameFilter(sourceDirectory, projectName, projectVersionName, prefix, suffix);
+    }
 }
@@ -41,13 +41,13 @@ import com.synopsys.integration.detector.base.DetectorType;
 import com.synopsys.integration.util.NameVersion;
 
 public class Event {
-    public static final EventType<DetectorEvaluationTree> SearchCompleted = new EventType<>(DetectorEvaluationTree.class);
-    public static final EventType<Set<DetectorType>> ApplicableCompleted = new EventType(Set.class);
-    public static final EventType<DetectorEvaluationTree> PreparationsCompleted = new EventType<>(DetectorEvaluationTree.class);
-    public static final EventType<DetectorEvaluationTree> DiscoveriesCompleted = new EventType<>(DetectorEvaluationTree.class);
-    public static final EventType<DetectorEvaluationTree> ExtractionsCompleted = new EventType<>(DetectorEvaluationTree.class);
+    public static final EventType<DetectorEvaluationTree> SearchCompleted = new EventType<>(DetectorEvaluationTree.class, EventType.Delivery.DEFERRABLE);
+    public static final EventType<Set<DetectorType>> ApplicableCompleted = new EventType(Set.class, EventType.Delivery.DEFERRABLE);
+    public static final EventType<DetectorEvaluationTree> PreparationsCompleted = new EventType<>(DetectorEvaluationTree.class, EventType.Delivery.DEFERRABLE);
+    public static final EventType<DetectorEvaluationTree> DiscoveriesCompleted = new EventType<>(DetectorEvaluationTree.class, EventType.Delivery.DEFERRABLE);
+    public static final EventType<DetectorEvaluationTree> ExtractionsCompleted = new EventType<>(DetectorEvaluationTree.class, EventType.Delivery.DEFERRABLE);
     public static final EventType<DetectorToolResult> DetectorsComplete = new EventType<>(DetectorToolResult.class);
-    public static final EventType<DetectorTimings> DetectorsProfiled = new EventType<>(DetectorTimings.class);
+    public static final EventType<DetectorTimings> DetectorsProfiled = new EventType<>(DetectorTimings.class, EventType.Delivery.DEFERRABLE);
     public static final EventType<DetectorEvaluation> ApplicableStarted = new EventType<>(DetectorEvaluation.class);
     public static final EventType<DetectorEvaluation> ApplicableEnded = new EventType<>(DetectorEvaluation.class);
     public static final EventType<DetectorEvaluation> ExtractableStarted = new EventType<>(DetectorEvaluation.class);
@@ -58,14 +58,14 @@ public class Event {
     public static final EventType<Integer> DiscoveryCount = new EventType<>(Integer.class);
     public static final EventType<DetectorEvaluation> DiscoveryStarted = new EventType<>(DetectorEvaluation.class);
     public static final EventType<DetectorEvaluation> DiscoveryEnded = new EventType<>(DetectorEvaluation.class);
-    public static final EventType<DetectCodeLocationNamesResult> DetectCodeLocationNamesCalculated = new EventType<>(DetectCodeLocationNamesResult.class);
-    public static final EventType<Collection<String>> CodeLocationsCompleted = new EventType(Collection.class);
+    public static final EventType<DetectCodeLocationNamesResult> DetectCodeLocationNamesCalculated = new EventType<>(DetectCodeLocationNamesResult.class, EventType.Delivery.DEFERRABLE);
+    public static final EventType<Collection<String>> CodeLocationsCompleted = new EventType(Collection.class, EventType.Delivery.DEFERRABLE);
     public static final EventType<ExitCodeRequest> ExitCode = new EventType<>(ExitCodeRequest.class);
-    public static final EventType<Status> StatusSummary = new EventType<>(Status.class);
-    public static final EventType<DetectIssue> Issue = new EventType<>(DetectIssue.class);
-    public static final EventType<DetectResult> ResultProduced = new EventType<>(DetectResult.class);
+    public static final EventType<Status> StatusSummary = new EventType<>(Status.class, EventType.Delivery.DEFERRABLE);
+    public static final EventType<DetectIssue> Issue = new EventType<>(DetectIssue.class, EventType.Delivery.DEFERRABLE);
+    public static final EventType<DetectResult> ResultProduced = new EventType<>(DetectResult.class, EventType.Delivery.DEFERRABLE);
     public static final EventType<File> CustomerFileOfInterest = new EventType<>(File.class);
-    public static final EventType<NameVersion> ProjectNameVersionChosen = new EventType<>(NameVersion.class);
-    public static final EventType<ExecutableOutput> Executable = new EventType<>(ExecutableOutput.class);
-    public static final EventType<UnrecognizedPaths> UnrecognizedPaths = new EventType<>(UnrecognizedPaths.class);
+    public static final EventType<NameVersion> ProjectNameVersionChosen = new EventType<>(NameVersion.class, EventType.Delivery.DEFERRABLE);
+    public static final EventType<ExecutableOutput> Executable = new EventType<>(ExecutableOutput.class, EventType.Delivery.DEFERRABLE);
+    public static final EventType<UnrecognizedPaths> UnrecognizedPaths = new EventType<>(UnrecognizedPaths.class, EventType.Delivery.DEFERRABLE);
 }
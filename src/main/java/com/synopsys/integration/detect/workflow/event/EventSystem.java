@@ -23,16 +23,79 @@
 package com.synopsys.integration.detect.workflow.event;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers events to registered listeners. Registration is copy-on-write, so listeners may be registered and events published from any thread.
+ * <p>
+ * Events are delivered synchronously on the publishing thread until {@link #enableAsynchronousDispatch(int)} is called. From then on each
+ * {@link EventType.Delivery#DEFERRABLE} event type is delivered on its own dispatcher thread: events of one type are delivered in the order they
+ * were published, and a publisher blocks while that type's queue is full. Call {@link #flush()} before reading state that listeners build up, and
+ * {@link #shutdown()} once the run is over.
+ */
 public class EventSystem {
-    private final Map<EventType, List<EventListener>> eventListenerMap = new HashMap<>();
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private static final ThreadLocal<Boolean> ON_DISPATCHER_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Map<EventType, List<EventListener>> eventListenerMap = new ConcurrentHashMap<>();
+    private final Map<EventType, EventDispatcher> dispatcherMap = new ConcurrentHashMap<>();
+    private final List<EventDispatcher> dispatchers = new ArrayList<>();
+    private final AtomicInteger dispatcherCount = new AtomicInteger();
+    private volatile int queueCapacity = 0;
+    private boolean shutdown = false;
+
+    /**
+     * Starts handing deferrable events to dispatcher threads, each event type through a queue that holds at most the given number of events.
+     */
+    public synchronized void enableAsynchronousDispatch(final int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("The event queue capacity must be at least 1.");
+        }
+        if (this.queueCapacity > 0 || shutdown) {
+            throw new IllegalStateException("Asynchronous event dispatch can only be enabled once, before the event system is shut down.");
+        }
+        this.queueCapacity = queueCapacity;
+    }
 
     public <T> void publishEvent(final EventType<T> event, final T payload) {
-        for (final EventListener listener : safelyGetListeners(event)) {
-            listener.eventOccured(payload);
+        if (queueCapacity == 0 || event.getDelivery() == EventType.Delivery.IMMEDIATE) {
+            deliver(event, payload, false);
+            return;
+        }
+
+        // Once shut down no new dispatchers start, but a stopping dispatcher still takes events so they stay in order.
+        final EventDispatcher dispatcher = dispatcherMap.computeIfAbsent(event, this::startDispatcher);
+        if (dispatcher == null) {
+            deliver(event, payload, false);
+            return;
+        }
+
+        final Runnable delivery = () -> deliver(event, payload, true);
+        final boolean queued;
+        if (ON_DISPATCHER_THREAD.get()) {
+            // Waiting for room could mean waiting on this listener's own dispatcher, so a listener queues past the capacity instead.
+            queued = dispatcher.enqueue(delivery);
+        } else {
+            queued = dispatcher.put(delivery);
+        }
+        if (!queued) {
+            // The dispatcher only exits once its queue is empty, so delivering here still keeps the publish order.
+            deliver(event, payload, false);
         }
     }
 
@@ -44,14 +107,172 @@ public class EventSystem {
         safelyGetListeners(event).remove(listener);
     }
 
+    /**
+     * Blocks until every event published before this call has been delivered. Does nothing while dispatch is synchronous.
+     */
+    public void flush() {
+        if (ON_DISPATCHER_THREAD.get()) {
+            throw new IllegalStateException("The event system cannot be flushed from an event listener.");
+        }
+        for (final EventDispatcher dispatcher : dispatcherMap.values()) {
+            dispatcher.flush();
+        }
+    }
+
+    /**
+     * Delivers every queued event and stops the dispatcher threads. Events published afterwards are delivered synchronously.
+     */
+    public void shutdown() {
+        flush();
+        final List<EventDispatcher> stopping;
+        synchronized (this) {
+            shutdown = true;
+            stopping = new ArrayList<>(dispatchers);
+        }
+        for (final EventDispatcher dispatcher : stopping) {
+            dispatcher.stop();
+        }
+    }
+
+    private void deliver(final EventType event, final Object payload, final boolean onDispatcher) {
+        for (final EventListener listener : safelyGetListeners(event)) {
+            if (onDispatcher) {
+                try {
+                    listener.eventOccured(payload);
+                } catch (final RuntimeException e) {
+                    logger.error("An event listener failed, the remaining listeners will still be notified.", e);
+                }
+            } else {
+                listener.eventOccured(payload);
+            }
+        }
+    }
+
+    private synchronized EventDispatcher startDispatcher(final EventType event) {
+        if (shutdown) {
+            return null;
+        }
+        final EventDispatcher dispatcher = new EventDispatcher(queueCapacity);
+        dispatcher.start("detect-event-dispatcher-" + dispatcherCount.incrementAndGet());
+        dispatchers.add(dispatcher);
+        return dispatcher;
+    }
+
     private List<EventListener> safelyGetListeners(final EventType event) {
-        final List<EventListener> listeners;
-        if (eventListenerMap.containsKey(event)) {
-            listeners = eventListenerMap.get(event);
-        } else {
-            listeners = new ArrayList<>();
-            eventListenerMap.put(event, listeners);
+        return eventListenerMap.computeIfAbsent(event, key -> new CopyOnWriteArrayList<>());
+    }
+
+    private static class EventDispatcher implements Runnable {
+        private static final QueuedDelivery WAKE = new QueuedDelivery(() -> {}, false);
+
+        // The queue itself is unbounded so that listeners can always queue; the permits bound what every other publisher may queue.
+        private final BlockingQueue<QueuedDelivery> queue = new LinkedBlockingQueue<>();
+        private final Semaphore permits;
+        private boolean stopping = false;
+        private boolean exited = false;
+        private Thread thread;
+
+        EventDispatcher(final int queueCapacity) {
+            permits = new Semaphore(queueCapacity);
+        }
+
+        void start(final String name) {
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        boolean enqueue(final Runnable delivery) {
+            return add(new QueuedDelivery(delivery, false));
+        }
+
+        boolean put(final Runnable delivery) {
+            try {
+                while (!hasExited()) {
+                    if (permits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                        if (add(new QueuedDelivery(delivery, true))) {
+                            return true;
+                        }
+                        permits.release();
+                        return false;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        void flush() {
+            final CountDownLatch latch = new CountDownLatch(1);
+            if (put(latch::countDown)) {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void stop() {
+            synchronized (this) {
+                stopping = true;
+                queue.add(WAKE);
+            }
+            try {
+                thread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private synchronized boolean hasExited() {
+            return exited;
+        }
+
+        private synchronized boolean add(final QueuedDelivery queuedDelivery) {
+            if (exited) {
+                return false;
+            }
+            queue.add(queuedDelivery);
+            return true;
+        }
+
+        // Anything queued before the dispatcher exits, including events its own listeners publish while it stops, is still delivered.
+        private synchronized boolean exitIfDrained() {
+            if (stopping && queue.isEmpty()) {
+                exited = true;
+            }
+            return exited;
+        }
+
+        @Override
+        public void run() {
+            ON_DISPATCHER_THREAD.set(true);
+            try {
+                do {
+                    final QueuedDelivery queuedDelivery = queue.take();
+                    if (queuedDelivery.holdsPermit) {
+                        permits.release();
+                    }
+                    queuedDelivery.delivery.run();
+                } while (!exitIfDrained());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                synchronized (this) {
+                    exited = true;
+                }
+            }
+        }
+    }
+
+    private static class QueuedDelivery {
+        private final Runnable delivery;
+        private final boolean holdsPermit;
+
+        QueuedDelivery(final Runnable delivery, final boolean holdsPermit) {
+            this.delivery = delivery;
+            this.holdsPermit = holdsPermit;
         }
-        return listeners;
     }
 }
@@ -23,9 +23,25 @@
 package com.synopsys.integration.detect.workflow.event;
 
 public class EventType<T> {
+    public enum Delivery {
+        // Listeners see the event before publishing returns, on the publishing thread.
+        IMMEDIATE,
+        // Listeners only build up reports and status, so the event may be handed to a dispatcher thread when asynchronous dispatch is enabled.
+        DEFERRABLE
+    }
+
+    private final Delivery delivery;
 
     public EventType(Class<T> clazz) {
+        this(clazz, Delivery.IMMEDIATE);
+    }
+
+    public EventType(Class<T> clazz, Delivery delivery) {
+        this.delivery = delivery;
+    }
 
+    public Delivery getDelivery() {
+        return delivery;
     }
 
 }
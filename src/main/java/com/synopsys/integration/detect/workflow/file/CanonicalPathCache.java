@@ -0,0 +1,49 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.file;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers canonical paths for the length of a run. Resolving a canonical path walks every symbolic link in the path,
+ * which is slow on network file systems, and the same few source folders are resolved for every code location.
+ * Falls back the same way {@link DetectFileUtils} does when a path cannot be resolved.
+ */
+public class CanonicalPathCache {
+    private final Map<File, String> canonicalPaths = new ConcurrentHashMap<>();
+    private final Map<File, File> canonicalFiles = new ConcurrentHashMap<>();
+
+    public String getCanonicalPath(final File file) {
+        return canonicalPaths.computeIfAbsent(file, DetectFileUtils::tryGetCanonicalPath);
+    }
+
+    public File getCanonicalFile(final File file) {
+        return canonicalFiles.computeIfAbsent(file, DetectFileUtils::tryGetCanonicalFile);
+    }
+
+    public String getCanonicalName(final File file) {
+        return getCanonicalFile(file).getName();
+    }
+}
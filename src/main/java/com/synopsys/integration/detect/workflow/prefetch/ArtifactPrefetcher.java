@@ -0,0 +1,89 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.prefetch;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downloads or verifies artifacts in the background while the rest of the run continues. A failed prefetch is logged as a warning,
+ * the consumer fetches the artifact again when it needs it and reports the problem then (see {@link PrefetchTask}).
+ */
+public class ArtifactPrefetcher {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ExecutorService executorService;
+    private final Map<PrefetchArtifact, Future<?>> prefetches = new ConcurrentHashMap<>();
+
+    public ArtifactPrefetcher(final ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public void prefetch(final PrefetchArtifact artifact, final PrefetchTask prefetchTask) {
+        prefetches.computeIfAbsent(artifact, key -> {
+            logger.debug(String.format("Prefetching the %s.", key.getDisplayName()));
+            return executorService.submit(() -> run(key, prefetchTask));
+        });
+    }
+
+    private void run(final PrefetchArtifact artifact, final PrefetchTask prefetchTask) {
+        final long start = System.currentTimeMillis();
+        try {
+            prefetchTask.prefetch();
+            logger.debug(String.format("Prefetched the %s in %d ms.", artifact.getDisplayName(), System.currentTimeMillis() - start));
+        } catch (final Exception e) {
+            logger.warn(String.format("Unable to prefetch the %s, it will be fetched again when it is needed: %s", artifact.getDisplayName(), e.getMessage()));
+            logger.debug(String.format("The %s prefetch failed.", artifact.getDisplayName()), e);
+        }
+    }
+
+    public boolean isPrefetching(final PrefetchArtifact artifact) {
+        final Future<?> prefetch = prefetches.get(artifact);
+        return prefetch != null && !prefetch.isDone();
+    }
+
+    // Only blocks while a prefetch of the artifact is still running.
+    public void awaitPrefetch(final PrefetchArtifact artifact) {
+        final Future<?> prefetch = prefetches.get(artifact);
+        if (prefetch == null || prefetch.isDone()) {
+            return;
+        }
+
+        logger.info(String.format("Waiting for the %s to finish downloading.", artifact.getDisplayName()));
+        final long start = System.currentTimeMillis();
+        try {
+            prefetch.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            logger.warn(String.format("The %s prefetch failed unexpectedly: %s", artifact.getDisplayName(), e.getMessage()));
+        }
+        logger.debug(String.format("Waited %d ms for the %s.", System.currentTimeMillis() - start, artifact.getDisplayName()));
+    }
+}
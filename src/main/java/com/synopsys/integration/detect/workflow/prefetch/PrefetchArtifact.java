@@ -1,5 +1,5 @@
 /**
- * detectable
+ * synopsys-detect
  *
  * Copyright (c) 2020 Synopsys, Inc.
  *
@@ -20,23 +20,21 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package com.synopsys.integration.detectable.detectables.npm.lockfile.model;
+package com.synopsys.integration.detect.workflow.prefetch;
 
-import java.util.Map;
+public enum PrefetchArtifact {
+    SIGNATURE_SCANNER("signature scanner"),
+    GRADLE_INSPECTOR("gradle inspector"),
+    DOCKER_INSPECTOR("docker inspector"),
+    NUGET_INSPECTOR("nuget inspector");
 
-import com.google.gson.annotations.SerializedName;
+    private final String displayName;
 
-public class PackageLockDependency {
-    @SerializedName("version")
-    public String version;
-
-    @SerializedName("dev")
-    public Boolean dev;
-
-    @SerializedName("requires")
-    public Map<String, String> requires;
-
-    @SerializedName("dependencies")
-    public Map<String, PackageLockDependency> dependencies;
+    PrefetchArtifact(final String displayName) {
+        this.displayName = displayName;
+    }
 
+    public String getDisplayName() {
+        return displayName;
+    }
 }
@@ -0,0 +1,81 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.prefetch;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.synopsys.integration.detect.DetectTool;
+import com.synopsys.integration.detect.util.filter.DetectToolFilter;
+import com.synopsys.integration.detectable.detectable.file.FileFinder;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleDetectable;
+import com.synopsys.integration.detectable.detectables.nuget.NugetProjectDetectable;
+import com.synopsys.integration.detectable.detectables.nuget.NugetSolutionDetectable;
+
+/**
+ * Guesses which downloaded artifacts the run will need from the configured tools and a shallow look at the source directory.
+ * A wrong guess only costs a wasted download or a download on the critical path, so the look is kept cheap.
+ */
+public class PrefetchDecider {
+    public static final int MAX_SEARCH_DEPTH = 2;
+
+    private final FileFinder fileFinder;
+
+    public PrefetchDecider(final FileFinder fileFinder) {
+        this.fileFinder = fileFinder;
+    }
+
+    public PrefetchDecision decide(final PrefetchOptions prefetchOptions, final DetectToolFilter detectToolFilter, final File sourceDirectory, final boolean blackDuckOnline) {
+        if (!prefetchOptions.isEnabled()) {
+            return PrefetchDecision.none();
+        }
+
+        final Set<PrefetchArtifact> artifacts = EnumSet.noneOf(PrefetchArtifact.class);
+        if (detectToolFilter.shouldInclude(DetectTool.SIGNATURE_SCAN) && blackDuckOnline && prefetchOptions.isScannerInstallManaged()) {
+            artifacts.add(PrefetchArtifact.SIGNATURE_SCANNER);
+        }
+        if (detectToolFilter.shouldInclude(DetectTool.DOCKER) && prefetchOptions.isDockerTargetProvided()) {
+            artifacts.add(PrefetchArtifact.DOCKER_INSPECTOR);
+        }
+        if (detectToolFilter.shouldInclude(DetectTool.DETECTOR) && !prefetchOptions.isBuildless()) {
+            final int depth = Math.min(prefetchOptions.getSearchDepth(), MAX_SEARCH_DEPTH);
+            if (containsAny(sourceDirectory, Arrays.asList(GradleDetectable.BUILD_GRADLE_FILENAME, GradleDetectable.KOTLIN_BUILD_GRADLE_FILENAME), depth)) {
+                artifacts.add(PrefetchArtifact.GRADLE_INSPECTOR);
+            }
+            final List<String> nugetPatterns = new ArrayList<>(NugetSolutionDetectable.SUPPORTED_SOLUTION_PATTERNS);
+            nugetPatterns.addAll(NugetProjectDetectable.SUPPORTED_PROJECT_PATTERNS);
+            if (containsAny(sourceDirectory, nugetPatterns, depth)) {
+                artifacts.add(PrefetchArtifact.NUGET_INSPECTOR);
+            }
+        }
+        return new PrefetchDecision(artifacts);
+    }
+
+    private boolean containsAny(final File sourceDirectory, final List<String> filenamePatterns, final int depth) {
+        return !fileFinder.findFiles(sourceDirectory, filenamePatterns, depth, false).isEmpty();
+    }
+}
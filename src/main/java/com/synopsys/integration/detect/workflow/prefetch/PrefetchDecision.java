@@ -1,5 +1,5 @@
 /**
- * detectable
+ * synopsys-detect
  *
  * Copyright (c) 2020 Synopsys, Inc.
  *
@@ -20,33 +20,28 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package com.synopsys.integration.detectable.detectables.cocoapods.model;
+package com.synopsys.integration.detect.workflow.prefetch;
 
-import java.util.List;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
+public class PrefetchDecision {
+    private final Set<PrefetchArtifact> artifacts;
 
-@JsonIgnoreProperties(ignoreUnknown = true)
-public class PodfileLock {
-    @JsonProperty("PODS")
-    private List<Pod> pods;
-
-    @JsonProperty("DEPENDENCIES")
-    private List<Pod> dependencies;
-
-    @JsonProperty("EXTERNAL SOURCES")
-    private ExternalSources externalSources;
+    public PrefetchDecision(final Set<PrefetchArtifact> artifacts) {
+        this.artifacts = artifacts.isEmpty() ? EnumSet.noneOf(PrefetchArtifact.class) : EnumSet.copyOf(artifacts);
+    }
 
-    public List<Pod> getPods() {
-        return pods;
+    public static PrefetchDecision none() {
+        return new PrefetchDecision(Collections.emptySet());
     }
 
-    public List<Pod> getDependencies() {
-        return dependencies;
+    public Set<PrefetchArtifact> getArtifacts() {
+        return Collections.unmodifiableSet(artifacts);
     }
 
-    public ExternalSources getExternalSources() {
-        return externalSources;
+    public boolean shouldPrefetch(final PrefetchArtifact artifact) {
+        return artifacts.contains(artifact);
     }
 }
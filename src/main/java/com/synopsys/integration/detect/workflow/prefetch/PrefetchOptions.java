@@ -0,0 +1,60 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.prefetch;
+
+public class PrefetchOptions {
+    private final boolean enabled;
+    private final int searchDepth;
+    private final boolean buildless;
+    private final boolean dockerTargetProvided;
+    private final boolean scannerInstallManaged;
+
+    public PrefetchOptions(final boolean enabled, final int searchDepth, final boolean buildless, final boolean dockerTargetProvided, final boolean scannerInstallManaged) {
+        this.enabled = enabled;
+        this.searchDepth = searchDepth;
+        this.buildless = buildless;
+        this.dockerTargetProvided = dockerTargetProvided;
+        this.scannerInstallManaged = scannerInstallManaged;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getSearchDepth() {
+        return searchDepth;
+    }
+
+    public boolean isBuildless() {
+        return buildless;
+    }
+
+    public boolean isDockerTargetProvided() {
+        return dockerTargetProvided;
+    }
+
+    // True when the scanner is downloaded from the Black Duck server rather than found locally or at a user provided url.
+    public boolean isScannerInstallManaged() {
+        return scannerInstallManaged;
+    }
+}
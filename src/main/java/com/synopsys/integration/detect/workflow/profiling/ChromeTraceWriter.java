@@ -0,0 +1,76 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.profiling;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes spans in the Chrome trace event format, which chrome://tracing and Perfetto can open directly.
+ */
+public class ChromeTraceWriter {
+    private static final int PROCESS_ID = 1;
+
+    public void write(final Writer writer, final List<SpanTiming> timings) throws IOException {
+        final JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.beginObject();
+        jsonWriter.name("displayTimeUnit").value("ms");
+        jsonWriter.name("traceEvents");
+        jsonWriter.beginArray();
+
+        final Map<Long, String> threadNames = new HashMap<>();
+        for (final SpanTiming timing : timings) {
+            threadNames.putIfAbsent(timing.getThreadId(), timing.getThreadName());
+        }
+        for (final Map.Entry<Long, String> threadName : threadNames.entrySet()) {
+            jsonWriter.beginObject();
+            jsonWriter.name("name").value("thread_name");
+            jsonWriter.name("ph").value("M");
+            jsonWriter.name("pid").value(PROCESS_ID);
+            jsonWriter.name("tid").value(threadName.getKey());
+            jsonWriter.name("args").beginObject().name("name").value(threadName.getValue()).endObject();
+            jsonWriter.endObject();
+        }
+
+        for (final SpanTiming timing : timings) {
+            jsonWriter.beginObject();
+            jsonWriter.name("name").value(timing.getName());
+            jsonWriter.name("cat").value(timing.getCategory());
+            jsonWriter.name("ph").value("X");
+            jsonWriter.name("ts").value(timing.getStartMicros());
+            jsonWriter.name("dur").value(timing.getDurationMicros());
+            jsonWriter.name("pid").value(PROCESS_ID);
+            jsonWriter.name("tid").value(timing.getThreadId());
+            jsonWriter.endObject();
+        }
+
+        jsonWriter.endArray();
+        jsonWriter.endObject();
+        jsonWriter.flush();
+    }
+}
@@ -25,6 +25,7 @@ package com.synopsys.integration.detect.workflow.profiling;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import com.synopsys.integration.detect.workflow.event.Event;
 import com.synopsys.integration.detect.workflow.event.EventSystem;
@@ -32,16 +33,22 @@ import com.synopsys.integration.detector.base.DetectorEvaluation;
 import com.synopsys.integration.detector.base.DetectorType;
 
 public class DetectorProfiler {
-    private final Timekeeper<DetectorEvaluation> applicableTimekeeper = new Timekeeper<>();
-    private final Timekeeper<DetectorEvaluation> extractableTimekeeper = new Timekeeper<>();
-    private final Timekeeper<DetectorEvaluation> discoveryTimekeeper = new Timekeeper<>();
-    private final Timekeeper<DetectorEvaluation> extractionTimekeeper = new Timekeeper<>();
+    private final Timekeeper<DetectorEvaluation> applicableTimekeeper;
+    private final Timekeeper<DetectorEvaluation> extractableTimekeeper;
+    private final Timekeeper<DetectorEvaluation> discoveryTimekeeper;
+    private final Timekeeper<DetectorEvaluation> extractionTimekeeper;
 
     private final EventSystem eventSystem;
 
-    public DetectorProfiler(final EventSystem eventSystem) {
+    public DetectorProfiler(final EventSystem eventSystem, final RunProfiler runProfiler) {
         this.eventSystem = eventSystem;
 
+        final Function<DetectorEvaluation, String> spanNamer = evaluation -> evaluation.getDetectorRule().getDescriptiveName();
+        applicableTimekeeper = new Timekeeper<>(runProfiler, "applicable", spanNamer);
+        extractableTimekeeper = new Timekeeper<>(runProfiler, "extractable", spanNamer);
+        discoveryTimekeeper = new Timekeeper<>(runProfiler, "discovery", spanNamer);
+        extractionTimekeeper = new Timekeeper<>(runProfiler, "extraction", spanNamer);
+
         eventSystem.registerListener(Event.ApplicableStarted, this::applicableStarted);
         eventSystem.registerListener(Event.ApplicableEnded, this::applicableEnded);
         eventSystem.registerListener(Event.ExtractableStarted, this::extractableStarted);
@@ -98,7 +105,7 @@ public class DetectorProfiler {
     }
 
     public List<Timing<DetectorEvaluation>> getDiscoveryTimings() {
-        return extractionTimekeeper.getTimings();
+        return discoveryTimekeeper.getTimings();
     }
 
     public void detectorsComplete() {
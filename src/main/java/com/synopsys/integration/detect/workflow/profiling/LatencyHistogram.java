@@ -0,0 +1,82 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.profiling;
+
+/**
+ * Counts durations in power-of-two millisecond buckets, so percentiles are accurate to within a factor of two whatever the spread of the samples.
+ */
+public class LatencyHistogram {
+    private static final int BUCKET_COUNT = 64;
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count = 0;
+    private long totalMs = 0;
+    private long maxMs = 0;
+
+    public synchronized void record(final long ms) {
+        final long clamped = Math.max(0, ms);
+        buckets[bucketOf(clamped)]++;
+        count++;
+        totalMs += clamped;
+        maxMs = Math.max(maxMs, clamped);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalMs() {
+        return totalMs;
+    }
+
+    public synchronized long getMaxMs() {
+        return maxMs;
+    }
+
+    /**
+     * The upper bound of the bucket holding the given percentile (0 to 100), capped at the largest recorded value.
+     */
+    public synchronized long getPercentileMs(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(count * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= rank) {
+                return Math.min(maxMs, upperBoundOf(bucket));
+            }
+        }
+        return maxMs;
+    }
+
+    private static int bucketOf(final long ms) {
+        // Bucket 0 holds 0ms, bucket n holds [2^(n-1), 2^n).
+        return ms == 0 ? 0 : Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(ms));
+    }
+
+    private static long upperBoundOf(final int bucket) {
+        return bucket == 0 ? 0 : (bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1);
+    }
+}
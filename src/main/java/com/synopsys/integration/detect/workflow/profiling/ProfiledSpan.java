@@ -0,0 +1,67 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.profiling;
+
+/**
+ * A timed region of the run. Spans opened on the same thread while another is open nest inside it in the exported trace.
+ */
+public class ProfiledSpan implements AutoCloseable {
+    private final RunProfiler runProfiler;
+    private final String category;
+    private final String name;
+    private final Thread thread;
+    private final long startNanos;
+    private boolean closed = false;
+
+    ProfiledSpan(final RunProfiler runProfiler, final String category, final String name, final Thread thread, final long startNanos) {
+        this.runProfiler = runProfiler;
+        this.category = category;
+        this.name = name;
+        this.thread = thread;
+        this.startNanos = startNanos;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Thread getThread() {
+        return thread;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            runProfiler.ended(this, System.nanoTime());
+        }
+    }
+}
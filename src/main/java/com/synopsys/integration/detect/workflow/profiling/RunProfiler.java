@@ -0,0 +1,111 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.profiling;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.detect.workflow.report.ProfilingReporter;
+import com.synopsys.integration.detect.workflow.report.writer.FileReportWriter;
+
+/**
+ * Collects spans from any thread for the whole run and exports them as a Chrome trace and a latency report.
+ */
+public class RunProfiler {
+    public static final String CATEGORY_STEP = "step";
+    public static final String CATEGORY_EXECUTABLE = "executable";
+
+    public static final String TRACE_FILE_NAME = "detect_trace.json";
+    public static final String LATENCY_REPORT_FILE_NAME = "latency_report.txt";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final long originNanos = System.nanoTime();
+    private final Queue<SpanTiming> timings = new ConcurrentLinkedQueue<>();
+
+    public ProfiledSpan start(final String category, final String name) {
+        return new ProfiledSpan(this, category, name, Thread.currentThread(), System.nanoTime());
+    }
+
+    void ended(final ProfiledSpan span, final long endNanos) {
+        final long startMicros = TimeUnit.NANOSECONDS.toMicros(span.getStartNanos() - originNanos);
+        final long durationMicros = TimeUnit.NANOSECONDS.toMicros(endNanos - span.getStartNanos());
+        final Thread thread = span.getThread();
+        timings.add(new SpanTiming(span.getCategory(), span.getName(), thread.getId(), thread.getName(), startMicros, durationMicros));
+    }
+
+    public List<SpanTiming> getTimings() {
+        final List<SpanTiming> sorted = new ArrayList<>(timings);
+        sorted.sort(Comparator.comparingLong(SpanTiming::getStartMicros));
+        return sorted;
+    }
+
+    // Each step is its own phase, so the run's steps are not folded into one histogram. Other spans, such as executables, are grouped by category.
+    public Map<String, LatencyHistogram> getHistogramsByPhase() {
+        final Map<String, LatencyHistogram> histograms = new TreeMap<>();
+        for (final SpanTiming timing : timings) {
+            histograms.computeIfAbsent(phaseOf(timing), key -> new LatencyHistogram()).record(TimeUnit.MICROSECONDS.toMillis(timing.getDurationMicros()));
+        }
+        return histograms;
+    }
+
+    private String phaseOf(final SpanTiming timing) {
+        if (CATEGORY_STEP.equals(timing.getCategory())) {
+            return CATEGORY_STEP + ": " + timing.getName();
+        }
+        return timing.getCategory();
+    }
+
+    public void export(final File directory, final String runId) {
+        final File traceFile = new File(directory, TRACE_FILE_NAME);
+        try (final Writer writer = new OutputStreamWriter(new FileOutputStream(traceFile), StandardCharsets.UTF_8)) {
+            new ChromeTraceWriter().write(writer, getTimings());
+            logger.debug("Created trace file: " + traceFile.getPath());
+        } catch (final IOException e) {
+            logger.debug("Failed to write the trace file.", e);
+        }
+
+        final File latencyFile = new File(directory, LATENCY_REPORT_FILE_NAME);
+        final FileReportWriter reportWriter = new FileReportWriter(latencyFile, "Latency Report", "Span durations by phase, in milliseconds.", runId);
+        try {
+            new ProfilingReporter().writeLatencyReport(reportWriter, getHistogramsByPhase());
+        } finally {
+            reportWriter.finish();
+        }
+    }
+}
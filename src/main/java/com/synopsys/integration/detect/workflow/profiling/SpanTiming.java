@@ -0,0 +1,66 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.profiling;
+
+public class SpanTiming {
+    private final String category;
+    private final String name;
+    private final long threadId;
+    private final String threadName;
+    private final long startMicros;
+    private final long durationMicros;
+
+    public SpanTiming(final String category, final String name, final long threadId, final String threadName, final long startMicros, final long durationMicros) {
+        this.category = category;
+        this.name = name;
+        this.threadId = threadId;
+        this.threadName = threadName;
+        this.startMicros = startMicros;
+        this.durationMicros = durationMicros;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    // Microseconds since the run profiler was created.
+    public long getStartMicros() {
+        return startMicros;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+}
@@ -23,32 +23,48 @@
 package com.synopsys.integration.detect.workflow.profiling;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.time.StopWatch;
 
 public class Timekeeper<T> {
+    private final Map<T, StopWatch> stopWatches = new ConcurrentHashMap<>();
+    private final Map<T, ProfiledSpan> spans = new ConcurrentHashMap<>();
 
-    private final Map<T, StopWatch> stopWatches = new HashMap<>();
+    private final RunProfiler runProfiler;
+    private final String category;
+    private final Function<T, String> spanNamer;
+
+    public Timekeeper() {
+        this(null, null, null);
+    }
+
+    public Timekeeper(final RunProfiler runProfiler, final String category, final Function<T, String> spanNamer) {
+        this.runProfiler = runProfiler;
+        this.category = category;
+        this.spanNamer = spanNamer;
+    }
 
     private StopWatch getStopWatch(final T key) {
-        if (stopWatches.containsKey(key)) {
-            return stopWatches.get(key);
-        } else {
-            final StopWatch sw = new StopWatch();
-            stopWatches.put(key, sw);
-            return sw;
-        }
+        return stopWatches.computeIfAbsent(key, missingKey -> new StopWatch());
     }
 
     public void started(final T key) {
         getStopWatch(key).start();
+        if (runProfiler != null) {
+            spans.put(key, runProfiler.start(category, spanNamer.apply(key)));
+        }
     }
 
     public void ended(final T key) {
         getStopWatch(key).stop();
+        final ProfiledSpan span = spans.remove(key);
+        if (span != null) {
+            span.close();
+        }
     }
 
     public List<Timing<T>> getTimings() {
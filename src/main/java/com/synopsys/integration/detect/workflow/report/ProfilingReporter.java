@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.synopsys.integration.detect.workflow.profiling.DetectorTimings;
+import com.synopsys.integration.detect.workflow.profiling.LatencyHistogram;
 import com.synopsys.integration.detect.workflow.profiling.Timing;
 import com.synopsys.integration.detect.workflow.report.writer.ReportWriter;
 import com.synopsys.integration.detector.base.DetectorEvaluation;
@@ -50,6 +51,16 @@ public class ProfilingReporter {
         writeReport(writer, detectorTimings.getExtractionTimings());
     }
 
+    public void writeLatencyReport(final ReportWriter writer, final Map<String, LatencyHistogram> histograms) {
+        writer.writeLine("\t" + padToLength("Phase", 30) + "\tCount\tTotal\tp50\tp90\tp99\tMax");
+        writer.writeSeparator();
+        for (final Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            final LatencyHistogram histogram = entry.getValue();
+            writer.writeLine("\t" + padToLength(entry.getKey(), 30) + "\t" + histogram.getCount() + "\t" + histogram.getTotalMs() + "\t" + histogram.getPercentileMs(50) + "\t" + histogram.getPercentileMs(90) + "\t"
+                                 + histogram.getPercentileMs(99) + "\t" + histogram.getMaxMs());
+        }
+    }
+
     private void writeAggregateReport(final ReportWriter writer, final List<Timing<DetectorEvaluation>> timings) {
         final Map<String, Long> aggregated = new HashMap<>();
 
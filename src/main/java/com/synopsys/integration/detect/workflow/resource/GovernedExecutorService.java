@@ -0,0 +1,185 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.resource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One consumer's view of a shared pool. At most maxConcurrency of its tasks occupy pool threads at once, the rest wait
+ * in the view, and every task holds the view's resource permits while it runs. Shutting the view down only stops the
+ * view from accepting tasks: the shared pool keeps running and running tasks are never interrupted.
+ */
+class GovernedExecutorService extends AbstractExecutorService {
+    private final ExecutorService pool;
+    private final int maxConcurrency;
+    private final List<ResourceLimiter> limiters;
+
+    private final Object lock = new Object();
+    private final Deque<Runnable> pending = new ArrayDeque<>();
+    private int running = 0;
+    private boolean shutdown = false;
+
+    GovernedExecutorService(final ExecutorService pool, final int maxConcurrency, final List<ResourceLimiter> limiters) {
+        this.pool = pool;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.limiters = limiters;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Objects.requireNonNull(command);
+        synchronized (lock) {
+            if (shutdown) {
+                throw new RejectedExecutionException("The executor has been shut down.");
+            }
+            if (running >= maxConcurrency) {
+                pending.add(command);
+                return;
+            }
+            running++;
+        }
+        try {
+            dispatch(command);
+        } catch (final RejectedExecutionException e) {
+            finished();
+            throw e;
+        }
+    }
+
+    private void dispatch(final Runnable command) {
+        pool.execute(() -> runAndContinue(command));
+    }
+
+    private void runAndContinue(final Runnable command) {
+        try {
+            runWithPermits(command);
+        } finally {
+            final Runnable next = nextOrFinish();
+            if (next != null) {
+                try {
+                    dispatch(next);
+                } catch (final RejectedExecutionException e) {
+                    // The shared pool is gone so nothing left in this view can run.
+                    abandonPending();
+                }
+            }
+        }
+    }
+
+    private void runWithPermits(final Runnable command) {
+        final List<ResourcePermit> permits = new ArrayList<>(limiters.size());
+        try {
+            for (final ResourceLimiter limiter : limiters) {
+                permits.add(limiter.acquire());
+            }
+            command.run();
+        } finally {
+            for (int i = permits.size() - 1; i >= 0; i--) {
+                permits.get(i).close();
+            }
+        }
+    }
+
+    // A finishing task hands its slot to the next pending one, which goes to the back of the shared queue so other consumers get their turn.
+    private Runnable nextOrFinish() {
+        synchronized (lock) {
+            final Runnable next = pending.poll();
+            if (next == null) {
+                running--;
+                lock.notifyAll();
+            }
+            return next;
+        }
+    }
+
+    private void finished() {
+        synchronized (lock) {
+            running--;
+            lock.notifyAll();
+        }
+    }
+
+    private void abandonPending() {
+        synchronized (lock) {
+            pending.clear();
+            running--;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        synchronized (lock) {
+            shutdown = true;
+            final List<Runnable> neverStarted = new ArrayList<>(pending);
+            pending.clear();
+            lock.notifyAll();
+            return neverStarted;
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (lock) {
+            return shutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        synchronized (lock) {
+            return shutdown && running == 0 && pending.isEmpty();
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            while (!(shutdown && running == 0 && pending.isEmpty())) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return true;
+        }
+    }
+}
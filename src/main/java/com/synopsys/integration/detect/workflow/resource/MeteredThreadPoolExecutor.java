@@ -0,0 +1,84 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.resource;
+
+import java.util.Locale;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed size pool of named daemon threads that records how busy it was. Idle threads time out so an unused pool costs nothing.
+ */
+class MeteredThreadPoolExecutor extends ThreadPoolExecutor {
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final ResourcePoolType poolType;
+    private final long createdNanos = System.nanoTime();
+    private final ThreadLocal<Long> taskStartNanos = new ThreadLocal<>();
+
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+
+    MeteredThreadPoolExecutor(final ResourcePoolType poolType, final int threads) {
+        super(Math.max(1, threads), Math.max(1, threads), KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), createThreadFactory(poolType));
+        this.poolType = poolType;
+        allowCoreThreadTimeOut(true);
+    }
+
+    private static ThreadFactory createThreadFactory(final ResourcePoolType poolType) {
+        final String prefix = "detect-" + poolType.name().toLowerCase(Locale.ROOT) + "-";
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    protected void beforeExecute(final Thread thread, final Runnable runnable) {
+        super.beforeExecute(thread, runnable);
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        taskStartNanos.set(System.nanoTime());
+    }
+
+    @Override
+    protected void afterExecute(final Runnable runnable, final Throwable throwable) {
+        busyNanos.addAndGet(System.nanoTime() - taskStartNanos.get());
+        taskStartNanos.remove();
+        active.decrementAndGet();
+        completed.incrementAndGet();
+        super.afterExecute(runnable, throwable);
+    }
+
+    ResourcePoolMetrics getMetrics() {
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - createdNanos);
+        return new ResourcePoolMetrics(poolType, getMaximumPoolSize(), getTaskCount(), completed.get(), peakActive.get(), TimeUnit.NANOSECONDS.toMillis(busyNanos.get()), elapsedMs);
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.resource;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.detect.workflow.report.writer.FileReportWriter;
+import com.synopsys.integration.detect.workflow.report.writer.ReportWriter;
+
+/**
+ * Owns every thread Detect starts for the run. Work is submitted through views of three named pools (CPU, PROCESS and IO) so
+ * the number of threads, external processes and memory-heavy tasks stays bounded no matter how many tools run at once.
+ * Tasks must not block waiting on other tasks submitted to the same pool.
+ */
+public class ResourceGovernor {
+    public static final String REPORT_FILE_NAME = "resource_report.txt";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Map<ResourcePoolType, MeteredThreadPoolExecutor> pools = new EnumMap<>(ResourcePoolType.class);
+    private final ResourceLimiter processLimiter;
+    private final ResourceLimiter memoryHeavyLimiter;
+
+    public ResourceGovernor(final ResourceGovernorOptions options) {
+        pools.put(ResourcePoolType.CPU, new MeteredThreadPoolExecutor(ResourcePoolType.CPU, options.getCpuThreads()));
+        pools.put(ResourcePoolType.PROCESS, new MeteredThreadPoolExecutor(ResourcePoolType.PROCESS, options.getMaxConcurrentProcesses()));
+        pools.put(ResourcePoolType.IO, new MeteredThreadPoolExecutor(ResourcePoolType.IO, options.getIoThreads()));
+        processLimiter = new ResourceLimiter("Processes", options.getMaxConcurrentProcesses());
+        memoryHeavyLimiter = new ResourceLimiter("Memory heavy tasks", options.getMaxMemoryHeavyTasks());
+    }
+
+    public ExecutorService executorService(final ResourcePoolType poolType) {
+        return executorService(poolType, Integer.MAX_VALUE);
+    }
+
+    // Tasks submitted to the PROCESS pool each hold a process permit while they run.
+    public ExecutorService executorService(final ResourcePoolType poolType, final int maxConcurrency) {
+        return createView(poolType, maxConcurrency, false);
+    }
+
+    // Each task additionally holds a memory heavy permit, for work such as signature scans that start their own large JVM.
+    public ExecutorService memoryHeavyExecutorService(final ResourcePoolType poolType, final int maxConcurrency) {
+        return createView(poolType, maxConcurrency, true);
+    }
+
+    private ExecutorService createView(final ResourcePoolType poolType, final int maxConcurrency, final boolean memoryHeavy) {
+        final List<ResourceLimiter> limiters = new ArrayList<>();
+        // Always memory before process so two tasks can never wait on each other's permits.
+        if (memoryHeavy) {
+            limiters.add(memoryHeavyLimiter);
+        }
+        if (poolType == ResourcePoolType.PROCESS) {
+            limiters.add(processLimiter);
+        }
+        return new GovernedExecutorService(pools.get(poolType), maxConcurrency, limiters);
+    }
+
+    // Blocks until the run is allowed another external process. Nested requests from a thread that already holds a permit do not block.
+    public ResourcePermit acquireProcessPermit() {
+        return processLimiter.acquire();
+    }
+
+    public ResourcePermit acquireMemoryHeavyPermit() {
+        return memoryHeavyLimiter.acquire();
+    }
+
+    public List<ResourcePoolMetrics> getPoolMetrics() {
+        final List<ResourcePoolMetrics> metrics = new ArrayList<>();
+        for (final MeteredThreadPoolExecutor pool : pools.values()) {
+            metrics.add(pool.getMetrics());
+        }
+        return metrics;
+    }
+
+    public List<ResourceLimitMetrics> getLimitMetrics() {
+        return Collections.unmodifiableList(Arrays.asList(processLimiter.getMetrics(), memoryHeavyLimiter.getMetrics()));
+    }
+
+    /**
+     * Stops accepting work, waits up to the timeout for running tasks to finish and then interrupts whatever is left.
+     * Returns true if every pool finished on its own.
+     */
+    public boolean shutdown(final long timeout, final TimeUnit unit) {
+        pools.values().forEach(MeteredThreadPoolExecutor::shutdown);
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean finished = true;
+        for (final Map.Entry<ResourcePoolType, MeteredThreadPoolExecutor> pool : pools.entrySet()) {
+            try {
+                if (!pool.getValue().awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    logger.debug(String.format("The %s pool did not finish in time, %d tasks will be interrupted.", pool.getKey().name(), pool.getValue().getActiveCount()));
+                    pool.getValue().shutdownNow();
+                    finished = false;
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pool.getValue().shutdownNow();
+                finished = false;
+            }
+        }
+        return finished;
+    }
+
+    public void export(final File directory, final String runId) {
+        final File reportFile = new File(directory, REPORT_FILE_NAME);
+        final FileReportWriter reportWriter = new FileReportWriter(reportFile, "Resource Report", "Utilization of the run-wide pools and limits.", runId);
+        try {
+            writeReport(reportWriter);
+        } finally {
+            reportWriter.finish();
+        }
+    }
+
+    public void writeReport(final ReportWriter writer) {
+        writer.writeLine("\t" + StringUtils.rightPad("Pool", 20) + "\tThreads\tSubmitted\tCompleted\tPeak\tBusy\tUtilization");
+        writer.writeSeparator();
+        for (final ResourcePoolMetrics metrics : getPoolMetrics()) {
+            writer.writeLine("\t" + StringUtils.rightPad(metrics.getPoolType().name(), 20) + "\t" + metrics.getThreads() + "\t" + metrics.getSubmitted() + "\t" + metrics.getCompleted() + "\t" + metrics.getPeakActive() + "\t"
+                                 + metrics.getBusyMs() + "\t" + metrics.getUtilizationPercent() + "%");
+        }
+        writer.writeLine();
+        writer.writeLine("\t" + StringUtils.rightPad("Limit", 20) + "\tLimit\tAcquired\tPeak\tWaited");
+        writer.writeSeparator();
+        for (final ResourceLimitMetrics metrics : getLimitMetrics()) {
+            writer.writeLine("\t" + StringUtils.rightPad(metrics.getName(), 20) + "\t" + metrics.getLimit() + "\t" + metrics.getAcquired() + "\t" + metrics.getPeakInUse() + "\t" + metrics.getWaitedMs());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.resource;
+
+public class ResourceGovernorOptions {
+    private final int cpuThreads;
+    private final int ioThreads;
+    private final int maxConcurrentProcesses;
+    private final int maxMemoryHeavyTasks;
+
+    public ResourceGovernorOptions(final int cpuThreads, final int ioThreads, final int maxConcurrentProcesses, final int maxMemoryHeavyTasks) {
+        this.cpuThreads = cpuThreads;
+        this.ioThreads = ioThreads;
+        this.maxConcurrentProcesses = maxConcurrentProcesses;
+        this.maxMemoryHeavyTasks = maxMemoryHeavyTasks;
+    }
+
+    public int getCpuThreads() {
+        return cpuThreads;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public int getMaxConcurrentProcesses() {
+        return maxConcurrentProcesses;
+    }
+
+    public int getMaxMemoryHeavyTasks() {
+        return maxMemoryHeavyTasks;
+    }
+}
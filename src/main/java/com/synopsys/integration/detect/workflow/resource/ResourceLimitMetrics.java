@@ -0,0 +1,59 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.resource;
+
+public class ResourceLimitMetrics {
+    private final String name;
+    private final int limit;
+    private final long acquired;
+    private final int peakInUse;
+    private final long waitedMs;
+
+    public ResourceLimitMetrics(final String name, final int limit, final long acquired, final int peakInUse, final long waitedMs) {
+        this.name = name;
+        this.limit = limit;
+        this.acquired = acquired;
+        this.peakInUse = peakInUse;
+        this.waitedMs = waitedMs;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getAcquired() {
+        return acquired;
+    }
+
+    public int getPeakInUse() {
+        return peakInUse;
+    }
+
+    public long getWaitedMs() {
+        return waitedMs;
+    }
+}
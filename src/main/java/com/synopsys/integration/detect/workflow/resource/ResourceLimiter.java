@@ -0,0 +1,90 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.resource;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds how many holders of a resource exist across the run. Permits are reentrant per thread so a task that already
+ * holds one (a signature scan on the process pool) is never blocked by a nested request for the same resource.
+ */
+class ResourceLimiter {
+    private final String name;
+    private final int limit;
+    private final Semaphore semaphore;
+    private final ThreadLocal<Integer> heldByThread = ThreadLocal.withInitial(() -> 0);
+
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong waitedNanos = new AtomicLong();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+
+    ResourceLimiter(final String name, final int limit) {
+        this.name = name;
+        this.limit = Math.max(1, limit);
+        this.semaphore = new Semaphore(this.limit, true);
+    }
+
+    ResourcePermit acquire() {
+        final int held = heldByThread.get();
+        if (held > 0) {
+            heldByThread.set(held + 1);
+            return once(this::releaseNested);
+        }
+
+        final long start = System.nanoTime();
+        semaphore.acquireUninterruptibly();
+        waitedNanos.addAndGet(System.nanoTime() - start);
+        acquired.incrementAndGet();
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+        heldByThread.set(1);
+        return once(this::release);
+    }
+
+    private void releaseNested() {
+        heldByThread.set(heldByThread.get() - 1);
+    }
+
+    private void release() {
+        heldByThread.remove();
+        inUse.decrementAndGet();
+        semaphore.release();
+    }
+
+    private ResourcePermit once(final Runnable release) {
+        final AtomicBoolean released = new AtomicBoolean(false);
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                release.run();
+            }
+        };
+    }
+
+    ResourceLimitMetrics getMetrics() {
+        return new ResourceLimitMetrics(name, limit, acquired.get(), peakInUse.get(), TimeUnit.NANOSECONDS.toMillis(waitedNanos.get()));
+    }
+}
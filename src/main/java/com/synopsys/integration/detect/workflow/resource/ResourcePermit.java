@@ -1,5 +1,5 @@
 /**
- * detectable
+ * synopsys-detect
  *
  * Copyright (c) 2020 Synopsys, Inc.
  *
@@ -20,21 +20,13 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package com.synopsys.integration.detectable.detectables.npm.lockfile.model;
+package com.synopsys.integration.detect.workflow.resource;
 
-import java.util.Map;
-
-import com.google.gson.annotations.SerializedName;
-
-public class
-
-PackageLock {
-    @SerializedName("name")
-    public String name;
-
-    @SerializedName("version")
-    public String version;
-
-    @SerializedName("dependencies")
-    public Map<String, PackageLockDependency> dependencies;
+/**
+ * A permit held against one of the run-wide resource limits, released when closed.
+ */
+@FunctionalInterface
+public interface ResourcePermit extends AutoCloseable {
+    @Override
+    void close();
 }
@@ -0,0 +1,80 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.resource;
+
+public class ResourcePoolMetrics {
+    private final ResourcePoolType poolType;
+    private final int threads;
+    private final long submitted;
+    private final long completed;
+    private final int peakActive;
+    private final long busyMs;
+    private final long elapsedMs;
+
+    public ResourcePoolMetrics(final ResourcePoolType poolType, final int threads, final long submitted, final long completed, final int peakActive, final long busyMs, final long elapsedMs) {
+        this.poolType = poolType;
+        this.threads = threads;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.peakActive = peakActive;
+        this.busyMs = busyMs;
+        this.elapsedMs = elapsedMs;
+    }
+
+    public ResourcePoolType getPoolType() {
+        return poolType;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public int getPeakActive() {
+        return peakActive;
+    }
+
+    public long getBusyMs() {
+        return busyMs;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    // The share of the pool's thread time spent running tasks since the pool was created, from 0 to 100.
+    public int getUtilizationPercent() {
+        final long capacityMs = threads * elapsedMs;
+        if (capacityMs <= 0) {
+            return 0;
+        }
+        return (int) Math.min(100, busyMs * 100 / capacityMs);
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * detectable
+ * synopsys-detect
  *
  * Copyright (c) 2020 Synopsys, Inc.
  *
@@ -20,17 +20,10 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package com.synopsys.integration.detectable.detectables.go.godep.model;
+package com.synopsys.integration.detect.workflow.resource;
 
-import java.util.List;
-
-import com.google.gson.annotations.SerializedName;
-
-public class GoLock {
-    // see https://github.com/golang/dep/blob/master/lock.go for the source of the lock file
-    @SerializedName("projects")
-    public List<Project> projects;
-
-    @SerializedName("solve-meta")
-    public SolveMeta solveMeta;
+public enum ResourcePoolType {
+    CPU,
+    PROCESS,
+    IO
 }
@@ -0,0 +1,137 @@
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.regex.Pattern
+
+import org.gradle.api.Project
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier
+import org.gradle.api.artifacts.result.ResolvedComponentResult
+import org.gradle.api.artifacts.result.ResolvedDependencyResult
+
+// Writes the resolved dependency graph of every project as a compact list of components and edges.
+// Nothing is rendered to the console, so the build can run quietly and in parallel.
+
+class DetectNameFilter {
+    private final List<Pattern> excluded
+    private final List<Pattern> included
+
+    DetectNameFilter(String excludedNames, String includedNames) {
+        excluded = toPatterns(excludedNames)
+        included = toPatterns(includedNames)
+    }
+
+    boolean shouldInclude(String name) {
+        if (excluded.any { it.matcher(name).matches() }) {
+            return false
+        }
+        return included.isEmpty() || included.any { it.matcher(name).matches() }
+    }
+
+    private static List<Pattern> toPatterns(String names) {
+        return names.split(',').collect { it.trim() }.findAll { !it.isEmpty() }.collect { toPattern(it) }
+    }
+
+    private static Pattern toPattern(String wildcard) {
+        StringBuilder regex = new StringBuilder()
+        for (char c : wildcard.toCharArray()) {
+            if (c == '*' as char) {
+                regex.append('.*')
+            } else if (c == '?' as char) {
+                regex.append('.')
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)))
+            }
+        }
+        return Pattern.compile(regex.toString())
+    }
+}
+
+class DetectDependencyModelWriter {
+    private final DetectNameFilter configurationFilter
+    private final Map<String, Integer> componentIndexes = new LinkedHashMap<>()
+    private final List<String> componentLines = new ArrayList<>()
+    private final Set<String> dependencyLines = new LinkedHashSet<>()
+
+    DetectDependencyModelWriter(DetectNameFilter configurationFilter) {
+        this.configurationFilter = configurationFilter
+    }
+
+    void write(Project project, File outputFile) {
+        project.configurations.toList().each { configuration ->
+            boolean resolvable = !configuration.metaClass.respondsTo(configuration, 'isCanBeResolved') || configuration.canBeResolved
+            if (resolvable && configurationFilter.shouldInclude(configuration.name)) {
+                addConfiguration(configuration.incoming.resolutionResult.root)
+            }
+        }
+
+        outputFile.withWriter(StandardCharsets.UTF_8.name()) { writer ->
+            writer.write(['project', project.path, project.group, project.name, project.version, project.projectDir.canonicalPath].collect { clean(it) }.join('\t') + '\n')
+            componentLines.each { writer.write(it + '\n') }
+            dependencyLines.each { writer.write(it + '\n') }
+        }
+    }
+
+    // Project dependencies are left out along with everything below them, they are reported by their own project.
+    private void addConfiguration(ResolvedComponentResult root) {
+        Set<ResolvedComponentResult> visited = new HashSet<>()
+        Deque<List> pending = new ArrayDeque<>()
+        pending.push([0, root])
+        while (!pending.isEmpty()) {
+            List next = pending.pop()
+            int parentIndex = next[0]
+            ResolvedComponentResult parent = next[1]
+            parent.dependencies.each { dependency ->
+                if (!(dependency instanceof ResolvedDependencyResult)) {
+                    return
+                }
+                if (dependency.metaClass.respondsTo(dependency, 'isConstraint') && dependency.constraint) {
+                    return
+                }
+                ResolvedComponentResult selected = dependency.selected
+                if (!(selected.id instanceof ModuleComponentIdentifier)) {
+                    return
+                }
+                int childIndex = indexOf(selected.id)
+                dependencyLines.add('dependency\t' + parentIndex + '\t' + childIndex)
+                if (visited.add(selected)) {
+                    pending.push([childIndex, selected])
+                }
+            }
+        }
+    }
+
+    private int indexOf(ModuleComponentIdentifier id) {
+        String key = id.group + ':' + id.module + ':' + id.version
+        Integer index = componentIndexes.get(key)
+        if (index == null) {
+            index = componentIndexes.size() + 1
+            componentIndexes.put(key, index)
+            componentLines.add(['component', index, id.group, id.module, id.version].collect { clean(it) }.join('\t'))
+        }
+        return index
+    }
+
+    static String clean(Object value) {
+        return String.valueOf(value).replaceAll('[\\t\\r\\n]', ' ')
+    }
+}
+
+def outputDirectory = new File(System.getProperty('GRADLEEXTRACTIONDIR'))
+def projectFilter = new DetectNameFilter('${excludedProjectNames}', '${includedProjectNames}')
+def configurationFilter = new DetectNameFilter('${excludedConfigurationNames}', '${includedConfigurationNames}')
+
+gradle.allprojects { project ->
+    project.tasks.create('${modelTaskName}').doLast {
+        outputDirectory.mkdirs()
+
+        // Every task writes the same root metadata, the atomic move just lets the last one win.
+        File rootMetadata = File.createTempFile('rootProjectModel', '.tmp', outputDirectory)
+        rootMetadata.setText(['rootProject', project.rootProject.name, project.rootProject.version].collect { DetectDependencyModelWriter.clean(it) }.join('\t') + '\n', StandardCharsets.UTF_8.name())
+        Files.move(rootMetadata.toPath(), new File(outputDirectory, 'rootProjectModel.txt').toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+
+        if (projectFilter.shouldInclude(project.name)) {
+            String fileName = URLEncoder.encode(project.path, StandardCharsets.UTF_8.name()) + '_dependencyModel.txt'
+            new DetectDependencyModelWriter(configurationFilter).write(project, new File(outputDirectory, fileName))
+        }
+    }
+}
@@ -42,21 +42,31 @@ else:
 
 def main():
     try:
-        opts, args = getopt.getopt(sys.argv[1:], 'p:r', ['projectname=', 'requirements='])
+        opts, args = getopt.getopt(sys.argv[1:], 'p:r', ['projectname=', 'requirements=', 'format='])
     except getopt.GetoptError as error:
         print(str(error))
-        print('integration-pip-inspector.py -projectname=<project_name> -requirements=<requirements_path>')
+        print('integration-pip-inspector.py -projectname=<project_name> -requirements=<requirements_path> -format=<tree|graph>')
         sys.exit(2)
 
     project_name = None
     requirements_path = None
+    output_format = 'tree'
 
     for opt, arg in opts:
         if opt in '--projectname':
             project_name = arg
         elif opt in '--requirements':
             requirements_path = arg
+        elif opt in '--format':
+            output_format = arg
 
+    if output_format == 'graph':
+        inspect_graph(project_name, requirements_path)
+    else:
+        inspect_tree(project_name, requirements_path)
+
+
+def inspect_tree(project_name, requirements_path):
     project = None
 
     if project_name is not None:
@@ -68,34 +78,67 @@ def main():
         project.version = 'v?'
 
     if requirements_path is not None:
-        try:
-            assert os.path.exists(requirements_path), ("The requirements file %s does not exist." % requirements_path)
-            requirements = parse_requirements(requirements_path, session=PipSession())
-            for req in requirements:
-                try:
-                    package_name = None
-                    # In 20.1 of pip, the requirements object changed
-                    if hasattr(req, 'req'):
-                        package_name = req.req.name
-                    if package_name is None:
-                        import re
-                        package_name = re.split('==|>=|<=|>|<', req.requirement)[0]
-
-                    requirement = resolve_package_by_name(package_name, [])
-                    if requirement is None:
-                        raise Exception()
-                    project.children = project.children + [requirement]
-                except:
-                    if req is not None and req.req is not None:
-                        print('--' + req.req.name)
-        except AssertionError:
-            print('r?' + requirements_path)
-        except:
-            print('p?' + requirements_path)
+        for package_name in read_requirement_names(requirements_path):
+            try:
+                requirement = resolve_package_by_name(package_name, [])
+                if requirement is None:
+                    raise Exception()
+                project.children = project.children + [requirement]
+            except:
+                print('--' + package_name)
 
     print(project.render())
 
 
+# Prints each distribution once as a node and each requirement as an edge, instead of re-rendering shared subtrees.
+def inspect_graph(project_name, requirements_path):
+    graph = DependencyGraph()
+
+    project_id = None
+    if project_name is not None:
+        project_id = resolve_graph_by_name(project_name, graph)
+
+    if project_id is None:
+        project_id = graph.add_unknown_project()
+
+    if requirements_path is not None:
+        for package_name in read_requirement_names(requirements_path):
+            try:
+                requirement_id = resolve_graph_by_name(package_name, graph)
+                if requirement_id is None:
+                    raise Exception()
+                graph.add_edge(project_id, requirement_id)
+            except:
+                print('--' + package_name)
+
+    print(graph.render())
+
+
+# Returns the package names in the requirements file, or the names read before the file failed to parse.
+def read_requirement_names(requirements_path):
+    package_names = []
+    try:
+        assert os.path.exists(requirements_path), ("The requirements file %s does not exist." % requirements_path)
+        requirements = parse_requirements(requirements_path, session=PipSession())
+        for req in requirements:
+            try:
+                package_name = None
+                # In 20.1 of pip, the requirements object changed
+                if hasattr(req, 'req'):
+                    package_name = req.req.name
+                if package_name is None:
+                    import re
+                    package_name = re.split('==|>=|<=|>|<', req.requirement)[0]
+                package_names.append(package_name)
+            except:
+                pass
+    except AssertionError:
+        print('r?' + requirements_path)
+    except:
+        print('p?' + requirements_path)
+    return package_names
+
+
 class DependencyNode(object):
     name = None
     version = None
@@ -109,6 +152,44 @@ class DependencyNode(object):
         return result
 
 
+# Node 0 is always the project. Nodes are keyed by distribution so a package reached along many paths is resolved once.
+class DependencyGraph(object):
+    def __init__(self):
+        self.nodes = []
+        self.node_ids = {}
+        self.edges = []
+        self.edge_set = set()
+
+    def add_unknown_project(self):
+        node_id = len(self.nodes)
+        self.nodes.append(('n?', 'v?'))
+        return node_id
+
+    # Returns the node id and whether the distribution was new to the graph
+    def add_package(self, package):
+        node_id = self.node_ids.get(package.key)
+        if node_id is not None:
+            return node_id, False
+        node_id = len(self.nodes)
+        self.nodes.append((package.project_name, package.version))
+        self.node_ids[package.key] = node_id
+        return node_id, True
+
+    def add_edge(self, parent_id, child_id):
+        edge = (parent_id, child_id)
+        if parent_id != child_id and edge not in self.edge_set:
+            self.edge_set.add(edge)
+            self.edges.append(edge)
+
+    def render(self):
+        lines = []
+        for node_id, (name, version) in enumerate(self.nodes):
+            lines.append('node\t%d\t%s\t%s' % (node_id, name, version))
+        for parent_id, child_id in self.edges:
+            lines.append('edge\t%d\t%d' % (parent_id, child_id))
+        return '\n'.join(lines)
+
+
 def get_package_by_name(package_name):
     try:
         # TODO: By using pkg_resources.Requirement.parse to get the correct key, we may not need to attempt the other methods. Robust tests are needed to confirm.
@@ -149,4 +230,24 @@ def resolve_package_by_name(package_name, history):
                 node.children = node.children + [child_node]
     return node
 
+
+# Returns the graph node id, walking requirements only the first time a distribution is seen
+def resolve_graph_by_name(package_name, graph):
+    package = get_package_by_name(package_name)
+    if package is None:
+        return None
+    node_id, is_new = graph.add_package(package)
+    pending = [(node_id, package)] if is_new else []
+    while pending:
+        parent_id, parent = pending.pop()
+        for req in parent.requires():
+            child = get_package_by_name(req.key)
+            if child is None:
+                continue
+            child_id, child_is_new = graph.add_package(child)
+            graph.add_edge(parent_id, child_id)
+            if child_is_new:
+                pending.append((child_id, child))
+    return node_id
+
 main()
@@ -0,0 +1,176 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.airgap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.synopsys.integration.detect.exception.DetectUserFriendlyException;
+import com.synopsys.integration.detect.exitcode.ExitCodeType;
+import com.synopsys.integration.detect.util.ParallelZipPacker;
+import com.synopsys.integration.detect.util.filter.DetectOverrideableFilter;
+import com.synopsys.integration.detect.workflow.airgap.AirGapCreator;
+import com.synopsys.integration.detect.workflow.airgap.AirGapPathFinder;
+import com.synopsys.integration.detect.workflow.airgap.DockerAirGapCreator;
+import com.synopsys.integration.detect.workflow.airgap.GradleAirGapCreator;
+import com.synopsys.integration.detect.workflow.airgap.NugetAirGapCreator;
+import com.synopsys.integration.detect.workflow.event.EventSystem;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernorOptions;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
+
+public class AirGapCreatorTest {
+    private final ResourceGovernor resourceGovernor = new ResourceGovernor(new ResourceGovernorOptions(1, 3, 1, 1));
+    private final ParallelZipPacker zipPacker = new ParallelZipPacker(() -> resourceGovernor.executorService(ResourcePoolType.CPU, 1));
+
+    @AfterEach
+    public void shutdownResourceGovernor() {
+        resourceGovernor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void installsInspectorsConcurrentlyIntoTheirOwnFolders(@TempDir Path tempDir) throws DetectUserFriendlyException {
+        // Every stand-in waits until all three have started, which only completes if they run side by side.
+        CountDownLatch allStarted = new CountDownLatch(3);
+        AirGapCreator airGapCreator = new AirGapCreator(new AirGapPathFinder(), new EventSystem(),
+            new LocalGradleAirGapCreator(allStarted), new LocalNugetAirGapCreator(allStarted, false), new LocalDockerAirGapCreator(allStarted), zipPacker, resourceGovernor.executorService(ResourcePoolType.IO));
+
+        File zipFolder = tempDir.toFile();
+        airGapCreator.installAllAirGapDependencies(zipFolder, new DetectOverrideableFilter("", "ALL"), null);
+
+        File packagedInspectors = new File(zipFolder, "packaged-inspectors");
+        Assertions.assertTrue(new File(packagedInspectors, "gradle/integration-common.jar").exists());
+        Assertions.assertTrue(new File(packagedInspectors, "nuget/detect-nuget-inspector.nupkg").exists());
+        Assertions.assertTrue(new File(packagedInspectors, "docker/blackduck-docker-inspector.sh").exists());
+    }
+
+    @Test
+    public void onlyInstallsIncludedInspectors(@TempDir Path tempDir) throws DetectUserFriendlyException {
+        CountDownLatch onlyNuget = new CountDownLatch(1);
+        AirGapCreator airGapCreator = new AirGapCreator(new AirGapPathFinder(), new EventSystem(),
+            new LocalGradleAirGapCreator(onlyNuget), new LocalNugetAirGapCreator(onlyNuget, false), new LocalDockerAirGapCreator(onlyNuget), zipPacker, resourceGovernor.executorService(ResourcePoolType.IO));
+
+        File zipFolder = tempDir.toFile();
+        airGapCreator.installAllAirGapDependencies(zipFolder, new DetectOverrideableFilter("", "NUGET"), null);
+
+        File packagedInspectors = new File(zipFolder, "packaged-inspectors");
+        Assertions.assertTrue(new File(packagedInspectors, "nuget/detect-nuget-inspector.nupkg").exists());
+        Assertions.assertFalse(new File(packagedInspectors, "gradle").exists());
+        Assertions.assertFalse(new File(packagedInspectors, "docker").exists());
+    }
+
+    @Test
+    public void failedInstallIsReportedAfterOthersFinish(@TempDir Path tempDir) {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        AirGapCreator airGapCreator = new AirGapCreator(new AirGapPathFinder(), new EventSystem(),
+            new LocalGradleAirGapCreator(allStarted), new LocalNugetAirGapCreator(allStarted, true), new LocalDockerAirGapCreator(allStarted), zipPacker, resourceGovernor.executorService(ResourcePoolType.IO));
+
+        File zipFolder = tempDir.toFile();
+        DetectUserFriendlyException exception = Assertions.assertThrows(DetectUserFriendlyException.class,
+            () -> airGapCreator.installAllAirGapDependencies(zipFolder, new DetectOverrideableFilter("", "ALL"), null));
+
+        Assertions.assertEquals("Unable to download the nuget inspector.", exception.getMessage());
+        Assertions.assertTrue(new File(zipFolder, "packaged-inspectors/gradle/integration-common.jar").exists());
+        Assertions.assertTrue(new File(zipFolder, "packaged-inspectors/docker/blackduck-docker-inspector.sh").exists());
+    }
+
+    private static void awaitOthers(CountDownLatch allStarted) throws DetectUserFriendlyException {
+        allStarted.countDown();
+        try {
+            if (!allStarted.await(10, TimeUnit.SECONDS)) {
+                throw new DetectUserFriendlyException("Inspectors were not installed concurrently.", ExitCodeType.FAILURE_UNKNOWN_ERROR);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DetectUserFriendlyException("Interrupted.", e, ExitCodeType.FAILURE_UNKNOWN_ERROR);
+        }
+    }
+
+    private static void download(File folder, String fileName) throws DetectUserFriendlyException {
+        try {
+            FileUtils.writeStringToFile(new File(folder, fileName), fileName, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new DetectUserFriendlyException("Unable to write " + fileName, e, ExitCodeType.FAILURE_UNKNOWN_ERROR);
+        }
+    }
+
+    private static class LocalGradleAirGapCreator extends GradleAirGapCreator {
+        private final CountDownLatch allStarted;
+
+        LocalGradleAirGapCreator(CountDownLatch allStarted) {
+            super(null, null, null, null);
+            this.allStarted = allStarted;
+        }
+
+        @Override
+        public void installGradleDependencies(File gradleTemp, File gradleTarget, String inspectorVersion) throws DetectUserFriendlyException {
+            awaitOthers(allStarted);
+            download(gradleTarget, "integration-common.jar");
+        }
+    }
+
+    private static class LocalNugetAirGapCreator extends NugetAirGapCreator {
+        private final CountDownLatch allStarted;
+        private final boolean fail;
+
+        LocalNugetAirGapCreator(CountDownLatch allStarted, boolean fail) {
+            super(null);
+            this.allStarted = allStarted;
+            this.fail = fail;
+        }
+
+        @Override
+        public void installNugetDependencies(File nugetFolder) throws DetectUserFriendlyException {
+            awaitOthers(allStarted);
+            if (fail) {
+                throw new DetectUserFriendlyException("Unable to download the nuget inspector.", ExitCodeType.FAILURE_GENERAL_ERROR);
+            }
+            download(nugetFolder, "detect-nuget-inspector.nupkg");
+        }
+    }
+
+    private static class LocalDockerAirGapCreator extends DockerAirGapCreator {
+        private final CountDownLatch allStarted;
+
+        LocalDockerAirGapCreator(CountDownLatch allStarted) {
+            super(null);
+            this.allStarted = allStarted;
+        }
+
+        @Override
+        public void installDockerDependencies(File dockerFolder) throws DetectUserFriendlyException {
+            awaitOthers(allStarted);
+            download(dockerFolder, "blackduck-docker-inspector.sh");
+        }
+    }
+}
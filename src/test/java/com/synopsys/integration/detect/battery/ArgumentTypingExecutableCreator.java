@@ -0,0 +1,79 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.battery;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.jupiter.api.Assertions;
+
+import freemarker.template.TemplateException;
+
+//This executable types the file matching its first argument, so it answers correctly no matter the order it is invoked in.
+//For example CONDA types the list output for 'list' and the info output for 'info', even when both run at once.
+public class ArgumentTypingExecutableCreator extends BatteryExecutableCreator {
+    private final Map<String, String> resourcesByFirstArgument;
+
+    protected ArgumentTypingExecutableCreator(final Map<String, String> resourcesByFirstArgument) {
+        this.resourcesByFirstArgument = resourcesByFirstArgument;
+    }
+
+    @Override
+    public File createExecutable(final int id, final BatteryExecutableInfo executableInfo, final AtomicInteger commandCount) throws IOException, TemplateException {
+        final List<Map<String, String>> responses = new ArrayList<>();
+        for (final Map.Entry<String, String> resourceByFirstArgument : resourcesByFirstArgument.entrySet()) {
+            final InputStream commandText = BatteryFiles.asInputStream(resourceByFirstArgument.getValue());
+            Assertions.assertNotNull(commandText, "Unable to find resource: " + resourceByFirstArgument.getValue());
+            final File commandTextFile = new File(executableInfo.getMockDirectory(), "cmd-" + commandCount.getAndIncrement() + ".txt");
+            Files.copy(commandText, commandTextFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            final Map<String, String> response = new HashMap<>();
+            response.put("argument", resourceByFirstArgument.getKey());
+            response.put("file", commandTextFile.getCanonicalPath());
+            responses.add(response);
+        }
+
+        final Map<String, Object> model = new HashMap<>();
+        model.put("responses", responses);
+        final File commandFile;
+        if (SystemUtils.IS_OS_WINDOWS) {
+            commandFile = new File(executableInfo.getMockDirectory(), "exe-" + id + ".bat");
+            BatteryFiles.processTemplate("/argument-typing-exe.ftl", commandFile, model, BatteryFiles.UTIL_RESOURCE_PREFIX);
+        } else {
+            commandFile = new File(executableInfo.getMockDirectory(), "sh-" + id + ".sh");
+            BatteryFiles.processTemplate("/argument-typing-sh.ftl", commandFile, model, BatteryFiles.UTIL_RESOURCE_PREFIX);
+            Assertions.assertTrue(commandFile.setExecutable(true));
+        }
+
+        return commandFile;
+    }
+}
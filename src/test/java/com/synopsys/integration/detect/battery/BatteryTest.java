@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -105,6 +106,13 @@ public final class BatteryTest {
         executables.add(BatteryExecutable.propertyOverrideExecutable(detectProperty, creator));
     }
 
+    public void executableFromResourceFilesByFirstArgument(Property detectProperty, Map<String, String> resourceFilesByFirstArgument) {
+        Map<String, String> resourcesByFirstArgument = new LinkedHashMap<>();
+        resourceFilesByFirstArgument.forEach((argument, resourceFile) -> resourcesByFirstArgument.put(argument, prefixResources(resourceFile).get(0)));
+        ArgumentTypingExecutableCreator creator = new ArgumentTypingExecutableCreator(resourcesByFirstArgument);
+        executables.add(BatteryExecutable.propertyOverrideExecutable(detectProperty, creator));
+    }
+
     public void executableSourceFileFromResourceFiles(String windowsName, String linuxName, String... resourceFiles) {
         ResourceTypingExecutableCreator creator = new ResourceTypingExecutableCreator(prefixResources(resourceFiles));
         executables.add(BatteryExecutable.sourceFileExecutable(windowsName, linuxName, creator));
@@ -22,6 +22,9 @@
  */
 package com.synopsys.integration.detect.battery.tests;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
@@ -36,7 +39,24 @@ public class CondaBattery {
         test.sourceDirectoryNamed("linux-conda");
         test.sourceFileNamed("environment.yml");
         test.sourceFileNamed("setup.py");
+        // conda list and conda info run at the same time, so the executable answers by command rather than by invocation order.
+        final Map<String, String> condaResponses = new HashMap<>();
+        condaResponses.put("list", "conda-list.xout");
+        condaResponses.put("info", "conda-info.xout");
+        test.executableFromResourceFilesByFirstArgument(DetectProperties.DETECT_CONDA_PATH.getProperty(), condaResponses);
+        test.executableFromResourceFiles(DetectProperties.DETECT_PYTHON_PATH.getProperty(), "python-setup.xout", "python-inspector.xout");
+        test.expectBdioResources();
+        test.run();
+    }
+
+    @Test
+    void sequentialCommands() {
+        final BatteryTest test = new BatteryTest("conda-list-sequential", "conda-list");
+        test.sourceDirectoryNamed("linux-conda");
+        test.sourceFileNamed("environment.yml");
+        test.sourceFileNamed("setup.py");
         test.executableFromResourceFiles(DetectProperties.DETECT_CONDA_PATH.getProperty(), "conda-list.xout", "conda-info.xout");
+        test.property(DetectProperties.DETECT_CONDA_CONCURRENT_COMMANDS.getProperty(), "false");
         test.executableFromResourceFiles(DetectProperties.DETECT_PYTHON_PATH.getProperty(), "python-setup.xout", "python-inspector.xout");
         test.expectBdioResources();
         test.run();
@@ -0,0 +1,50 @@
+package com.synopsys.integration.detect.tool.detector.impl;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PathSuffixMatcherTest {
+    private static final String[] NAMES = { "a", "b", "c", "..", "." };
+
+    @Test
+    void testSuffixes() {
+        final PathSuffixMatcher matcher = new PathSuffixMatcher(Arrays.asList("subDir1/subDir2", "build", "/absolute/path"));
+
+        Assertions.assertTrue(matcher.matches(new File("root/subDir1/subDir2").toPath()));
+        Assertions.assertTrue(matcher.matches(new File("root/build").toPath()));
+        Assertions.assertFalse(matcher.matches(new File("root/subDir2").toPath()));
+        Assertions.assertFalse(matcher.matches(new File("root/build/child").toPath()));
+        Assertions.assertFalse(matcher.matches(new File("absolute/path").toPath()));
+    }
+
+    @Test
+    void testMatchesPathEndsWith() {
+        final Random random = new Random(45);
+        for (int i = 0; i < 2000; i++) {
+            final String suffix = randomPath(random, 3);
+            final PathSuffixMatcher matcher = new PathSuffixMatcher(Collections.singletonList(suffix));
+            final Path suffixPath = new File(suffix).toPath();
+            for (int j = 0; j < 20; j++) {
+                final Path relativePath = new File(randomPath(random, 5)).toPath();
+                Assertions.assertEquals(relativePath.endsWith(suffixPath), matcher.matches(relativePath), String.format("'%s' against '%s'", relativePath, suffix));
+            }
+        }
+    }
+
+    private String randomPath(final Random random, final int maxElements) {
+        final List<String> elements = new ArrayList<>();
+        final int count = random.nextInt(maxElements + 1);
+        for (int i = 0; i < count; i++) {
+            elements.add(NAMES[random.nextInt(NAMES.length)]);
+        }
+        return String.join("/", elements);
+    }
+}
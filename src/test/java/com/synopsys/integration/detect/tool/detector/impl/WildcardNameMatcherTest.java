@@ -0,0 +1,72 @@
+package com.synopsys.integration.detect.tool.detector.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOCase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class WildcardNameMatcherTest {
+    private static final char[] ALPHABET = { 'a', 'A', 'b', 'B', '.', '*', '?' };
+
+    @Test
+    void testExactNamesAndWildcards() {
+        final WildcardNameMatcher matcher = new WildcardNameMatcher(Arrays.asList("node_modules", "*.cache", "build?", "a*b*c"), IOCase.SENSITIVE);
+
+        Assertions.assertTrue(matcher.matches("node_modules"));
+        Assertions.assertFalse(matcher.matches("Node_modules"));
+        Assertions.assertTrue(matcher.matches(".cache"));
+        Assertions.assertTrue(matcher.matches("gradle.cache"));
+        Assertions.assertTrue(matcher.matches("build2"));
+        Assertions.assertFalse(matcher.matches("build"));
+        Assertions.assertFalse(matcher.matches("build22"));
+        Assertions.assertTrue(matcher.matches("abbcc"));
+        Assertions.assertFalse(matcher.matches("abbcd"));
+    }
+
+    @Test
+    void testCaseInsensitive() {
+        final WildcardNameMatcher matcher = new WildcardNameMatcher(Arrays.asList("Target", "*.Cache"), IOCase.INSENSITIVE);
+
+        Assertions.assertTrue(matcher.matches("target"));
+        Assertions.assertTrue(matcher.matches("TARGET"));
+        Assertions.assertTrue(matcher.matches("gradle.CACHE"));
+        Assertions.assertFalse(matcher.matches("targets"));
+    }
+
+    @Test
+    void testEmpty() {
+        final WildcardNameMatcher matcher = new WildcardNameMatcher(Collections.emptyList(), IOCase.SENSITIVE);
+
+        Assertions.assertTrue(matcher.isEmpty());
+        Assertions.assertFalse(matcher.matches("anything"));
+    }
+
+    @Test
+    void testMatchesFilenameUtils() {
+        final Random random = new Random(45);
+        for (final IOCase caseSensitivity : Arrays.asList(IOCase.SENSITIVE, IOCase.INSENSITIVE)) {
+            for (int i = 0; i < 2000; i++) {
+                final String pattern = randomString(random, 6, true);
+                final WildcardNameMatcher matcher = new WildcardNameMatcher(Collections.singletonList(pattern), caseSensitivity);
+                for (int j = 0; j < 20; j++) {
+                    final String name = randomString(random, 8, false);
+                    Assertions.assertEquals(FilenameUtils.wildcardMatch(name, pattern, caseSensitivity), matcher.matches(name), String.format("'%s' against '%s' (%s)", name, pattern, caseSensitivity));
+                }
+            }
+        }
+    }
+
+    private String randomString(final Random random, final int maxLength, final boolean wildcards) {
+        final StringBuilder builder = new StringBuilder();
+        final int length = random.nextInt(maxLength + 1);
+        final int alphabetSize = wildcards ? ALPHABET.length : ALPHABET.length - 2;
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET[random.nextInt(alphabetSize)]);
+        }
+        return builder.toString();
+    }
+}
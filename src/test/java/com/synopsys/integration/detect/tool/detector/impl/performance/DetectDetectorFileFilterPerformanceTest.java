@@ -0,0 +1,98 @@
+package com.synopsys.integration.detect.tool.detector.impl.performance;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.filefilter.WildcardFileFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.detect.tool.detector.impl.DetectDetectorFileFilter;
+
+@Tag("performance")
+public class DetectDetectorFileFilterPerformanceTest {
+    private static final int DEPTH = 7;
+    private static final int CHILDREN_PER_DIRECTORY = 6;
+    private static final int EXCLUSIONS_PER_KIND = 40;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Test
+    public void scannedExclusionsAgainstCompiledExclusions() {
+        final Path sourcePath = new File("/synthetic/source").toPath();
+        final List<File> directories = new ArrayList<>();
+        addDirectories(sourcePath.toFile(), 0, directories);
+
+        final List<String> excludedDirectories = new ArrayList<>();
+        final List<String> excludedDirectoryPaths = new ArrayList<>();
+        final List<String> excludedDirectoryNamePatterns = new ArrayList<>();
+        for (int i = 0; i < EXCLUSIONS_PER_KIND; i++) {
+            excludedDirectories.add(i % 4 == 0 ? "cache-" + i + "*" : "excluded-" + i);
+            excludedDirectoryPaths.add("dir-1/dir-" + i % CHILDREN_PER_DIRECTORY + "/skipped-" + i);
+            excludedDirectoryNamePatterns.add("*-pattern-" + i + "?");
+        }
+        excludedDirectories.add("dir-5");
+        excludedDirectoryPaths.add("dir-3/dir-4");
+        excludedDirectoryNamePatterns.add("dir-2?");
+
+        long start = System.nanoTime();
+        final boolean[] scanned = new boolean[directories.size()];
+        final WildcardFileFilter wildcardFileFilter = new WildcardFileFilter(excludedDirectoryNamePatterns);
+        for (int i = 0; i < directories.size(); i++) {
+            scanned[i] = isExcludedByScanning(sourcePath, directories.get(i), excludedDirectories, excludedDirectoryPaths, wildcardFileFilter);
+        }
+        final long scannedMillis = (System.nanoTime() - start) / 1000000;
+
+        start = System.nanoTime();
+        final boolean[] compiled = new boolean[directories.size()];
+        final DetectDetectorFileFilter fileFilter = new DetectDetectorFileFilter(sourcePath, excludedDirectories, excludedDirectoryPaths, excludedDirectoryNamePatterns);
+        for (int i = 0; i < directories.size(); i++) {
+            compiled[i] = fileFilter.isExcluded(directories.get(i));
+        }
+        final long compiledMillis = (System.nanoTime() - start) / 1000000;
+
+        int excluded = 0;
+        for (int i = 0; i < directories.size(); i++) {
+            Assertions.assertEquals(scanned[i], compiled[i], directories.get(i).getPath());
+            excluded += compiled[i] ? 1 : 0;
+        }
+        logger.info(String.format("Filtered %d directories (%d excluded) with %d exclusions of each kind: scanning took %d ms, compiled matchers took %d ms.",
+            directories.size(), excluded, EXCLUSIONS_PER_KIND + 1, scannedMillis, compiledMillis));
+    }
+
+    private void addDirectories(final File parent, final int depth, final List<File> directories) {
+        if (depth == DEPTH) {
+            return;
+        }
+        for (int i = 0; i < CHILDREN_PER_DIRECTORY; i++) {
+            final File directory = new File(parent, "dir-" + i);
+            directories.add(directory);
+            addDirectories(directory, depth + 1, directories);
+        }
+    }
+
+    // The filter as it was before the exclusions were compiled.
+    private boolean isExcludedByScanning(final Path sourcePath, final File file, final List<String> excludedDirectories, final List<String> excludedDirectoryPaths, final WildcardFileFilter fileFilter) {
+        for (final String excludedDirectory : excludedDirectories) {
+            if (FilenameUtils.wildcardMatchOnSystem(file.getName(), excludedDirectory)) {
+                return true;
+            }
+        }
+
+        for (final String excludedDirectory : excludedDirectoryPaths) {
+            final Path excludedDirectoryPath = new File(excludedDirectory).toPath();
+            final Path relativeDirectoryPath = sourcePath.relativize(file.toPath());
+            if (relativeDirectoryPath.endsWith(excludedDirectoryPath)) {
+                return true;
+            }
+        }
+
+        return fileFilter.accept(file);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.detector.inspectors;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.detect.workflow.airgap.AirGapInspectorPaths;
+import com.synopsys.integration.detect.workflow.file.DirectoryManager;
+import com.synopsys.integration.detectable.detectable.exception.DetectableException;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.inspector.GradleInspectorScriptOptions;
+
+import freemarker.template.Configuration;
+
+public class ArtifactoryGradleInspectorResolverTest {
+    @Test
+    public void failedResolutionIsRetried(@TempDir Path tempDir) throws DetectableException {
+        GradleInspectorInstaller gradleInspectorInstaller = Mockito.mock(GradleInspectorInstaller.class);
+        Mockito.when(gradleInspectorInstaller.findVersion()).thenThrow(new DetectableException("Artifactory is unreachable."));
+        GradleInspectorScriptOptions scriptOptions = Mockito.mock(GradleInspectorScriptOptions.class);
+        Mockito.when(scriptOptions.getProvidedOnlineInspectorVersion()).thenReturn(Optional.empty());
+        AirGapInspectorPaths airGapInspectorPaths = Mockito.mock(AirGapInspectorPaths.class);
+        Mockito.when(airGapInspectorPaths.getGradleInspectorAirGapFile()).thenReturn(Optional.empty());
+        DirectoryManager directoryManager = Mockito.mock(DirectoryManager.class);
+        Mockito.when(directoryManager.getSharedFile(Mockito.anyString(), Mockito.anyString())).thenReturn(new File(tempDir.toFile(), "init-detect.gradle"));
+
+        ArtifactoryGradleInspectorResolver resolver = new ArtifactoryGradleInspectorResolver(gradleInspectorInstaller, new Configuration(Configuration.VERSION_2_3_26), scriptOptions, airGapInspectorPaths,
+            directoryManager);
+
+        // The first attempt stands in for a prefetch that failed, the detector must try again rather than reuse the failure.
+        Assertions.assertThrows(DetectableException.class, resolver::resolveGradleInspector);
+        Assertions.assertThrows(DetectableException.class, resolver::resolveGradleInspector);
+        Mockito.verify(gradleInspectorInstaller, Mockito.times(2)).findVersion();
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.detector.inspectors;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detectable.Extraction;
+import com.synopsys.integration.detectable.detectable.codelocation.CodeLocation;
+import com.synopsys.integration.detectable.detectable.exception.DetectableException;
+import com.synopsys.integration.detectable.detectable.executable.impl.SimpleExecutableRunner;
+import com.synopsys.integration.detectable.detectable.file.impl.SimpleFileFinder;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleModelExtractor;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.GradleRunner;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.inspector.GradleInspectorScriptCreator;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.inspector.GradleInspectorScriptOptions;
+import com.synopsys.integration.detectable.detectables.gradle.inspection.parse.GradleDependencyModelParser;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+
+import freemarker.template.Configuration;
+
+// Runs the generated gradle model script against the fixture builds, which resolve from a file repository so the build can run offline.
+// Needs a local gradle distribution in GRADLE_HOME.
+@Tag("integration")
+public class GradleModelScriptTest {
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void multiProjectBuild(@TempDir Path tempDir) throws IOException, URISyntaxException, DetectableException {
+        Extraction extraction = extract(tempDir, "multi-project", new GradleInspectorScriptOptions("", "", "", "", "", "", true));
+
+        Assertions.assertEquals("multi-project", extraction.getProjectName());
+        Assertions.assertEquals("1.2.3", extraction.getProjectVersion());
+        Map<String, CodeLocation> codeLocations = byProjectName(extraction);
+        Assertions.assertEquals(3, codeLocations.size());
+        Assertions.assertTrue(codeLocations.get("multi-project").getDependencyGraph().getRootDependencies().isEmpty());
+
+        DependencyGraph app = codeLocations.get("app").getDependencyGraph();
+        Assertions.assertEquals(2, app.getRootDependencies().size(), "The project dependency on lib should not be in the graph.");
+        Assertions.assertTrue(app.getRootDependencyExternalIds().contains(example("delta", "3.1")));
+        Assertions.assertTrue(app.getRootDependencyExternalIds().contains(example("epsilon", "0.9")));
+        Assertions.assertTrue(app.getChildrenExternalIdsForParent(example("delta", "3.1")).contains(example("alpha", "1.0")));
+        Assertions.assertTrue(app.getChildrenExternalIdsForParent(example("alpha", "1.0")).contains(example("gamma", "2.0")));
+        Assertions.assertFalse(app.hasDependency(example("gamma", "1.0")));
+
+        DependencyGraph lib = codeLocations.get("lib").getDependencyGraph();
+        Assertions.assertEquals(Collections.singleton(example("alpha", "1.0")), lib.getRootDependencyExternalIds());
+        Assertions.assertEquals(2, lib.getChildrenExternalIdsForParent(example("alpha", "1.0")).size());
+        Assertions.assertTrue(lib.getChildrenExternalIdsForParent(example("beta", "1.0")).contains(example("gamma", "2.0")));
+    }
+
+    @Test
+    public void multiProjectBuildWithFilters(@TempDir Path tempDir) throws IOException, URISyntaxException, DetectableException {
+        Extraction extraction = extract(tempDir, "multi-project", new GradleInspectorScriptOptions("li?", "", "test*", "", "", "", true));
+
+        Map<String, CodeLocation> codeLocations = byProjectName(extraction);
+        Assertions.assertEquals(2, codeLocations.size());
+        Assertions.assertFalse(codeLocations.containsKey("lib"));
+
+        DependencyGraph app = codeLocations.get("app").getDependencyGraph();
+        Assertions.assertEquals(Collections.singleton(example("delta", "3.1")), app.getRootDependencyExternalIds());
+        Assertions.assertFalse(app.hasDependency(example("epsilon", "0.9")));
+    }
+
+    @Test
+    public void singleProjectBuild(@TempDir Path tempDir) throws IOException, URISyntaxException, DetectableException {
+        Extraction extraction = extract(tempDir, "single-project", new GradleInspectorScriptOptions("", "", "", "", "", "", true));
+
+        Assertions.assertEquals("single-project", extraction.getProjectName());
+        Assertions.assertEquals("0.1.0", extraction.getProjectVersion());
+        Assertions.assertEquals(1, extraction.getCodeLocations().size());
+
+        CodeLocation codeLocation = extraction.getCodeLocations().get(0);
+        Assertions.assertEquals(externalIdFactory.createMavenExternalId("com.example.fixture", "single-project", "0.1.0"), codeLocation.getExternalId().orElse(null));
+        Assertions.assertEquals(tempDir.resolve("single-project").toFile().getCanonicalFile(), codeLocation.getSourcePath().orElse(null));
+
+        // gamma 1.0 is requested directly but beta pulls in 2.0, which wins the conflict everywhere in the graph.
+        DependencyGraph graph = codeLocation.getDependencyGraph();
+        Assertions.assertEquals(2, graph.getRootDependencies().size());
+        Assertions.assertTrue(graph.getRootDependencyExternalIds().contains(example("gamma", "2.0")));
+        Assertions.assertFalse(graph.hasDependency(example("gamma", "1.0")));
+    }
+
+    private Extraction extract(Path tempDir, String fixture, GradleInspectorScriptOptions scriptOptions) throws IOException, URISyntaxException, DetectableException {
+        File gradleExe = findGradle();
+        FileUtils.copyDirectory(new File(GradleModelScriptTest.class.getResource("/gradle/model-fixtures").toURI()), tempDir.toFile());
+        File outputDirectory = tempDir.resolve("output").toFile();
+        Assertions.assertTrue(outputDirectory.mkdirs());
+
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_26);
+        configuration.setClassForTemplateLoading(GradleModelScriptTest.class, "/");
+        File script = new GradleInspectorScriptCreator(configuration).createModelGradleInspector(tempDir.resolve("init-detect-model.gradle").toFile(), scriptOptions);
+
+        GradleRunner gradleRunner = new GradleRunner(new SimpleExecutableRunner());
+        GradleModelExtractor extractor = new GradleModelExtractor(new SimpleFileFinder(), gradleRunner, new GradleDependencyModelParser(externalIdFactory));
+        Extraction extraction = extractor.extract(tempDir.resolve(fixture).toFile(), gradleExe, "--offline", ProxyInfo.NO_PROXY_INFO, script, outputDirectory);
+
+        Assertions.assertTrue(extraction.isSuccess(), () -> "Extraction failed: " + extraction.getError());
+        return extraction;
+    }
+
+    private File findGradle() {
+        String gradleHome = System.getenv("GRADLE_HOME");
+        Assumptions.assumeTrue(StringUtils.isNotBlank(gradleHome), "GRADLE_HOME must point at a local gradle distribution.");
+        File gradleExe = new File(new File(gradleHome, "bin"), SystemUtils.IS_OS_WINDOWS ? "gradle.bat" : "gradle");
+        Assumptions.assumeTrue(gradleExe.canExecute(), "No gradle executable in GRADLE_HOME.");
+        return gradleExe;
+    }
+
+    private Map<String, CodeLocation> byProjectName(Extraction extraction) {
+        List<CodeLocation> codeLocations = extraction.getCodeLocations();
+        return codeLocations.stream().collect(Collectors.toMap(codeLocation -> codeLocation.getExternalId().map(externalId -> externalId.getName()).orElse(""), Function.identity()));
+    }
+
+    private ExternalId example(String name, String version) {
+        return externalIdFactory.createMavenExternalId("com.example", name, version);
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.impactanalysis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ImpactAnalysisPartitionRunnerTest {
+    private final ExecutorService executorService = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void reportsFollowPartitionOrder(@TempDir Path outputDirectory) throws IOException {
+        List<ImpactAnalysisPartition> partitions = createPartitions(outputDirectory, 3);
+        // The last partition finishes first, the first partition waits for every other one.
+        CountDownLatch finished = new CountDownLatch(2);
+        ImpactAnalysisPartitionRunner runner = new ImpactAnalysisPartitionRunner((classRoot, partitionOutputDirectory, codeLocationName) -> {
+            if (codeLocationName.equals("partition 1")) {
+                awaitQuietly(finished);
+            } else if (codeLocationName.equals("partition 2")) {
+                sleepQuietly(50);
+                finished.countDown();
+            } else {
+                finished.countDown();
+            }
+            return writeReport(partitionOutputDirectory, codeLocationName);
+        }, executorService);
+
+        List<Path> reports = runner.analyze(partitions, outputDirectory);
+
+        Assertions.assertEquals(3, reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            Assertions.assertEquals(outputDirectory.resolve("partition-" + (i + 1)).resolve("partition " + (i + 1) + ".bdmu"), reports.get(i));
+        }
+    }
+
+    @Test
+    public void partitionsRunConcurrently(@TempDir Path outputDirectory) throws IOException {
+        List<ImpactAnalysisPartition> partitions = createPartitions(outputDirectory, 6);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ImpactAnalysisPartitionRunner runner = new ImpactAnalysisPartitionRunner((classRoot, partitionOutputDirectory, codeLocationName) -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleepQuietly(50);
+            running.decrementAndGet();
+            return writeReport(partitionOutputDirectory, codeLocationName);
+        }, executorService);
+
+        runner.analyze(partitions, outputDirectory);
+
+        Assertions.assertTrue(peak.get() > 1, "Partitions should have overlapped.");
+        Assertions.assertTrue(peak.get() <= 3, "Partitions should be bounded by the executor.");
+    }
+
+    @Test
+    public void singlePartitionWritesToTheOutputDirectory(@TempDir Path outputDirectory) throws IOException {
+        ImpactAnalysisPartitionRunner runner = new ImpactAnalysisPartitionRunner((classRoot, partitionOutputDirectory, codeLocationName) -> writeReport(partitionOutputDirectory, codeLocationName), executorService);
+
+        List<Path> reports = runner.analyze(createPartitions(outputDirectory, 1), outputDirectory);
+
+        Assertions.assertEquals(outputDirectory.resolve("partition 1.bdmu"), reports.get(0));
+    }
+
+    @Test
+    public void failedPartitionFailsTheAnalysis(@TempDir Path outputDirectory) {
+        ImpactAnalysisPartitionRunner runner = new ImpactAnalysisPartitionRunner((classRoot, partitionOutputDirectory, codeLocationName) -> {
+            if (codeLocationName.equals("partition 2")) {
+                throw new IOException("Could not read classes.");
+            }
+            return writeReport(partitionOutputDirectory, codeLocationName);
+        }, executorService);
+
+        IOException exception = Assertions.assertThrows(IOException.class, () -> runner.analyze(createPartitions(outputDirectory, 3), outputDirectory));
+        Assertions.assertEquals("Could not read classes.", exception.getMessage());
+    }
+
+    private List<ImpactAnalysisPartition> createPartitions(Path directory, int count) {
+        List<ImpactAnalysisPartition> partitions = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            partitions.add(new ImpactAnalysisPartition(directory.resolve("module-" + i), "partition " + i));
+        }
+        return partitions;
+    }
+
+    private Path writeReport(Path directory, String codeLocationName) throws IOException {
+        return Files.write(directory.resolve(codeLocationName + ".bdmu"), codeLocationName.getBytes());
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.impactanalysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ImpactAnalysisPartitionerTest {
+    @Test
+    public void findsOneRootPerModule(@TempDir Path sourceDirectory) throws IOException {
+        writeClass(sourceDirectory.resolve("module-b/build/classes/java/main"), "org/example/b/B");
+        writeClass(sourceDirectory.resolve("module-a/target/classes"), "com/example/a/A");
+        writeClass(sourceDirectory.resolve("module-a/target/classes"), "com/example/a/util/Util");
+        writeClass(sourceDirectory.resolve("module-a/target/classes"), "com/example/a/A$Inner");
+        writeClass(sourceDirectory.resolve("module-c/out"), "Main");
+        Files.write(sourceDirectory.resolve("module-a/pom.xml"), "<project/>".getBytes());
+
+        List<Path> classRoots = new ImpactAnalysisPartitioner().findClassRoots(sourceDirectory);
+
+        Assertions.assertEquals(Arrays.asList(
+            sourceDirectory.resolve("module-a/target/classes"),
+            sourceDirectory.resolve("module-b/build/classes/java/main"),
+            sourceDirectory.resolve("module-c/out")
+        ), classRoots);
+    }
+
+    @Test
+    public void foldsNestedRootsIntoTheOutermost(@TempDir Path sourceDirectory) throws IOException {
+        Path outer = sourceDirectory.resolve("app/classes");
+        writeClass(outer, "com/example/App");
+        // A class whose package does not match its location is partitioned by its own directory, which here is inside the outer root.
+        Path misplaced = outer.resolve("com/example/generated");
+        Files.createDirectories(misplaced);
+        Files.write(misplaced.resolve("Generated.class"), createClass("other/pkg/Generated"));
+
+        List<Path> classRoots = new ImpactAnalysisPartitioner().findClassRoots(sourceDirectory);
+
+        Assertions.assertEquals(Arrays.asList(outer), classRoots);
+    }
+
+    @Test
+    public void unreadableClassFallsBackToItsDirectory(@TempDir Path sourceDirectory) throws IOException {
+        Path directory = sourceDirectory.resolve("lib/com/example");
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("Broken.class"), new byte[] { 1, 2, 3 });
+
+        List<Path> classRoots = new ImpactAnalysisPartitioner().findClassRoots(sourceDirectory);
+
+        Assertions.assertEquals(Arrays.asList(directory), classRoots);
+    }
+
+    @Test
+    public void sourceDirectoryWithoutClassesHasNoRoots(@TempDir Path sourceDirectory) throws IOException {
+        Files.write(sourceDirectory.resolve("README.md"), "readme".getBytes());
+
+        Assertions.assertTrue(new ImpactAnalysisPartitioner().findClassRoots(sourceDirectory).isEmpty());
+    }
+
+    @Test
+    public void readsNameAfterWideConstants(@TempDir Path directory) throws IOException {
+        Path classFile = directory.resolve("Wide.class");
+        Files.write(classFile, createClass("com/example/Wide"));
+
+        Optional<String> internalName = new ImpactAnalysisPartitioner().readInternalName(classFile);
+
+        Assertions.assertEquals(Optional.of("com/example/Wide"), internalName);
+    }
+
+    private void writeClass(Path classRoot, String internalName) throws IOException {
+        Path classFile = classRoot.resolve(internalName + ".class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, createClass(internalName));
+    }
+
+    // The smallest class file the partitioner reads: a constant pool with a long (two slots), the class name and its Class entry.
+    private byte[] createClass(String internalName) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0xCAFEBABE);
+        output.writeShort(0);
+        output.writeShort(52);
+        output.writeShort(6);
+        output.writeByte(5);
+        output.writeLong(42L);
+        output.writeByte(1);
+        output.writeUTF("java/lang/Object");
+        output.writeByte(1);
+        output.writeUTF(internalName);
+        output.writeByte(7);
+        output.writeShort(4);
+        output.writeShort(0x21);
+        output.writeShort(5);
+        output.writeShort(0);
+        output.writeShort(0);
+        output.writeShort(0);
+        output.writeShort(0);
+        output.writeShort(0);
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.signaturescanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.blackduck.codelocation.Result;
+import com.synopsys.integration.blackduck.codelocation.signaturescanner.ScanBatchOutput;
+import com.synopsys.integration.blackduck.codelocation.signaturescanner.ScanBatchRunner;
+import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanCommandOutput;
+import com.synopsys.integration.detect.exception.DetectUserFriendlyException;
+import com.synopsys.integration.detect.workflow.blackduck.ExclusionPatternCreator;
+import com.synopsys.integration.detect.workflow.codelocation.CodeLocationNameGenerator;
+import com.synopsys.integration.detect.workflow.codelocation.CodeLocationNameManager;
+import com.synopsys.integration.detect.workflow.event.EventSystem;
+import com.synopsys.integration.detect.workflow.file.DirectoryManager;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.util.NameVersion;
+import com.synopsys.integration.util.NoThreadExecutorService;
+
+public class BlackDuckSignatureScannerTest {
+    private static final NameVersion PROJECT = new NameVersion("project", "1.0");
+
+    private final CodeLocationNameManager codeLocationNameManager = new CodeLocationNameManager(new CodeLocationNameGenerator(null));
+
+    @Test
+    public void shardsScanEveryFileOnce(@TempDir Path tempDir) throws Exception {
+        File source = new File(tempDir.toFile(), "source");
+        createFiles(source, 2);
+        for (int i = 0; i < 6; i++) {
+            createFiles(new File(source, "node_modules/dependency-" + i), 10);
+        }
+        createFiles(new File(source, "src"), 15);
+
+        Map<String, Integer> scanCounts = new HashMap<>();
+        BlackDuckSignatureScanner signatureScanner = createSignatureScanner(tempDir, source, 3, scanCounts);
+        List<SignatureScanPath> signatureScanPaths = signatureScanner.determineScanPaths(PROJECT, null);
+        signatureScanner.performScanActions(PROJECT, tempDir.toFile(), signatureScanPaths, null);
+
+        Assertions.assertEquals(3, signatureScanPaths.size());
+        long fileCount = Files.walk(source.toPath()).filter(Files::isRegularFile).count();
+        Assertions.assertEquals(fileCount, scanCounts.size());
+        scanCounts.forEach((file, count) -> Assertions.assertEquals(1, count.intValue(), file));
+
+        List<String> codeLocationNames = signatureScanPaths.stream().map(path -> path.getCodeLocationName().orElse(null)).collect(Collectors.toList());
+        Assertions.assertEquals(createCodeLocationName(source, source, null), codeLocationNames.get(0));
+        Assertions.assertEquals(createCodeLocationName(source, source, "shard-2"), codeLocationNames.get(1));
+        Assertions.assertEquals(createCodeLocationName(source, source, "shard-3"), codeLocationNames.get(2));
+    }
+
+    @Test
+    public void shardsThisRunDidNotCreateAreStale(@TempDir Path tempDir) throws Exception {
+        File source = new File(tempDir.toFile(), "source");
+        for (int i = 0; i < 4; i++) {
+            createFiles(new File(source, "packages/package-" + i), 10);
+        }
+
+        BlackDuckSignatureScanner shardedScanner = createSignatureScanner(tempDir, source, 2, new HashMap<>());
+        List<SignatureScanPath> shardedPaths = shardedScanner.determineScanPaths(PROJECT, null);
+        Predicate<String> shardedFilter = shardedScanner.createStaleShardCodeLocationFilter(PROJECT, shardedPaths, null);
+
+        Assertions.assertEquals(2, shardedPaths.size());
+        Assertions.assertFalse(shardedFilter.test(createCodeLocationName(source, source, null)));
+        Assertions.assertFalse(shardedFilter.test(createCodeLocationName(source, source, "shard-2")));
+        Assertions.assertTrue(shardedFilter.test(createCodeLocationName(source, source, "shard-3")));
+        Assertions.assertTrue(shardedFilter.test(createCodeLocationName(source, source, "shard-12")));
+        Assertions.assertFalse(shardedFilter.test(createCodeLocationName(source, new File(source, "packages"), "shard-3")));
+        Assertions.assertFalse(shardedFilter.test("project/1.0 Black Duck I/O Export"));
+
+        // Below the minimum file count the target is scanned whole, so every shard of an earlier run is stale.
+        BlackDuckSignatureScanner unshardedScanner = createSignatureScanner(tempDir, source, 1, new HashMap<>());
+        List<SignatureScanPath> unshardedPaths = unshardedScanner.determineScanPaths(PROJECT, null);
+        Predicate<String> unshardedFilter = unshardedScanner.createStaleShardCodeLocationFilter(PROJECT, unshardedPaths, null);
+
+        Assertions.assertEquals(1, unshardedPaths.size());
+        Assertions.assertFalse(unshardedFilter.test(createCodeLocationName(source, source, null)));
+        Assertions.assertTrue(unshardedFilter.test(createCodeLocationName(source, source, "shard-2")));
+    }
+
+    private BlackDuckSignatureScanner createSignatureScanner(Path tempDir, File source, int shardCount, Map<String, Integer> scanCounts) throws Exception {
+        DirectoryManager directoryManager = Mockito.mock(DirectoryManager.class);
+        Mockito.when(directoryManager.getSourceDirectory()).thenReturn(source);
+        Mockito.when(directoryManager.getScanOutputDirectory()).thenReturn(Files.createDirectories(tempDir.resolve("scan-output")).toFile());
+
+        BlackDuckSignatureScannerOptions signatureScannerOptions = Mockito.mock(BlackDuckSignatureScannerOptions.class);
+        Mockito.when(signatureScannerOptions.getMaxDepth()).thenReturn(16);
+        Mockito.when(signatureScannerOptions.getScanMemory()).thenReturn(1024);
+        Mockito.when(signatureScannerOptions.getDryRun()).thenReturn(true);
+        Mockito.when(signatureScannerOptions.isShardingEnabled()).thenReturn(shardCount > 1);
+        Mockito.when(signatureScannerOptions.getShardCount()).thenReturn(shardCount);
+        Mockito.when(signatureScannerOptions.getShardMinimumFiles()).thenReturn(1);
+
+        List<SignatureScanPath> scannedPaths = new ArrayList<>();
+        ScanBatchRunner scanBatchRunner = Mockito.mock(ScanBatchRunner.class);
+        Mockito.when(scanBatchRunner.executeScans(Mockito.any())).thenAnswer(invocation -> stubScans(scannedPaths, source, scanCounts));
+
+        return new BlackDuckSignatureScanner(directoryManager, new ExclusionPatternCreator(new NoThreadExecutorService()), codeLocationNameManager, signatureScannerOptions, Mockito.mock(EventSystem.class), scanBatchRunner, null) {
+            @Override
+            public ScanBatchOutput performScanActions(NameVersion projectNameVersion, File installDirectory, List<SignatureScanPath> signatureScanPaths, File dockerTarFile)
+                throws IntegrationException, IOException, DetectUserFriendlyException {
+                scannedPaths.addAll(signatureScanPaths);
+                return super.performScanActions(projectNameVersion, installDirectory, signatureScanPaths, dockerTarFile);
+            }
+        };
+    }
+
+    // Every target is "scanned" by listing the files the scan CLI would upload for it.
+    private ScanBatchOutput stubScans(List<SignatureScanPath> scannedPaths, File source, Map<String, Integer> scanCounts) throws IOException {
+        List<ScanCommandOutput> scanCommandOutputs = new ArrayList<>();
+        for (SignatureScanPath scannedPath : scannedPaths) {
+            for (File file : StubSignatureScanner.scan(new File(scannedPath.getTargetCanonicalPath()), scannedPath.getExclusions())) {
+                scanCounts.merge(source.toPath().relativize(file.toPath()).toString(), 1, Integer::sum);
+            }
+            ScanCommandOutput scanCommandOutput = Mockito.mock(ScanCommandOutput.class);
+            Mockito.when(scanCommandOutput.getScanTarget()).thenReturn(scannedPath.getTargetCanonicalPath());
+            Mockito.when(scanCommandOutput.getCodeLocationName()).thenReturn(scannedPath.getCodeLocationName().orElse(null));
+            Mockito.when(scanCommandOutput.getResult()).thenReturn(Result.SUCCESS);
+            scanCommandOutputs.add(scanCommandOutput);
+        }
+        ScanBatchOutput scanBatchOutput = Mockito.mock(ScanBatchOutput.class);
+        Mockito.when(scanBatchOutput.getOutputs()).thenReturn(scanCommandOutputs);
+        return scanBatchOutput;
+    }
+
+    private String createCodeLocationName(File source, File target, String shardName) {
+        return codeLocationNameManager.createScanCodeLocationName(source, target, null, PROJECT.getName(), PROJECT.getVersion(), null, shardName);
+    }
+
+    private void createFiles(File folder, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            FileUtils.writeStringToFile(new File(folder, "file-" + i + ".txt"), "content", StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.signaturescanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SignatureScanShardPlannerTest {
+    @Test
+    public void equalPackagesAreSpreadEvenly(@TempDir Path tempDir) throws IOException {
+        File target = tempDir.toFile();
+        for (int i = 0; i < 8; i++) {
+            createFiles(new File(target, "packages/package-" + i), 10);
+        }
+
+        List<SignatureScanShard> shards = new SignatureScanShardPlanner(4, 1).planShards(target, Collections.emptySet());
+
+        Assertions.assertEquals(4, shards.size());
+        for (SignatureScanShard shard : shards) {
+            Assertions.assertEquals(4, shard.getCount());
+            Assertions.assertEquals(20, shard.getFileCount());
+        }
+        Assertions.assertEquals("shard-1", shards.get(0).getName());
+        Assertions.assertTrue(shards.get(0).isPrimary());
+        Assertions.assertEquals("/", shards.get(0).getTargetFolder());
+        Assertions.assertEquals(6, shards.get(0).getExclusions().size());
+        for (SignatureScanShard shard : shards.subList(1, shards.size())) {
+            Assertions.assertFalse(shard.isPrimary());
+        }
+        assertEveryFileScannedOnce(target, shards);
+    }
+
+    @Test
+    public void heavyFoldersAreSplitIntoSubfolders(@TempDir Path tempDir) throws IOException {
+        File target = tempDir.toFile();
+        createFiles(target, 2);
+        for (int i = 0; i < 4; i++) {
+            createFiles(new File(target, "node_modules/dependency-" + i), 20);
+        }
+        createFiles(new File(target, "src"), 20);
+
+        List<SignatureScanShard> shards = new SignatureScanShardPlanner(2, 1).planShards(target, Collections.emptySet());
+
+        Assertions.assertEquals(2, shards.size());
+        Assertions.assertEquals("/", shards.get(0).getTargetFolder());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("/node_modules/dependency-0/", "/node_modules/dependency-2/")), shards.get(0).getExclusions());
+        // The target has files of its own, so the second shard scans only inside node_modules.
+        Assertions.assertEquals("/node_modules/", shards.get(1).getTargetFolder());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("/dependency-1/", "/dependency-3/")), shards.get(1).getExclusions());
+        Assertions.assertEquals(102, shards.get(0).getFileCount() + shards.get(1).getFileCount());
+        assertEveryFileScannedOnce(target, shards);
+    }
+
+    @Test
+    public void foldersWithFilesOfTheirOwnAreNotSplit(@TempDir Path tempDir) throws IOException {
+        File target = tempDir.toFile();
+        createFiles(new File(target, "vendor"), 3);
+        for (int i = 0; i < 4; i++) {
+            createFiles(new File(target, "vendor/library-" + i), 20);
+        }
+        createFiles(new File(target, "first"), 30);
+        createFiles(new File(target, "second"), 30);
+
+        List<SignatureScanShard> shards = new SignatureScanShardPlanner(3, 1).planShards(target, Collections.emptySet());
+
+        Assertions.assertEquals(3, shards.size());
+        shards.forEach(shard -> shard.getExclusions().forEach(exclusion -> Assertions.assertFalse(exclusion.startsWith("/vendor/library-"), exclusion)));
+        assertEveryFileScannedOnce(target, shards);
+    }
+
+    @Test
+    public void excludedFoldersAreNotWeighed(@TempDir Path tempDir) throws IOException {
+        File target = tempDir.toFile();
+        createFiles(new File(target, "excluded"), 100);
+        createFiles(new File(target, "excluded-too"), 100);
+        createFiles(new File(target, "first"), 5);
+        createFiles(new File(target, "second"), 5);
+
+        List<SignatureScanShard> shards = new SignatureScanShardPlanner(2, 1).planShards(target, new HashSet<>(Arrays.asList("/excluded/", "/excluded-*/")));
+
+        Assertions.assertEquals(2, shards.size());
+        for (SignatureScanShard shard : shards) {
+            Assertions.assertEquals(5, shard.getFileCount());
+        }
+        Assertions.assertTrue(shards.get(0).getExclusions().containsAll(Arrays.asList("/excluded/", "/excluded-*/")));
+        // Patterns are relative to the folder a shard scans, so the second shard no longer needs them.
+        Assertions.assertEquals(Collections.emptySet(), shards.get(1).getExclusions());
+    }
+
+    @Test
+    public void exclusionsAreRebasedOntoTheShardFolder(@TempDir Path tempDir) throws IOException {
+        File target = tempDir.toFile();
+        createFiles(target, 1);
+        createFiles(new File(target, "modules/first/build"), 50);
+        createFiles(new File(target, "modules/first/src"), 20);
+        createFiles(new File(target, "modules/second/src"), 20);
+        createFiles(new File(target, "modules/third/src"), 20);
+
+        Set<String> exclusions = new HashSet<>(Arrays.asList("/modules/first/build/", "/m*/*/ignored/", "/other/"));
+        List<SignatureScanShard> shards = new SignatureScanShardPlanner(2, 1).planShards(target, exclusions);
+
+        Assertions.assertEquals(2, shards.size());
+        SignatureScanShard shard = shards.get(1);
+        Assertions.assertEquals("/modules/", shard.getTargetFolder());
+        Assertions.assertTrue(shard.getExclusions().containsAll(Arrays.asList("/first/build/", "/*/ignored/")));
+        Assertions.assertFalse(shard.getExclusions().contains("/other/"));
+        Assertions.assertEquals(61, shards.get(0).getFileCount() + shards.get(1).getFileCount());
+    }
+
+    @Test
+    public void smallTargetsAreNotSharded(@TempDir Path tempDir) throws IOException {
+        File target = tempDir.toFile();
+        createFiles(new File(target, "first"), 5);
+        createFiles(new File(target, "second"), 5);
+
+        Assertions.assertTrue(new SignatureScanShardPlanner(2, 11).planShards(target, Collections.emptySet()).isEmpty());
+        Assertions.assertTrue(new SignatureScanShardPlanner(1, 1).planShards(target, Collections.emptySet()).isEmpty());
+        Assertions.assertFalse(new SignatureScanShardPlanner(2, 10).planShards(target, Collections.emptySet()).isEmpty());
+    }
+
+    @Test
+    public void targetsWithoutFoldersAreNotSharded(@TempDir Path tempDir) throws IOException {
+        File target = tempDir.toFile();
+        createFiles(target, 50);
+
+        Assertions.assertTrue(new SignatureScanShardPlanner(4, 1).planShards(target, Collections.emptySet()).isEmpty());
+        Assertions.assertTrue(new SignatureScanShardPlanner(4, 1).planShards(new File(target, "file-0.txt"), Collections.emptySet()).isEmpty());
+    }
+
+    private void assertEveryFileScannedOnce(File target, List<SignatureScanShard> shards) throws IOException {
+        Map<String, Integer> scanCounts = new HashMap<>();
+        for (SignatureScanShard shard : shards) {
+            StubSignatureScanner.scan(new File(target, shard.getTargetFolder()), shard.getExclusions())
+                .forEach(file -> scanCounts.merge(target.toPath().relativize(file.toPath()).toString(), 1, Integer::sum));
+        }
+        long fileCount = Files.walk(target.toPath()).filter(Files::isRegularFile).count();
+        Assertions.assertEquals(fileCount, scanCounts.size());
+        scanCounts.forEach((file, count) -> Assertions.assertEquals(1, count.intValue(), file));
+    }
+
+    private void createFiles(File folder, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            FileUtils.writeStringToFile(new File(folder, "file-" + i + ".txt"), "content", StandardCharsets.UTF_8);
+        }
+    }
+}
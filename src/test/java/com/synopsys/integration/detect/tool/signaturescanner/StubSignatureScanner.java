@@ -0,0 +1,64 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.tool.signaturescanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Stands in for the scan CLI: lists the files a scan of the target would upload, skipping folders that match an exclusion pattern.
+public class StubSignatureScanner {
+    public static List<File> scan(File target, Collection<String> exclusions) throws IOException {
+        Path targetPath = target.toPath();
+        List<Pattern> exclusionPatterns = exclusions.stream()
+                                              .map(exclusion -> Pattern.compile(Pattern.quote(exclusion).replace("*", "\\E[^/]*\\Q")))
+                                              .collect(Collectors.toList());
+        List<File> scannedFiles = new ArrayList<>();
+        Files.walkFileTree(targetPath, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                String relativePath = "/" + targetPath.relativize(dir).toString().replace(File.separatorChar, '/') + "/";
+                if (!dir.equals(targetPath) && exclusionPatterns.stream().anyMatch(pattern -> pattern.matcher(relativePath).matches())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                scannedFiles.add(file.toFile());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return scannedFiles;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernorOptions;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
+
+public class ParallelZipPackerTest {
+    private final ResourceGovernor resourceGovernor = new ResourceGovernor(new ResourceGovernorOptions(4, 1, 1, 1));
+
+    @AfterEach
+    public void shutdownResourceGovernor() {
+        resourceGovernor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void packsNestedFilesWithRelativeNames(@TempDir Path tempDir) throws IOException {
+        File source = tempDir.resolve("source").toFile();
+        FileUtils.writeStringToFile(new File(source, "top.txt"), "top", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(source, "packaged-inspectors/nuget/inspector.dll"), "dll", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(source, "packaged-inspectors/gradle/lib.jar"), "jar", StandardCharsets.UTF_8);
+        File zip = tempDir.resolve("out.zip").toFile();
+
+        new ParallelZipPacker(() -> resourceGovernor.executorService(ResourcePoolType.CPU, 4)).pack(source, zip);
+
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            List<String> names = Collections.list(zipFile.entries()).stream().map(ZipEntry::getName).sorted().collect(Collectors.toList());
+            Assertions.assertEquals(3, names.size());
+            Assertions.assertTrue(names.contains("top.txt"));
+            Assertions.assertTrue(names.contains("packaged-inspectors/nuget/inspector.dll"));
+            Assertions.assertTrue(names.contains("packaged-inspectors/gradle/lib.jar"));
+            Assertions.assertEquals("dll", read(zipFile, "packaged-inspectors/nuget/inspector.dll"));
+        }
+    }
+
+    @Test
+    public void storesCompressedArchivesAndDeflatesTheRest(@TempDir Path tempDir) throws IOException {
+        File source = tempDir.resolve("source").toFile();
+        String content = String.join("", Collections.nCopies(1000, "compressible "));
+        FileUtils.writeStringToFile(new File(source, "inspector.nupkg"), content, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(source, "dependency.jar"), content, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(source, "readme.txt"), content, StandardCharsets.UTF_8);
+        File zip = tempDir.resolve("out.zip").toFile();
+
+        new ParallelZipPacker(() -> resourceGovernor.executorService(ResourcePoolType.CPU, 2)).pack(source, zip);
+
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            Assertions.assertEquals(ZipEntry.STORED, zipFile.getEntry("inspector.nupkg").getMethod());
+            Assertions.assertEquals(ZipEntry.STORED, zipFile.getEntry("dependency.jar").getMethod());
+            Assertions.assertEquals(ZipEntry.DEFLATED, zipFile.getEntry("readme.txt").getMethod());
+            Assertions.assertTrue(zipFile.getEntry("readme.txt").getCompressedSize() < content.length());
+            Assertions.assertEquals(content, read(zipFile, "dependency.jar"));
+            Assertions.assertEquals(content, read(zipFile, "readme.txt"));
+        }
+    }
+
+    private String read(ZipFile zipFile, String name) throws IOException {
+        try (InputStream inputStream = zipFile.getInputStream(zipFile.getEntry(name))) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.bdio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detect.testutils.DependencyGraphSummarizer;
+import com.synopsys.integration.detect.testutils.DependencyGraphSummaryComparer;
+
+public class AggregateDependencyGraphBuilderTest {
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+    private final DependencyGraphSummaryComparer graphComparer = new DependencyGraphSummaryComparer(new DependencyGraphSummarizer(new Gson()));
+
+    @Test
+    public void sharedDependenciesAreStoredOnce() {
+        final MutableDependencyGraph first = createCodeLocationGraph("first");
+        final MutableDependencyGraph second = createCodeLocationGraph("second");
+
+        final MutableDependencyGraph expected = new MutableMapDependencyGraph();
+        expected.addGraphAsChildrenToRoot(first);
+        expected.addGraphAsChildrenToRoot(second);
+
+        final MutableDependencyGraph aggregate = new MutableMapDependencyGraph();
+        final AggregateDependencyGraphBuilder builder = new AggregateDependencyGraphBuilder(aggregate);
+        builder.addGraphAsChildrenToRoot(first);
+        builder.addGraphAsChildrenToRoot(second);
+
+        assertTrue(graphComparer.areEqual(expected, aggregate));
+        assertEquals(5, builder.getInternedDependencyCount());
+        final Dependency shared = aggregate.getDependency(maven("library", "1.0").getExternalId());
+        assertSame(first.getDependency(shared.getExternalId()), shared);
+        assertSame(shared, builder.intern(second.getDependency(shared.getExternalId())));
+    }
+
+    @Test
+    public void graphsAreAddedUnderParents() {
+        final MutableDependencyGraph first = createCodeLocationGraph("first");
+        final MutableDependencyGraph second = createCodeLocationGraph("second");
+        final Dependency firstWrapper = maven("first-wrapper", "1.0");
+        final Dependency secondWrapper = maven("second-wrapper", "1.0");
+
+        final MutableDependencyGraph expected = new MutableMapDependencyGraph();
+        expected.addChildrenToRoot(firstWrapper, secondWrapper);
+        expected.addGraphAsChildrenToParent(firstWrapper, first);
+        expected.addGraphAsChildrenToParent(secondWrapper, second);
+
+        final MutableDependencyGraph aggregate = new MutableMapDependencyGraph();
+        final AggregateDependencyGraphBuilder builder = new AggregateDependencyGraphBuilder(aggregate);
+        builder.addGraphAsChildrenToParent(builder.addChildToRoot(firstWrapper), first);
+        builder.addGraphAsChildrenToParent(builder.addChildToRoot(secondWrapper), second);
+
+        assertTrue(graphComparer.areEqual(expected, aggregate));
+    }
+
+    @Test
+    public void cyclesAreCopiedOnce() {
+        final Dependency parent = maven("parent", "1.0");
+        final Dependency child = maven("child", "1.0");
+        final MutableDependencyGraph cyclic = new MutableMapDependencyGraph();
+        cyclic.addChildToRoot(parent);
+        cyclic.addChildWithParent(child, parent);
+        cyclic.addChildWithParent(parent, child);
+
+        final MutableDependencyGraph aggregate = new MutableMapDependencyGraph();
+        new AggregateDependencyGraphBuilder(aggregate).addGraphAsChildrenToRoot(cyclic);
+
+        assertTrue(aggregate.getChildrenExternalIdsForParent(parent).contains(child.getExternalId()));
+        assertTrue(aggregate.getChildrenExternalIdsForParent(child).contains(parent.getExternalId()));
+    }
+
+    // Each code location has its own root and shares a library, with its own transitive dependencies, with the others.
+    private MutableDependencyGraph createCodeLocationGraph(final String name) {
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        final Dependency root = maven(name, "1.0");
+        final Dependency library = maven("library", "1.0");
+        graph.addChildToRoot(root);
+        graph.addChildWithParent(library, root);
+        graph.addChildWithParent(maven("transitive-a", "2.0"), library);
+        graph.addChildWithParent(maven("transitive-b", "3.0"), library);
+        return graph;
+    }
+
+    private Dependency maven(final String name, final String version) {
+        return new Dependency(name, version, externalIdFactory.createMavenExternalId("group", name, version));
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.bdio.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detect.testutils.DependencyGraphSummarizer;
+import com.synopsys.integration.detect.testutils.DependencyGraphSummaryComparer;
+import com.synopsys.integration.detect.workflow.bdio.AggregateDependencyGraphBuilder;
+
+@Tag("performance")
+public class AggregateDependencyGraphBuilderPerformanceTest {
+    private static final int CODE_LOCATIONS = 500;
+    private static final int LAYERS = 6;
+    private static final int LIBRARIES_PER_LAYER = 40;
+    private static final int CHILDREN_PER_LIBRARY = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void copiedGraphsAgainstInternedGraphs() {
+        final List<DependencyGraph> codeLocationGraphs = new ArrayList<>();
+        for (int i = 0; i < CODE_LOCATIONS; i++) {
+            codeLocationGraphs.add(createCodeLocationGraph(i));
+        }
+
+        long usedBefore = usedHeap();
+        long start = System.nanoTime();
+        final MutableDependencyGraph copiedGraph = new MutableMapDependencyGraph();
+        for (final DependencyGraph codeLocationGraph : codeLocationGraphs) {
+            copiedGraph.addGraphAsChildrenToRoot(codeLocationGraph);
+        }
+        final long copiedNanos = System.nanoTime() - start;
+        final long copiedBytes = usedHeap() - usedBefore;
+
+        usedBefore = usedHeap();
+        start = System.nanoTime();
+        final MutableDependencyGraph internedGraph = new MutableMapDependencyGraph();
+        final AggregateDependencyGraphBuilder builder = new AggregateDependencyGraphBuilder(internedGraph);
+        for (final DependencyGraph codeLocationGraph : codeLocationGraphs) {
+            builder.addGraphAsChildrenToRoot(codeLocationGraph);
+        }
+        final long internedNanos = System.nanoTime() - start;
+        final long internedBytes = usedHeap() - usedBefore;
+
+        Assertions.assertTrue(new DependencyGraphSummaryComparer(new DependencyGraphSummarizer(new Gson())).areEqual(copiedGraph, internedGraph));
+        logger.info(String.format("Aggregated %d code locations by copying graphs in %d ms, retaining about %d KB.", CODE_LOCATIONS, copiedNanos / 1000000, copiedBytes / 1024));
+        logger.info(String.format("Aggregated %d code locations into %d interned dependencies in %d ms, retaining about %d KB.", CODE_LOCATIONS, builder.getInternedDependencyCount(), internedNanos / 1000000,
+            internedBytes / 1024));
+    }
+
+    // Every code location has its own module depending on the same layered libraries, each built from fresh instances as an extraction would.
+    private DependencyGraph createCodeLocationGraph(final int index) {
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        final Dependency module = maven("module-" + index);
+        graph.addChildToRoot(module);
+        for (int library = 0; library < LIBRARIES_PER_LAYER; library += 4) {
+            graph.addChildWithParent(library(0, (library + index) % LIBRARIES_PER_LAYER), module);
+        }
+        for (int layer = 0; layer < LAYERS - 1; layer++) {
+            for (int library = 0; library < LIBRARIES_PER_LAYER; library++) {
+                for (int child = 0; child < CHILDREN_PER_LIBRARY; child++) {
+                    graph.addChildWithParent(library(layer + 1, (library * CHILDREN_PER_LIBRARY + child) % LIBRARIES_PER_LAYER), library(layer, library));
+                }
+            }
+        }
+        return graph;
+    }
+
+    private Dependency library(final int layer, final int library) {
+        return maven("library-" + layer + "-" + library);
+    }
+
+    private Dependency maven(final String name) {
+        return new Dependency(name, "1.0", externalIdFactory.createMavenExternalId("group", name, "1.0"));
+    }
+
+    private long usedHeap() {
+        System.gc();
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.blackduck;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.blackduck.api.generated.view.CodeLocationView;
+import com.synopsys.integration.blackduck.api.generated.view.ProjectVersionView;
+import com.synopsys.integration.blackduck.service.BlackDuckService;
+import com.synopsys.integration.blackduck.service.dataservice.CodeLocationService;
+import com.synopsys.integration.detect.exception.DetectUserFriendlyException;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+
+public class DetectCodeLocationUnmapServiceTest {
+    private ExecutorService executorService;
+    private BlackDuckService blackDuckService;
+    private CodeLocationService codeLocationService;
+    private ProjectVersionView projectVersionView;
+
+    @BeforeEach
+    public void setup() {
+        executorService = Executors.newFixedThreadPool(4);
+        blackDuckService = Mockito.mock(BlackDuckService.class);
+        codeLocationService = Mockito.mock(CodeLocationService.class);
+        projectVersionView = new ProjectVersionView();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void transientFailuresAreRetried() throws IntegrationException, DetectUserFriendlyException {
+        CodeLocationView first = codeLocation("first");
+        CodeLocationView flaky = codeLocation("flaky");
+        Mockito.when(blackDuckService.getAllResponses(projectVersionView, ProjectVersionView.CODELOCATIONS_LINK_RESPONSE)).thenReturn(Arrays.asList(first, flaky));
+        Mockito.doThrow(restException(503)).doNothing().when(codeLocationService).unmapCodeLocation(flaky);
+
+        DetectCodeLocationUnmapService unmapService = new DetectCodeLocationUnmapService(blackDuckService, codeLocationService, executorService, 3, 1);
+        CodeLocationUnmapping unmapping = unmapService.startUnmappingCodeLocations(projectVersionView);
+        unmapping.waitForCompletion();
+
+        Assertions.assertEquals(Arrays.asList(first, flaky), unmapping.getCodeLocationViews());
+        Mockito.verify(codeLocationService, Mockito.times(1)).unmapCodeLocation(first);
+        Mockito.verify(codeLocationService, Mockito.times(2)).unmapCodeLocation(flaky);
+    }
+
+    @Test
+    public void permanentFailuresFailAfterEveryUnmapCompletes() throws IntegrationException, DetectUserFriendlyException {
+        CodeLocationView missing = codeLocation("missing");
+        CodeLocationView exhausted = codeLocation("exhausted");
+        CodeLocationView last = codeLocation("last");
+        List<CodeLocationView> codeLocationViews = Arrays.asList(missing, exhausted, last);
+        Mockito.when(blackDuckService.getAllResponses(projectVersionView, ProjectVersionView.CODELOCATIONS_LINK_RESPONSE)).thenReturn(codeLocationViews);
+        Mockito.doThrow(restException(404)).when(codeLocationService).unmapCodeLocation(missing);
+        Mockito.doThrow(restException(500)).when(codeLocationService).unmapCodeLocation(exhausted);
+
+        DetectCodeLocationUnmapService unmapService = new DetectCodeLocationUnmapService(blackDuckService, codeLocationService, executorService, 3, 1);
+        CodeLocationUnmapping unmapping = unmapService.startUnmappingCodeLocations(projectVersionView);
+
+        Assertions.assertThrows(DetectUserFriendlyException.class, unmapping::waitForCompletion);
+        Mockito.verify(codeLocationService, Mockito.times(1)).unmapCodeLocation(missing);
+        Mockito.verify(codeLocationService, Mockito.times(3)).unmapCodeLocation(exhausted);
+        Mockito.verify(codeLocationService, Mockito.times(1)).unmapCodeLocation(last);
+    }
+
+    private CodeLocationView codeLocation(String name) {
+        CodeLocationView codeLocationView = new CodeLocationView();
+        codeLocationView.setName(name);
+        return codeLocationView;
+    }
+
+    private IntegrationRestException restException(int statusCode) {
+        IntegrationRestException exception = Mockito.mock(IntegrationRestException.class);
+        Mockito.when(exception.getHttpStatusCode()).thenReturn(statusCode);
+        return exception;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.blackduck;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernorOptions;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
+
+public class ExclusionPatternCreatorTest {
+    private final ResourceGovernor resourceGovernor = new ResourceGovernor(new ResourceGovernorOptions(4, 1, 1, 1));
+    private final ExclusionPatternCreator exclusionPatternCreator = new ExclusionPatternCreator(resourceGovernor.executorService(ResourcePoolType.CPU, 4));
+
+    @AfterEach
+    public void shutdownResourceGovernor() {
+        resourceGovernor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void matchesAreNotDescendedInto(@TempDir Path tempDir) throws IOException {
+        File root = tempDir.toFile().getCanonicalFile();
+        mkdirs(root, "node_modules/a/node_modules/b");
+        mkdirs(root, "packages/web/node_modules");
+        mkdirs(root, "packages/web/src");
+
+        Map<String, Set<String>> patterns = exclusionPatternCreator.determineExclusionPatterns(Collections.singletonList(root.getPath()), 10, Collections.singletonList("node_modules"));
+
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("/node_modules/", "/packages/web/node_modules/")), patterns.get(root.getPath()));
+    }
+
+    @Test
+    public void depthLimitsTheWalk(@TempDir Path tempDir) throws IOException {
+        File root = tempDir.toFile().getCanonicalFile();
+        mkdirs(root, "target");
+        mkdirs(root, "one/target");
+        mkdirs(root, "one/two/target");
+
+        Map<String, Set<String>> patterns = exclusionPatternCreator.determineExclusionPatterns(Collections.singletonList(root.getPath()), 1, Collections.singletonList("target"));
+
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("/target/", "/one/target/")), patterns.get(root.getPath()));
+    }
+
+    @Test
+    public void everyTargetGetsItsOwnPatterns(@TempDir Path tempDir) throws IOException {
+        File root = tempDir.toFile().getCanonicalFile();
+        mkdirs(root, "first/build");
+        mkdirs(root, "second/nested/build");
+        File archive = new File(root, "image.tar");
+        Assertions.assertTrue(archive.createNewFile());
+        String first = new File(root, "first").getPath();
+        String second = new File(root, "second").getPath();
+
+        Map<String, Set<String>> patterns = exclusionPatternCreator.determineExclusionPatterns(Arrays.asList(first, second, first, archive.getPath()), 10, Arrays.asList("build", "*.tmp"));
+
+        Assertions.assertEquals(3, patterns.size());
+        Assertions.assertEquals(Collections.singleton("/build/"), patterns.get(first));
+        Assertions.assertEquals(Collections.singleton("/nested/build/"), patterns.get(second));
+        Assertions.assertTrue(patterns.get(archive.getPath()).isEmpty());
+    }
+
+    @Test
+    public void noNamePatternsMeansNoExclusions(@TempDir Path tempDir) throws IOException {
+        File root = tempDir.toFile().getCanonicalFile();
+        mkdirs(root, "node_modules");
+
+        Map<String, Set<String>> patterns = exclusionPatternCreator.determineExclusionPatterns(Collections.singletonList(root.getPath()), 10, Collections.emptyList());
+
+        Assertions.assertTrue(patterns.get(root.getPath()).isEmpty());
+    }
+
+    private void mkdirs(File root, String relativePath) {
+        Assertions.assertTrue(new File(root, relativePath).mkdirs());
+    }
+}
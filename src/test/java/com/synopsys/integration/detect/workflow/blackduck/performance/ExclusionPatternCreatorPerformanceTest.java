@@ -0,0 +1,113 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.blackduck.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.detect.workflow.blackduck.ExclusionPatternCreator;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernor;
+import com.synopsys.integration.detect.workflow.resource.ResourceGovernorOptions;
+import com.synopsys.integration.detect.workflow.resource.ResourcePoolType;
+import com.synopsys.integration.detectable.detectable.file.impl.SimpleFileFinder;
+
+@Tag("performance")
+public class ExclusionPatternCreatorPerformanceTest {
+    private static final int SCAN_TARGETS = 8;
+    private static final int PACKAGES_PER_LEVEL = 5;
+    private static final int LEVELS = 4;
+    private static final int MAX_DEPTH = 20;
+    private static final List<String> EXCLUSION_NAME_PATTERNS = Arrays.asList("node_modules", "*.cache", "target");
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Test
+    public void perTargetWalksAgainstSingleParallelWalk(@TempDir Path tempDir) throws IOException {
+        List<File> scanTargets = new ArrayList<>();
+        for (int i = 0; i < SCAN_TARGETS; i++) {
+            File scanTarget = new File(tempDir.toFile(), "target-" + i).getCanonicalFile();
+            createTree(scanTarget, LEVELS);
+            scanTargets.add(scanTarget);
+        }
+
+        long start = System.nanoTime();
+        List<Set<String>> perTargetPatterns = new ArrayList<>();
+        SimpleFileFinder fileFinder = new SimpleFileFinder();
+        for (File scanTarget : scanTargets) {
+            Set<String> patterns = new HashSet<>();
+            String scanTargetPath = scanTarget.getCanonicalPath();
+            for (File match : fileFinder.findFiles(scanTarget, EXCLUSION_NAME_PATTERNS, MAX_DEPTH, false)) {
+                patterns.add(match.getCanonicalPath().replace(scanTargetPath, "") + "/");
+            }
+            perTargetPatterns.add(patterns);
+        }
+        long perTargetNanos = System.nanoTime() - start;
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        ResourceGovernor resourceGovernor = new ResourceGovernor(new ResourceGovernorOptions(processors, 1, 1, 1));
+        start = System.nanoTime();
+        List<String> canonicalTargets = new ArrayList<>();
+        scanTargets.forEach(scanTarget -> canonicalTargets.add(scanTarget.getPath()));
+        Map<String, Set<String>> singleWalkPatterns = new ExclusionPatternCreator(resourceGovernor.executorService(ResourcePoolType.CPU, processors))
+                                                          .determineExclusionPatterns(canonicalTargets, MAX_DEPTH, EXCLUSION_NAME_PATTERNS);
+        long singleWalkNanos = System.nanoTime() - start;
+        resourceGovernor.shutdown(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < SCAN_TARGETS; i++) {
+            Assertions.assertEquals(perTargetPatterns.get(i), singleWalkPatterns.get(canonicalTargets.get(i)));
+        }
+        logger.info(String.format("Found exclusions for %d scan targets with per-target walks in %d ms.", SCAN_TARGETS, perTargetNanos / 1000000));
+        logger.info(String.format("Found exclusions for %d scan targets with a single parallel walk in %d ms.", SCAN_TARGETS, singleWalkNanos / 1000000));
+    }
+
+    // Each package has source files, a build cache, a node_modules folder and nested packages.
+    private void createTree(File directory, int levels) throws IOException {
+        Assertions.assertTrue(new File(directory, "src").mkdirs());
+        Assertions.assertTrue(new File(directory, "src/index.js").createNewFile());
+        Assertions.assertTrue(new File(directory, "build.cache").createNewFile());
+        for (int i = 0; i < PACKAGES_PER_LEVEL; i++) {
+            Assertions.assertTrue(new File(directory, "node_modules/dependency-" + i).mkdirs());
+        }
+        if (levels == 0) {
+            return;
+        }
+        for (int i = 0; i < PACKAGES_PER_LEVEL; i++) {
+            createTree(new File(directory, "packages/package-" + i + "/lib"), levels - 1);
+        }
+    }
+}
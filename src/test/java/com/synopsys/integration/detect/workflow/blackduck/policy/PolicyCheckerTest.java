@@ -0,0 +1,148 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.blackduck.policy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.blackduck.api.generated.enumeration.PolicyStatusType;
+import com.synopsys.integration.blackduck.api.generated.view.ComponentPolicyRulesView;
+import com.synopsys.integration.blackduck.api.generated.view.ProjectVersionComponentView;
+import com.synopsys.integration.blackduck.api.generated.view.ProjectVersionView;
+import com.synopsys.integration.blackduck.service.BlackDuckService;
+import com.synopsys.integration.blackduck.service.dataservice.ProjectBomService;
+import com.synopsys.integration.detect.workflow.event.EventSystem;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpUrl;
+
+public class PolicyCheckerTest {
+    private ExecutorService executorService;
+    private BlackDuckService blackDuckService;
+    private ProjectBomService projectBomService;
+    private ProjectVersionView projectVersionView;
+
+    @BeforeEach
+    public void setup() {
+        executorService = Executors.newFixedThreadPool(4);
+        blackDuckService = Mockito.mock(BlackDuckService.class);
+        projectBomService = Mockito.mock(ProjectBomService.class);
+        projectVersionView = new ProjectVersionView();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void violationsAreInBomOrderAndSharedRulesAreKeptOnce() throws IntegrationException {
+        ProjectVersionComponentView slow = component("slow", PolicyStatusType.IN_VIOLATION);
+        ProjectVersionComponentView compliant = component("compliant", PolicyStatusType.NOT_IN_VIOLATION);
+        ProjectVersionComponentView sharesRule = component("shares-rule", PolicyStatusType.IN_VIOLATION);
+        ProjectVersionComponentView fast = component("fast", PolicyStatusType.IN_VIOLATION);
+        Mockito.when(projectBomService.getComponentsForProjectVersion(projectVersionView)).thenReturn(Arrays.asList(slow, compliant, sharesRule, fast));
+
+        respondWithLatency(slow, 500, rule("shared-rule", "https://blackduck/api/policy-rules/1"));
+        respondWithLatency(sharesRule, 0, rule("shared-rule", "https://blackduck/api/policy-rules/1"));
+        respondWithLatency(fast, 0, rule("fast-rule", "https://blackduck/api/policy-rules/2"));
+
+        PolicyChecker policyChecker = new PolicyChecker(new EventSystem(), blackDuckService, projectBomService, executorService, 30);
+        List<ComponentPolicyViolation> violations = policyChecker.fetchPolicyViolations(projectVersionView);
+
+        Assertions.assertEquals(Arrays.asList("slow", "shares-rule", "fast"), violations.stream().map(violation -> violation.getComponent().getComponentName()).collect(Collectors.toList()));
+        Assertions.assertEquals("shared-rule", violations.get(0).getViolatedPolicyRules().get(0).getName());
+        Assertions.assertSame(violations.get(0).getViolatedPolicyRules().get(0), violations.get(1).getViolatedPolicyRules().get(0));
+        Assertions.assertEquals("fast-rule", violations.get(2).getViolatedPolicyRules().get(0).getName());
+        Mockito.verify(blackDuckService, Mockito.never()).getAllResponses(compliant, ProjectVersionComponentView.POLICY_RULES_LINK_RESPONSE);
+    }
+
+    @Test
+    public void requestsStillRunningAtTheDeadlineAreReportedWithoutRules() throws IntegrationException {
+        ProjectVersionComponentView hung = component("hung", PolicyStatusType.IN_VIOLATION);
+        ProjectVersionComponentView fast = component("fast", PolicyStatusType.IN_VIOLATION);
+        Mockito.when(projectBomService.getComponentsForProjectVersion(projectVersionView)).thenReturn(Arrays.asList(hung, fast));
+
+        respondWithLatency(hung, 10000, rule("hung-rule", "https://blackduck/api/policy-rules/1"));
+        respondWithLatency(fast, 0, rule("fast-rule", "https://blackduck/api/policy-rules/2"));
+
+        PolicyChecker policyChecker = new PolicyChecker(new EventSystem(), blackDuckService, projectBomService, executorService, 1);
+        List<ComponentPolicyViolation> violations = policyChecker.fetchPolicyViolations(projectVersionView);
+
+        Assertions.assertEquals(2, violations.size());
+        Assertions.assertTrue(violations.get(0).getViolatedPolicyRules().isEmpty());
+        Assertions.assertEquals("fast-rule", violations.get(1).getViolatedPolicyRules().get(0).getName());
+    }
+
+    @Test
+    public void deadlineBoundsTheWholeFetch() throws IntegrationException {
+        List<ProjectVersionComponentView> hungComponents = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ProjectVersionComponentView hung = component("hung-" + i, PolicyStatusType.IN_VIOLATION);
+            respondWithLatency(hung, 10000, rule("hung-rule", "https://blackduck/api/policy-rules/1"));
+            hungComponents.add(hung);
+        }
+        Mockito.when(projectBomService.getComponentsForProjectVersion(projectVersionView)).thenReturn(hungComponents);
+
+        PolicyChecker policyChecker = new PolicyChecker(new EventSystem(), blackDuckService, projectBomService, executorService, 1);
+        long start = System.currentTimeMillis();
+        List<ComponentPolicyViolation> violations = policyChecker.fetchPolicyViolations(projectVersionView);
+        long duration = System.currentTimeMillis() - start;
+
+        Assertions.assertEquals(4, violations.size());
+        violations.forEach(violation -> Assertions.assertTrue(violation.getViolatedPolicyRules().isEmpty()));
+        Assertions.assertTrue(duration < 3000, "The fetch took " + duration + " ms, longer than its deadline.");
+    }
+
+    private ProjectVersionComponentView component(String name, PolicyStatusType policyStatus) {
+        ProjectVersionComponentView component = Mockito.mock(ProjectVersionComponentView.class);
+        Mockito.when(component.getComponentName()).thenReturn(name);
+        Mockito.when(component.getPolicyStatus()).thenReturn(policyStatus);
+        return component;
+    }
+
+    private ComponentPolicyRulesView rule(String name, String href) throws IntegrationException {
+        ComponentPolicyRulesView rule = Mockito.mock(ComponentPolicyRulesView.class);
+        Mockito.when(rule.getName()).thenReturn(name);
+        Mockito.when(rule.getHref()).thenReturn(Optional.of(new HttpUrl(href)));
+        return rule;
+    }
+
+    private void respondWithLatency(ProjectVersionComponentView component, long latencyInMilliseconds, ComponentPolicyRulesView rule) throws IntegrationException {
+        Mockito.when(blackDuckService.getAllResponses(component, ProjectVersionComponentView.POLICY_RULES_LINK_RESPONSE)).thenAnswer(invocation -> {
+            Thread.sleep(latencyInMilliseconds);
+            return Collections.singletonList(rule);
+        });
+    }
+}
@@ -23,18 +23,22 @@
 package com.synopsys.integration.detect.workflow.codelocation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.function.Predicate;
 
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import com.synopsys.integration.bdio.model.Forge;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detect.workflow.file.CanonicalPathCache;
 
 public class CodeLocationNameGeneratorTest {
     @Test
@@ -53,6 +57,35 @@ public class CodeLocationNameGeneratorTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testImpactAnalysisPartitionCodeLocationName() throws IOException {
+        final String expected = "common-rest/module-a/target/classes/common-rest/2.5.1-SNAPSHOT impact_analysis";
+        final CodeLocationNameGenerator codeLocationNameGenerator = new CodeLocationNameGenerator(null);
+
+        final File sourcePath = mockCanonical("/Users/ekerwin/Documents/source/functional/common-rest");
+        final File classRoot = mockCanonical("/Users/ekerwin/Documents/source/functional/common-rest/module-a/target/classes");
+        final String actual = codeLocationNameGenerator.createImpactAnalysisCodeLocationName(sourcePath, classRoot, "common-rest", "2.5.1-SNAPSHOT", "", "");
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testImpactAnalysisCodeLocationNameFilter() throws IOException {
+        final CodeLocationNameGenerator codeLocationNameGenerator = new CodeLocationNameGenerator(null);
+
+        final File sourcePath = mockCanonical("/Users/ekerwin/Documents/source/functional/common-rest");
+        final File classRoot = mockCanonical("/Users/ekerwin/Documents/source/functional/common-rest/module-a/target/classes");
+        final Predicate<String> filter = codeLocationNameGenerator.createImpactAnalysisCodeLocationNameFilter(sourcePath, "common-rest", "2.5.1-SNAPSHOT", "prefix", "suffix");
+
+        assertTrue(filter.test(codeLocationNameGenerator.createImpactAnalysisCodeLocationName(sourcePath, classRoot, "common-rest", "2.5.1-SNAPSHOT", "prefix", "suffix")));
+        assertTrue(filter.test("prefix/common-rest/module-b/target/classes/common-rest/2.5.1-SNAPSHOT/suffix impact_analysis"));
+        assertTrue(filter.test("prefix/common-rest/common-rest/2.5.1-SNAPSHOT/suffix impact_analysis"));
+        assertFalse(filter.test("prefix/common-rest/module-b/target/classes/common-rest/2.5.1-SNAPSHOT/suffix scan"));
+        assertFalse(filter.test("prefix/other-source/module-b/target/classes/common-rest/2.5.1-SNAPSHOT/suffix impact_analysis"));
+        assertFalse(filter.test("prefix/common-rest/module-b/target/classes/common-rest/2.6.0/suffix impact_analysis"));
+        assertFalse(filter.test("common-rest/module-b/target/classes/common-rest/2.5.1-SNAPSHOT impact_analysis"));
+    }
+
     private File mockCanonical(final String mock) throws IOException {
         final File mockFile = Mockito.mock(File.class);
         Mockito.when(mockFile.getCanonicalPath()).thenReturn(mock);
@@ -180,4 +213,36 @@ public class CodeLocationNameGeneratorTest {
         assertEquals("myscanname testcreator/bom 2", codeLocationNameGenerator.getNextCodeLocationOverrideNameSourcedBom(detectCodeLocation));
         assertEquals("myscanname testcreator/bom 3", codeLocationNameGenerator.getNextCodeLocationOverrideNameSourcedBom(detectCodeLocation));
     }
+
+    @Test
+    public void testCanonicalPathsResolvedOncePerRun() throws IOException {
+        final CanonicalPathCache canonicalPathCache = new CanonicalPathCache();
+        final CodeLocationNameGenerator firstGenerator = new CodeLocationNameGenerator(null, canonicalPathCache);
+        final CodeLocationNameGenerator secondGenerator = new CodeLocationNameGenerator(null, canonicalPathCache);
+
+        final File sourcePath = mockCanonical("/Users/ekerwin/Documents/source/functional/common-rest");
+        final File scanTargetPath = mockCanonical("/Users/ekerwin/Documents/source/functional/common-rest/target");
+        for (int i = 0; i < 3; i++) {
+            assertEquals("common-rest/target/common-rest/2.5.1-SNAPSHOT scan", firstGenerator.createScanCodeLocationName(sourcePath, scanTargetPath, "common-rest", "2.5.1-SNAPSHOT", null, null));
+            assertEquals("common-rest/target/common-rest/2.5.1-SNAPSHOT scan", secondGenerator.createScanCodeLocationName(sourcePath, scanTargetPath, "common-rest", "2.5.1-SNAPSHOT", null, null));
+        }
+
+        Mockito.verify(sourcePath, Mockito.times(1)).getCanonicalPath();
+        Mockito.verify(scanTargetPath, Mockito.times(1)).getCanonicalPath();
+    }
+
+    @Test
+    public void testNamesAreShortenedOnlyPastTheMaximumLength() {
+        final CodeLocationNameGenerator codeLocationNameGenerator = new CodeLocationNameGenerator(null);
+        final File dockerTar = new File("x.tar");
+        // "x.tar/" + projectName + "/v scan" is exactly 250 characters.
+        final String longestProjectName = StringUtils.repeat('p', 237);
+
+        final String longestName = codeLocationNameGenerator.createDockerScanCodeLocationName(dockerTar, longestProjectName, "v", null, null);
+        assertEquals(250, longestName.length());
+        assertEquals("x.tar/" + longestProjectName + "/v scan", longestName);
+
+        final String shortenedName = codeLocationNameGenerator.createDockerScanCodeLocationName(dockerTar, longestProjectName + "p", "v", null, null);
+        assertEquals("x.tar/ppppppppppppppppppp...pppppppppppppppppp/v scan", shortenedName);
+    }
 }
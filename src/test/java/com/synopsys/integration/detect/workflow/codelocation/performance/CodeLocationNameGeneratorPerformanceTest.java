@@ -0,0 +1,90 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.codelocation.performance;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+import com.synopsys.integration.detect.workflow.codelocation.CodeLocationNameGenerator;
+import com.synopsys.integration.detect.workflow.codelocation.DetectCodeLocation;
+import com.synopsys.integration.detect.workflow.file.CanonicalPathCache;
+
+@Tag("performance")
+public class CodeLocationNameGeneratorPerformanceTest {
+    private static final int CODE_LOCATIONS = 10000;
+    private static final int SOURCE_DIRECTORIES = 200;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Test
+    public void uncachedAgainstSharedCanonicalPathCache(@TempDir Path tempDir) {
+        File detectSourcePath = tempDir.toFile();
+        List<File> sourcePaths = new ArrayList<>();
+        for (int i = 0; i < SOURCE_DIRECTORIES; i++) {
+            File sourcePath = new File(detectSourcePath, "modules/module-" + i + "/src");
+            Assertions.assertTrue(sourcePath.mkdirs());
+            sourcePaths.add(sourcePath);
+        }
+
+        ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        List<DetectCodeLocation> codeLocations = new ArrayList<>();
+        for (int i = 0; i < CODE_LOCATIONS; i++) {
+            File sourcePath = sourcePaths.get(i % SOURCE_DIRECTORIES);
+            codeLocations.add(DetectCodeLocation.forCreator(new MutableMapDependencyGraph(), sourcePath, externalIdFactory.createMavenExternalId("group", "artifact-" + i, "1.0." + i), "GRADLE"));
+        }
+
+        // A generator per name resolves every canonical path again, as every name did before the cache.
+        long start = System.nanoTime();
+        List<String> uncachedNames = new ArrayList<>();
+        for (DetectCodeLocation codeLocation : codeLocations) {
+            CodeLocationNameGenerator generator = new CodeLocationNameGenerator(null);
+            uncachedNames.add(generator.createBomCodeLocationName(detectSourcePath, codeLocation.getSourcePath(), "project", "version", codeLocation, null, null));
+            uncachedNames.add(generator.createScanCodeLocationName(detectSourcePath, codeLocation.getSourcePath(), "project", "version", null, null));
+        }
+        long uncachedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<String> cachedNames = new ArrayList<>();
+        CodeLocationNameGenerator generator = new CodeLocationNameGenerator(null, new CanonicalPathCache());
+        for (DetectCodeLocation codeLocation : codeLocations) {
+            cachedNames.add(generator.createBomCodeLocationName(detectSourcePath, codeLocation.getSourcePath(), "project", "version", codeLocation, null, null));
+            cachedNames.add(generator.createScanCodeLocationName(detectSourcePath, codeLocation.getSourcePath(), "project", "version", null, null));
+        }
+        long cachedNanos = System.nanoTime() - start;
+
+        Assertions.assertEquals(uncachedNames, cachedNames);
+        logger.info(String.format("Created %d code location names without a canonical path cache in %d ms.", cachedNames.size(), uncachedNanos / 1000000));
+        logger.info(String.format("Created %d code location names with a shared canonical path cache in %d ms.", cachedNames.size(), cachedNanos / 1000000));
+    }
+}
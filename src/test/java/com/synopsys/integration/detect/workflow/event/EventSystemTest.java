@@ -0,0 +1,241 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EventSystemTest {
+    private static final int PUBLISHERS = 8;
+    private static final int EVENTS_PER_PUBLISHER = 5000;
+
+    private static class Sequenced {
+        private final int publisher;
+        private final int sequence;
+
+        Sequenced(final int publisher, final int sequence) {
+            this.publisher = publisher;
+            this.sequence = sequence;
+        }
+    }
+
+    private final EventType<Sequenced> sequencedEvent = new EventType<>(Sequenced.class, EventType.Delivery.DEFERRABLE);
+    private final EventType<String> otherEvent = new EventType<>(String.class, EventType.Delivery.DEFERRABLE);
+    private final EventType<String> immediateEvent = new EventType<>(String.class);
+
+    @Test
+    public void synchronousDeliversOnPublishingThread() {
+        final EventSystem eventSystem = new EventSystem();
+        final List<Thread> threads = new ArrayList<>();
+        eventSystem.registerListener(otherEvent, event -> threads.add(Thread.currentThread()));
+
+        eventSystem.publishEvent(otherEvent, "event");
+
+        Assertions.assertEquals(1, threads.size());
+        Assertions.assertSame(Thread.currentThread(), threads.get(0));
+    }
+
+    @Test
+    public void asynchronousKeepsPublishOrderPerEventType() throws Exception {
+        final EventSystem eventSystem = asynchronous(16);
+        final Map<Integer, Integer> lastSequence = new ConcurrentHashMap<>();
+        final List<String> outOfOrder = new CopyOnWriteArrayList<>();
+        final AtomicInteger delivered = new AtomicInteger();
+        eventSystem.registerListener(sequencedEvent, event -> {
+            final Integer previous = lastSequence.put(event.publisher, event.sequence);
+            final int expected = previous == null ? 0 : previous + 1;
+            if (event.sequence != expected) {
+                outOfOrder.add(event.publisher + ": expected " + expected + " but was " + event.sequence);
+            }
+            delivered.incrementAndGet();
+        });
+
+        publishConcurrently(publisher -> {
+            for (int i = 0; i < EVENTS_PER_PUBLISHER; i++) {
+                eventSystem.publishEvent(sequencedEvent, new Sequenced(publisher, i));
+            }
+        });
+        eventSystem.flush();
+
+        Assertions.assertEquals(PUBLISHERS * EVENTS_PER_PUBLISHER, delivered.get());
+        Assertions.assertEquals(new ArrayList<>(), outOfOrder);
+        eventSystem.shutdown();
+    }
+
+    @Test
+    public void registeringWhilePublishingIsSafe() throws Exception {
+        final EventSystem eventSystem = new EventSystem();
+        final AtomicInteger delivered = new AtomicInteger();
+
+        publishConcurrently(publisher -> {
+            for (int i = 0; i < EVENTS_PER_PUBLISHER; i++) {
+                if (publisher % 2 == 0) {
+                    final EventListener<String> listener = event -> delivered.incrementAndGet();
+                    eventSystem.registerListener(otherEvent, listener);
+                    eventSystem.unregisterListener(otherEvent, listener);
+                } else {
+                    eventSystem.publishEvent(otherEvent, "event");
+                }
+            }
+        });
+
+        eventSystem.registerListener(otherEvent, event -> delivered.set(-1));
+        eventSystem.publishEvent(otherEvent, "event");
+        Assertions.assertEquals(-1, delivered.get());
+    }
+
+    @Test
+    public void fullQueueBlocksPublisher() throws Exception {
+        final EventSystem eventSystem = asynchronous(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger delivered = new AtomicInteger();
+        eventSystem.registerListener(otherEvent, event -> {
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.incrementAndGet();
+        });
+
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> publishing = executorService.submit(() -> {
+                for (int i = 0; i < 3; i++) {
+                    eventSystem.publishEvent(otherEvent, "event");
+                }
+            });
+            // One event is being delivered and one is queued, so the third has nowhere to go.
+            Thread.sleep(200);
+            Assertions.assertFalse(publishing.isDone());
+
+            release.countDown();
+            publishing.get(10, TimeUnit.SECONDS);
+            eventSystem.shutdown();
+            Assertions.assertEquals(3, delivered.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void listenerMayPublishWhileQueueIsFull() {
+        final EventSystem eventSystem = asynchronous(1);
+        final List<Integer> sequences = new CopyOnWriteArrayList<>();
+        final AtomicInteger depth = new AtomicInteger();
+        final AtomicInteger maximumDepth = new AtomicInteger();
+        eventSystem.registerListener(sequencedEvent, event -> {
+            maximumDepth.accumulateAndGet(depth.incrementAndGet(), Math::max);
+            sequences.add(event.sequence);
+            if (event.sequence < 100) {
+                eventSystem.publishEvent(sequencedEvent, new Sequenced(0, event.sequence + 1));
+            }
+            depth.decrementAndGet();
+        });
+
+        eventSystem.publishEvent(sequencedEvent, new Sequenced(0, 0));
+        eventSystem.shutdown();
+
+        // Every event went through the dispatcher's queue, so the listener saw them one after the other rather than nested.
+        Assertions.assertEquals(1, maximumDepth.get());
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            expected.add(i);
+        }
+        Assertions.assertEquals(expected, sequences);
+    }
+
+    @Test
+    public void immediateEventsStayOnPublishingThread() {
+        final EventSystem eventSystem = asynchronous(1);
+        final List<Thread> threads = new ArrayList<>();
+        eventSystem.registerListener(immediateEvent, event -> threads.add(Thread.currentThread()));
+
+        eventSystem.publishEvent(immediateEvent, "event");
+
+        Assertions.assertEquals(1, threads.size());
+        Assertions.assertSame(Thread.currentThread(), threads.get(0));
+        eventSystem.shutdown();
+    }
+
+    @Test
+    public void shutdownDeliversQueuedEventsThenPublishesSynchronously() {
+        final EventSystem eventSystem = asynchronous(EventSystem.DEFAULT_QUEUE_CAPACITY);
+        final List<String> events = new CopyOnWriteArrayList<>();
+        eventSystem.registerListener(otherEvent, events::add);
+
+        for (int i = 0; i < 100; i++) {
+            eventSystem.publishEvent(otherEvent, "queued");
+        }
+        eventSystem.shutdown();
+        Assertions.assertEquals(100, events.size());
+
+        eventSystem.publishEvent(otherEvent, "after");
+        Assertions.assertEquals(101, events.size());
+        Assertions.assertEquals("after", events.get(100));
+    }
+
+    private EventSystem asynchronous(final int queueCapacity) {
+        final EventSystem eventSystem = new EventSystem();
+        eventSystem.enableAsynchronousDispatch(queueCapacity);
+        return eventSystem;
+    }
+
+    private interface Publisher {
+        void publish(int publisher);
+    }
+
+    private void publishConcurrently(final Publisher publisher) throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(PUBLISHERS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < PUBLISHERS; i++) {
+                final int id = i;
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    publisher.publish(id);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.prefetch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class ArtifactPrefetcherTest {
+    private static final long LATENCY_MS = 400;
+    private static final byte[] ARTIFACT = "scanner-cli".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService executorService;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/artifact", exchange -> {
+            requests.incrementAndGet();
+            sleep(LATENCY_MS);
+            exchange.sendResponseHeaders(200, ARTIFACT.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(ARTIFACT);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            requests.incrementAndGet();
+            sleep(LATENCY_MS);
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void consumerWaitsForInFlightDownload(@TempDir Path tempDir) throws IOException {
+        ArtifactPrefetcher artifactPrefetcher = new ArtifactPrefetcher(executorService);
+        File target = tempDir.resolve("scanner.zip").toFile();
+
+        artifactPrefetcher.prefetch(PrefetchArtifact.SIGNATURE_SCANNER, () -> download("/artifact", target));
+        Assertions.assertTrue(artifactPrefetcher.isPrefetching(PrefetchArtifact.SIGNATURE_SCANNER));
+
+        artifactPrefetcher.awaitPrefetch(PrefetchArtifact.SIGNATURE_SCANNER);
+
+        Assertions.assertFalse(artifactPrefetcher.isPrefetching(PrefetchArtifact.SIGNATURE_SCANNER));
+        Assertions.assertTrue(target.exists());
+        Assertions.assertEquals(ARTIFACT.length, Files.readAllBytes(target.toPath()).length);
+    }
+
+    @Test
+    public void downloadOverlapsOtherWork(@TempDir Path tempDir) {
+        ArtifactPrefetcher artifactPrefetcher = new ArtifactPrefetcher(executorService);
+        File target = tempDir.resolve("inspector.jar").toFile();
+
+        long start = System.currentTimeMillis();
+        artifactPrefetcher.prefetch(PrefetchArtifact.GRADLE_INSPECTOR, () -> download("/artifact", target));
+        sleep(LATENCY_MS + 200); // the rest of the run, e.g. detectors that do not need the inspector
+        long beforeAwait = System.currentTimeMillis();
+        artifactPrefetcher.awaitPrefetch(PrefetchArtifact.GRADLE_INSPECTOR);
+        long waited = System.currentTimeMillis() - beforeAwait;
+
+        Assertions.assertTrue(target.exists());
+        Assertions.assertTrue(waited < LATENCY_MS / 2, "Waited " + waited + " ms for a download that should already be done.");
+        Assertions.assertTrue(System.currentTimeMillis() - start < 2 * LATENCY_MS + 200);
+    }
+
+    @Test
+    public void awaitWithoutPrefetchDoesNotBlock() {
+        ArtifactPrefetcher artifactPrefetcher = new ArtifactPrefetcher(executorService);
+
+        long start = System.currentTimeMillis();
+        artifactPrefetcher.awaitPrefetch(PrefetchArtifact.DOCKER_INSPECTOR);
+
+        Assertions.assertTrue(System.currentTimeMillis() - start < LATENCY_MS);
+        Assertions.assertEquals(0, requests.get());
+    }
+
+    @Test
+    public void failedPrefetchIsSwallowed(@TempDir Path tempDir) {
+        ArtifactPrefetcher artifactPrefetcher = new ArtifactPrefetcher(executorService);
+        File target = tempDir.resolve("nuget.nupkg").toFile();
+
+        artifactPrefetcher.prefetch(PrefetchArtifact.NUGET_INSPECTOR, () -> download("/missing", target));
+        artifactPrefetcher.awaitPrefetch(PrefetchArtifact.NUGET_INSPECTOR);
+
+        Assertions.assertFalse(artifactPrefetcher.isPrefetching(PrefetchArtifact.NUGET_INSPECTOR));
+        Assertions.assertFalse(target.exists());
+        Assertions.assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void artifactIsPrefetchedOnce(@TempDir Path tempDir) {
+        ArtifactPrefetcher artifactPrefetcher = new ArtifactPrefetcher(executorService);
+        File target = tempDir.resolve("scanner.zip").toFile();
+
+        for (int i = 0; i < 5; i++) {
+            artifactPrefetcher.prefetch(PrefetchArtifact.SIGNATURE_SCANNER, () -> download("/artifact", target));
+        }
+        artifactPrefetcher.awaitPrefetch(PrefetchArtifact.SIGNATURE_SCANNER);
+
+        Assertions.assertEquals(1, requests.get());
+    }
+
+    private void download(String path, File target) throws IOException {
+        URL url = new URL("http", "127.0.0.1", server.getAddress().getPort(), path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            if (connection.getResponseCode() != 200) {
+                throw new IOException("Unexpected response code: " + connection.getResponseCode());
+            }
+            try (InputStream inputStream = connection.getInputStream()) {
+                Files.copy(inputStream, target.toPath());
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
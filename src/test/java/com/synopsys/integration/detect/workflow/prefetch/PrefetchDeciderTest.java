@@ -0,0 +1,110 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.prefetch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.synopsys.integration.configuration.property.types.enumfilterable.FilterableEnumValue;
+import com.synopsys.integration.detect.DetectTool;
+import com.synopsys.integration.detect.configuration.ExcludeIncludeEnumFilter;
+import com.synopsys.integration.detect.util.filter.DetectToolFilter;
+import com.synopsys.integration.detectable.detectable.file.impl.SimpleFileFinder;
+
+public class PrefetchDeciderTest {
+    private final PrefetchDecider prefetchDecider = new PrefetchDecider(new SimpleFileFinder());
+
+    @Test
+    public void predictsInspectorsFromSourceTree(@TempDir Path tempDir) throws IOException {
+        File sourceDirectory = tempDir.toFile();
+        touch(new File(sourceDirectory, "build.gradle"));
+        touch(new File(new File(sourceDirectory, "service"), "Service.csproj"));
+
+        PrefetchDecision decision = prefetchDecider.decide(options(true, false, false, true), allTools(), sourceDirectory, true);
+
+        Assertions.assertEquals(EnumSet.of(PrefetchArtifact.SIGNATURE_SCANNER, PrefetchArtifact.GRADLE_INSPECTOR, PrefetchArtifact.NUGET_INSPECTOR), decision.getArtifacts());
+    }
+
+    @Test
+    public void dockerInspectorNeedsTarget(@TempDir Path tempDir) {
+        PrefetchDecision withoutTarget = prefetchDecider.decide(options(true, false, false, false), allTools(), tempDir.toFile(), false);
+        PrefetchDecision withTarget = prefetchDecider.decide(options(true, false, true, false), allTools(), tempDir.toFile(), false);
+
+        Assertions.assertFalse(withoutTarget.shouldPrefetch(PrefetchArtifact.DOCKER_INSPECTOR));
+        Assertions.assertTrue(withTarget.shouldPrefetch(PrefetchArtifact.DOCKER_INSPECTOR));
+    }
+
+    @Test
+    public void scannerNeedsOnlineManagedInstall(@TempDir Path tempDir) {
+        PrefetchDecision offline = prefetchDecider.decide(options(true, false, false, true), allTools(), tempDir.toFile(), false);
+        PrefetchDecision localScanner = prefetchDecider.decide(options(true, false, false, false), allTools(), tempDir.toFile(), true);
+
+        Assertions.assertFalse(offline.shouldPrefetch(PrefetchArtifact.SIGNATURE_SCANNER));
+        Assertions.assertFalse(localScanner.shouldPrefetch(PrefetchArtifact.SIGNATURE_SCANNER));
+    }
+
+    @Test
+    public void respectsExcludedToolsAndBuildless(@TempDir Path tempDir) throws IOException {
+        File sourceDirectory = tempDir.toFile();
+        touch(new File(sourceDirectory, "build.gradle"));
+        DetectToolFilter noDetectors = new DetectToolFilter(new ExcludeIncludeEnumFilter<>(Collections.singletonList(FilterableEnumValue.value(DetectTool.DETECTOR)), Collections.emptyList()),
+            Optional.empty(), Optional.empty());
+
+        PrefetchDecision excluded = prefetchDecider.decide(options(true, false, false, false), noDetectors, sourceDirectory, false);
+        PrefetchDecision buildless = prefetchDecider.decide(options(true, true, false, false), allTools(), sourceDirectory, false);
+
+        Assertions.assertTrue(excluded.getArtifacts().isEmpty());
+        Assertions.assertTrue(buildless.getArtifacts().isEmpty());
+    }
+
+    @Test
+    public void disabledPrefetchesNothing(@TempDir Path tempDir) throws IOException {
+        File sourceDirectory = tempDir.toFile();
+        touch(new File(sourceDirectory, "build.gradle"));
+
+        PrefetchDecision decision = prefetchDecider.decide(options(false, false, true, true), allTools(), sourceDirectory, true);
+
+        Assertions.assertTrue(decision.getArtifacts().isEmpty());
+    }
+
+    private PrefetchOptions options(boolean enabled, boolean buildless, boolean dockerTargetProvided, boolean scannerInstallManaged) {
+        return new PrefetchOptions(enabled, 3, buildless, dockerTargetProvided, scannerInstallManaged);
+    }
+
+    private DetectToolFilter allTools() {
+        return new DetectToolFilter(new ExcludeIncludeEnumFilter<>(Collections.emptyList(), Collections.emptyList()), Optional.empty(), Optional.empty());
+    }
+
+    private void touch(File file) throws IOException {
+        file.getParentFile().mkdirs();
+        Assertions.assertTrue(file.createNewFile());
+    }
+}
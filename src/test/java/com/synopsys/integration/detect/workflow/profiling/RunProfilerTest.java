@@ -0,0 +1,119 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.profiling;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+public class RunProfilerTest {
+    @Test
+    public void nestedSpansAreContainedInTheirParent() throws InterruptedException {
+        final RunProfiler runProfiler = new RunProfiler();
+        try (final ProfiledSpan outer = runProfiler.start(RunProfiler.CATEGORY_STEP, "outer")) {
+            try (final ProfiledSpan inner = runProfiler.start(RunProfiler.CATEGORY_EXECUTABLE, "inner")) {
+                Thread.sleep(5);
+            }
+        }
+
+        final List<SpanTiming> timings = runProfiler.getTimings();
+        Assertions.assertEquals(2, timings.size());
+        final SpanTiming outer = timings.get(0);
+        final SpanTiming inner = timings.get(1);
+        Assertions.assertEquals("outer", outer.getName());
+        Assertions.assertEquals("inner", inner.getName());
+        Assertions.assertTrue(inner.getStartMicros() >= outer.getStartMicros());
+        Assertions.assertTrue(inner.getStartMicros() + inner.getDurationMicros() <= outer.getStartMicros() + outer.getDurationMicros());
+        Assertions.assertTrue(inner.getDurationMicros() >= 5000);
+    }
+
+    @Test
+    public void closingTwiceRecordsOnce() {
+        final RunProfiler runProfiler = new RunProfiler();
+        final ProfiledSpan span = runProfiler.start(RunProfiler.CATEGORY_STEP, "step");
+        span.close();
+        span.close();
+
+        Assertions.assertEquals(1, runProfiler.getTimings().size());
+    }
+
+    @Test
+    public void histogramsAreGroupedByStepNameOrCategory() {
+        final RunProfiler runProfiler = new RunProfiler();
+        runProfiler.start(RunProfiler.CATEGORY_STEP, "Detectors").close();
+        runProfiler.start(RunProfiler.CATEGORY_STEP, "Signature scan").close();
+        runProfiler.start(RunProfiler.CATEGORY_STEP, "Signature scan").close();
+        runProfiler.start(RunProfiler.CATEGORY_EXECUTABLE, "two").close();
+        runProfiler.start(RunProfiler.CATEGORY_EXECUTABLE, "three").close();
+
+        final Map<String, LatencyHistogram> histograms = runProfiler.getHistogramsByPhase();
+        Assertions.assertEquals(3, histograms.size());
+        Assertions.assertEquals(1, histograms.get("step: Detectors").getCount());
+        Assertions.assertEquals(2, histograms.get("step: Signature scan").getCount());
+        Assertions.assertEquals(2, histograms.get(RunProfiler.CATEGORY_EXECUTABLE).getCount());
+    }
+
+    @Test
+    public void traceIsChromeTraceEventJson() throws IOException {
+        final RunProfiler runProfiler = new RunProfiler();
+        runProfiler.start(RunProfiler.CATEGORY_STEP, "step").close();
+
+        final StringWriter writer = new StringWriter();
+        new ChromeTraceWriter().write(writer, runProfiler.getTimings());
+
+        final JsonArray events = new Gson().fromJson(writer.toString(), JsonObject.class).getAsJsonArray("traceEvents");
+        Assertions.assertEquals(2, events.size());
+        final JsonObject metadata = events.get(0).getAsJsonObject();
+        Assertions.assertEquals("M", metadata.get("ph").getAsString());
+        Assertions.assertEquals(Thread.currentThread().getName(), metadata.getAsJsonObject("args").get("name").getAsString());
+
+        final JsonObject span = events.get(1).getAsJsonObject();
+        Assertions.assertEquals("X", span.get("ph").getAsString());
+        Assertions.assertEquals("step", span.get("name").getAsString());
+        Assertions.assertEquals(RunProfiler.CATEGORY_STEP, span.get("cat").getAsString());
+        Assertions.assertEquals(Thread.currentThread().getId(), span.get("tid").getAsLong());
+    }
+
+    @Test
+    public void percentilesAreBucketUpperBounds() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(5050, histogram.getTotalMs());
+        Assertions.assertEquals(100, histogram.getMaxMs());
+        Assertions.assertEquals(63, histogram.getPercentileMs(50));
+        Assertions.assertEquals(100, histogram.getPercentileMs(99));
+        Assertions.assertEquals(0, new LatencyHistogram().getPercentileMs(50));
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * synopsys-detect
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.detect.workflow.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResourceGovernorTest {
+    @Test
+    public void viewRunsAtMostItsConcurrencyAtOnce() throws InterruptedException, ExecutionException {
+        ResourceGovernor resourceGovernor = new ResourceGovernor(new ResourceGovernorOptions(2, 8, 2, 2));
+        ExecutorService executorService = resourceGovernor.executorService(ResourcePoolType.IO, 2);
+
+        ConcurrencyTracker tracker = new ConcurrencyTracker();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(executorService.submit(tracker::run));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        Assertions.assertEquals(10, tracker.getRuns());
+        Assertions.assertTrue(tracker.getPeak() <= 2);
+        resourceGovernor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void memoryHeavyTasksShareOneLimitAcrossViews() throws InterruptedException, ExecutionException {
+        ResourceGovernor resourceGovernor = new ResourceGovernor(new ResourceGovernorOptions(2, 8, 4, 1));
+        ExecutorService first = resourceGovernor.memoryHeavyExecutorService(ResourcePoolType.PROCESS, 4);
+        ExecutorService second = resourceGovernor.memoryHeavyExecutorService(ResourcePoolType.PROCESS, 4);
+
+        ConcurrencyTracker tracker = new ConcurrencyTracker();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(first.submit(tracker::run));
+            futures.add(second.submit(tracker::run));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        Assertions.assertEquals(8, tracker.getRuns());
+        Assertions.assertEquals(1, tracker.getPeak());
+        resourceGovernor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void processTasksCanStartProcessesWithoutWaitingOnThemselves() throws InterruptedException, ExecutionException, TimeoutException {
+        ResourceGovernor resourceGovernor = new ResourceGovernor(new ResourceGovernorOptions(1, 4, 1, 1));
+        ExecutorService executorService = resourceGovernor.executorService(ResourcePoolType.PROCESS);
+
+        // The task already holds the only process permit, so the nested request must not block.
+        Future<?> future = executorService.submit(() -> {
+            try (ResourcePermit permit = resourceGovernor.acquireProcessPermit()) {
+                return true;
+            }
+        });
+        Assertions.assertEquals(true, future.get(5, TimeUnit.SECONDS));
+
+        ResourceLimitMetrics processes = resourceGovernor.getLimitMetrics().get(0);
+        Assertions.assertEquals(1, processes.getAcquired());
+        Assertions.assertEquals(1, processes.getPeakInUse());
+        resourceGovernor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shuttingDownAViewLeavesThePoolRunning() throws InterruptedException, ExecutionException {
+        ResourceGovernor resourceGovernor = new ResourceGovernor(new ResourceGovernorOptions(1, 2, 1, 1));
+        ExecutorService finished = resourceGovernor.executorService(ResourcePoolType.IO);
+        finished.submit(() -> true).get();
+        finished.shutdownNow();
+
+        Assertions.assertTrue(finished.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(finished.isTerminated());
+        Assertions.assertEquals(true, resourceGovernor.executorService(ResourcePoolType.IO).submit(() -> true).get());
+        resourceGovernor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shutdownInterruptsTasksThatNeverFinish() throws InterruptedException {
+        ResourceGovernor resourceGovernor = new ResourceGovernor(new ResourceGovernorOptions(1, 2, 1, 1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        resourceGovernor.executorService(ResourcePoolType.CPU).execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Assertions.assertFalse(resourceGovernor.shutdown(50, TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void reportListsEveryPoolAndLimit(@TempDir Path tempDir) throws InterruptedException, ExecutionException, IOException {
+        ResourceGovernor resourceGovernor = new ResourceGovernor(new ResourceGovernorOptions(2, 4, 2, 1));
+        resourceGovernor.executorService(ResourcePoolType.CPU).submit(() -> true).get();
+        resourceGovernor.shutdown(5, TimeUnit.SECONDS);
+
+        ResourcePoolMetrics cpu = resourceGovernor.getPoolMetrics().get(0);
+        Assertions.assertEquals(ResourcePoolType.CPU, cpu.getPoolType());
+        Assertions.assertEquals(2, cpu.getThreads());
+        Assertions.assertEquals(1, cpu.getCompleted());
+
+        resourceGovernor.export(tempDir.toFile(), "run");
+        String report = FileUtils.readFileToString(new File(tempDir.toFile(), ResourceGovernor.REPORT_FILE_NAME), StandardCharsets.UTF_8);
+        for (ResourcePoolType poolType : ResourcePoolType.values()) {
+            Assertions.assertTrue(report.contains(poolType.name()));
+        }
+        Assertions.assertTrue(report.contains("Processes"));
+        Assertions.assertTrue(report.contains("Memory heavy tasks"));
+    }
+
+    private static class ConcurrencyTracker {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private final AtomicInteger runs = new AtomicInteger();
+
+        public void run() {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+                runs.incrementAndGet();
+            }
+        }
+
+        public int getRuns() {
+            return runs.get();
+        }
+
+        public int getPeak() {
+            return peak.get();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+@echo off
+
+<#list responses as response>
+if "%~1"=="${response.argument}" type "${response.file}"
+</#list>
\ No newline at end of file
@@ -0,0 +1,9 @@
+#!/bin/bash
+
+case "$1" in
+<#list responses as response>
+    "${response.argument}")
+        cat "${response.file}"
+        ;;
+</#list>
+esac
\ No newline at end of file